@@ -65,6 +65,56 @@ public class Configuration {
      */
     public static final double ANIMATION_TIME = 0.1;
 
+    /**
+     * Maximum size, in bytes, of the sprite sheets kept loaded at once. Sprite
+     * sheets used by the current level are never evicted, even if this is
+     * exceeded.
+     */
+    public static final long SPRITE_CACHE_BUDGET = 256L * 1024 * 1024;
+
+    /**
+     * Maximum size, in bytes, of the background images kept loaded at once.
+     */
+    public static final long BACKGROUND_CACHE_BUDGET = 128L * 1024 * 1024;
+
+    /**
+     * Maximum size, in bytes, of the icon images kept loaded at once.
+     */
+    public static final long ICON_CACHE_BUDGET = 4L * 1024 * 1024;
+
+    /**
+     * Whether decoded and scaled sprite sheets are saved to disk, so that later
+     * launches can load them without decoding and scaling them again.
+     */
+    public static final boolean SPRITE_DISK_CACHE = true;
+
+    /**
+     * Directory in which decoded and scaled sprite sheets are saved, if
+     * {@link #SPRITE_DISK_CACHE} is enabled. This can be safely deleted at any
+     * time.
+     */
+    public static final String SPRITE_DISK_CACHE_DIRECTORY = "cache/sprites/";
+
+    /**
+     * Whether levels are compiled into a binary form when first parsed, so that
+     * later loads of the same level do not need to parse any text.
+     */
+    public static final boolean COMPILED_LEVEL_CACHE = true;
+
+    /**
+     * Directory in which compiled levels are saved, if
+     * {@link #COMPILED_LEVEL_CACHE} is enabled. This can be safely deleted at any
+     * time.
+     */
+    public static final String COMPILED_LEVEL_DIRECTORY = "cache/levels/";
+
+    /**
+     * Largest csv file, in bytes, that is compiled into the cache. Larger levels
+     * are always read line by line from their csv file, so they are never held in
+     * memory whole.
+     */
+    public static final long COMPILED_LEVEL_MAX_BYTES = 1024 * 1024;
+
     /**
      * Default volume for music tracks within the game. If the volume is not
      * specified when starting music, this volume will be used.
@@ -83,4 +133,79 @@ public class Configuration {
      */
     public static final boolean DEBUG_MODE = true;
 
+    /**
+     * If true, level files are watched for changes while the game is running, and
+     * changes to the file of the current level are applied to it immediately,
+     * without restarting the game. Only the objects which were added, removed, or
+     * moved in the file are changed, so the player and every other object keep
+     * their state. This is intended for use while designing levels.
+     */
+    public static final boolean HOT_RELOAD_LEVELS = false;
+
+    /**
+     * Levels at least this many tiles wide are streamed: their objects are split
+     * into chunks of {@link #LEVEL_CHUNK_WIDTH} columns, and only the chunks near
+     * the view are built and kept in the level. Chunks further away have their
+     * state saved and their objects released. A value of 0 disables streaming.
+     */
+    public static final int STREAMED_LEVEL_WIDTH = 256;
+
+    /**
+     * The width, in tiles, of each chunk of a streamed level. See
+     * {@link #STREAMED_LEVEL_WIDTH}.
+     */
+    public static final int LEVEL_CHUNK_WIDTH = 16;
+
+    /**
+     * If true, each score added to a game's scoreboard is appended to a journal
+     * as soon as it is added, rather than only being saved when the game is
+     * closed, so scores are kept even if the game crashes.
+     */
+    public static final boolean STATS_JOURNAL = true;
+
+    /**
+     * How often, in milliseconds, scores added to the stats journal are written
+     * and forced to the disk. Scores added within this time are written together.
+     * See {@link #STATS_JOURNAL}.
+     */
+    public static final long STATS_SYNC_MILLIS = 200;
+
+    /**
+     * Number of scores which may be added to the stats journal before the stats
+     * file is rewritten in the background to include them, and the journal is
+     * started again. See {@link #STATS_JOURNAL}.
+     */
+    public static final int STATS_COMPACT_RECORDS = 1000;
+
+    /**
+     * If true, the game is updated on its own simulation thread rather than on the
+     * JavaFX application thread, and each frame only draws the most recent
+     * snapshot of the game published by that thread. This prevents slow updates
+     * from delaying the display of frames.
+     */
+    public static final boolean DECOUPLED_SIMULATION = false;
+
+    /**
+     * If true, games which build levels while being played, such as by parsing a
+     * level file when a door is entered, do so on a background thread. The current
+     * level stays on screen, without being updated, until the new level and its
+     * sprite sheets are ready, so the transition does not stall a frame.
+     */
+    public static final boolean ASYNC_LEVEL_LOADING = true;
+
+    /**
+     * Maximum number of levels that are built ahead of time, in the background,
+     * because the player may enter them next. Prefetched levels and their sprite
+     * sheets are held in memory until they are entered or evicted, so this limits
+     * the memory spent on levels which may never be played. A value of 0 disables
+     * prefetching.
+     */
+    public static final int PREFETCH_LEVEL_LIMIT = 2;
+
+    /**
+     * Number of updates per second performed by the simulation thread when
+     * {@link #DECOUPLED_SIMULATION} is enabled.
+     */
+    public static final double SIMULATION_RATE = 60;
+
 }
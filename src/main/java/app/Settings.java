@@ -23,9 +23,9 @@ public class Settings {
     private Settings() {
     }
 
-    private static boolean showHitboxes = false;
-    private static boolean godMode = false;
-    private static boolean paused = false;
+    private static volatile boolean showHitboxes = false;
+    private static volatile boolean godMode = false;
+    private static volatile boolean paused = false;
 
     /**
      * Returns whether hitboxes should be displayed for game objects.
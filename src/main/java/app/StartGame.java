@@ -5,13 +5,19 @@ import java.util.ArrayList;
 import app.display.common.AssetManager;
 import app.display.common.Background;
 import app.display.common.BlankTile;
+import app.display.common.OverlayLayer;
+import app.display.common.RenderSnapshot;
+import app.display.common.SpriteDiskCache;
 import app.display.common.SpriteGraphics;
+import app.display.common.StaticLayer;
+import app.display.common.controller.InputQueue;
 import app.gameengine.Game;
 import app.gameengine.Level;
-import app.gameengine.model.gameobjects.GameObject;
+import app.gameengine.SimulationThread;
 import app.games.GameFactory;
 import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Group;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -30,6 +36,11 @@ import javafx.stage.Stage;
  * <p>
  * All rendering logic is handled within this class, including window sizing and
  * object/effect/backround rendering.
+ * <p>
+ * By default, the game is updated and rendered one after the other on the
+ * JavaFX application thread. If {@link Configuration#DECOUPLED_SIMULATION} is
+ * enabled, the game is instead updated by a {@link SimulationThread}, and this
+ * class only draws the latest {@link RenderSnapshot} published by that thread.
  * 
  * @see Configuration
  * @see GameFactory
@@ -41,6 +52,7 @@ public class StartGame extends Application {
     // Game
     private Game game;
     private Group foregroundGroup;
+    private OverlayLayer overlay;
 
     // Background
     private Group backgroundGroup;
@@ -51,11 +63,14 @@ public class StartGame extends Application {
     private Parent root;
     private Scene scene;
     private Stage stage;
+    private SimulationThread simulation;
 
     // Performance
     private static long start;
     private static long lastUpdate;
     private static int frames = 0;
+    private static long launchTime;
+    private static boolean firstFrameReported = false;
 
     @Override
     public void init() {
@@ -69,6 +84,7 @@ public class StartGame extends Application {
         this.foregroundGroup.setManaged(false);
         this.backgroundGroup = new Group();
         this.backgroundGroup.setManaged(false);
+        this.overlay = new OverlayLayer();
 
         this.root = this.game.createRootNode(backgroundGroup, foregroundGroup);
         this.scene = new Scene(this.root);
@@ -78,20 +94,23 @@ public class StartGame extends Application {
         stage.setScene(scene);
         stage.show();
 
+        if (Configuration.DECOUPLED_SIMULATION) {
+            startDecoupled();
+        } else {
+            startCoupled();
+        }
+    }
+
+    private void startCoupled() {
+        RenderSnapshot snapshot = new RenderSnapshot();
+
         new AnimationTimer() {
             private Level prevLevel = null;
 
             @Override
             public void handle(long now) {
                 Level currentLevel = game.getCurrentLevel();
-                if (lastUpdate == 0) {
-                    start = now;
-                    lastUpdate = now;
-                }
-                long elapsed = now - lastUpdate;
-                lastUpdate = now;
-                frames++;
-                double dt = elapsed / 1_000_000_000.0;
+                double dt = recordFrame(now);
                 if (prevLevel != currentLevel) {
                     prevLevel = currentLevel;
                     switchLevel();
@@ -100,32 +119,105 @@ public class StartGame extends Application {
                     double maxDelay = 0.1;
                     game.update(Math.min(dt, maxDelay));
                 } else {
+                    AssetManager.preload(currentLevel);
                     currentLevel.setLoaded();
                 }
-                renderGraphics();
-
-                double newWidth = stage.getWidth() - scene.getWidth();
-                double newHeight = stage.getHeight() - scene.getHeight();
-                if ((newWidth != decorationWidth || newHeight != decorationHeight) && newWidth > 0 && newHeight > 0) {
-                    decorationWidth = stage.getWidth() - scene.getWidth();
-                    decorationHeight = stage.getHeight() - scene.getHeight();
-                    resizeStage();
-                }
+                snapshot.capture(game);
+                renderGraphics(snapshot);
+                reportFirstFrame();
+                checkDecorations();
+                reportSlowFrame(dt);
+            }
+        }.start();
+    }
 
-                if (dt > 0.01) {
-                    // we only have 13 ms to process a frame
-                    System.out.printf("Getting slow: %2.0f ms/frame (%-3.0f fps)\n", dt * 1000, 1 / dt);
+    private void startDecoupled() {
+        InputQueue inputQueue = new InputQueue();
+        scene.setOnKeyPressed(inputQueue);
+        scene.setOnKeyReleased(inputQueue);
+        scene.setOnMousePressed(inputQueue);
+        scene.setOnMouseReleased(inputQueue);
+        this.simulation = new SimulationThread(this.game, inputQueue);
+        this.simulation.start();
+
+        new AnimationTimer() {
+            private Level prevLevel = null;
+            private RenderSnapshot prevSnapshot = null;
+
+            @Override
+            public void handle(long now) {
+                double dt = recordFrame(now);
+                RenderSnapshot snapshot = simulation.getLatestSnapshot();
+                // Only redraw when the simulation has published something new
+                if (snapshot != null && snapshot != prevSnapshot) {
+                    prevSnapshot = snapshot;
+                    if (prevLevel != snapshot.getLevel()) {
+                        prevLevel = snapshot.getLevel();
+                        resizeStage();
+                    }
+                    renderGraphics(snapshot);
+                    reportFirstFrame();
+                }
+                // The UI is only updated from values recorded by the simulation
+                if (prevSnapshot != null) {
+                    game.updateUI(Math.min(dt, 0.1), prevSnapshot.getUIState());
                 }
+                checkDecorations();
+                reportSlowFrame(dt);
             }
         }.start();
+    }
+
+    private double recordFrame(long now) {
+        if (lastUpdate == 0) {
+            start = now;
+            lastUpdate = now;
+        }
+        long elapsed = now - lastUpdate;
+        lastUpdate = now;
+        frames++;
+        return elapsed / 1_000_000_000.0;
+    }
+
+    private void checkDecorations() {
+        double newWidth = stage.getWidth() - scene.getWidth();
+        double newHeight = stage.getHeight() - scene.getHeight();
+        if ((newWidth != decorationWidth || newHeight != decorationHeight) && newWidth > 0 && newHeight > 0) {
+            decorationWidth = stage.getWidth() - scene.getWidth();
+            decorationHeight = stage.getHeight() - scene.getHeight();
+            resizeStage();
+        }
+    }
 
+    private void reportFirstFrame() {
+        if (Configuration.DEBUG_MODE && !firstFrameReported) {
+            firstFrameReported = true;
+            System.out.printf("First frame rendered %.0f ms after launch (sprite disk cache %s)\n",
+                    (System.nanoTime() - launchTime) / 1e6, SpriteDiskCache.isEnabled() ? "enabled" : "disabled");
+        }
+    }
+
+    private void reportSlowFrame(double dt) {
+        if (dt > 0.01) {
+            // we only have 13 ms to process a frame
+            System.out.printf("Getting slow: %2.0f ms/frame (%-3.0f fps)\n", dt * 1000, 1 / dt);
+        }
     }
 
     @Override
     public void stop() throws Exception {
+        if (this.simulation != null) {
+            this.simulation.shutdown();
+            this.simulation.join();
+        }
         double time = (lastUpdate - start) / 1_000_000_000.0 / frames;
         System.out.println("Average time per frame: " + time * 1000 + " ms");
         System.out.println("Average fps: " + 1 / time);
+        if (Configuration.DEBUG_MODE) {
+            System.out.println(AssetManager.getSpriteCache());
+            System.out.println(AssetManager.getBackgroundCache());
+            System.out.println(AssetManager.getIconCache());
+        }
         if (this.game.getScoreboard() != null) {
             this.game.getScoreboard().saveStats();
         }
@@ -148,55 +240,56 @@ public class StartGame extends Application {
         stage.setHeight(height);
     }
 
-    private void renderGraphics() {
-        Rectangle window = getWindow();
-        Rectangle view = getView();
+    private void renderGraphics(RenderSnapshot snapshot) {
+        Rectangle2D window = snapshot.getWindow();
+        Rectangle2D view = snapshot.getView();
 
         double scaleFactor = Configuration.SCALE_FACTOR;
         double hiddenWidth = window.getWidth() - view.getWidth();
         double hiddenHeight = window.getHeight() - view.getHeight();
         // Keep player centered if view is smaller than window
-        this.foregroundGroup.setTranslateX(Math.clamp(-view.getX() * scaleFactor, -hiddenWidth * scaleFactor, 0));
-        this.foregroundGroup.setTranslateY(Math.clamp(-view.getY() * scaleFactor, -hiddenHeight * scaleFactor, 0));
+        double translateX = Math.clamp(-view.getMinX() * scaleFactor, -hiddenWidth * scaleFactor, 0);
+        double translateY = Math.clamp(-view.getMinY() * scaleFactor, -hiddenHeight * scaleFactor, 0);
+        this.foregroundGroup.setTranslateX(translateX);
+        this.foregroundGroup.setTranslateY(translateY);
         this.foregroundGroup.getChildren().clear();
         // Render background
-        renderBackground();
-        ArrayList<GameObject> allObjects = new ArrayList<>();
-        // Render terrain
-        allObjects.addAll(this.game.getCurrentLevel().getStaticObjects());
-        // Render game objects
-        allObjects.addAll(this.game.getCurrentLevel().getDynamicObjects());
-        // Render the player
-        allObjects.removeIf(GameObject::isPlayer);
-        allObjects.add(this.game.getPlayer());
-
-        for (GameObject object : allObjects) {
-            // Cull objects that aren't visible
-            if (!isInBounds(object, view)) {
-                continue;
-            }
-            // Render object sprite
-            SpriteGraphics tile = new SpriteGraphics(object);
-            tile.setX(object.getLocation().getX() * scaleFactor + object.getSpriteOffsetX() * Configuration.ZOOM);
-            tile.setY(object.getLocation().getY() * scaleFactor + object.getSpriteOffsetY() * Configuration.ZOOM);
-            tile.setRotate(object.getRotation() + tile.getRotate());
+        renderBackground(snapshot);
+        // Render terrain drawn all at once by the level
+        StaticLayer staticLayer = snapshot.getStaticLayer();
+        if (staticLayer != null) {
+            staticLayer.refresh();
+            this.foregroundGroup.getChildren().add(staticLayer.getRenderable());
+        }
+        // Render terrain, game objects, and the player, already culled
+        for (int i = 0; i < snapshot.getSpriteCount(); i++) {
+            RenderSnapshot.Sprite sprite = snapshot.getSprite(i);
+            SpriteGraphics tile = new SpriteGraphics(sprite);
+            tile.setX(sprite.getX());
+            tile.setY(sprite.getY());
+            tile.setRotate(sprite.getRotation() + tile.getRotate());
             this.foregroundGroup.getChildren().add(tile);
         }
         // Render effects
-        this.game.getCurrentLevel().getActiveEffects()
-                .forEach((k, v) -> this.foregroundGroup.getChildren().add(k.getFrame(v)));
+        for (int i = 0; i < snapshot.getEffectCount(); i++) {
+            this.foregroundGroup.getChildren().add(snapshot.getEffect(i).getFrame());
+        }
+        // Render health bars and hitboxes all at once
+        this.overlay.draw(snapshot, -translateX, -translateY, view.getWidth() * scaleFactor,
+                view.getHeight() * scaleFactor);
+        this.foregroundGroup.getChildren().add(this.overlay.getRenderable());
     }
 
-    private void renderBackground() {
-        Rectangle window = getWindow();
-        Rectangle view = getView();
+    private void renderBackground(RenderSnapshot snapshot) {
+        Rectangle window = toRectangle(snapshot.getWindow());
+        Rectangle view = toRectangle(snapshot.getView());
 
         double scaleFactor = Configuration.SCALE_FACTOR;
         double hiddenWidth = window.getWidth() - view.getWidth();
         double hiddenHeight = window.getHeight() - view.getHeight();
 
         this.backgroundGroup.getChildren().clear();
-        Background background = this.game.getCurrentLevel().getBackground();
+        Background background = snapshot.getBackground();
         if (background.usesBackgroundImage()) {
             scaleRectangle(window, scaleFactor);
             scaleRectangle(view, scaleFactor);
@@ -232,11 +325,9 @@ public class StartGame extends Application {
                     }
                 }
             }
-        } else {
-            double playerX = this.game.getPlayer().getLocation().getX()
-                    + this.game.getPlayer().getSpriteDimensions().getX() / 2;
-            double playerY = this.game.getPlayer().getLocation().getY()
-                    + this.game.getPlayer().getSpriteDimensions().getY() / 2;
+        } else if (snapshot.getStaticLayer() == null) {
+            double playerX = snapshot.getPlayerCenterX();
+            double playerY = snapshot.getPlayerCenterY();
             int startX = Math.clamp((int) view.getX(), 0, (int) hiddenWidth);
             int startY = Math.clamp((int) view.getY(), 0, (int) hiddenHeight);
             int endX = Math.clamp((int) (Math.ceil(playerX) + 1 + view.getWidth() / 2), (int) view.getWidth(),
@@ -257,35 +348,8 @@ public class StartGame extends Application {
         }
     }
 
-    private Rectangle getWindow() {
-        int width = this.game.getCurrentLevel().getWidth();
-        int height = this.game.getCurrentLevel().getHeight();
-
-        return new Rectangle(width, height);
-    }
-
-    private Rectangle getView() {
-        int width = this.game.getCurrentLevel().getWidth();
-        int height = this.game.getCurrentLevel().getHeight();
-        int viewWidth = Math.min(this.game.getCurrentLevel().getViewWidth(), width);
-        int viewHeight = Math.min(this.game.getCurrentLevel().getViewHeight(), height);
-
-        double playerX = this.game.getPlayer().getLocation().getX()
-                + this.game.getPlayer().getSpriteDimensions().getX() / 2;
-        double playerY = this.game.getPlayer().getLocation().getY()
-                + this.game.getPlayer().getSpriteDimensions().getY() / 2;
-
-        double viewX = Math.clamp(playerX - viewWidth / 2, 0, width - viewWidth);
-        double viewY = Math.clamp(playerY - viewHeight / 2, 0, height - viewHeight);
-
-        return new Rectangle(viewX, viewY, viewWidth, viewHeight);
-    }
-
-    private boolean isInBounds(GameObject object, Rectangle view) {
-        return object.getLocation().getX() <= view.getX() + view.getWidth()
-                && object.getLocation().getX() + object.getSpriteDimensions().getX() >= view.getX()
-                && object.getLocation().getY() <= view.getY() + view.getHeight()
-                && object.getLocation().getY() + object.getSpriteDimensions().getY() >= view.getY();
+    private Rectangle toRectangle(Rectangle2D bounds) {
+        return new Rectangle(bounds.getMinX(), bounds.getMinY(), bounds.getWidth(), bounds.getHeight());
     }
 
     private void scaleRectangle(Rectangle rect, double scaleFactor) {
@@ -296,6 +360,7 @@ public class StartGame extends Application {
     }
 
     public static void main(String[] args) {
+        launchTime = System.nanoTime();
         launch();
     }
 
@@ -0,0 +1,74 @@
+package app.benchmarks;
+
+import app.Configuration;
+import app.display.common.AssetManager;
+import app.display.common.SpriteDiskCache;
+import app.gameengine.Game;
+import app.games.GameFactory;
+
+/**
+ * Measures the time taken to start a game and load the sprite sheets of its
+ * first level, which is the work needed before the first frame can be drawn.
+ * <p>
+ * Arguments are, in order and both optional: the name of the game (defaults to
+ * {@link Configuration#GAME}), and how the {@link SpriteDiskCache} is used,
+ * which is one of:
+ * <ul>
+ * <li>{@code warm} (default): the cache is used as it is on disk
+ * <li>{@code cold}: the cache is cleared first, so every sprite sheet is
+ * decoded, scaled, and written to the cache
+ * <li>{@code off}: the cache is disabled, so every sprite sheet is decoded and
+ * scaled without being written
+ * </ul>
+ * As most of the cost of starting is class loading and JIT compilation, each
+ * measurement should be made by a separate run of this program. Running it
+ * once with {@code cold} and then again with {@code warm} shows the effect of
+ * the cache.
+ *
+ * @see SpriteDiskCache
+ * @see AssetManager
+ */
+public class ColdStartBenchmark {
+
+    /**
+     * Prevent instantiation, as this class is intended to be static.
+     */
+    private ColdStartBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        long launch = System.nanoTime();
+        String gameName = args.length > 0 ? args[0] : Configuration.GAME;
+        String mode = args.length > 1 ? args[1] : "warm";
+
+        switch (mode) {
+            case "warm" -> SpriteDiskCache.setEnabled(true);
+            case "cold" -> {
+                SpriteDiskCache.setEnabled(true);
+                SpriteDiskCache.clear();
+            }
+            case "off" -> SpriteDiskCache.setEnabled(false);
+            default -> {
+                System.out.println("** Unknown cache mode " + mode + ", expected warm, cold, or off **");
+                return;
+            }
+        }
+
+        long start = System.nanoTime();
+        Game game = GameFactory.getGame(gameName);
+        if (game == null) {
+            return;
+        }
+        long created = System.nanoTime();
+        AssetManager.preload(game.getCurrentLevel());
+        long loaded = System.nanoTime();
+
+        System.out.printf("\n*** Starting \"%s\" with the sprite disk cache %s ***\n", game.getName(), mode);
+        System.out.printf("Engine initialization: %.1f ms\n", (start - launch) / 1e6);
+        System.out.printf("Game creation: %.1f ms\n", (created - start) / 1e6);
+        System.out.printf("Sprite sheet loading: %.1f ms (%d sheets, %.1f MB)\n", (loaded - created) / 1e6,
+                AssetManager.getSpriteCache().getCount(), AssetManager.getSpriteCache().getSize() / 1048576.0);
+        System.out.printf("Total to first frame: %.1f ms\n", (loaded - launch) / 1e6);
+    }
+
+}
@@ -0,0 +1,100 @@
+package app.benchmarks;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import app.gameengine.CompiledLevels;
+import app.gameengine.Game;
+import app.gameengine.LevelParseException;
+import app.gameengine.LevelParser;
+import app.games.mario.MarioGame;
+import app.games.roguelikeobjects.RoguelikeGame;
+
+/**
+ * Compares loading levels from their csv files against loading their compiled
+ * forms, for the Mario and roguelike levels.
+ * <p>
+ * Every level in a directory is loaded in turn, many times over, first with
+ * {@link CompiledLevels} disabled and then with it enabled, and the average
+ * time and memory allocated per load are reported. Loading includes building
+ * the level and every object in it, which is the same for both formats, so
+ * the difference is the cost of reading the file.
+ * <p>
+ * The only argument is optional, and is the number of times each level is
+ * loaded (defaults to 2000).
+ *
+ * @see CompiledLevels
+ * @see LevelParser
+ */
+public class CompiledLevelBenchmark {
+
+    private static final String LEVELS_DIRECTORY = "data/levels/";
+
+    /**
+     * Prevent instantiation, as this class is intended to be static.
+     */
+    private CompiledLevelBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int loads = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        run("mario", new MarioGame(), loads);
+        run("roguelike", new RoguelikeGame(), loads);
+    }
+
+    private static void run(String directory, Game game, int loads) throws IOException {
+        List<String> levels = new ArrayList<>();
+        long csvBytes = 0;
+        long compiledBytes = 0;
+        try (Stream<Path> files = Files.walk(Paths.get(LEVELS_DIRECTORY, directory))) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.toString().endsWith(".csv")) {
+                    levels.add(Paths.get(LEVELS_DIRECTORY).relativize(file).toString());
+                    // Compile each level up front, so only loading is measured
+                    CompiledLevels.openCached(file, file.toString()).close();
+                    csvBytes += Files.size(file);
+                    compiledBytes += Files.size(CompiledLevels.getCachePath(file));
+                }
+            }
+        }
+        System.out.printf("%s: %d levels, %,d bytes as csv, %,d bytes compiled%n", directory, levels.size(),
+                csvBytes, compiledBytes);
+        CompiledLevels.setEnabled(false);
+        measure("csv", game, levels, loads);
+        CompiledLevels.setEnabled(true);
+        measure("compiled", game, levels, loads);
+    }
+
+    private static void measure(String name, Game game, List<String> levels, int loads) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        try {
+            // Warm up, so that compilation of the loaders is not measured
+            for (int i = 0; i < loads / 4; i++) {
+                LevelParser.readLevel(game, levels.get(i % levels.size()));
+            }
+            long startBytes = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            for (int i = 0; i < loads; i++) {
+                for (String level : levels) {
+                    LevelParser.readLevel(game, level);
+                }
+            }
+            long nanos = System.nanoTime() - start;
+            long allocated = threads.getThreadAllocatedBytes(threadId) - startBytes;
+            long count = (long) loads * levels.size();
+            System.out.printf("  %-9s %8.1f us/load %,10d bytes/load%n", name, nanos / 1e3 / count,
+                    allocated / count);
+        } catch (IOException | LevelParseException e) {
+            System.out.println("** " + name + " failed: " + e.getMessage() + " **");
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package app.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import app.Configuration;
+import app.display.common.SoftwareRenderer;
+import app.gameengine.Game;
+import app.games.GameFactory;
+
+/**
+ * Measures rendering cost without a display by driving a game with the
+ * {@link SoftwareRenderer}.
+ * <p>
+ * Arguments are, in order and all optional: the name of the game (defaults to
+ * {@link Configuration#GAME}), the number of frames to render (defaults to
+ * 600), and a directory to save every rendered frame to as a PNG image. Each
+ * frame advances the game by a fixed 1/60th of a second before rendering.
+ *
+ * @see SoftwareRenderer
+ * @see GameFactory
+ */
+public class HeadlessRenderBenchmark {
+
+    private static final double TIMESTEP = 1.0 / 60;
+
+    /**
+     * Prevent instantiation, as this class is intended to be static.
+     */
+    private HeadlessRenderBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        String gameName = args.length > 0 ? args[0] : Configuration.GAME;
+        int frameCount = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+        String outputDirectory = args.length > 2 ? args[2] : null;
+
+        Game game = GameFactory.getGame(gameName);
+        if (game == null) {
+            return;
+        }
+        if (outputDirectory != null) {
+            Files.createDirectories(Paths.get(outputDirectory));
+        }
+
+        SoftwareRenderer renderer = new SoftwareRenderer(game);
+        // Load all assets before timing starts
+        renderer.render();
+        renderer.resetStatistics();
+
+        System.out.printf("\n*** Rendering %d frames of \"%s\" at %dx%d ***\n", frameCount, game.getName(),
+                renderer.getWidth(), renderer.getHeight());
+        long start = System.nanoTime();
+        for (int i = 0; i < frameCount; i++) {
+            game.update(TIMESTEP);
+            renderer.render();
+            if (outputDirectory != null) {
+                renderer.writePNG(Paths.get(outputDirectory, String.format("frame_%05d.png", i)).toString());
+            }
+        }
+        double totalSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Frames rendered: %d\n", renderer.getFrameCount());
+        System.out.printf("Average raster time: %.3f ms\n", renderer.getAverageFrameMillis());
+        System.out.printf("Max raster time: %.3f ms\n", renderer.getMaxFrameMillis());
+        System.out.printf("Objects considered per frame: %.1f\n", renderer.getAverageConsidered());
+        System.out.printf("Objects drawn per frame: %.1f\n", renderer.getAverageDrawn());
+        System.out.printf("Total time (update + render): %.3f s\n", totalSeconds);
+    }
+
+}
@@ -0,0 +1,203 @@
+package app.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import app.Configuration;
+import app.gameengine.CompiledLevels;
+import app.gameengine.Level;
+import app.gameengine.LevelChunks;
+import app.gameengine.LevelParseException;
+import app.gameengine.LevelParser;
+import app.gameengine.LevelTokenizer;
+import app.games.SampleGame;
+
+/**
+ * Measures how quickly level files are read, in lines per second, and how much
+ * memory is allocated for each line.
+ * <p>
+ * Two files are read: {@code data/levels/testing/large.csv}, and a synthetic
+ * level of walls and enemies written to a temporary file. For each, four ways
+ * of reading are compared:
+ * <ul>
+ * <li>{@code split}: reading every line with {@link Files#readAllLines(Path)}
+ * and splitting each with {@link String#split(String)}, as the parser used to
+ * <li>{@code tokenize}: reading each line with a {@link LevelTokenizer}
+ * <li>{@code parse}: parsing the whole level from its csv file with
+ * {@link LevelParser}, which includes constructing every object
+ * <li>{@code compiled}: parsing the whole level in the same way, but with the
+ * {@link CompiledLevels} cache enabled, as the game does by default. Levels
+ * larger than {@link Configuration#COMPILED_LEVEL_MAX_BYTES} are not cached, so
+ * this matches {@code parse} for them
+ * </ul>
+ * The first two only read the type and location of each object, so they
+ * compare the cost of reading the file alone. Levels are never streamed in
+ * chunks while they are measured, however wide they are, so that every object
+ * is constructed by the parser. The compiled form of the synthetic level is
+ * deleted along with it.
+ * <p>
+ * Arguments are, in order and both optional: the number of lines in the
+ * synthetic level (defaults to 1,000,000), and the number of times each
+ * measurement is repeated (defaults to 5). The fastest repetition is reported.
+ *
+ * @see LevelParser
+ * @see LevelTokenizer
+ */
+public class LevelParserBenchmark {
+
+    private static final String LEVELS_DIRECTORY = "data/levels/";
+    private static final String LARGE_LEVEL = "testing/large.csv";
+
+    /**
+     * Prevent instantiation, as this class is intended to be static.
+     */
+    private LevelParserBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException, LevelParseException {
+        int syntheticLines = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int repeats = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Path large = Paths.get(LEVELS_DIRECTORY, LARGE_LEVEL);
+        // The large level is small, so read it many times per measurement
+        int largeCopies = Math.max(1, syntheticLines / Files.readAllLines(large).size());
+        System.out.printf("%s, read %d times%n", LARGE_LEVEL, largeCopies);
+        run(large, largeCopies, repeats);
+
+        Path directory = Paths.get(LEVELS_DIRECTORY, "testing");
+        Path synthetic = Files.createTempFile(directory, "synthetic", ".csv");
+        try {
+            writeSynthetic(synthetic, syntheticLines);
+            System.out.printf("%nSynthetic level of %,d lines%n", syntheticLines);
+            run(synthetic, 1, repeats);
+        } finally {
+            Files.deleteIfExists(synthetic);
+            Files.deleteIfExists(CompiledLevels.getCachePath(synthetic));
+        }
+    }
+
+    private static void run(Path file, int copies, int repeats) throws IOException, LevelParseException {
+        String path = Paths.get(LEVELS_DIRECTORY).relativize(file).toString();
+        SampleGame game = new SampleGame();
+        measure("split", repeats, () -> {
+            long lines = 0;
+            for (int i = 0; i < copies; i++) {
+                lines += split(file);
+            }
+            return lines;
+        });
+        measure("tokenize", repeats, () -> {
+            long lines = 0;
+            for (int i = 0; i < copies; i++) {
+                lines += tokenize(file);
+            }
+            return lines;
+        });
+        boolean compiled = CompiledLevels.isEnabled();
+        int streamedWidth = LevelChunks.getStreamedWidth();
+        LevelChunks.setStreamedWidth(0);
+        try {
+            CompiledLevels.setEnabled(false);
+            measure("parse", repeats, () -> parse(game, path, copies));
+            CompiledLevels.setEnabled(true);
+            // Compile the level first, so that only reading the compiled form is measured
+            parse(game, path, 1);
+            measure("compiled", repeats, () -> parse(game, path, copies));
+        } finally {
+            CompiledLevels.setEnabled(compiled);
+            LevelChunks.setStreamedWidth(streamedWidth);
+        }
+    }
+
+    private static long parse(SampleGame game, String path, int copies) throws IOException, LevelParseException {
+        long lines = 0;
+        for (int i = 0; i < copies; i++) {
+            Level level = LevelParser.readLevel(game, path);
+            lines += level.getStaticObjects().size() + level.getDynamicObjects().size();
+        }
+        return lines;
+    }
+
+    private static long split(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        double checksum = 0;
+        for (String line : lines) {
+            String[] parts = line.split(",");
+            if (parts[0].equals("StaticGameObject") || parts[0].equals("DynamicGameObject")) {
+                checksum += parts[1].length() + Double.parseDouble(parts[2]) + Double.parseDouble(parts[3]);
+            }
+        }
+        return checksum < 0 ? 0 : lines.size();
+    }
+
+    private static long tokenize(Path file) throws IOException, LevelParseException {
+        Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        try (LevelTokenizer fields = new LevelTokenizer(reader, file.toString())) {
+            double checksum = 0;
+            while (fields.nextLine()) {
+                if (fields.fieldEquals(0, "StaticGameObject") || fields.fieldEquals(0, "DynamicGameObject")) {
+                    checksum += fields.fieldHash(1) + fields.getDouble(2) + fields.getDouble(3);
+                }
+            }
+            return checksum < 0 ? 0 : fields.getLineNumber();
+        }
+    }
+
+    private static void writeSynthetic(Path file, int lines) throws IOException {
+        int width = 1000;
+        int height = Math.max(1, lines / width + 1);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("TopDownLevel,synthetic," + width + "," + height + "\n");
+            writer.write("PlayerStartLocation,1.5,1.5\n");
+            writer.write("BackgroundTile,MiniWorldSprites/Ground/DeadGrass.png,0,0\n");
+            for (int i = 3; i < lines; i++) {
+                int x = i % width;
+                int y = i / width;
+                if (i % 50 == 0) {
+                    writer.write("DynamicGameObject,Demon," + x + "," + y + ",10,5\n");
+                } else {
+                    writer.write("StaticGameObject,Wall," + x + "," + y + "\n");
+                }
+            }
+        }
+    }
+
+    private static void measure(String name, int repeats, Task task) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long bestNanos = Long.MAX_VALUE;
+        long lines = 0;
+        long allocated = 0;
+        try {
+            for (int i = 0; i < repeats; i++) {
+                long startBytes = threads.getThreadAllocatedBytes(threadId);
+                long start = System.nanoTime();
+                lines = task.run();
+                long nanos = System.nanoTime() - start;
+                if (nanos < bestNanos) {
+                    bestNanos = nanos;
+                    allocated = threads.getThreadAllocatedBytes(threadId) - startBytes;
+                }
+            }
+        } catch (IOException | LevelParseException e) {
+            System.out.println("** " + name + " failed: " + e.getMessage() + " **");
+            return;
+        }
+        System.out.printf("  %-9s %,12.0f lines/s %8.1f ms %,10.0f bytes/line%n", name,
+                lines / (bestNanos / 1e9), bestNanos / 1e6, (double) allocated / Math.max(1, lines));
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        long run() throws IOException, LevelParseException;
+    }
+
+}
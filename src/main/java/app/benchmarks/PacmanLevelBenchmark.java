@@ -0,0 +1,63 @@
+package app.benchmarks;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+
+import app.games.pacman.CreatePacmanLevel;
+import app.games.pacman.PacmanGame;
+import app.games.pacman.PacmanLevel;
+
+/**
+ * Measures the time taken to create the pacman level, which is done whenever
+ * the game or level is reset.
+ * <p>
+ * The first level is created with nothing loaded, so its time includes loading
+ * the classes it needs, and running their code before it has been compiled.
+ * The number of classes loaded and the time the JIT compiler spends compiling
+ * while creating it are reported alongside. Further levels are then created to
+ * measure the time taken once everything is loaded and compiled.
+ * <p>
+ * The only argument is optional, and is the number of levels created after the
+ * first (defaults to 10,000). As the first level is only meaningful in a fresh
+ * JVM, each measurement should be made by a separate run of this program.
+ *
+ * @see CreatePacmanLevel
+ */
+public class PacmanLevelBenchmark {
+
+    /**
+     * Prevent instantiation, as this class is intended to be static.
+     */
+    private PacmanLevelBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int levels = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        PacmanGame game = new PacmanGame();
+
+        long startClasses = classLoading.getTotalLoadedClassCount();
+        long startCompilation = compilation.getTotalCompilationTime();
+        long start = System.nanoTime();
+        PacmanLevel level = CreatePacmanLevel.createLevel(game);
+        long first = System.nanoTime() - start;
+        long classes = classLoading.getTotalLoadedClassCount() - startClasses;
+        long compiling = compilation.getTotalCompilationTime() - startCompilation;
+
+        startCompilation = compilation.getTotalCompilationTime();
+        start = System.nanoTime();
+        for (int i = 0; i < levels; i++) {
+            level = CreatePacmanLevel.createLevel(game);
+        }
+        long total = System.nanoTime() - start;
+        compiling += compilation.getTotalCompilationTime() - startCompilation;
+
+        System.out.printf("\n*** Creating the pacman level (%d objects) ***\n", level.getStaticObjects().size());
+        System.out.printf("First level: %.2f ms (%d classes loaded)\n", first / 1e6, classes);
+        System.out.printf("Later levels: %.1f us each, over %,d levels\n", total / 1e3 / levels, levels);
+        System.out.printf("JIT compilation: %d ms in total\n", compiling);
+    }
+
+}
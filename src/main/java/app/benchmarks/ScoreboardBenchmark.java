@@ -0,0 +1,89 @@
+package app.benchmarks;
+
+import java.util.Random;
+
+import app.gameengine.model.datastructures.BinaryTreeNode;
+import app.gameengine.model.datastructures.LinkedListNode;
+import app.gameengine.statistics.GameStat;
+import app.gameengine.statistics.Scoreboard;
+
+/**
+ * Measures the time taken to read every score from a scoreboard in order, by
+ * building a list of the scores, by iterating over them, and by visiting them
+ * with {@link Scoreboard#forEachInOrder(java.util.function.Consumer)}.
+ * <p>
+ * Each size is measured twice: with a balanced tree built by adding scores in
+ * a random order, and with a tree in which every node only has a right child,
+ * as a scoreboard given an unbalanced tree would have. The arguments are the
+ * numbers of scores to measure (defaults to 10,000, 100,000, and 1,000,000).
+ *
+ * @see Scoreboard
+ */
+public class ScoreboardBenchmark {
+
+    private static final int RUNS = 5;
+
+    /**
+     * Prevent instantiation, as this class is intended to be static.
+     */
+    private ScoreboardBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = { 10_000, 100_000, 1_000_000 };
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.println("\n*** Reading every score in order (best of " + RUNS + " runs) ***");
+        System.out.printf("%-10s %-9s %12s %12s %12s\n", "scores", "tree", "list", "iterator", "forEach");
+        for (int size : sizes) {
+            Random random = new Random(size);
+            Scoreboard balanced = new Scoreboard("benchmark");
+            for (int i = 0; i < size; i++) {
+                balanced.addScore(new GameStat("player" + i, 0, random.nextInt(size)));
+            }
+            report(size, "balanced", balanced);
+
+            BinaryTreeNode<GameStat> chain = null;
+            for (int i = 0; i < size; i++) {
+                chain = new BinaryTreeNode<>(new GameStat("player" + i, 0, i), null, chain);
+            }
+            Scoreboard unbalanced = new Scoreboard("benchmark");
+            unbalanced.setScoreTree(chain);
+            report(size, "chain", unbalanced);
+        }
+    }
+
+    private static void report(int size, String tree, Scoreboard scoreboard) {
+        long list = Long.MAX_VALUE;
+        long iterator = Long.MAX_VALUE;
+        long forEach = Long.MAX_VALUE;
+        double total = 0;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            for (LinkedListNode<GameStat> node = scoreboard.getScoreList(); node != null; node = node.getNext()) {
+                total += node.getValue().getScore();
+            }
+            list = Math.min(list, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (GameStat stat : scoreboard) {
+                total += stat.getScore();
+            }
+            iterator = Math.min(iterator, System.nanoTime() - start);
+
+            double[] sum = { 0 };
+            start = System.nanoTime();
+            scoreboard.forEachInOrder(stat -> sum[0] += stat.getScore());
+            forEach = Math.min(forEach, System.nanoTime() - start);
+            total += sum[0];
+        }
+        System.out.printf("%-10s %-9s %9.2f ms %9.2f ms %9.2f ms%s\n", String.format("%,d", size), tree, list / 1e6,
+                iterator / 1e6, forEach / 1e6, total < 0 ? " " : "");
+    }
+
+}
@@ -0,0 +1,99 @@
+package app.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import app.Configuration;
+import app.gameengine.model.datastructures.ScoreComparator;
+import app.gameengine.statistics.GameStat;
+import app.gameengine.statistics.Scoreboard;
+import app.gameengine.statistics.StatsJournal;
+
+/**
+ * Measures the cost of journaling scores, and of reading them back when the
+ * game starts.
+ * <p>
+ * First, single scores are added and immediately synced, which is the cost of
+ * making every score durable on its own. Then many scores are added as fast as
+ * possible, leaving them to the periodic group sync and to background
+ * compaction. Finally, the stats file and journal are read by a new scoreboard,
+ * as when the game is started again. Scores which have not been synced when
+ * the game stops are lost, so the durability window is the sync interval.
+ * <p>
+ * The only argument is optional, and is the number of scores added (defaults
+ * to 100,000). The files are written to a temporary directory, which is deleted
+ * afterwards.
+ *
+ * @see StatsJournal
+ */
+public class StatsJournalBenchmark {
+
+    private static final String STATS_FILE = "benchmark_stats.csv";
+    private static final int SYNCED_SCORES = 200;
+
+    /**
+     * Prevent instantiation, as this class is intended to be static.
+     */
+    private StatsJournalBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int scores = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Random random = new Random(1);
+        Path directory = Files.createTempDirectory("stats");
+        Path statsPath = directory.resolve(STATS_FILE);
+        try {
+            Scoreboard scoreboard = new Scoreboard(statsPath, new ScoreComparator(), true);
+            scoreboard.loadStats();
+            long start = System.nanoTime();
+            for (int i = 0; i < SYNCED_SCORES; i++) {
+                scoreboard.addScore(new GameStat("player" + i, random.nextInt(600), random.nextInt(100_000)));
+                scoreboard.getJournal().sync();
+            }
+            long synced = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < scores; i++) {
+                scoreboard.addScore(new GameStat("player" + i, random.nextInt(600), random.nextInt(100_000)));
+            }
+            long added = System.nanoTime() - start;
+            start = System.nanoTime();
+            scoreboard.getJournal().close();
+            long closed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Scoreboard loaded = new Scoreboard(statsPath, new ScoreComparator(), true);
+            loaded.loadStats();
+            long read = System.nanoTime() - start;
+            int count = 0;
+            for (GameStat stat : loaded) {
+                count++;
+            }
+            loaded.getJournal().close();
+
+            System.out.printf("\n*** Journaling %,d scores (sync every %d ms, compact every %,d) ***\n", scores,
+                    Configuration.STATS_SYNC_MILLIS, Configuration.STATS_COMPACT_RECORDS);
+            System.out.printf("Synced on their own: %.3f ms per score\n", synced / 1e6 / SYNCED_SCORES);
+            System.out.printf("Group synced: %.2f us per score (%,.0f scores/s)\n", added / 1e3 / scores,
+                    scores / (added / 1e9));
+            System.out.printf("Closing the journal: %.2f ms\n", closed / 1e6);
+            System.out.printf("Loading: %.2f ms for %,d scores (%,.0f scores/s)\n", read / 1e6, count,
+                    count / (read / 1e9));
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+}
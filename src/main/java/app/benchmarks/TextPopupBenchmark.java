@@ -0,0 +1,157 @@
+package app.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntFunction;
+
+import app.Configuration;
+import app.display.common.FontManager;
+import app.display.common.GlyphAtlas;
+import app.display.common.JFXManager;
+import app.display.common.effects.GlyphTextEffect;
+import app.display.common.effects.SimpleTextEffect;
+import app.display.common.effects.TimedEffect;
+import app.gameengine.model.physics.Vector2D;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+/**
+ * Compares the cost of floating score text drawn with text nodes against the
+ * same text drawn with a {@link GlyphAtlas}.
+ * <p>
+ * Arguments are, in order and both optional: the number of popups shown at once
+ * (defaults to 150), and the number of frames to run for (defaults to 600).
+ * Each popup lasts two seconds, so every frame a few popups are replaced with
+ * new ones showing a different score, and every popup drifts upwards, much
+ * like when ghosts are eaten in Pacman.
+ * <p>
+ * Composing text images with an atlas is always measured, as is looking up
+ * fonts if JavaFX can load them. If the JavaFX toolkit can be started, every
+ * frame of both kinds of popup is also drawn to an offscreen snapshot, to
+ * include the cost of creating, laying out, and rendering them.
+ *
+ * @see GlyphTextEffect
+ * @see SimpleTextEffect
+ */
+public class TextPopupBenchmark {
+
+    private static final double TIMESTEP = 1.0 / 60;
+    private static final double DURATION = 2;
+    private static final String FONT = "Minecraft.ttf";
+    private static final double SIZE = Configuration.ZOOM * 15;
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+
+    /**
+     * Prevent instantiation, as this class is intended to be static.
+     */
+    private TextPopupBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int popups = args.length > 0 ? Integer.parseInt(args[0]) : 150;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+
+        System.out.printf("\n*** %d simultaneous score popups for %d frames ***\n", popups, frames);
+        int lookups = popups * frames;
+        long start = System.nanoTime();
+        GlyphAtlas atlas = GlyphAtlas.getAtlas(FONT, SIZE, Color.CYAN);
+        System.out.printf("Glyph atlas creation: %.1f ms\n", (System.nanoTime() - start) / 1e6);
+        start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            atlas.render(score(i));
+        }
+        System.out.printf("Glyph text per popup: %.3f us (%s)\n", (System.nanoTime() - start) / 1e3 / lookups,
+                atlas.getStringCache());
+
+        try {
+            start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                Font.font("Arial", SIZE + i % 4);
+            }
+            System.out.printf("Font.font per popup: %.3f us\n", (System.nanoTime() - start) / 1e3 / lookups);
+            start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                FontManager.getFont(FONT, SIZE + i % 4);
+            }
+            System.out.printf("FontManager.getFont per popup: %.3f us\n",
+                    (System.nanoTime() - start) / 1e3 / lookups);
+        } catch (LinkageError e) {
+            // JavaFX loads its font libraries lazily, and they may be missing on
+            // systems without a display
+            System.out.println("** JavaFX fonts unavailable, skipping font lookups **");
+            return;
+        }
+
+        if (!JFXManager.isInitialized()) {
+            System.out.println("** JavaFX toolkit unavailable, skipping rendering **");
+            return;
+        }
+        Font font = FontManager.getFont(FONT, SIZE);
+        run("Text nodes", popups, frames, i -> new SimpleTextEffect(score(i), DURATION, font, Color.CYAN));
+        run("Glyph atlas", popups, frames, i -> new GlyphTextEffect(score(i), DURATION, FONT, SIZE, Color.CYAN));
+        Platform.exit();
+    }
+
+    private static String score(int i) {
+        return String.valueOf(200 << (i % 4));
+    }
+
+    /**
+     * Runs the benchmark for a single kind of popup on the JavaFX application
+     * thread, and waits for it to finish.
+     */
+    private static void run(String name, int popups, int frames, IntFunction<TimedEffect> factory)
+            throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            Group group = new Group();
+            Scene scene = new Scene(group, WIDTH, HEIGHT, Color.BLACK);
+            ArrayList<TimedEffect> effects = new ArrayList<>();
+            ArrayList<Vector2D> origins = new ArrayList<>();
+            int created = 0;
+            for (; created < popups; created++) {
+                effects.add(factory.apply(created));
+                origins.add(randomOrigin(created));
+            }
+            // Advance each popup to a different point in its lifetime
+            for (int i = 0; i < popups; i++) {
+                effects.get(i).update(DURATION * i / popups);
+            }
+
+            long start = System.nanoTime();
+            for (int frame = 0; frame < frames; frame++) {
+                group.getChildren().clear();
+                for (int i = 0; i < popups; i++) {
+                    TimedEffect effect = effects.get(i);
+                    effect.update(TIMESTEP);
+                    if (effect.isFinished()) {
+                        effect = factory.apply(created);
+                        effects.set(i, effect);
+                        origins.set(i, randomOrigin(created));
+                        created++;
+                    }
+                    Vector2D origin = origins.get(i);
+                    origin.setY(origin.getY() - TIMESTEP);
+                    Node node = effect.getFrame(origin);
+                    group.getChildren().add(node);
+                }
+                scene.snapshot(null);
+            }
+            double millis = (System.nanoTime() - start) / 1e6 / frames;
+            System.out.printf("%s: %.3f ms/frame (%d popups created)\n", name, millis, created);
+            done.countDown();
+        });
+        done.await();
+    }
+
+    private static Vector2D randomOrigin(int seed) {
+        double scale = Configuration.SCALE_FACTOR;
+        return new Vector2D(Math.floorMod(seed * 7919, WIDTH) / scale, Math.floorMod(seed * 104729, HEIGHT) / scale);
+    }
+
+}
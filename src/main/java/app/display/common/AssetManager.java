@@ -1,14 +1,24 @@
 package app.display.common;
 
-import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import app.Configuration;
-import javafx.embed.swing.SwingFXUtils;
+import app.gameengine.Level;
+import app.gameengine.model.gameobjects.GameObject;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
 
 /**
  * Manages loading and caching of images for sprites, backgrounds, and icons.
@@ -17,6 +27,21 @@ import javafx.scene.image.Image;
  * loaded only once and reused throughout the game. It also handles scaling
  * according to the settings in {@link Configuration} and provides default
  * images if the requested files are missing.
+ * <p>
+ * Sprites, backgrounds, and icons are each kept in their own
+ * {@link ImageCache}, limited to a budget set in {@link Configuration}, so
+ * that images which are no longer used are eventually released. Background
+ * images in particular are cached separately for every size they are
+ * requested at, so old sizes are evicted as the window changes.
+ * <p>
+ * Sprite sheets are normally loaded the first time they are drawn, but can be
+ * loaded ahead of time, in parallel, using {@link #preload(Level)} or
+ * {@link #preloadManifest(String)}. The time taken to load each sprite sheet is
+ * recorded, and can be retrieved with {@link #getLoadTimes()}.
+ * <p>
+ * Once decoded and scaled, sprite sheets are also saved to a
+ * {@link SpriteDiskCache}, which later launches load instead of decoding them
+ * again.
  * 
  * @see RenderableAsSprite
  * @see Background
@@ -30,14 +55,17 @@ public class AssetManager {
     private AssetManager() {
     }
 
-    // Prevents loading a sprite sheet more than once
-    private static HashMap<String, Image> loadedAssets = new HashMap<>();
+    // Prevents loading an image more than once, within the configured budgets
+    private static ImageCache sprites = new ImageCache("Sprite", Configuration.SPRITE_CACHE_BUDGET);
+    private static ImageCache backgrounds = new ImageCache("Background", Configuration.BACKGROUND_CACHE_BUDGET);
+    private static ImageCache icons = new ImageCache("Icon", Configuration.ICON_CACHE_BUDGET);
+    private static ConcurrentHashMap<String, Double> loadTimes = new ConcurrentHashMap<>();
 
-    private static final String ASSETS_DIRECTORY = "data/sprites/";
-    private static final String BACKGROUND_DIRECTORY = "data/backgrounds/";
+    protected static final String ASSETS_DIRECTORY = "data/sprites/";
+    protected static final String BACKGROUND_DIRECTORY = "data/backgrounds/";
     private static final String ICON_DIRECTORY = "data/icons/";
-    private static final String DEFAULT_IMAGE_FILENAME = "MiniWorldSprites/User Interface/UiIcons.png";
-    private static final String DEFAULT_BACKGROUND_IMAGE_FILENAME = "nature/nature_4/full.png";
+    protected static final String DEFAULT_IMAGE_FILENAME = "MiniWorldSprites/User Interface/UiIcons.png";
+    protected static final String DEFAULT_BACKGROUND_IMAGE_FILENAME = "nature/nature_4/full.png";
     private static final String DEFAULT_ICON_IMAGE_FILENAME = "default.png";
     protected static final Image DEFAULT_IMAGE = getDefaultImage();
     protected static final Image SCALED_DEFAULT_IMAGE = scaleImage(DEFAULT_IMAGE);
@@ -51,33 +79,127 @@ public class AssetManager {
      * @return the loaded {@link javafx.scene.image.Image} object
      */
     public static Image getImage(String filename) {
-        if (loadedAssets.containsKey(filename)) {
+        if (filename == null) {
+            return Configuration.INTEGER_SCALE ? SCALED_DEFAULT_IMAGE : DEFAULT_IMAGE;
+        }
+        Image image = sprites.get(filename);
+        if (image != null) {
             // image has already been loaded
-            return loadedAssets.get(filename);
+            return image;
+        }
+        long start = System.nanoTime();
+        try {
+            image = SpriteDiskCache.load(Paths.get(ASSETS_DIRECTORY + filename));
+        } catch (IOException e) {
+            System.out.println("** Invalid Sprite sheet " + filename + ". Using default image **");
+            image = Configuration.INTEGER_SCALE ? SCALED_DEFAULT_IMAGE : DEFAULT_IMAGE;
+        }
+        // If another thread loaded the same image first, use that one instead
+        Image existing = sprites.putIfAbsent(filename, image);
+        if (existing != null) {
+            return existing;
+        }
+        loadTimes.put(filename, (System.nanoTime() - start) / 1e6);
+        return image;
+    }
+
+    /**
+     * Loads every sprite sheet used by the objects in the given level, including
+     * the player and a tiled background, so that none need to be loaded while the
+     * level is being played. Sprite sheets are loaded in parallel, and the method
+     * returns once all of them have been loaded.
+     * <p>
+     * The sprite sheets of the given level are pinned in the cache, so they will
+     * not be evicted while it is being played, and those of any previously
+     * preloaded level are unpinned.
+     *
+     * @param level the level whose sprite sheets should be loaded
+     */
+    public static void preload(Level level) {
+        Set<String> filenames = getSpriteSheets(level);
+        sprites.setPinned(filenames);
+        preload(filenames);
+    }
+
+    /**
+     * Returns the filenames of every sprite sheet used by the objects in the given
+     * level, including the player and a tiled background.
+     *
+     * @param level the level to check
+     * @return the sprite sheets used by the level, relative to the sprites
+     *         directory
+     */
+    public static Set<String> getSpriteSheets(Level level) {
+        HashSet<String> filenames = new HashSet<>();
+        for (GameObject object : level.getStaticObjects()) {
+            filenames.add(object.getSpriteSheetFilename());
+        }
+        for (GameObject object : level.getDynamicObjects()) {
+            filenames.add(object.getSpriteSheetFilename());
         }
+        filenames.add(level.getPlayer().getSpriteSheetFilename());
+        if (!level.getBackground().usesBackgroundImage()) {
+            filenames.add(level.getBackground().getBackgroundImageFileNames().get(0));
+        }
+        filenames.remove(null);
+        return filenames;
+    }
+
+    /**
+     * Loads every sprite sheet listed in the given manifest file. The manifest
+     * should contain one filename per line, relative to the sprites directory.
+     * Blank lines and lines starting with {@code #} are ignored.
+     *
+     * @param manifestPath the path of the manifest file
+     */
+    public static void preloadManifest(String manifestPath) {
         try {
-            String imageFilename = ASSETS_DIRECTORY + filename;
-            Image image = new Image(new FileInputStream(imageFilename), 0, 0, true, true);
-            if (Configuration.INTEGER_SCALE) {
-                image = scaleImage(image);
-                loadedAssets.put(filename, image);
-            } else {
-                loadedAssets.put(filename, image);
+            HashSet<String> filenames = new HashSet<>();
+            for (String line : Files.readAllLines(Paths.get(manifestPath))) {
+                line = line.strip();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    filenames.add(line);
+                }
             }
+            preload(filenames);
+        } catch (IOException e) {
+            System.out.println("** Asset manifest " + manifestPath + " could not be read **");
+        }
+    }
 
-            return image;
-        } catch (FileNotFoundException e) {
-            System.out.println("** Invalid Sprite sheet " + filename + ". Using default image **");
-            if (Configuration.INTEGER_SCALE) {
-                loadedAssets.put(filename, SCALED_DEFAULT_IMAGE);
-                return SCALED_DEFAULT_IMAGE;
-            } else {
-                loadedAssets.put(filename, DEFAULT_IMAGE);
-                return DEFAULT_IMAGE;
+    /**
+     * Loads each of the given sprite sheets in parallel, skipping any which are
+     * already loaded. If {@link Configuration#DEBUG_MODE} is enabled, the time
+     * taken to load each new sprite sheet is printed.
+     *
+     * @param filenames the sprite sheets to load, relative to the sprites directory
+     */
+    public static void preload(Collection<String> filenames) {
+        long start = System.nanoTime();
+        List<String> toLoad = filenames.stream().filter(f -> f != null && !sprites.contains(f)).toList();
+        if (toLoad.isEmpty()) {
+            return;
+        }
+        toLoad.parallelStream().forEach(AssetManager::getImage);
+        if (Configuration.DEBUG_MODE) {
+            System.out.printf("Preloaded %d sprite sheets in %.1f ms\n", toLoad.size(),
+                    (System.nanoTime() - start) / 1e6);
+            for (String filename : toLoad) {
+                System.out.printf("  %7.1f ms  %s\n", loadTimes.getOrDefault(filename, 0.0), filename);
             }
         }
     }
 
+    /**
+     * Returns the time taken to load and scale each sprite sheet loaded so far, in
+     * milliseconds.
+     *
+     * @return a mapping of sprite sheet filenames to load times, sorted by filename
+     */
+    public static Map<String, Double> getLoadTimes() {
+        return new TreeMap<>(loadTimes);
+    }
+
     /**
      * Returns the background image for the given filename, loading and caching it
      * if necessary. If the image cannot be found, a default background image is
@@ -91,21 +213,20 @@ public class AssetManager {
      * @return the loaded {@link javafx.scene.image.Image} object
      */
     public static Image getBackgroundImage(String filename, double width, double height, boolean preserveRatio) {
-        if (loadedAssets.containsKey(filename + width + height + preserveRatio)) {
+        String key = filename + width + height + preserveRatio;
+        Image image = backgrounds.get(key);
+        if (image != null) {
             // image has already been loaded
-            return loadedAssets.get(filename + width + height + preserveRatio);
-        }
-        try {
-            String imageFilename = BACKGROUND_DIRECTORY + filename;
-            Image image = new Image(new FileInputStream(imageFilename), width, height, preserveRatio, false);
-            loadedAssets.put(filename + width + height + preserveRatio, image);
             return image;
-        } catch (FileNotFoundException e) {
+        }
+        try (FileInputStream input = new FileInputStream(BACKGROUND_DIRECTORY + filename)) {
+            image = new Image(input, width, height, preserveRatio, false);
+        } catch (IOException e) {
             System.out.println("** Invalid background image " + filename + ". Using default image **");
-            Image image = getDefaultBackgroundImage(width, height, preserveRatio);
-            loadedAssets.put(filename + width + height + preserveRatio, image);
-            return image;
+            image = getDefaultBackgroundImage(width, height, preserveRatio);
         }
+        Image existing = backgrounds.putIfAbsent(key, image);
+        return existing != null ? existing : image;
     }
 
     /**
@@ -117,21 +238,46 @@ public class AssetManager {
      * @return the loaded {@link javafx.scene.image.Image} object
      */
     public static Image getIconImage(String filename) {
-        if (loadedAssets.containsKey(ICON_DIRECTORY + filename)) {
+        Image image = icons.get(filename);
+        if (image != null) {
             // image has already been loaded
-            return loadedAssets.get(ICON_DIRECTORY + filename);
-        }
-        try {
-            filename = ICON_DIRECTORY + filename;
-            Image image = new Image(new FileInputStream(filename));
-            loadedAssets.put(filename, image);
-            return image;
-        } catch (FileNotFoundException e) {
-            System.out.println("** Invalid icon image " + filename + ". Using default image **");
-            Image image = getDefaultIconImage();
-            loadedAssets.put(ICON_DIRECTORY + filename, image);
             return image;
         }
+        try (FileInputStream input = new FileInputStream(ICON_DIRECTORY + filename)) {
+            image = new Image(input);
+        } catch (IOException e) {
+            System.out.println("** Invalid icon image " + ICON_DIRECTORY + filename + ". Using default image **");
+            image = getDefaultIconImage();
+        }
+        Image existing = icons.putIfAbsent(filename, image);
+        return existing != null ? existing : image;
+    }
+
+    /**
+     * Returns the cache containing sprite sheets.
+     *
+     * @return the sprite cache
+     */
+    public static ImageCache getSpriteCache() {
+        return sprites;
+    }
+
+    /**
+     * Returns the cache containing background images.
+     *
+     * @return the background cache
+     */
+    public static ImageCache getBackgroundCache() {
+        return backgrounds;
+    }
+
+    /**
+     * Returns the cache containing icon images.
+     *
+     * @return the icon cache
+     */
+    public static ImageCache getIconCache() {
+        return icons;
     }
 
     /**
@@ -180,19 +326,41 @@ public class AssetManager {
     }
 
     /**
-     * Scales the given image according to the current configuration zoom setting.
+     * Scales the given image according to the current configuration zoom setting,
+     * using nearest-neighbour sampling so that each pixel becomes a square block of
+     * pixels.
      *
      * @param image the image to scale
      * @return the scaled {@link javafx.scene.image.Image} object
      */
-    private static Image scaleImage(Image image) {
-        BufferedImage original = SwingFXUtils.fromFXImage(image, null);
-        java.awt.Image scaled = original.getScaledInstance(original.getWidth() * (int) Configuration.ZOOM,
-                original.getHeight() * (int) Configuration.ZOOM, java.awt.Image.SCALE_FAST);
-        BufferedImage out = new BufferedImage(scaled.getWidth(null), scaled.getHeight(null),
-                BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = out.createGraphics();
-        g2d.drawImage(scaled, 0, 0, null);
-        return SwingFXUtils.toFXImage(out, null);
+    static Image scaleImage(Image image) {
+        int zoom = (int) Configuration.ZOOM;
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        int scaledWidth = width * zoom;
+        int scaledHeight = height * zoom;
+
+        int[] original = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), original, 0, width);
+        int[] scaled = new int[scaledWidth * scaledHeight];
+        for (int y = 0; y < height; y++) {
+            int rowStart = y * zoom * scaledWidth;
+            for (int x = 0; x < width; x++) {
+                int color = original[y * width + x];
+                int start = rowStart + x * zoom;
+                for (int i = 0; i < zoom; i++) {
+                    scaled[start + i] = color;
+                }
+            }
+            // Every row in the block is identical to the first
+            for (int i = 1; i < zoom; i++) {
+                System.arraycopy(scaled, rowStart, scaled, rowStart + i * scaledWidth, scaledWidth);
+            }
+        }
+
+        WritableImage out = new WritableImage(scaledWidth, scaledHeight);
+        out.getPixelWriter().setPixels(0, 0, scaledWidth, scaledHeight, PixelFormat.getIntArgbInstance(), scaled, 0,
+                scaledWidth);
+        return out;
     }
 }
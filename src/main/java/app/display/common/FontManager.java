@@ -2,7 +2,8 @@ package app.display.common;
 
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.util.HashMap;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import app.Configuration;
 import javafx.scene.text.Font;
@@ -14,8 +15,13 @@ import javafx.scene.text.FontWeight;
  * <p>
  * Provides static methods to retrieve fonts with various weights, postures, and
  * sizes. Fonts are loaded from disk only once and reused by family name for
- * efficiency. If a font file cannot be found, the system default font is used
- * instead.
+ * efficiency, and each combination of font file, weight, posture, and size is
+ * only created once, so the same {@code Font} instance is returned every time
+ * it is requested. If a font file cannot be found, the system default font is
+ * used instead.
+ * <p>
+ * For text which changes often, such as scores, a {@link GlyphAtlas} can be
+ * used instead to draw the text from pre-rendered images.
  * <p>
  * Note that using system fonts can be unreliable, as other devices may lack
  * those fonts. As such, any font used besides the system default should be
@@ -32,7 +38,8 @@ public class FontManager {
     private FontManager() {
     }
 
-    private static HashMap<String, String> loadedFonts = new HashMap<>();
+    private static ConcurrentHashMap<String, String> loadedFonts = new ConcurrentHashMap<>();
+    private static ConcurrentHashMap<String, Font> fonts = new ConcurrentHashMap<>();
     private static final String FONTS_DIRECTORY = "data/fonts/";
 
     /**
@@ -95,22 +102,51 @@ public class FontManager {
      * @return the loaded {@code Font} object, or system default if not found
      */
     public static Font getFont(String fileName, FontWeight weight, FontPosture posture, double size) {
+        String key = fileName + weight + posture + size;
+        return fonts.computeIfAbsent(key, k -> loadFont(fileName, weight, posture, size));
+    }
+
+    /**
+     * Returns the system default font with the given size.
+     *
+     * @param size the font size
+     * @return the default {@code Font} object
+     */
+    public static Font getDefaultFont(double size) {
+        return fonts.computeIfAbsent("default" + size, k -> new Font(size));
+    }
+
+    /**
+     * Creates a new font from the specified file with the given weight, posture,
+     * and size, loading the file if it has not been loaded before.
+     */
+    private static Font loadFont(String fileName, FontWeight weight, FontPosture posture, double size) {
         if (loadedFonts.containsKey(fileName)) {
             return Font.font(loadedFonts.get(fileName), weight, posture, size);
         } else {
-            try {
-                Font font = Font.loadFont(new FileInputStream(FONTS_DIRECTORY + fileName), size);
+            try (FileInputStream input = new FileInputStream(FONTS_DIRECTORY + fileName)) {
+                Font font = Font.loadFont(input, size);
                 if (font == null) {
                     throw new FileNotFoundException();
                 }
                 String family = font.getFamily();
                 loadedFonts.put(fileName, family);
                 return Font.font(family, weight, posture, size);
-            } catch (FileNotFoundException e) {
+            } catch (IOException e) {
                 System.out.println("** Invalid font or file cannot be found " + fileName + ". Using system default **");
                 return new Font(size);
             }
         }
     }
 
+    /**
+     * Returns the path of the specified font file.
+     *
+     * @param fileName the font file name within the fonts directory
+     * @return the path of the font file
+     */
+    static String getFontPath(String fileName) {
+        return FONTS_DIRECTORY + fileName;
+    }
+
 }
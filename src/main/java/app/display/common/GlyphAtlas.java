@@ -0,0 +1,235 @@
+package app.display.common;
+
+import java.awt.FontFormatException;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * A set of pre-rendered character images for a single font, size, and color.
+ * <p>
+ * Every printable ASCII character is drawn once, into a single image, when the
+ * atlas is created. Strings are then drawn by copying the pixels of each
+ * character into a new image, which is far cheaper than creating and laying out
+ * a JavaFX text node, and avoids creating any fonts at all. The images for
+ * recently drawn strings are also kept in an {@link ImageCache}, so text which
+ * repeats, such as the points shown when a ghost is eaten, is only drawn once.
+ * <p>
+ * This is intended for short text which changes often or is shown many times at
+ * once, such as scores and counters. Characters outside of the printable ASCII
+ * range are drawn as spaces. Kerning is not applied, so text drawn with an atlas
+ * may be spaced slightly differently from the same text in a JavaFX text node.
+ * <p>
+ * As characters are drawn with AWT rather than JavaFX, atlases can be created
+ * and used without the JavaFX toolkit, and from any thread.
+ *
+ * @see FontManager
+ * @see ImageCache
+ */
+public class GlyphAtlas {
+
+    private static final char FIRST_CHARACTER = ' ';
+    private static final char LAST_CHARACTER = '~';
+    private static final int COLUMNS = 16;
+    private static final long STRING_CACHE_BUDGET = 1024 * 1024;
+
+    private static ConcurrentHashMap<String, GlyphAtlas> atlases = new ConcurrentHashMap<>();
+
+    private final int[] pixels;
+    private final int atlasWidth;
+    private final int cellWidth;
+    private final int cellHeight;
+    private final int ascent;
+    private final int[] advances = new int[LAST_CHARACTER - FIRST_CHARACTER + 1];
+    private final ImageCache strings;
+    private WritableImage image;
+
+    /**
+     * Returns the atlas for the specified font file, size, and color, creating it
+     * if necessary. If the font file cannot be loaded, the system default font is
+     * used instead.
+     *
+     * @param fileName the font file name within the fonts directory
+     * @param size     the font size
+     * @param color    the color of the text
+     * @return the atlas for the given font, size, and color
+     */
+    public static GlyphAtlas getAtlas(String fileName, double size, Color color) {
+        String key = fileName + size + color;
+        return atlases.computeIfAbsent(key, k -> new GlyphAtlas(fileName, size, color));
+    }
+
+    private GlyphAtlas(String fileName, double size, Color color) {
+        java.awt.Font font = loadFont(fileName, (float) size);
+
+        // Measure every character before drawing any of them
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scratch.createGraphics();
+        FontMetrics metrics = graphics.getFontMetrics(font);
+        graphics.dispose();
+        int maxAdvance = 1;
+        for (char c = FIRST_CHARACTER; c <= LAST_CHARACTER; c++) {
+            int advance = font.canDisplay(c) ? metrics.charWidth(c) : metrics.charWidth(' ');
+            this.advances[c - FIRST_CHARACTER] = advance;
+            maxAdvance = Math.max(maxAdvance, advance);
+        }
+        this.cellWidth = maxAdvance;
+        this.cellHeight = Math.max(1, metrics.getAscent() + metrics.getDescent());
+        this.ascent = metrics.getAscent();
+
+        int rows = (this.advances.length + COLUMNS - 1) / COLUMNS;
+        this.atlasWidth = COLUMNS * this.cellWidth;
+        BufferedImage atlas = new BufferedImage(this.atlasWidth, rows * this.cellHeight, BufferedImage.TYPE_INT_ARGB);
+        graphics = atlas.createGraphics();
+        graphics.setFont(font);
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics.setColor(new java.awt.Color((float) color.getRed(), (float) color.getGreen(), (float) color.getBlue(),
+                (float) color.getOpacity()));
+        for (char c = FIRST_CHARACTER; c <= LAST_CHARACTER; c++) {
+            int index = c - FIRST_CHARACTER;
+            if (font.canDisplay(c)) {
+                // Clip to the cell so that overhanging characters do not bleed into
+                // their neighbours
+                int x = (index % COLUMNS) * this.cellWidth;
+                int y = (index / COLUMNS) * this.cellHeight;
+                graphics.setClip(x, y, this.cellWidth, this.cellHeight);
+                graphics.drawString(String.valueOf(c), x, y + this.ascent);
+            }
+        }
+        graphics.dispose();
+        this.pixels = atlas.getRGB(0, 0, atlas.getWidth(), atlas.getHeight(), null, 0, this.atlasWidth);
+        this.strings = new ImageCache("Glyph " + fileName + " " + size, STRING_CACHE_BUDGET);
+    }
+
+    private static java.awt.Font loadFont(String fileName, float size) {
+        try {
+            java.awt.Font font = java.awt.Font.createFont(java.awt.Font.TRUETYPE_FONT,
+                    new File(FontManager.getFontPath(fileName)));
+            return font.deriveFont(size);
+        } catch (FontFormatException | IOException e) {
+            System.out.println("** Invalid font or file cannot be found " + fileName + ". Using system default **");
+            return new java.awt.Font(java.awt.Font.DIALOG, java.awt.Font.PLAIN, Math.round(size));
+        }
+    }
+
+    /**
+     * Returns an image of the given text. The same image may be returned for
+     * repeated calls with the same text, so it should not be modified.
+     *
+     * @param text the text to draw
+     * @return an image of the text
+     */
+    public Image render(String text) {
+        Image cached = this.strings.get(text);
+        if (cached != null) {
+            return cached;
+        }
+        int width = Math.max(1, this.getWidth(text));
+        int[] out = new int[width * this.cellHeight];
+        int x = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int index = this.getIndex(text.charAt(i));
+            int sourceX = (index % COLUMNS) * this.cellWidth;
+            int sourceY = (index / COLUMNS) * this.cellHeight;
+            int advance = this.advances[index];
+            for (int row = 0; row < this.cellHeight; row++) {
+                System.arraycopy(this.pixels, (sourceY + row) * this.atlasWidth + sourceX, out, row * width + x,
+                        advance);
+            }
+            x += advance;
+        }
+        WritableImage image = new WritableImage(width, this.cellHeight);
+        image.getPixelWriter().setPixels(0, 0, width, this.cellHeight, PixelFormat.getIntArgbInstance(), out, 0,
+                width);
+        Image existing = this.strings.putIfAbsent(text, image);
+        return existing != null ? existing : image;
+    }
+
+    private int getIndex(char c) {
+        if (c < FIRST_CHARACTER || c > LAST_CHARACTER) {
+            return 0;
+        }
+        return c - FIRST_CHARACTER;
+    }
+
+    /**
+     * Returns the width of the given text when drawn with this atlas, in pixels.
+     *
+     * @param text the text to measure
+     * @return the width of the text
+     */
+    public int getWidth(String text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += this.advances[this.getIndex(text.charAt(i))];
+        }
+        return width;
+    }
+
+    /**
+     * Returns the height of text drawn with this atlas, in pixels.
+     *
+     * @return the height of a line of text
+     */
+    public int getHeight() {
+        return this.cellHeight;
+    }
+
+    /**
+     * Returns the distance from the top of text drawn with this atlas to its
+     * baseline, in pixels.
+     *
+     * @return the ascent of the font
+     */
+    public int getAscent() {
+        return this.ascent;
+    }
+
+    /**
+     * Returns the location of the given character within the image returned by
+     * {@link #getImage()}, such as for use as the viewport of an image view.
+     *
+     * @param c the character
+     * @return the bounds of the character within the atlas image
+     */
+    public Rectangle2D getGlyph(char c) {
+        int index = this.getIndex(c);
+        return new Rectangle2D((index % COLUMNS) * this.cellWidth, (index / COLUMNS) * this.cellHeight,
+                this.advances[index], this.cellHeight);
+    }
+
+    /**
+     * Returns a single image containing every character in this atlas.
+     *
+     * @return the atlas image
+     */
+    public synchronized Image getImage() {
+        if (this.image == null) {
+            int height = this.pixels.length / this.atlasWidth;
+            this.image = new WritableImage(this.atlasWidth, height);
+            this.image.getPixelWriter().setPixels(0, 0, this.atlasWidth, height, PixelFormat.getIntArgbInstance(),
+                    this.pixels, 0, this.atlasWidth);
+        }
+        return this.image;
+    }
+
+    /**
+     * Returns the cache of images of previously drawn strings.
+     *
+     * @return the string image cache
+     */
+    public ImageCache getStringCache() {
+        return this.strings;
+    }
+
+}
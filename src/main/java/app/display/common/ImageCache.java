@@ -0,0 +1,228 @@
+package app.display.common;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.scene.image.Image;
+
+/**
+ * A cache of decoded images, limited to a fixed number of bytes.
+ * <p>
+ * The size of each image is estimated as four bytes per pixel. When adding an
+ * image would exceed the budget of the cache, the least recently used images
+ * are evicted until it fits again. Images can be pinned to prevent them from
+ * being evicted, such as the sprite sheets used by the current level, in which
+ * case the cache may exceed its budget until they are unpinned. A single image
+ * larger than the whole budget is still cached, but will be evicted as soon as
+ * another image is added.
+ * <p>
+ * All methods are synchronized, as images may be loaded from several threads
+ * at once. The number of hits, misses, and evictions are recorded, so the
+ * effectiveness of the cache can be measured.
+ *
+ * @see AssetManager
+ */
+public class ImageCache {
+
+    private final String name;
+    private final long budget;
+    private final LinkedHashMap<String, Image> images = new LinkedHashMap<>(16, 0.75f, true);
+    private final HashSet<String> pinned = new HashSet<>();
+    private long size;
+
+    // Statistics
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructs an empty cache with the given name and budget.
+     *
+     * @param name   the name of the cache, used when reporting statistics
+     * @param budget the maximum total size of the cached images, in bytes
+     */
+    public ImageCache(String name, long budget) {
+        this.name = name;
+        this.budget = budget;
+    }
+
+    /**
+     * Returns the image stored with the given key, marking it as the most recently
+     * used image.
+     *
+     * @param key the key of the image
+     * @return the image, or {@code null} if it is not in the cache
+     */
+    public synchronized Image get(String key) {
+        Image image = this.images.get(key);
+        if (image == null) {
+            this.misses++;
+        } else {
+            this.hits++;
+        }
+        return image;
+    }
+
+    /**
+     * Returns whether an image is stored with the given key. This does not count as
+     * a use of the image, and is not recorded as a hit or miss.
+     *
+     * @param key the key of the image
+     * @return {@code true} if the image is cached, {@code false} otherwise
+     */
+    public synchronized boolean contains(String key) {
+        return this.images.containsKey(key);
+    }
+
+    /**
+     * Stores the given image with the given key, unless an image is already stored
+     * with that key. Other images are evicted if necessary to stay within the
+     * budget.
+     *
+     * @param key   the key of the image
+     * @param image the image to store
+     * @return the image already stored with the given key, or {@code null} if the
+     *         given image was stored
+     */
+    public synchronized Image putIfAbsent(String key, Image image) {
+        Image existing = this.images.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        this.images.put(key, image);
+        this.size += sizeOf(image);
+        this.evict(key);
+        return null;
+    }
+
+    /**
+     * Evicts least recently used images until the cache is within its budget,
+     * skipping pinned images and the image with the given key.
+     */
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Image>> iterator = this.images.entrySet().iterator();
+        while (this.size > this.budget && iterator.hasNext()) {
+            Map.Entry<String, Image> entry = iterator.next();
+            if (entry.getKey().equals(keep) || this.pinned.contains(entry.getKey())) {
+                continue;
+            }
+            this.size -= sizeOf(entry.getValue());
+            iterator.remove();
+            this.evictions++;
+        }
+    }
+
+    /**
+     * Prevents the image with the given key from being evicted. The key does not
+     * need to be in the cache yet.
+     *
+     * @param key the key of the image to pin
+     */
+    public synchronized void pin(String key) {
+        this.pinned.add(key);
+    }
+
+    /**
+     * Allows the image with the given key to be evicted again.
+     *
+     * @param key the key of the image to unpin
+     */
+    public synchronized void unpin(String key) {
+        this.pinned.remove(key);
+        this.evict(null);
+    }
+
+    /**
+     * Pins exactly the images with the given keys, unpinning all others.
+     *
+     * @param keys the keys of the images to pin
+     */
+    public synchronized void setPinned(Collection<String> keys) {
+        this.pinned.clear();
+        this.pinned.addAll(keys);
+        this.evict(null);
+    }
+
+    /**
+     * Removes all images from the cache. Pinned keys remain pinned.
+     */
+    public synchronized void clear() {
+        this.images.clear();
+        this.size = 0;
+    }
+
+    /**
+     * Returns the estimated size of the given image, in bytes.
+     *
+     * @param image the image
+     * @return the size of the image
+     */
+    public static long sizeOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    /**
+     * Returns the number of images currently in the cache.
+     *
+     * @return the number of cached images
+     */
+    public synchronized int getCount() {
+        return this.images.size();
+    }
+
+    /**
+     * Returns the estimated total size of all images in the cache, in bytes.
+     *
+     * @return the size of the cache
+     */
+    public synchronized long getSize() {
+        return this.size;
+    }
+
+    /**
+     * Returns the budget of the cache, in bytes.
+     *
+     * @return the budget of the cache
+     */
+    public long getBudget() {
+        return this.budget;
+    }
+
+    /**
+     * Returns the number of times a requested image was in the cache.
+     *
+     * @return the number of hits
+     */
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Returns the number of times a requested image was not in the cache.
+     *
+     * @return the number of misses
+     */
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Returns the number of images evicted to stay within the budget.
+     *
+     * @return the number of evictions
+     */
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s cache: %d images, %.1f/%.1f MB, %d hits, %d misses, %d evictions", this.name,
+                this.images.size(), this.size / 1048576.0, this.budget / 1048576.0, this.hits, this.misses,
+                this.evictions);
+    }
+
+}
@@ -9,9 +9,10 @@ import javafx.scene.control.Label;
  * <p>
  * JavaFX can be very picky about when it wants to run. This static class
  * provides utilities for determining what is safe to do with JavaFX, and what
- * is not. Currently provides one utility, for determining whether the toolkit
- * is initialized, and thus whether JavaFX objects can safely be created and
- * used.
+ * is not. It provides utilities for determining whether the toolkit is
+ * initialized, and thus whether JavaFX objects can safely be created and used,
+ * and for making changes to the scene from threads other than the JavaFX
+ * application thread.
  * <p>
  * This is mostly important for running tests, as the toolkit will not be
  * initialized, but JavaFX objects may still be created, which will throw an
@@ -30,6 +31,7 @@ public class JFXManager {
     }
 
     private static boolean initialized = false;
+    private static boolean startupFailed = false;
 
     /**
      * Returns whether the JavaFX toolkit is initialized, which determines whether
@@ -43,6 +45,10 @@ public class JFXManager {
     public static boolean isInitialized() {
         if (initialized) {
             return true;
+        } else if (startupFailed) {
+            // A failed startup leaves the toolkit half-initialized, so a second
+            // attempt would throw an IllegalStateException and look like success
+            return false;
         }
         try {
             Platform.startup(() -> {
@@ -53,8 +59,28 @@ public class JFXManager {
             initialized = true;
         } catch (Throwable t) {
             initialized = false;
+            startupFailed = true;
         }
         return initialized;
     }
 
+    /**
+     * Runs the given action on the JavaFX application thread. If called from the
+     * application thread, or if the toolkit is not initialized, the action is run
+     * immediately. Otherwise, it is run on the application thread at some point in
+     * the future.
+     * <p>
+     * This is necessary for any changes to the scene made from the simulation
+     * thread, such as showing the pause menu.
+     * 
+     * @param action the action to run
+     */
+    public static void runOnFXThread(Runnable action) {
+        if (Platform.isFxApplicationThread() || !isInitialized()) {
+            action.run();
+        } else {
+            Platform.runLater(action);
+        }
+    }
+
 }
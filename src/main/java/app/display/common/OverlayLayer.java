@@ -0,0 +1,114 @@
+package app.display.common;
+
+import app.Settings;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * Draws the health bars and hitbox outlines of a {@link RenderSnapshot} onto a
+ * single canvas.
+ * <p>
+ * Rather than every object adding its own nodes to the scene, the snapshot
+ * records health bars and hitboxes as plain rectangles, and they are all drawn
+ * here in a single pass. This keeps the size of the scene constant no matter
+ * how many enemies are on screen, or whether {@link Settings#showHitboxes()} is
+ * enabled.
+ * <p>
+ * The canvas only covers the visible part of the level, and is moved along with
+ * the view, so its size does not depend on the size of the level.
+ *
+ * @see RenderSnapshot
+ */
+public class OverlayLayer {
+
+    private static final Color HEALTH_BACKGROUND = Color.DARKRED;
+    private static final Color HEALTH_FOREGROUND = Color.LIMEGREEN;
+
+    private final Node root;
+    private final Canvas canvas;
+    private boolean empty = true;
+
+    /**
+     * Constructs an empty overlay.
+     */
+    public OverlayLayer() {
+        if (!JFXManager.isInitialized()) {
+            this.root = new PlaceholderNode();
+            this.canvas = null;
+            return;
+        }
+        this.canvas = new Canvas();
+        this.canvas.setMouseTransparent(true);
+        this.root = this.canvas;
+    }
+
+    /**
+     * Redraws the overlay with the health bars and hitboxes of the given snapshot.
+     *
+     * @param snapshot the snapshot to draw
+     * @param x        the x coordinate of the visible area of the level, in pixels
+     * @param y        the y coordinate of the visible area of the level, in pixels
+     * @param width    the width of the visible area of the level, in pixels
+     * @param height   the height of the visible area of the level, in pixels
+     */
+    public void draw(RenderSnapshot snapshot, double x, double y, double width, double height) {
+        if (this.canvas == null) {
+            return;
+        }
+        if (this.canvas.getWidth() != width || this.canvas.getHeight() != height) {
+            this.canvas.setWidth(width);
+            this.canvas.setHeight(height);
+        }
+        this.canvas.setLayoutX(x);
+        this.canvas.setLayoutY(y);
+
+        GraphicsContext graphics = this.canvas.getGraphicsContext2D();
+        int healthBarCount = snapshot.getHealthBarCount();
+        int hitboxCount = snapshot.getHitboxCount();
+        if (healthBarCount == 0 && hitboxCount == 0) {
+            // Avoid clearing an already empty canvas every frame
+            if (!this.empty) {
+                graphics.clearRect(0, 0, width, height);
+                this.empty = true;
+            }
+            return;
+        }
+        graphics.clearRect(0, 0, width, height);
+        this.empty = false;
+
+        double[] bars = snapshot.getHealthBars();
+        double[] ratios = snapshot.getHealthRatios();
+        graphics.setFill(HEALTH_BACKGROUND);
+        for (int i = 0; i < healthBarCount; i++) {
+            int index = 4 * i;
+            graphics.fillRect(bars[index] - x, bars[index + 1] - y, bars[index + 2], bars[index + 3]);
+        }
+        graphics.setFill(HEALTH_FOREGROUND);
+        for (int i = 0; i < healthBarCount; i++) {
+            int index = 4 * i;
+            graphics.fillRect(bars[index] - x, bars[index + 1] - y, bars[index + 2] * ratios[i], bars[index + 3]);
+        }
+
+        double[] hitboxes = snapshot.getHitboxes();
+        Color[] colors = snapshot.getHitboxColors();
+        graphics.setLineWidth(1);
+        for (int i = 0; i < hitboxCount; i++) {
+            int index = 4 * i;
+            graphics.setStroke(colors[i]);
+            graphics.strokeRect(hitboxes[index] - x, hitboxes[index + 1] - y, hitboxes[index + 2],
+                    hitboxes[index + 3]);
+        }
+    }
+
+    /**
+     * Returns the node to add to the scene to display this overlay.
+     *
+     * @return the overlay node
+     */
+    public Node getRenderable() {
+        return this.root;
+    }
+
+}
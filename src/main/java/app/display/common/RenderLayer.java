@@ -0,0 +1,60 @@
+package app.display.common;
+
+import app.gameengine.Level;
+
+/**
+ * The layers that sprites are drawn in, from back to front.
+ * <p>
+ * Every sprite in a lower layer is drawn before every sprite in a higher layer,
+ * regardless of the order of the objects within their level. Within a layer,
+ * sprites are drawn in order of their z-index, and sprites with the same
+ * z-index are drawn in the order of their level's object lists. Layers which
+ * are y-sorted instead draw sprites further down the screen in front, if their
+ * level enables y-sorting with {@link Level#isYSorted()}, and only use the
+ * z-index to break ties.
+ *
+ * @see RenderableAsSprite#getRenderLayer()
+ * @see RenderableAsSprite#getZIndex()
+ * @see RenderQueue
+ */
+public enum RenderLayer {
+
+    /**
+     * Walls, floors, and other scenery. This is the default layer for static
+     * objects.
+     */
+    TERRAIN(false),
+
+    /**
+     * Collectibles and other objects that sit on top of the terrain.
+     */
+    ITEMS(false),
+
+    /**
+     * Characters, enemies, and projectiles. This is the default layer for
+     * dynamic objects, and is the only layer which is y-sorted.
+     */
+    ACTORS(true),
+
+    /**
+     * Anything which should always be drawn above every other object.
+     */
+    OVERHEAD(false);
+
+    private final boolean ySorted;
+
+    private RenderLayer(boolean ySorted) {
+        this.ySorted = ySorted;
+    }
+
+    /**
+     * Returns whether sprites in this layer are ordered by their vertical position
+     * when the level enables y-sorting.
+     *
+     * @return {@code true} if this layer can be y-sorted, {@code false} otherwise
+     */
+    public boolean isYSorted() {
+        return this.ySorted;
+    }
+
+}
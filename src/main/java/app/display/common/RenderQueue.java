@@ -0,0 +1,216 @@
+package app.display.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import app.gameengine.Level;
+import app.gameengine.model.gameobjects.GameObject;
+import app.gameengine.model.physics.Hitbox;
+
+/**
+ * Orders the objects of a level for drawing, by {@link RenderLayer} and
+ * z-index.
+ * <p>
+ * Objects are placed into a bucket for their layer as they are added, so
+ * ordering the layers themselves never requires sorting. Within a layer,
+ * objects are grouped by z-index with a counting sort, which keeps objects with
+ * the same z-index in the order they were added.
+ * <p>
+ * If y-sorting is enabled, y-sorted layers are instead ordered by the bottom of
+ * each object's hitbox. The order is kept from one frame to the next, and
+ * fixed with an insertion sort, which takes close to linear time as objects
+ * only move slightly between frames. This allows thousands of objects to be
+ * y-sorted every frame without fully sorting them each time.
+ * <p>
+ * A queue is intended to be used by one thread for a single sequence of
+ * frames, so that it can take advantage of the order of the previous frame.
+ *
+ * @see RenderLayer
+ * @see RenderSnapshot
+ */
+public class RenderQueue {
+
+    private static final int MAX_COUNTING_RANGE = 64;
+
+    private final Bucket[] buckets = new Bucket[RenderLayer.values().length];
+    private int size;
+
+    /**
+     * Constructs an empty queue.
+     */
+    public RenderQueue() {
+        for (int i = 0; i < this.buckets.length; i++) {
+            this.buckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * Removes all objects from the queue, in preparation for a new frame. The order
+     * of y-sorted layers is remembered for the next frame.
+     */
+    public void clear() {
+        for (Bucket bucket : this.buckets) {
+            bucket.added.clear();
+        }
+        this.size = 0;
+    }
+
+    /**
+     * Adds the given object to the bucket for its layer.
+     *
+     * @param object the object to draw
+     */
+    public void add(GameObject object) {
+        RenderLayer layer = object.getRenderLayer();
+        this.buckets[layer == null ? RenderLayer.ACTORS.ordinal() : layer.ordinal()].added.add(object);
+        this.size++;
+    }
+
+    /**
+     * Orders the objects in every layer. This must be called after all objects
+     * for a frame have been added, and before they are retrieved.
+     *
+     * @param ySorted whether y-sorted layers should be ordered by vertical
+     *                position, as given by {@link Level#isYSorted()}
+     */
+    public void sort(boolean ySorted) {
+        for (RenderLayer layer : RenderLayer.values()) {
+            Bucket bucket = this.buckets[layer.ordinal()];
+            if (ySorted && layer.isYSorted()) {
+                bucket.sortByY();
+            } else {
+                bucket.sortByZIndex();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of objects in the queue.
+     *
+     * @return the number of objects
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the objects of the given layer, in the order they should be drawn.
+     * This is only valid after {@link #sort(boolean)} has been called.
+     *
+     * @param layer the layer
+     * @return the ordered objects of the layer
+     */
+    public ArrayList<GameObject> getLayer(RenderLayer layer) {
+        return this.buckets[layer.ordinal()].ordered;
+    }
+
+    /**
+     * The objects of a single layer.
+     */
+    private static class Bucket {
+
+        // Objects added this frame, in the order they were added
+        private final ArrayList<GameObject> added = new ArrayList<>();
+        // Objects in draw order, kept between frames when y-sorting
+        private ArrayList<GameObject> ordered = new ArrayList<>();
+        private ArrayList<GameObject> spare = new ArrayList<>();
+        private final IdentityHashMap<GameObject, Boolean> present = new IdentityHashMap<>();
+        private final IdentityHashMap<GameObject, Boolean> previous = new IdentityHashMap<>();
+        private double[] keys = new double[16];
+        private int[] counts = new int[MAX_COUNTING_RANGE + 1];
+
+        private void sortByZIndex() {
+            this.previous.clear();
+            ArrayList<GameObject> out = this.ordered;
+            out.clear();
+            if (this.added.isEmpty()) {
+                return;
+            }
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (GameObject object : this.added) {
+                min = Math.min(min, object.getZIndex());
+                max = Math.max(max, object.getZIndex());
+            }
+            if (min == max) {
+                out.addAll(this.added);
+            } else if ((long) max - min < MAX_COUNTING_RANGE) {
+                // Stable counting sort, with the counts turned into start offsets
+                int range = max - min + 1;
+                Arrays.fill(this.counts, 0, range + 1, 0);
+                for (GameObject object : this.added) {
+                    this.counts[object.getZIndex() - min + 1]++;
+                }
+                for (int i = 1; i <= range; i++) {
+                    this.counts[i] += this.counts[i - 1];
+                }
+                for (int i = 0; i < this.added.size(); i++) {
+                    out.add(null);
+                }
+                for (GameObject object : this.added) {
+                    out.set(this.counts[object.getZIndex() - min]++, object);
+                }
+            } else {
+                out.addAll(this.added);
+                out.sort((a, b) -> Integer.compare(a.getZIndex(), b.getZIndex()));
+            }
+        }
+
+        private void sortByY() {
+            // Keep the previous order of objects still present, then add any new ones
+            this.present.clear();
+            for (GameObject object : this.added) {
+                this.present.put(object, Boolean.TRUE);
+            }
+            ArrayList<GameObject> next = this.spare;
+            next.clear();
+            for (GameObject object : this.ordered) {
+                if (this.present.containsKey(object) && this.previous.containsKey(object)) {
+                    next.add(object);
+                }
+            }
+            this.previous.clear();
+            for (GameObject object : next) {
+                this.previous.put(object, Boolean.TRUE);
+            }
+            for (GameObject object : this.added) {
+                if (this.previous.put(object, Boolean.TRUE) == null) {
+                    next.add(object);
+                }
+            }
+            this.spare = this.ordered;
+            this.ordered = next;
+
+            // Compute each key once, then insertion sort, which is stable and fast
+            // for nearly sorted input
+            int size = next.size();
+            if (this.keys.length < size) {
+                this.keys = new double[Math.max(size, this.keys.length * 2)];
+            }
+            for (int i = 0; i < size; i++) {
+                this.keys[i] = bottom(next.get(i));
+            }
+            for (int i = 1; i < size; i++) {
+                GameObject object = next.get(i);
+                double key = this.keys[i];
+                int zIndex = object.getZIndex();
+                int j = i - 1;
+                while (j >= 0 && (this.keys[j] > key
+                        || (this.keys[j] == key && next.get(j).getZIndex() > zIndex))) {
+                    this.keys[j + 1] = this.keys[j];
+                    next.set(j + 1, next.get(j));
+                    j--;
+                }
+                this.keys[j + 1] = key;
+                next.set(j + 1, object);
+            }
+        }
+
+        private static double bottom(GameObject object) {
+            Hitbox hitbox = object.getHitbox();
+            return object.getLocation().getY() + hitbox.getOffset().getY() + hitbox.getDimensions().getY();
+        }
+    }
+
+}
@@ -0,0 +1,609 @@
+package app.display.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import app.Configuration;
+import app.Settings;
+import app.StartGame;
+import app.display.common.effects.Effect;
+import app.display.common.ui.UIState;
+import app.gameengine.Game;
+import app.gameengine.Level;
+import app.gameengine.model.datastructures.TripleBuffer;
+import app.gameengine.model.gameobjects.DynamicGameObject;
+import app.gameengine.model.gameobjects.GameObject;
+import app.gameengine.model.gameobjects.StaticGameObject;
+import app.gameengine.model.physics.Hitbox;
+import app.gameengine.model.physics.Vector2D;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+
+/**
+ * A copy of everything needed to draw a single frame of a game.
+ * <p>
+ * A snapshot records the visible sprites of the current level, in the order
+ * they should be drawn, with their sprite sheet, sprite location, position, and
+ * rotation, as well as the frame of each active effect, the values shown by
+ * the UI, and the information needed to draw the background. If the level has a
+ * {@link StaticLayer}, its static objects are left to that layer instead.
+ * Health bars, and hitbox outlines if {@link Settings#showHitboxes()} is
+ * enabled, are recorded as plain rectangles in screen space, to be drawn all at
+ * once by an {@link OverlayLayer}.
+ * <p>
+ * Once captured, a snapshot does not read any mutable game objects, so it can
+ * be drawn on one thread while the game continues to be updated on another.
+ * Effects are only referred to for their nodes, which do not change as they are
+ * updated.
+ * <p>
+ * Snapshots are intended to be reused through a {@link TripleBuffer}, so
+ * capturing a new snapshot reuses the storage of the previous one instead of
+ * allocating new objects for every sprite. A snapshot should only be captured
+ * into by the thread that owns it, and is never modified once published.
+ *
+ * @see StartGame
+ * @see TripleBuffer
+ * @see Viewport
+ */
+public class RenderSnapshot {
+
+    private Level level;
+    private Rectangle2D window;
+    private Rectangle2D view;
+    private Background background;
+    private StaticLayer staticLayer;
+    private double playerCenterX;
+    private double playerCenterY;
+
+    private final RenderQueue queue;
+    private final Consumer<StaticGameObject> staticVisitor = this::addStatic;
+    private boolean showHitboxes;
+    private int consideredCount;
+    private final ArrayList<Sprite> sprites = new ArrayList<>();
+    private int spriteCount;
+    private final ArrayList<EffectFrame> effects = new ArrayList<>();
+    private int effectCount;
+    private UIState uiState;
+
+    // Rectangles for the overlay, stored as x, y, width, and height
+    private double[] healthBars = new double[4 * 16];
+    private double[] healthRatios = new double[16];
+    private int healthBarCount;
+    private double[] hitboxes = new double[4 * 16];
+    private Color[] hitboxColors = new Color[16];
+    private int hitboxCount;
+
+    /**
+     * Constructs an empty snapshot, with its own {@link RenderQueue}.
+     */
+    public RenderSnapshot() {
+        this(new RenderQueue());
+    }
+
+    /**
+     * Constructs an empty snapshot which orders its sprites with the given queue.
+     * Snapshots which are captured one after another by the same thread, such as
+     * those in a {@link TripleBuffer}, should share a queue, so that the order of
+     * each frame can be reused for the next.
+     *
+     * @param queue the queue used to order sprites
+     */
+    public RenderSnapshot(RenderQueue queue) {
+        this.queue = queue;
+    }
+
+    /**
+     * Records the current state of the given game, replacing the previous contents
+     * of this snapshot. Only objects that are within the view are recorded, in the
+     * order given by their {@link RenderLayer} and z-index, and y-sorted if the
+     * level enables it.
+     *
+     * @param game the game to capture
+     */
+    public void capture(Game game) {
+        Level level = game.getCurrentLevel();
+        this.level = level;
+        this.window = Viewport.getWindow(game);
+        this.view = Viewport.getView(game);
+        this.background = level.getBackground();
+        this.staticLayer = level.getStaticLayer();
+        this.playerCenterX = game.getPlayer().getLocation().getX() + game.getPlayer().getSpriteDimensions().getX() / 2;
+        this.playerCenterY = game.getPlayer().getLocation().getY() + game.getPlayer().getSpriteDimensions().getY() / 2;
+
+        this.spriteCount = 0;
+        this.healthBarCount = 0;
+        this.hitboxCount = 0;
+        this.showHitboxes = Settings.showHitboxes();
+        this.queue.clear();
+        this.consideredCount = 0;
+        if (this.staticLayer == null || this.showHitboxes) {
+            // Only look at the static objects around the view, rather than every one
+            this.consideredCount += level.getStaticIndex().query(this.view.getMinX(), this.view.getMinY(),
+                    this.view.getWidth(), this.view.getHeight(), this.staticVisitor);
+        }
+        for (DynamicGameObject object : level.getDynamicObjects()) {
+            if (!object.isPlayer()) {
+                this.enqueue(object);
+            }
+            this.addHealthBar(object);
+            if (this.showHitboxes) {
+                this.addHitbox(object);
+            }
+        }
+        this.consideredCount += level.getDynamicObjects().size();
+        this.enqueue(game.getPlayer());
+        this.queue.sort(level.isYSorted());
+        for (RenderLayer layer : RenderLayer.values()) {
+            for (GameObject object : this.queue.getLayer(layer)) {
+                this.addSprite(object);
+            }
+        }
+
+        this.effectCount = 0;
+        level.getActiveEffects().forEach(this::addEffect);
+
+        if (this.uiState == null) {
+            this.uiState = game.createUIState();
+        }
+        this.uiState.capture(game);
+    }
+
+    private void addStatic(StaticGameObject object) {
+        if (this.staticLayer == null) {
+            this.queue.add(object);
+        }
+        if (this.showHitboxes) {
+            this.addHitbox(object);
+        }
+    }
+
+    private void enqueue(GameObject object) {
+        if (Viewport.isInBounds(object, this.view)) {
+            this.queue.add(object);
+        }
+    }
+
+    private void addSprite(GameObject object) {
+        if (this.spriteCount == this.sprites.size()) {
+            this.sprites.add(new Sprite());
+        }
+        this.sprites.get(this.spriteCount).set(object);
+        this.spriteCount++;
+    }
+
+    private void addEffect(Effect effect, Vector2D origin) {
+        if (this.effectCount == this.effects.size()) {
+            this.effects.add(new EffectFrame());
+        }
+        this.effects.get(this.effectCount).set(effect, origin);
+        this.effectCount++;
+    }
+
+    private void addHealthBar(DynamicGameObject object) {
+        if (!object.showsHealthBar() || object.isDestroyed() || !Viewport.isInBounds(object, this.view)) {
+            return;
+        }
+        if (this.healthBarCount == this.healthRatios.length) {
+            this.healthBars = Arrays.copyOf(this.healthBars, this.healthBars.length * 2);
+            this.healthRatios = Arrays.copyOf(this.healthRatios, this.healthRatios.length * 2);
+        }
+        double scaleFactor = Configuration.SCALE_FACTOR;
+        double width = object.getSpriteWidth() * Configuration.ZOOM;
+        int index = 4 * this.healthBarCount;
+        this.healthBars[index] = scaleFactor * object.getLocation().getX() + (scaleFactor - width) / 2;
+        this.healthBars[index + 1] = scaleFactor * object.getLocation().getY();
+        this.healthBars[index + 2] = width;
+        this.healthBars[index + 3] = width / 10;
+        this.healthRatios[this.healthBarCount] = Math.clamp((double) object.getHP() / object.getMaxHP(), 0, 1);
+        this.healthBarCount++;
+    }
+
+    private void addHitbox(GameObject object) {
+        if (!object.showsHitbox() || object.isDestroyed() || !Viewport.isInBounds(object, this.view)) {
+            return;
+        }
+        if (this.hitboxCount == this.hitboxColors.length) {
+            this.hitboxes = Arrays.copyOf(this.hitboxes, this.hitboxes.length * 2);
+            this.hitboxColors = Arrays.copyOf(this.hitboxColors, this.hitboxColors.length * 2);
+        }
+        double scaleFactor = Configuration.SCALE_FACTOR;
+        Hitbox hitbox = object.getHitbox();
+        int index = 4 * this.hitboxCount;
+        this.hitboxes[index] = (object.getLocation().getX() + hitbox.getOffset().getX()) * scaleFactor;
+        this.hitboxes[index + 1] = (object.getLocation().getY() + hitbox.getOffset().getY()) * scaleFactor;
+        this.hitboxes[index + 2] = hitbox.getDimensions().getX() * scaleFactor;
+        this.hitboxes[index + 3] = hitbox.getDimensions().getY() * scaleFactor;
+        this.hitboxColors[this.hitboxCount] = object.getHitboxColor();
+        this.hitboxCount++;
+    }
+
+    /**
+     * Returns the level this snapshot was captured from.
+     *
+     * @return the captured level
+     */
+    public Level getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Returns the full bounds of the captured level, in game units.
+     *
+     * @return the bounds of the level
+     */
+    public Rectangle2D getWindow() {
+        return this.window;
+    }
+
+    /**
+     * Returns the visible bounds of the captured level, in game units.
+     *
+     * @return the visible bounds of the level
+     */
+    public Rectangle2D getView() {
+        return this.view;
+    }
+
+    /**
+     * Returns the background of the captured level.
+     *
+     * @return the background of the level
+     */
+    public Background getBackground() {
+        return this.background;
+    }
+
+    /**
+     * Returns the static layer of the captured level. If present, static objects
+     * are not recorded as sprites, and the layer should be drawn instead.
+     *
+     * @return the static layer, or {@code null} if the level does not have one
+     */
+    public StaticLayer getStaticLayer() {
+        return this.staticLayer;
+    }
+
+    /**
+     * Returns the X coordinate of the center of the player, in game units.
+     *
+     * @return the X coordinate of the player's center
+     */
+    public double getPlayerCenterX() {
+        return this.playerCenterX;
+    }
+
+    /**
+     * Returns the Y coordinate of the center of the player, in game units.
+     *
+     * @return the Y coordinate of the player's center
+     */
+    public double getPlayerCenterY() {
+        return this.playerCenterY;
+    }
+
+    /**
+     * Returns the number of objects that were checked for visibility while
+     * capturing this snapshot. Static objects are found with the level's
+     * {@link Level#getStaticIndex() spatial index}, so this depends on the size of
+     * the view rather than the size of the level.
+     *
+     * @return the number of objects considered for drawing
+     */
+    public int getConsideredCount() {
+        return this.consideredCount;
+    }
+
+    /**
+     * Returns the number of visible sprites in this snapshot, which is the number
+     * of objects that are drawn.
+     *
+     * @return the number of sprites
+     */
+    public int getSpriteCount() {
+        return this.spriteCount;
+    }
+
+    /**
+     * Returns the sprite at the given index, in draw order.
+     *
+     * @param index the index of the sprite, less than {@link #getSpriteCount()}
+     * @return the sprite at that index
+     */
+    public Sprite getSprite(int index) {
+        return this.sprites.get(index);
+    }
+
+    /**
+     * Returns the number of active effects in this snapshot.
+     *
+     * @return the number of effects
+     */
+    public int getEffectCount() {
+        return this.effectCount;
+    }
+
+    /**
+     * Returns the recorded frame of the effect at the given index.
+     *
+     * @param index the index of the effect, less than {@link #getEffectCount()}
+     * @return the frame of the effect at that index
+     */
+    public EffectFrame getEffect(int index) {
+        return this.effects.get(index);
+    }
+
+    /**
+     * Returns the values shown by the UI of the game when this snapshot was
+     * captured.
+     *
+     * @return the recorded UI state
+     */
+    public UIState getUIState() {
+        return this.uiState;
+    }
+
+    /**
+     * Returns the number of health bars in this snapshot.
+     *
+     * @return the number of health bars
+     */
+    public int getHealthBarCount() {
+        return this.healthBarCount;
+    }
+
+    /**
+     * Returns the bounds of every health bar in this snapshot, in pixels. The
+     * bounds of the health bar at index {@code i} are stored as its x coordinate,
+     * y coordinate, width, and height, starting at index {@code 4 * i}. Only the
+     * first {@link #getHealthBarCount()} health bars are valid.
+     *
+     * @return the bounds of the health bars
+     */
+    public double[] getHealthBars() {
+        return this.healthBars;
+    }
+
+    /**
+     * Returns the fraction of each health bar which is filled, between 0 and 1.
+     * Only the first {@link #getHealthBarCount()} values are valid.
+     *
+     * @return the health of each object with a health bar
+     */
+    public double[] getHealthRatios() {
+        return this.healthRatios;
+    }
+
+    /**
+     * Returns the number of hitbox outlines in this snapshot.
+     *
+     * @return the number of hitbox outlines
+     */
+    public int getHitboxCount() {
+        return this.hitboxCount;
+    }
+
+    /**
+     * Returns the bounds of every hitbox outline in this snapshot, in pixels, in
+     * the same layout as {@link #getHealthBars()}. Only the first
+     * {@link #getHitboxCount()} outlines are valid.
+     *
+     * @return the bounds of the hitbox outlines
+     */
+    public double[] getHitboxes() {
+        return this.hitboxes;
+    }
+
+    /**
+     * Returns the color of each hitbox outline. Only the first
+     * {@link #getHitboxCount()} colors are valid.
+     *
+     * @return the colors of the hitbox outlines
+     */
+    public Color[] getHitboxColors() {
+        return this.hitboxColors;
+    }
+
+    /**
+     * The recorded state of a single effect within a snapshot.
+     * <p>
+     * This records the elapsed time of the effect and the location it is drawn
+     * at, which change as the effect is updated. The effect itself is only used
+     * for the parts of it which are fixed when it is created, such as its nodes,
+     * through {@link Effect#getFrame(Vector2D, double)}.
+     */
+    public static class EffectFrame {
+
+        private Effect effect;
+        private double elapsedTime;
+        private final Vector2D origin = new Vector2D(0, 0);
+
+        private void set(Effect effect, Vector2D origin) {
+            this.effect = effect;
+            this.elapsedTime = effect.getElapsedTime();
+            this.origin.setX(origin.getX());
+            this.origin.setY(origin.getY());
+        }
+
+        /**
+         * Returns the elapsed time of the effect when it was recorded.
+         *
+         * @return the elapsed time, in seconds
+         */
+        public double getElapsedTime() {
+            return this.elapsedTime;
+        }
+
+        /**
+         * Returns the location in world space at which the effect is drawn.
+         *
+         * @return the origin of the effect
+         */
+        public Vector2D getOrigin() {
+            return this.origin.copy();
+        }
+
+        /**
+         * Returns the JavaFX node showing the recorded frame of the effect. This
+         * must only be called from the JavaFX application thread.
+         *
+         * @return the node representing the frame
+         */
+        public Node getFrame() {
+            return this.effect.getFrame(this.origin, this.elapsedTime);
+        }
+
+    }
+
+    /**
+     * The recorded state of a single sprite within a snapshot.
+     * <p>
+     * This implements {@link RenderableAsSprite} so that it can be drawn with
+     * {@link SpriteGraphics} exactly like the object it was copied from. It has no
+     * animations of its own, as it only represents a single frame.
+     */
+    public static class Sprite implements RenderableAsSprite {
+
+        private static final ArrayList<SpriteLocation> NO_ANIMATIONS = new ArrayList<>();
+
+        private String spriteSheetFilename;
+        private final SpriteLocation location = new SpriteLocation(0, 0);
+        private int spriteWidth;
+        private int spriteHeight;
+        private int spriteTileWidth;
+        private int spriteTileHeight;
+        private double x;
+        private double y;
+        private double rotation;
+        private RenderLayer renderLayer;
+        private int zIndex;
+
+        private void set(GameObject object) {
+            SpriteLocation current = object.getCurrentSpriteLocation();
+            this.spriteSheetFilename = object.getSpriteSheetFilename();
+            this.location.setColumn(current.getColumn());
+            this.location.setRow(current.getRow());
+            this.location.setRotation(current.getRotation());
+            this.location.setReflectedHorizontally(current.isReflectedHorizontally());
+            this.location.setReflectedVertically(current.isReflectedVertically());
+            this.spriteWidth = object.getSpriteWidth();
+            this.spriteHeight = object.getSpriteHeight();
+            this.spriteTileWidth = object.getSpriteTileWidth();
+            this.spriteTileHeight = object.getSpriteTileHeight();
+            this.x = object.getLocation().getX() * Configuration.SCALE_FACTOR
+                    + object.getSpriteOffsetX() * Configuration.ZOOM;
+            this.y = object.getLocation().getY() * Configuration.SCALE_FACTOR
+                    + object.getSpriteOffsetY() * Configuration.ZOOM;
+            this.rotation = object.getRotation();
+            this.renderLayer = object.getRenderLayer();
+            this.zIndex = object.getZIndex();
+        }
+
+        /**
+         * Returns the X coordinate at which this sprite is drawn, in pixels.
+         *
+         * @return the screen space X coordinate
+         */
+        public double getX() {
+            return this.x;
+        }
+
+        /**
+         * Returns the Y coordinate at which this sprite is drawn, in pixels.
+         *
+         * @return the screen space Y coordinate
+         */
+        public double getY() {
+            return this.y;
+        }
+
+        /**
+         * Returns the rotation of the object this sprite was copied from, in
+         * degrees. This is in addition to any rotation of the sprite location.
+         *
+         * @return the rotation of the object
+         */
+        public double getRotation() {
+            return this.rotation;
+        }
+
+        @Override
+        public String getSpriteSheetFilename() {
+            return this.spriteSheetFilename;
+        }
+
+        @Override
+        public SpriteLocation getCurrentSpriteLocation() {
+            return this.location;
+        }
+
+        @Override
+        public RenderLayer getRenderLayer() {
+            return this.renderLayer;
+        }
+
+        @Override
+        public int getZIndex() {
+            return this.zIndex;
+        }
+
+        @Override
+        public int getSpriteWidth() {
+            return this.spriteWidth;
+        }
+
+        @Override
+        public int getSpriteHeight() {
+            return this.spriteHeight;
+        }
+
+        @Override
+        public int getSpriteTileWidth() {
+            return this.spriteTileWidth;
+        }
+
+        @Override
+        public int getSpriteTileHeight() {
+            return this.spriteTileHeight;
+        }
+
+        @Override
+        public ArrayList<SpriteLocation> getAnimations() {
+            return NO_ANIMATIONS;
+        }
+
+        @Override
+        public double getTimeInAnimationState() {
+            return 0;
+        }
+
+        @Override
+        public void initAnimations() {
+        }
+
+        @Override
+        public void freezeAnimations() {
+        }
+
+        @Override
+        public void setAnimationState(String newState) {
+        }
+
+        @Override
+        public String getAnimationState() {
+            return "";
+        }
+
+        @Override
+        public double getAnimationDuration() {
+            return 0;
+        }
+
+        @Override
+        public void setAnimationDuration(double animationTime) {
+        }
+
+    }
+
+}
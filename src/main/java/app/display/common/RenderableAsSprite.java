@@ -18,6 +18,7 @@ import app.gameengine.model.gameobjects.GameObject;
  * 
  * @see SpriteLocation
  * @see SpriteGraphics
+ * @see RenderLayer
  * @see Configuration
  * @see GameObject
  */
@@ -99,6 +100,28 @@ public interface RenderableAsSprite {
         return 0;
     }
 
+    /**
+     * Returns the layer this renderable is drawn in. Renderables in lower layers
+     * are always drawn behind those in higher layers.
+     * 
+     * @return the render layer
+     */
+    default RenderLayer getRenderLayer() {
+        return RenderLayer.ACTORS;
+    }
+
+    /**
+     * Returns the z-index of this renderable within its layer. Renderables with a
+     * higher z-index are drawn in front of those with a lower z-index in the same
+     * layer, unless the layer is y-sorted, in which case the z-index only decides
+     * between renderables at the same height.
+     * 
+     * @return the z-index
+     */
+    default int getZIndex() {
+        return 0;
+    }
+
     /**
      * Returns the list of {@code SpriteLocation} objects representing the animation
      * frames of the object within the current animation state.
@@ -0,0 +1,458 @@
+package app.display.common;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import javax.imageio.ImageIO;
+
+import app.Configuration;
+import app.StartGame;
+import app.gameengine.Game;
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Renders the current level of a {@link Game} into an {@code int[]} ARGB
+ * framebuffer without using the JavaFX scene graph.
+ * <p>
+ * The visible set of objects, their draw order, and their positions match those
+ * used by {@link StartGame}, as both are taken from a {@link RenderSnapshot}, so
+ * a frame rendered by this class should look the same as a frame displayed in
+ * the game window. Sprites are drawn with
+ * nearest-neighbour scaling and support the same reflections and rotations as
+ * {@link SpriteGraphics}. Both parallax image backgrounds and tiled sprite
+ * backgrounds are supported.
+ * <p>
+ * Effects are JavaFX nodes and are not rasterized by this class.
+ * <p>
+ * Since nothing here requires the JavaFX toolkit, this renderer can be used for
+ * benchmarks and tests on machines without a display. Frames can be saved as
+ * PNG files with {@link #writePNG(String)}, and the time spent rasterizing each
+ * frame is tracked.
+ *
+ * @see StartGame
+ * @see Viewport
+ * @see SpriteGraphics
+ */
+public class SoftwareRenderer {
+
+    // Sprite sheets and backgrounds, as unscaled ARGB pixels
+    private static HashMap<String, Sheet> loadedSheets = new HashMap<>();
+
+    private final Game game;
+    private final RenderSnapshot snapshot = new RenderSnapshot();
+    private int width;
+    private int height;
+    private int[] pixels;
+
+    // Performance
+    private long lastFrameNanos;
+    private long totalFrameNanos;
+    private long maxFrameNanos;
+    private int frames;
+    private long totalConsidered;
+    private long totalDrawn;
+
+    /**
+     * Constructs a renderer for the given game. The framebuffer is sized to match
+     * the game window, and is resized automatically if the view size changes.
+     *
+     * @param game the game to render
+     */
+    public SoftwareRenderer(Game game) {
+        this.game = game;
+        this.resize();
+    }
+
+    /**
+     * Rasterizes the current state of the game into the framebuffer.
+     *
+     * @return the framebuffer, with one ARGB pixel per element in row-major order
+     */
+    public int[] render() {
+        long start = System.nanoTime();
+        this.resize();
+        Arrays.fill(this.pixels, 0xFF000000);
+
+        Rectangle2D window = Viewport.getWindow(this.game);
+        Rectangle2D view = Viewport.getView(this.game);
+        double scaleFactor = Configuration.SCALE_FACTOR;
+        double translateX = Math.clamp(-view.getMinX() * scaleFactor,
+                -(window.getWidth() - view.getWidth()) * scaleFactor, 0);
+        double translateY = Math.clamp(-view.getMinY() * scaleFactor,
+                -(window.getHeight() - view.getHeight()) * scaleFactor, 0);
+
+        renderBackground(window, view, translateX, translateY);
+
+        // Cull and order sprites exactly as the game window does
+        this.snapshot.capture(this.game);
+        if (this.snapshot.getStaticLayer() != null) {
+            // Static layers are JavaFX nodes, so draw their objects individually,
+            // beneath every sprite as the layer would be
+            this.game.getCurrentLevel().getStaticIndex().query(view.getMinX(), view.getMinY(), view.getWidth(),
+                    view.getHeight(), object -> drawSprite(object,
+                            object.getLocation().getX() * scaleFactor
+                                    + object.getSpriteOffsetX() * Configuration.ZOOM + translateX,
+                            object.getLocation().getY() * scaleFactor
+                                    + object.getSpriteOffsetY() * Configuration.ZOOM + translateY,
+                            object.getRotation()));
+        }
+        for (int i = 0; i < this.snapshot.getSpriteCount(); i++) {
+            RenderSnapshot.Sprite sprite = this.snapshot.getSprite(i);
+            drawSprite(sprite, sprite.getX() + translateX, sprite.getY() + translateY, sprite.getRotation());
+        }
+        this.totalConsidered += this.snapshot.getConsideredCount();
+        this.totalDrawn += this.snapshot.getSpriteCount();
+
+        this.lastFrameNanos = System.nanoTime() - start;
+        this.totalFrameNanos += this.lastFrameNanos;
+        this.maxFrameNanos = Math.max(this.maxFrameNanos, this.lastFrameNanos);
+        this.frames++;
+        return this.pixels;
+    }
+
+    private void renderBackground(Rectangle2D window, Rectangle2D view, double translateX, double translateY) {
+        double scaleFactor = Configuration.SCALE_FACTOR;
+        Background background = this.game.getCurrentLevel().getBackground();
+        if (background.usesBackgroundImage()) {
+            double windowWidth = window.getWidth() * scaleFactor;
+            double windowHeight = window.getHeight() * scaleFactor;
+            double viewX = view.getMinX() * scaleFactor;
+            double viewY = view.getMinY() * scaleFactor;
+            double viewWidth = view.getWidth() * scaleFactor;
+            double viewHeight = view.getHeight() * scaleFactor;
+            double hiddenWidth = windowWidth - viewWidth;
+            double hiddenHeight = windowHeight - viewHeight;
+
+            ArrayList<String> backgroundFileNames = background.getBackgroundImageFileNames();
+            ArrayList<Double> parallaxRatios = background.getParallaxRatios();
+
+            for (int i = 0; i < backgroundFileNames.size(); i++) {
+                double parallaxRatio = parallaxRatios.get(i);
+                double width = Math.clamp(windowWidth - hiddenWidth * (1 - parallaxRatio), viewWidth, windowWidth);
+                double height = Math.clamp(windowHeight - hiddenHeight * (1 - parallaxRatio), viewHeight,
+                        windowHeight);
+                Sheet image = getBackground(backgroundFileNames.get(i), width, height);
+
+                double offsetX = viewX * parallaxRatio;
+                double offsetY = viewY * parallaxRatio;
+                double startX = Math.floor(offsetX / image.width) * image.width - offsetX;
+                double startY = Math.floor(offsetY / image.height) * image.height - offsetY;
+
+                for (double posX = startX; posX < viewWidth; posX += image.width) {
+                    for (double posY = startY; posY < viewHeight; posY += image.height) {
+                        blit(image, 0, 0, image.width, image.height, (int) Math.round(posX),
+                                (int) Math.round(posY), 1, false, false, 0);
+                    }
+                }
+            }
+        } else {
+            double hiddenWidth = window.getWidth() - view.getWidth();
+            double hiddenHeight = window.getHeight() - view.getHeight();
+            double playerX = this.game.getPlayer().getLocation().getX()
+                    + this.game.getPlayer().getSpriteDimensions().getX() / 2;
+            double playerY = this.game.getPlayer().getLocation().getY()
+                    + this.game.getPlayer().getSpriteDimensions().getY() / 2;
+            int startX = Math.clamp((int) view.getMinX(), 0, (int) hiddenWidth);
+            int startY = Math.clamp((int) view.getMinY(), 0, (int) hiddenHeight);
+            int endX = Math.clamp((int) (Math.ceil(playerX) + 1 + view.getWidth() / 2), (int) view.getWidth(),
+                    (int) window.getWidth());
+            int endY = Math.clamp((int) (Math.ceil(playerY) + 1 + view.getHeight() / 2), (int) view.getHeight(),
+                    (int) window.getHeight());
+
+            for (int i = startX; i < endX; i++) {
+                for (int j = startY; j < endY; j++) {
+                    BlankTile tile = new BlankTile(i, j, background.getBackgroundImageFileNames().get(0),
+                            background.getGroundTileSpriteLocation());
+                    drawSprite(tile, i * scaleFactor + translateX, j * scaleFactor + translateY, 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws the current sprite of the given object with its top left corner at the
+     * given pixel location, matching the viewport and transformations applied by
+     * {@link SpriteGraphics}.
+     */
+    private void drawSprite(RenderableAsSprite object, double x, double y, double rotation) {
+        Sheet sheet = getSheet(object.getSpriteSheetFilename());
+        SpriteLocation location = sheet.isDefault ? SpriteGraphics.DEFAULT_IMAGE_LOCATION
+                : object.getCurrentSpriteLocation();
+        int srcX = object.getSpriteTileWidth() * location.getColumn();
+        int srcY = object.getSpriteTileHeight() * location.getRow();
+        blit(sheet, srcX, srcY, object.getSpriteWidth(), object.getSpriteHeight(), (int) Math.round(x),
+                (int) Math.round(y), Configuration.ZOOM, location.isReflectedHorizontally(),
+                location.isReflectedVertically(), location.getRotation() + rotation);
+    }
+
+    /**
+     * Copies a region of the given sheet into the framebuffer using
+     * nearest-neighbour sampling. Reflection and rotation are applied about the
+     * center of the destination region, in the same order as JavaFX applies them
+     * to a node. Pixels are alpha blended over the existing contents.
+     */
+    private void blit(Sheet sheet, int srcX, int srcY, int srcWidth, int srcHeight, int dstX, int dstY,
+            double zoom, boolean flipH, boolean flipV, double rotation) {
+        double dstWidth = srcWidth * zoom;
+        double dstHeight = srcHeight * zoom;
+        double centerX = dstX + dstWidth / 2;
+        double centerY = dstY + dstHeight / 2;
+
+        double radians = Math.toRadians(rotation % 360);
+        double cos = Math.cos(radians);
+        double sin = Math.sin(radians);
+        // Axis-aligned bounds of the transformed sprite
+        double halfWidth = (Math.abs(dstWidth * cos) + Math.abs(dstHeight * sin)) / 2;
+        double halfHeight = (Math.abs(dstWidth * sin) + Math.abs(dstHeight * cos)) / 2;
+        int minX = Math.max(0, (int) Math.floor(centerX - halfWidth));
+        int maxX = Math.min(this.width, (int) Math.ceil(centerX + halfWidth));
+        int minY = Math.max(0, (int) Math.floor(centerY - halfHeight));
+        int maxY = Math.min(this.height, (int) Math.ceil(centerY + halfHeight));
+
+        int srcMaxX = Math.min(srcX + srcWidth, sheet.width);
+        int srcMaxY = Math.min(srcY + srcHeight, sheet.height);
+
+        for (int py = minY; py < maxY; py++) {
+            double dy = py + 0.5 - centerY;
+            int row = py * this.width;
+            for (int px = minX; px < maxX; px++) {
+                double dx = px + 0.5 - centerX;
+                // Undo the rotation, then the reflection
+                double localX = dx * cos + dy * sin;
+                double localY = -dx * sin + dy * cos;
+                if (flipH) {
+                    localX = -localX;
+                }
+                if (flipV) {
+                    localY = -localY;
+                }
+                int sx = srcX + (int) Math.floor((localX + dstWidth / 2) / zoom);
+                int sy = srcY + (int) Math.floor((localY + dstHeight / 2) / zoom);
+                if (sx < srcX || sy < srcY || sx >= srcMaxX || sy >= srcMaxY) {
+                    continue;
+                }
+                int color = sheet.pixels[sy * sheet.width + sx];
+                int alpha = color >>> 24;
+                if (alpha == 0xFF) {
+                    this.pixels[row + px] = color;
+                } else if (alpha != 0) {
+                    this.pixels[row + px] = blend(color, this.pixels[row + px], alpha);
+                }
+            }
+        }
+    }
+
+    private static int blend(int src, int dst, int alpha) {
+        int inverse = 0xFF - alpha;
+        int r = (((src >> 16) & 0xFF) * alpha + ((dst >> 16) & 0xFF) * inverse) / 0xFF;
+        int g = (((src >> 8) & 0xFF) * alpha + ((dst >> 8) & 0xFF) * inverse) / 0xFF;
+        int b = ((src & 0xFF) * alpha + (dst & 0xFF) * inverse) / 0xFF;
+        int a = alpha + ((dst >>> 24) * inverse) / 0xFF;
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    private void resize() {
+        int width = (int) this.game.getWindowWidth();
+        int height = (int) this.game.getWindowHeight();
+        if (this.pixels == null || width != this.width || height != this.height) {
+            this.width = width;
+            this.height = height;
+            this.pixels = new int[width * height];
+        }
+    }
+
+    /**
+     * Saves the most recently rendered frame as a PNG image.
+     *
+     * @param filename the path of the image to write
+     * @throws IOException if the image cannot be written
+     */
+    public void writePNG(String filename) throws IOException {
+        BufferedImage image = new BufferedImage(this.width, this.height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, this.width, this.height, this.pixels, 0, this.width);
+        ImageIO.write(image, "png", new File(filename));
+    }
+
+    /**
+     * Returns the framebuffer containing the most recently rendered frame.
+     *
+     * @return the framebuffer, with one ARGB pixel per element in row-major order
+     */
+    public int[] getPixels() {
+        return this.pixels;
+    }
+
+    /**
+     * Returns the width of the framebuffer, in pixels.
+     *
+     * @return the width of the framebuffer
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Returns the height of the framebuffer, in pixels.
+     *
+     * @return the height of the framebuffer
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Returns the number of frames rendered so far.
+     *
+     * @return the number of frames rendered
+     */
+    public int getFrameCount() {
+        return this.frames;
+    }
+
+    /**
+     * Returns the time taken to rasterize the most recent frame, in milliseconds.
+     *
+     * @return the time taken by the last frame
+     */
+    public double getLastFrameMillis() {
+        return this.lastFrameNanos / 1e6;
+    }
+
+    /**
+     * Returns the average time taken to rasterize a frame, in milliseconds.
+     *
+     * @return the average frame time, or 0 if no frames have been rendered
+     */
+    public double getAverageFrameMillis() {
+        return this.frames == 0 ? 0 : this.totalFrameNanos / 1e6 / this.frames;
+    }
+
+    /**
+     * Returns the longest time taken to rasterize a single frame, in milliseconds.
+     *
+     * @return the maximum frame time
+     */
+    public double getMaxFrameMillis() {
+        return this.maxFrameNanos / 1e6;
+    }
+
+    /**
+     * Returns the average number of objects checked for visibility per frame.
+     *
+     * @return the average number of objects considered, or 0 if no frames have
+     *         been rendered
+     * @see RenderSnapshot#getConsideredCount()
+     */
+    public double getAverageConsidered() {
+        return this.frames == 0 ? 0 : (double) this.totalConsidered / this.frames;
+    }
+
+    /**
+     * Returns the average number of sprites drawn per frame.
+     *
+     * @return the average number of sprites drawn, or 0 if no frames have been
+     *         rendered
+     */
+    public double getAverageDrawn() {
+        return this.frames == 0 ? 0 : (double) this.totalDrawn / this.frames;
+    }
+
+    /**
+     * Clears all recorded frame times and object counts.
+     */
+    public void resetStatistics() {
+        this.lastFrameNanos = 0;
+        this.totalFrameNanos = 0;
+        this.maxFrameNanos = 0;
+        this.frames = 0;
+        this.totalConsidered = 0;
+        this.totalDrawn = 0;
+    }
+
+    private static Sheet getSheet(String filename) {
+        Sheet sheet = loadedSheets.get(filename);
+        if (sheet == null) {
+            sheet = readSheet(AssetManager.ASSETS_DIRECTORY + filename, false);
+            if (sheet == null) {
+                System.out.println("** Invalid Sprite sheet " + filename + ". Using default image **");
+                sheet = readSheet(AssetManager.ASSETS_DIRECTORY + AssetManager.DEFAULT_IMAGE_FILENAME, true);
+                if (sheet == null) {
+                    throw new RuntimeException("Default sprite sheet could not be loaded");
+                }
+            }
+            loadedSheets.put(filename, sheet);
+        }
+        return sheet;
+    }
+
+    private static Sheet getBackground(String filename, double width, double height) {
+        String key = filename + width + height;
+        Sheet sheet = loadedSheets.get(key);
+        if (sheet == null) {
+            Sheet original = readSheet(AssetManager.BACKGROUND_DIRECTORY + filename, false);
+            if (original == null) {
+                System.out.println("** Invalid background image " + filename + ". Using default image **");
+                original = readSheet(AssetManager.BACKGROUND_DIRECTORY + AssetManager.DEFAULT_BACKGROUND_IMAGE_FILENAME,
+                        false);
+                if (original == null) {
+                    throw new RuntimeException("Default background image could not be loaded");
+                }
+            }
+            // Fit within the requested size while preserving the aspect ratio
+            double scale = Math.min(width / original.width, height / original.height);
+            sheet = original.scaled(Math.max(1, (int) Math.round(original.width * scale)),
+                    Math.max(1, (int) Math.round(original.height * scale)));
+            loadedSheets.put(key, sheet);
+        }
+        return sheet;
+    }
+
+    private static Sheet readSheet(String path, boolean isDefault) {
+        try {
+            BufferedImage image = ImageIO.read(new File(path));
+            if (image == null) {
+                return null;
+            }
+            int width = image.getWidth();
+            int height = image.getHeight();
+            int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+            return new Sheet(pixels, width, height, isDefault);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Unscaled ARGB pixels of a sprite sheet or background image.
+     */
+    private static class Sheet {
+
+        private final int[] pixels;
+        private final int width;
+        private final int height;
+        private final boolean isDefault;
+
+        private Sheet(int[] pixels, int width, int height, boolean isDefault) {
+            this.pixels = pixels;
+            this.width = width;
+            this.height = height;
+            this.isDefault = isDefault;
+        }
+
+        private Sheet scaled(int newWidth, int newHeight) {
+            int[] out = new int[newWidth * newHeight];
+            for (int y = 0; y < newHeight; y++) {
+                int srcRow = (int) ((long) y * this.height / newHeight) * this.width;
+                for (int x = 0; x < newWidth; x++) {
+                    out[y * newWidth + x] = this.pixels[srcRow + (int) ((long) x * this.width / newWidth)];
+                }
+            }
+            return new Sheet(out, newWidth, newHeight, this.isDefault);
+        }
+    }
+
+}
@@ -0,0 +1,269 @@
+package app.display.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import app.Configuration;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Stores decoded and scaled sprite sheets on disk, so that later launches of
+ * the game do not need to decode and scale them again.
+ * <p>
+ * Each sprite sheet is stored as a single file of raw ARGB pixels, which is
+ * copied directly into an image when loaded, memory mapping the file if it is
+ * large. Every file
+ * begins with a header recording the format version, the zoom the pixels were
+ * scaled by, the dimensions of the image, and the length, modification time
+ * and hash of the source PNG, where the hash is made up of its length and
+ * CRC-32C checksum. A cached file is only used if its zoom matches the current
+ * zoom. It is used without reading the source PNG while the length and
+ * modification time match, and otherwise only if the hash of the source PNG
+ * still matches. Any other cached file is replaced, so editing a sprite sheet
+ * or changing {@link Configuration#ZOOM} never shows stale pixels.
+ * <p>
+ * The cache is stored in {@link Configuration#SPRITE_DISK_CACHE_DIRECTORY}, and
+ * can be deleted at any time. It is enabled by
+ * {@link Configuration#SPRITE_DISK_CACHE}, and can also be enabled or disabled
+ * at runtime with {@link #setEnabled(boolean)}, such as to compare start up
+ * times with and without it.
+ *
+ * @see AssetManager
+ */
+public class SpriteDiskCache {
+
+    /**
+     * Prevent instantiation, as this class is intended to be static.
+     */
+    private SpriteDiskCache() {
+    }
+
+    private static final int MAGIC = 0x53505243; // "SPRC"
+    private static final int VERSION = 2;
+    // Magic, version, zoom, width, height, and the length, modification time, and
+    // hash of the source
+    private static final int HEADER_LENGTH = 5 * Integer.BYTES + 3 * Long.BYTES;
+    private static final int STAMP_POSITION = 5 * Integer.BYTES;
+    private static final String EXTENSION = ".argb";
+    private static final long MAP_THRESHOLD = 1024 * 1024;
+
+    private static volatile boolean enabled = Configuration.SPRITE_DISK_CACHE;
+
+    /**
+     * Loads the given sprite sheet, using the cached pixels if they are up to
+     * date, or otherwise decoding the sprite sheet, scaling it if
+     * {@link Configuration#INTEGER_SCALE} is enabled, and caching the result. The
+     * sprite sheet is only read if its length or modification time differ from
+     * those recorded in the cache.
+     *
+     * @param source the path of the sprite sheet
+     * @return the loaded image, scaled if integer scaling is enabled
+     * @throws IOException if the sprite sheet cannot be read
+     */
+    public static Image load(Path source) throws IOException {
+        int zoom = Configuration.INTEGER_SCALE ? (int) Configuration.ZOOM : 1;
+        if (!enabled) {
+            return decode(Files.readAllBytes(source), zoom);
+        }
+
+        long length = Files.size(source);
+        long modified = Files.getLastModifiedTime(source).toMillis();
+        Path cached = getCachePath(source, zoom);
+        Image image = read(cached, zoom, length, modified, -1);
+        if (image != null) {
+            return image;
+        }
+
+        // The file has been touched, but is only decoded again if it has changed
+        byte[] bytes = Files.readAllBytes(source);
+        long hash = hash(bytes);
+        image = read(cached, zoom, -1, -1, hash);
+        if (image != null) {
+            restamp(cached, bytes.length, modified);
+            return image;
+        }
+        image = decode(bytes, zoom);
+        write(cached, zoom, bytes.length, modified, hash, image);
+        return image;
+    }
+
+    private static Image decode(byte[] bytes, int zoom) throws IOException {
+        Image image = new Image(new ByteArrayInputStream(bytes), 0, 0, true, true);
+        if (image.isError()) {
+            throw new IOException("Unable to decode sprite sheet", image.getException());
+        }
+        return zoom != 1 ? AssetManager.scaleImage(image) : image;
+    }
+
+    /**
+     * Reads the cached pixels at the given path, if they exist and were created
+     * at the given zoom from a source with the given hash, or with the given
+     * length and modification time if the hash is negative.
+     */
+    private static Image read(Path cached, int zoom, long sourceLength, long modified, long hash) {
+        if (!Files.isRegularFile(cached)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(cached, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_LENGTH) {
+                return null;
+            }
+            ByteBuffer buffer;
+            if (length >= MAP_THRESHOLD) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            } else {
+                // Mapping has a fixed cost which is only worthwhile for larger files
+                buffer = ByteBuffer.allocate((int) length);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                }
+                buffer.flip();
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getInt() != zoom) {
+                return null;
+            }
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            long storedLength = buffer.getLong();
+            long storedModified = buffer.getLong();
+            long storedHash = buffer.getLong();
+            boolean matches = hash < 0 ? storedLength == sourceLength && storedModified == modified
+                    : storedHash == hash;
+            if (!matches || width <= 0 || height <= 0
+                    || length != HEADER_LENGTH + (long) width * height * Integer.BYTES) {
+                return null;
+            }
+            int[] pixels = new int[width * height];
+            buffer.asIntBuffer().get(pixels);
+            WritableImage image = new WritableImage(width, height);
+            image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+            return image;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Records a new length and modification time for the source of the cached
+     * pixels at the given path, so that the source is not read again while they
+     * are unchanged.
+     */
+    private static void restamp(Path cached, long length, long modified) {
+        ByteBuffer stamp = ByteBuffer.allocate(2 * Long.BYTES).putLong(length).putLong(modified).flip();
+        try (FileChannel channel = FileChannel.open(cached, StandardOpenOption.WRITE)) {
+            while (stamp.hasRemaining()) {
+                channel.write(stamp, STAMP_POSITION + stamp.position());
+            }
+        } catch (IOException e) {
+            System.out.println("** Sprite sheet cache " + cached + " could not be written **");
+        }
+    }
+
+    /**
+     * Writes the pixels of the given image to the given path. The file is written
+     * to a temporary file first and then moved into place, so that a partially
+     * written file is never read.
+     */
+    private static void write(Path cached, int zoom, long length, long modified, long hash, Image image) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        int[] pixels = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + pixels.length * Integer.BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(zoom).putInt(width).putInt(height).putLong(length)
+                .putLong(modified).putLong(hash);
+        buffer.asIntBuffer().put(pixels);
+        buffer.rewind();
+
+        Path temporary = null;
+        try {
+            Files.createDirectories(cached.getParent());
+            temporary = Files.createTempFile(cached.getParent(), cached.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temporary, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("** Sprite sheet cache " + cached + " could not be written **");
+            try {
+                if (temporary != null) {
+                    Files.deleteIfExists(temporary);
+                }
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static long hash(byte[] bytes) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(bytes);
+        return (long) bytes.length << 32 | checksum.getValue();
+    }
+
+    /**
+     * Returns the path of the cache file for the given sprite sheet at the given
+     * zoom. The path of the sprite sheet is flattened into a single file name, so
+     * each sprite sheet has exactly one cache file per zoom, which is replaced
+     * whenever the sprite sheet changes.
+     *
+     * @param source the path of the sprite sheet
+     * @param zoom   the zoom the sprite sheet is scaled by
+     * @return the path of the cache file
+     */
+    public static Path getCachePath(Path source, int zoom) {
+        String name = source.normalize().toString().replaceAll("[^A-Za-z0-9._-]", "_");
+        return Paths.get(Configuration.SPRITE_DISK_CACHE_DIRECTORY, name + "@" + zoom + EXTENSION);
+    }
+
+    /**
+     * Deletes every file in the cache.
+     */
+    public static void clear() {
+        Path directory = Paths.get(Configuration.SPRITE_DISK_CACHE_DIRECTORY);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            System.out.println("** Sprite sheet cache " + directory + " could not be cleared **");
+        }
+    }
+
+    /**
+     * Returns whether sprite sheets are currently loaded from and saved to the
+     * cache.
+     *
+     * @return {@code true} if the cache is enabled, {@code false} otherwise
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether sprite sheets are loaded from and saved to the cache. This
+     * only affects sprite sheets which are not yet loaded.
+     *
+     * @param enabled {@code true} to enable the cache, {@code false} to disable it
+     */
+    public static void setEnabled(boolean enabled) {
+        SpriteDiskCache.enabled = enabled;
+    }
+
+}
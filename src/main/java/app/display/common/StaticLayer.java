@@ -0,0 +1,37 @@
+package app.display.common;
+
+import app.StartGame;
+import app.gameengine.Level;
+import javafx.scene.Node;
+
+/**
+ * A layer which draws the background and all static objects of a level as a
+ * single node, in place of drawing each of them as their own sprite.
+ * <p>
+ * Levels with a very large number of static objects that rarely change, such as
+ * the cells of a Minesweeper board, can provide a layer to avoid recreating a
+ * sprite for every object on every frame. The layer is expected to keep its
+ * contents between frames and redraw only the parts of the level which have
+ * changed.
+ *
+ * @see Level#getStaticLayer()
+ * @see StartGame
+ */
+public interface StaticLayer {
+
+    /**
+     * Brings the contents of this layer up to date with the level. This is called
+     * once per frame, on the JavaFX application thread, before the layer is drawn.
+     */
+    void refresh();
+
+    /**
+     * Returns the JavaFX node that draws this layer. The node is positioned in
+     * screen space, with the top left corner of the level at the origin. It is
+     * expected that the same node is returned every time.
+     *
+     * @return the renderable JavaFX node
+     */
+    Node getRenderable();
+
+}
@@ -0,0 +1,94 @@
+package app.display.common;
+
+import app.StartGame;
+import app.gameengine.Game;
+import app.gameengine.Level;
+import app.gameengine.model.gameobjects.GameObject;
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Static class for computing which portion of a level is visible.
+ * <p>
+ * The window is the full size of the current level, and the view is the part of
+ * that window that is actually displayed, centered on the player and clamped to
+ * the edges of the level. Both are measured in game units, not pixels.
+ * <p>
+ * These calculations are shared between {@link StartGame} and
+ * {@link SoftwareRenderer}, so that both draw exactly the same visible set of
+ * objects. Only {@link Rectangle2D} is used, which does not require the JavaFX
+ * toolkit to be initialized.
+ *
+ * @see StartGame
+ * @see SoftwareRenderer
+ */
+public class Viewport {
+
+    /**
+     * Prevent instantiation, as this class is intended to be static.
+     */
+    private Viewport() {
+    }
+
+    /**
+     * Returns the full bounds of the current level of the given game, in game
+     * units.
+     *
+     * @param game the game being rendered
+     * @return the bounds of the current level
+     */
+    public static Rectangle2D getWindow(Game game) {
+        Level level = game.getCurrentLevel();
+        return new Rectangle2D(0, 0, level.getWidth(), level.getHeight());
+    }
+
+    /**
+     * Returns the visible portion of the current level of the given game, in game
+     * units. The view is centered on the player where possible, and never extends
+     * beyond the edges of the level.
+     *
+     * @param game the game being rendered
+     * @return the visible bounds of the current level
+     */
+    public static Rectangle2D getView(Game game) {
+        return getView(game.getCurrentLevel());
+    }
+
+    /**
+     * Returns the portion of the given level that is visible while it is being
+     * played, in game units. This is the same as {@link #getView(Game)} when the
+     * level is the current level of its game.
+     *
+     * @param level the level being played
+     * @return the visible bounds of the level
+     */
+    public static Rectangle2D getView(Level level) {
+        int width = level.getWidth();
+        int height = level.getHeight();
+        int viewWidth = Math.min(level.getViewWidth(), width);
+        int viewHeight = Math.min(level.getViewHeight(), height);
+
+        double playerX = level.getPlayer().getLocation().getX() + level.getPlayer().getSpriteDimensions().getX() / 2;
+        double playerY = level.getPlayer().getLocation().getY() + level.getPlayer().getSpriteDimensions().getY() / 2;
+
+        double viewX = Math.clamp(playerX - viewWidth / 2, 0, width - viewWidth);
+        double viewY = Math.clamp(playerY - viewHeight / 2, 0, height - viewHeight);
+
+        return new Rectangle2D(viewX, viewY, viewWidth, viewHeight);
+    }
+
+    /**
+     * Returns whether any part of the given object's sprite lies within the view.
+     * Objects for which this returns {@code false} can safely be culled.
+     *
+     * @param object the object to check
+     * @param view   the visible bounds, in game units
+     * @return {@code true} if the object is visible, {@code false} otherwise
+     */
+    public static boolean isInBounds(GameObject object, Rectangle2D view) {
+        return object.getLocation().getX() <= view.getMaxX()
+                && object.getLocation().getX() + object.getSpriteDimensions().getX() >= view.getMinX()
+                && object.getLocation().getY() <= view.getMaxY()
+                && object.getLocation().getY() + object.getSpriteDimensions().getY() >= view.getMinY();
+    }
+
+}
@@ -0,0 +1,69 @@
+package app.display.common.controller;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import app.gameengine.Level;
+import javafx.event.EventHandler;
+import javafx.scene.input.InputEvent;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+
+/**
+ * Queues keyboard and mouse input so that it can be handled on a thread other
+ * than the JavaFX application thread.
+ * <p>
+ * When the simulation runs on its own thread, the scene's event handlers must
+ * not modify the game directly. Instead, this queue is installed as the event
+ * handler, and each event is later passed to the {@link KeyboardControls} or
+ * {@link MouseControls} of the current level by the simulation thread, in the
+ * order the events were received.
+ *
+ * @see KeyboardControls
+ * @see MouseControls
+ */
+public class InputQueue implements EventHandler<InputEvent> {
+
+    private final ConcurrentLinkedQueue<InputEvent> events = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Adds the given event to the queue. Only key and mouse events are queued, and
+     * all other events are ignored.
+     *
+     * @param event the event to queue
+     */
+    @Override
+    public void handle(InputEvent event) {
+        if (event instanceof KeyEvent || event instanceof MouseEvent) {
+            this.events.add(event);
+        }
+    }
+
+    /**
+     * Removes all queued events and passes them to the controls of the given
+     * level.
+     *
+     * @param level the level whose controls will handle the events
+     */
+    public void dispatch(Level level) {
+        InputEvent event;
+        while ((event = this.events.poll()) != null) {
+            if (event instanceof KeyEvent keyEvent) {
+                if (level.getKeyboardControls() != null) {
+                    level.getKeyboardControls().handle(keyEvent);
+                }
+            } else if (event instanceof MouseEvent mouseEvent) {
+                if (level.getMouseControls() != null) {
+                    level.getMouseControls().handle(mouseEvent);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all queued events without handling them.
+     */
+    public void clear() {
+        this.events.clear();
+    }
+
+}
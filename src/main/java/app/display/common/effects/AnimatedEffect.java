@@ -55,13 +55,18 @@ public class AnimatedEffect implements Effect {
     }
 
     @Override
-    public Node getFrame(Vector2D origin) {
-        int index = (int) (this.elapsedTime / Configuration.ANIMATION_TIME) % this.frames.size();
+    public Node getFrame(Vector2D origin, double elapsedTime) {
+        int index = (int) (elapsedTime / Configuration.ANIMATION_TIME) % this.frames.size();
         this.frames.get(index).setLayoutX(origin.getX() * Configuration.SCALE_FACTOR);
         this.frames.get(index).setLayoutY(origin.getY() * Configuration.SCALE_FACTOR);
         return this.frames.get(index);
     }
 
+    @Override
+    public double getElapsedTime() {
+        return this.elapsedTime;
+    }
+
     @Override
     public boolean isFinished() {
         if (this.loop) {
@@ -32,6 +32,14 @@ public interface Effect {
      */
     void update(double dt);
 
+    /**
+     * Returns the time, in seconds, for which this effect has been updated since it
+     * was created or last reset.
+     *
+     * @return the elapsed time of the effect
+     */
+    double getElapsedTime();
+
     /**
      * Returns the current visual representation of the effect as a JavaFX
      * {@link Node}.
@@ -40,7 +48,24 @@ public interface Effect {
      *               rendered
      * @return the JavaFX node representing the current frame of the effect
      */
-    Node getFrame(Vector2D origin);
+    default Node getFrame(Vector2D origin) {
+        return this.getFrame(origin, this.getElapsedTime());
+    }
+
+    /**
+     * Returns the visual representation of the effect as a JavaFX {@link Node} at
+     * the given elapsed time, rather than the current one. This only reads the
+     * parts of the effect which are fixed when it is created, so a frame recorded
+     * by one thread can be drawn on another while the effect continues to be
+     * updated.
+     *
+     * @param origin      the central position in world space where the effect
+     *                    should be rendered
+     * @param elapsedTime the elapsed time of the frame, as given by
+     *                    {@link #getElapsedTime()}
+     * @return the JavaFX node representing the frame of the effect
+     */
+    Node getFrame(Vector2D origin, double elapsedTime);
 
     /**
      * Resets this effect to its initial state so that it can be reused.
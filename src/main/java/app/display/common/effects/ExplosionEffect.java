@@ -56,7 +56,7 @@ public class ExplosionEffect extends AnimatedEffect {
     }
 
     @Override
-    public Node getFrame(Vector2D origin) {
-        return super.getFrame(Vector2D.add(origin, this.offset));
+    public Node getFrame(Vector2D origin, double elapsedTime) {
+        return super.getFrame(Vector2D.add(origin, this.offset), elapsedTime);
     }
 }
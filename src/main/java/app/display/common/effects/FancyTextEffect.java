@@ -60,9 +60,9 @@ public class FancyTextEffect extends TimedEffect {
     }
 
     @Override
-    public Node getFrame(Vector2D origin) {
+    public Node getFrame(Vector2D origin, double elapsedTime) {
         if (this.content == null) {
-            return super.getFrame(origin);
+            return super.getFrame(origin, elapsedTime);
         }
         double posX = (this.offset.getX() + origin.getX()) * Configuration.SCALE_FACTOR - this.content.getWidth() / 2;
         double posY = (this.offset.getY() + origin.getY()) * Configuration.SCALE_FACTOR - this.content.getHeight();
@@ -71,7 +71,7 @@ public class FancyTextEffect extends TimedEffect {
         this.content.setLayoutY(Math.max(posY, 0));
 
         double start = this.duration / 2;
-        double progress = Math.min((this.elapsed - start) / (this.duration - start), 1);
+        double progress = Math.min((elapsedTime - start) / (this.duration - start), 1);
 
         this.content.setOpacity(1 - progress);
         return this.content;
@@ -0,0 +1,65 @@
+package app.display.common.effects;
+
+import app.Configuration;
+import app.display.common.GlyphAtlas;
+import app.display.common.JFXManager;
+import app.display.common.PlaceholderNode;
+import app.gameengine.model.physics.Vector2D;
+import javafx.scene.Node;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
+
+/**
+ * Displays a temporary text message using a {@link GlyphAtlas}.
+ * <p>
+ * This looks the same as a {@link SimpleTextEffect}, but the text is drawn as a
+ * single image, which is shared between every effect showing the same text. It
+ * is much cheaper to create and draw than a text node, and so should be used
+ * for text which appears often or many times at once, such as the points shown
+ * when an enemy is defeated.
+ *
+ * @see SimpleTextEffect
+ * @see TimedEffect
+ * @see GlyphAtlas
+ */
+public class GlyphTextEffect extends TimedEffect {
+
+    private final int ascent;
+
+    /**
+     * Constructs a text effect with the given message, duration, font, and color.
+     *
+     * @param message  the text to display
+     * @param duration the duration, in seconds, to display
+     * @param fileName the font file name within the fonts directory
+     * @param size     the font size
+     * @param color    the color of the text
+     */
+    public GlyphTextEffect(String message, double duration, String fileName, double size, Color color) {
+        this(message, duration, GlyphAtlas.getAtlas(fileName, size, color));
+    }
+
+    private GlyphTextEffect(String message, double duration, GlyphAtlas atlas) {
+        super(createFrame(message, atlas), duration);
+        this.ascent = atlas.getAscent();
+    }
+
+    private static Node createFrame(String message, GlyphAtlas atlas) {
+        if (!JFXManager.isInitialized()) {
+            return new PlaceholderNode();
+        }
+        ImageView view = new ImageView(atlas.render(message));
+        view.setSmooth(false);
+        return view;
+    }
+
+    @Override
+    public Node getFrame(Vector2D origin, double elapsedTime) {
+        Node node = super.getFrame(origin, elapsedTime);
+        // Place the baseline where a text node would be, as images are positioned
+        // by their top edge
+        node.setLayoutY(node.getLayoutY() + Configuration.SCALE_FACTOR - this.ascent);
+        return node;
+    }
+
+}
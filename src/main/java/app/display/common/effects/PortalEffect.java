@@ -65,8 +65,8 @@ public class PortalEffect extends AnimatedEffect {
     }
 
     @Override
-    public Node getFrame(Vector2D origin) {
-        return super.getFrame(Vector2D.sub(Vector2D.add(origin, offset), this.maxRadius));
+    public Node getFrame(Vector2D origin, double elapsedTime) {
+        return super.getFrame(Vector2D.sub(Vector2D.add(origin, offset), this.maxRadius), elapsedTime);
     }
 
 }
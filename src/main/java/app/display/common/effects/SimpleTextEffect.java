@@ -1,6 +1,7 @@
 package app.display.common.effects;
 
 import app.Configuration;
+import app.display.common.FontManager;
 import app.display.common.JFXManager;
 import app.display.common.PlaceholderNode;
 import app.gameengine.model.physics.Vector2D;
@@ -16,6 +17,7 @@ import javafx.scene.text.Text;
  * 
  * @see TimedEffect
  * @see FancyTextEffect
+ * @see GlyphTextEffect
  */
 public class SimpleTextEffect extends TimedEffect {
 
@@ -28,7 +30,7 @@ public class SimpleTextEffect extends TimedEffect {
      * @param duration the duration, in seconds, to display
      */
     public SimpleTextEffect(String message, double duration) {
-        this(message, duration, new Font(Configuration.DEFAULT_TEXT_SIZE), Color.BLACK);
+        this(message, duration, FontManager.getDefaultFont(Configuration.DEFAULT_TEXT_SIZE), Color.BLACK);
     }
 
     /**
@@ -52,7 +54,7 @@ public class SimpleTextEffect extends TimedEffect {
      * @param color    the color of the text
      */
     public SimpleTextEffect(String message, double duration, Color color) {
-        this(message, duration, new Font(Configuration.DEFAULT_TEXT_SIZE), color);
+        this(message, duration, FontManager.getDefaultFont(Configuration.DEFAULT_TEXT_SIZE), color);
     }
 
     /**
@@ -78,8 +80,8 @@ public class SimpleTextEffect extends TimedEffect {
     }
 
     @Override
-    public Node getFrame(Vector2D origin) {
-        Node node = super.getFrame(origin);
+    public Node getFrame(Vector2D origin, double elapsedTime) {
+        Node node = super.getFrame(origin, elapsedTime);
         node.setLayoutY(node.getLayoutY() + Configuration.SCALE_FACTOR);
         return node;
     }
@@ -30,12 +30,17 @@ public class StaticEffect implements Effect {
     }
 
     @Override
-    public Node getFrame(Vector2D origin) {
+    public Node getFrame(Vector2D origin, double elapsedTime) {
         this.node.setLayoutX(origin.getX() * Configuration.SCALE_FACTOR);
         this.node.setLayoutY(origin.getY() * Configuration.SCALE_FACTOR);
         return this.node;
     }
 
+    @Override
+    public double getElapsedTime() {
+        return 0;
+    }
+
     @Override
     public boolean isFinished() {
         return false;
@@ -63,8 +63,8 @@ public class TileEffect extends StaticEffect {
     }
 
     @Override
-    public Node getFrame(Vector2D origin) {
-        return super.getFrame(Vector2D.add(origin, this.offset));
+    public Node getFrame(Vector2D origin, double elapsedTime) {
+        return super.getFrame(Vector2D.add(origin, this.offset), elapsedTime);
     }
 
 }
@@ -38,6 +38,11 @@ public class TimedEffect extends StaticEffect {
         this.elapsed = 0;
     }
 
+    @Override
+    public double getElapsedTime() {
+        return this.elapsed;
+    }
+
     @Override
     public boolean isFinished() {
         return this.elapsed > this.duration;
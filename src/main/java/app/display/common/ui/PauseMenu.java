@@ -5,9 +5,8 @@ import app.display.common.FontManager;
 import app.display.common.JFXManager;
 import app.display.common.PlaceholderNode;
 import app.gameengine.Game;
-import app.gameengine.Level;
-import app.gameengine.model.datastructures.LinkedListNode;
 import app.gameengine.statistics.GameStat;
+import app.gameengine.statistics.Scoreboard;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
@@ -117,8 +116,7 @@ public class PauseMenu extends UIElement {
             scoreboardExists = false;
         } else {
             this.game.getScoreboard().loadStats();
-            LinkedListNode<GameStat> node = this.game.getScoreboard().getScoreList();
-            if (node == null) {
+            if (this.game.getScoreboard().size() == 0) {
                 scoreboardExists = false;
             }
         }
@@ -138,10 +136,14 @@ public class PauseMenu extends UIElement {
             double entryHeight = SCOREBOARD_HEIGHT + BUTTON_SPACING;
             int maxEntries = (int) (availableHeight / entryHeight);
 
+            Scoreboard scoreboard = this.game.getScoreboard();
+            GameStat last = scoreboard.getLastScore();
+            if (last != null) {
+                maxEntries--;
+            }
             int count = 0;
-            LinkedListNode<GameStat> node = this.game.getScoreboard().getScoreList();
-            for (; count < maxEntries && node != null; count++, node = node.getNext()) {
-                GameStat stat = node.getValue();
+            for (GameStat stat : scoreboard.topK(maxEntries)) {
+                count++;
                 String line = String.format("%-15s %5s %6.0f", stat.getEntryName(), formatDuration(stat.getPlaytime()),
                         stat.getScore());
                 Text entry = new Text(line);
@@ -157,6 +159,13 @@ public class PauseMenu extends UIElement {
                 VBox.setMargin(empty, new Insets(0, 0, 0, SCOREBOARD_PADDING));
                 menu.getChildren().add(empty);
             }
+            if (last != null) {
+                Text placed = new Text(String.format("You placed #%,d of %,d", scoreboard.rankOf(last),
+                        scoreboard.size()));
+                placed.setFill(Color.YELLOW);
+                placed.setFont(FontManager.getFont("Minecraft.ttf", FONT_SIZE_MEDIUM));
+                menu.getChildren().add(placed);
+            }
         }
 
         Button backButton = new Button("Back");
@@ -178,10 +187,10 @@ public class PauseMenu extends UIElement {
     }
 
     @Override
-    public void update(double dt, Level level) {
+    public void update(double dt, UIState state) {
         if (background != null) {
-            background.setWidth(Configuration.SCALE_FACTOR * level.getViewWidth());
-            background.setHeight(Configuration.SCALE_FACTOR * level.getViewHeight());
+            background.setWidth(Configuration.SCALE_FACTOR * state.getViewWidth());
+            background.setHeight(Configuration.SCALE_FACTOR * state.getViewHeight());
         }
     }
 }
@@ -3,7 +3,6 @@ package app.display.common.ui;
 import java.util.HashMap;
 
 import app.gameengine.Game;
-import app.gameengine.Level;
 import javafx.scene.Node;
 import javafx.scene.layout.StackPane;
 
@@ -79,11 +78,11 @@ public class UICollection {
      * Updates all UI elements in the collection.
      *
      * @param dt    the time elapsed since the last update, in seconds
-     * @param level the current game level
+     * @param state the values shown by the UI, recorded from the current level
      */
     @SuppressWarnings("unused")
-    public void update(double dt, Level level) {
-        this.elements.forEach((k, v) -> v.update(dt, level));
+    public void update(double dt, UIState state) {
+        this.elements.forEach((k, v) -> v.update(dt, state));
     }
 
     /**
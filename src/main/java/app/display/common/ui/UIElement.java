@@ -39,12 +39,14 @@ public abstract class UIElement {
     public abstract Node getRenderable();
 
     /**
-     * Updates the UI element's state based on the elapsed time and current level.
+     * Updates the UI element's state based on the elapsed time and the values
+     * recorded from the current level. Elements should read the level only
+     * through the given state, as the level may be updated on another thread.
      *
      * @param dt    the time elapsed since the last update, in seconds
-     * @param level the current game level
+     * @param state the values shown by the UI, recorded from the current level
      */
-    public abstract void update(double dt, Level level);
+    public abstract void update(double dt, UIState state);
 
     /**
      * Computes the offset insets for positioning the UI element based on alignment
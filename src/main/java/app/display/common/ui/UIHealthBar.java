@@ -3,7 +3,6 @@ package app.display.common.ui;
 import app.Configuration;
 import app.display.common.JFXManager;
 import app.display.common.PlaceholderNode;
-import app.gameengine.Level;
 import app.gameengine.model.gameobjects.Player;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -80,9 +79,9 @@ public class UIHealthBar extends UIElement {
     }
 
     @Override
-    public void update(double dt, Level level) {
+    public void update(double dt, UIState state) {
         if (this.foreground != null) {
-            this.foreground.setWidth(fullWidth * level.getPlayer().getHP() / level.getPlayer().getMaxHP());
+            this.foreground.setWidth(fullWidth * state.getPlayerHP() / state.getPlayerMaxHP());
         }
     }
 
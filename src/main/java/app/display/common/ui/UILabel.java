@@ -4,7 +4,6 @@ import app.Configuration;
 import app.display.common.JFXManager;
 import app.display.common.PlaceholderNode;
 import app.gameengine.Game;
-import app.gameengine.Level;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
@@ -75,9 +74,9 @@ public class UILabel extends UIElement {
     }
 
     @Override
-    public void update(double dt, Level level) {
-        if (this.label != null && !this.label.getText().equals(level.getUIString())) {
-            this.label.setText(level.getUIString());
+    public void update(double dt, UIState state) {
+        if (this.label != null && !this.label.getText().equals(state.getUIString())) {
+            this.label.setText(state.getUIString());
         }
     }
 
@@ -0,0 +1,119 @@
+package app.display.common.ui;
+
+import app.Configuration;
+import app.display.common.RenderSnapshot;
+import app.gameengine.Game;
+import app.gameengine.Level;
+
+/**
+ * A copy of the values shown by the UI of a game, recorded from its current
+ * level.
+ * <p>
+ * UI elements are updated from a {@code UIState} rather than from the level
+ * itself. When the simulation is decoupled from rendering, the state is captured
+ * by the simulation thread as part of each {@link RenderSnapshot}, so the UI
+ * can be updated on the JavaFX application thread while the level continues to
+ * change. Otherwise, it is captured just before the UI is updated.
+ * <p>
+ * Games whose UI shows values that are not recorded here should subclass this
+ * class, override {@link #capture(Game)}, and return an instance of the
+ * subclass from {@link Game#createUIState()}.
+ *
+ * @see UIElement
+ * @see RenderSnapshot
+ * @see Configuration#DECOUPLED_SIMULATION
+ */
+public class UIState {
+
+    private int viewWidth;
+    private int viewHeight;
+    private String uiString = "";
+    private int playerHP;
+    private int playerMaxHP;
+    private double score;
+    private double playtime;
+
+    /**
+     * Records the current values of the given game, replacing the previous
+     * contents of this state. This must be called by the thread which updates the
+     * game.
+     *
+     * @param game the game to capture
+     */
+    public void capture(Game game) {
+        Level level = game.getCurrentLevel();
+        this.viewWidth = level.getViewWidth();
+        this.viewHeight = level.getViewHeight();
+        this.uiString = level.getUIString();
+        this.playerHP = level.getPlayer().getHP();
+        this.playerMaxHP = level.getPlayer().getMaxHP();
+        this.score = level.getScore();
+        this.playtime = level.getPlaytime();
+    }
+
+    /**
+     * Returns the width of the view of the level, in tiles.
+     *
+     * @return the view width
+     */
+    public int getViewWidth() {
+        return this.viewWidth;
+    }
+
+    /**
+     * Returns the height of the view of the level, in tiles.
+     *
+     * @return the view height
+     */
+    public int getViewHeight() {
+        return this.viewHeight;
+    }
+
+    /**
+     * Returns the string used to display the level within the UI.
+     *
+     * @return the UI string of the level
+     * @see Level#getUIString()
+     */
+    public String getUIString() {
+        return this.uiString;
+    }
+
+    /**
+     * Returns the health of the player.
+     *
+     * @return the player's HP
+     */
+    public int getPlayerHP() {
+        return this.playerHP;
+    }
+
+    /**
+     * Returns the maximum health of the player.
+     *
+     * @return the player's maximum HP
+     */
+    public int getPlayerMaxHP() {
+        return this.playerMaxHP;
+    }
+
+    /**
+     * Returns the score within the level.
+     *
+     * @return the score
+     * @see Level#getScore()
+     */
+    public double getScore() {
+        return this.score;
+    }
+
+    /**
+     * Returns the amount of time that had elapsed since the level began.
+     *
+     * @return the playtime of the level
+     */
+    public double getPlaytime() {
+        return this.playtime;
+    }
+
+}
@@ -3,7 +3,7 @@ package app.display.minesweeper;
 import app.Settings;
 import app.display.common.SpriteGraphics;
 import app.display.common.ui.UIElement;
-import app.gameengine.Level;
+import app.display.common.ui.UIState;
 import app.games.minesweeper.Face;
 import app.games.minesweeper.MinesweeperLevel;
 import app.games.minesweeper.MinesweeperLevel.GameState;
@@ -62,7 +62,7 @@ public class FaceDisplay extends UIElement {
             return;
         }
         this.pressed = false;
-        this.game.resetCurrentLevel();
+        this.game.runOnSimulation(this.game::resetCurrentLevel);
     }
 
     @Override
@@ -71,17 +71,18 @@ public class FaceDisplay extends UIElement {
     }
 
     @Override
-    public void update(double dt, Level level) {
+    public void update(double dt, UIState state) {
         if (this.pressed) {
             return;
         }
-        if (this.game.getGameState() == GameState.WIN) {
+        GameState gameState = ((MinesweeperUIState) state).getGameState();
+        if (gameState == GameState.WIN) {
             face.getCurrentSpriteLocation().setColumn(0);
             face.getCurrentSpriteLocation().setRow(1);
-        } else if (this.game.getGameState() == GameState.CLICK) {
+        } else if (gameState == GameState.CLICK) {
             face.getCurrentSpriteLocation().setColumn(1);
             face.getCurrentSpriteLocation().setRow(0);
-        } else if (this.game.getGameState() == GameState.LOSE) {
+        } else if (gameState == GameState.LOSE) {
             face.getCurrentSpriteLocation().setColumn(1);
             face.getCurrentSpriteLocation().setRow(1);
         } else {
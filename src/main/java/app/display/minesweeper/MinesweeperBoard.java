@@ -0,0 +1,243 @@
+package app.display.minesweeper;
+
+import java.util.BitSet;
+import java.util.HashMap;
+
+import app.Configuration;
+import app.display.common.AssetManager;
+import app.display.common.JFXManager;
+import app.display.common.PlaceholderNode;
+import app.display.common.SpriteLocation;
+import app.display.common.StaticLayer;
+import app.gameengine.model.physics.Vector2D;
+import app.games.minesweeper.Bomb;
+import app.games.minesweeper.CoverTile;
+import app.games.minesweeper.MinesweeperLevel;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Draws the board of a {@link MinesweeperLevel} into persistent images.
+ * <p>
+ * Every cell of the board is drawn once when the board is first shown, and
+ * afterwards only cells which the level reports as changed are redrawn. Each
+ * changed cell is drawn from a {@link Cell} recorded by the level when it
+ * changed, so the board can be drawn while the level is being updated. This
+ * keeps the cost of a frame proportional to the number of cells that changed,
+ * rather than to the size of the board, which allows very large custom boards
+ * to be played.
+ * <p>
+ * Cells are drawn at the original resolution of the sprite sheet, and the
+ * images are scaled up when displayed. Large boards are split into square
+ * chunks, each with its own image, so that no single image becomes too large.
+ *
+ * @see MinesweeperLevel
+ * @see StaticLayer
+ */
+public class MinesweeperBoard implements StaticLayer {
+
+    private static final int CHUNK_CELLS = 64;
+
+    private final MinesweeperLevel level;
+    private final int width;
+    private final int height;
+    private final int cellSize = Configuration.SPRITE_SIZE;
+    private final BitSet dirtyCells = new BitSet();
+    private final Cell[] cells;
+    private final int[] cellPixels = new int[Configuration.SPRITE_SIZE * Configuration.SPRITE_SIZE];
+    private final HashMap<String, Sheet> sheets = new HashMap<>();
+
+    private Node root;
+    private WritableImage[] chunks;
+    private int chunkColumns;
+
+    /**
+     * Constructs a board for the given level. No images are created until the
+     * board is first refreshed.
+     *
+     * @param level the level to draw
+     */
+    public MinesweeperBoard(MinesweeperLevel level) {
+        this.level = level;
+        this.width = level.getWidth();
+        this.height = level.getHeight();
+        this.cells = new Cell[this.width * this.height];
+    }
+
+    @Override
+    public void refresh() {
+        if (this.chunks == null) {
+            this.createChunks();
+        }
+        if (this.chunks == null) {
+            return;
+        }
+        this.level.takeDirtyCells(this.dirtyCells, this.cells);
+        for (int i = this.dirtyCells.nextSetBit(0); i >= 0; i = this.dirtyCells.nextSetBit(i + 1)) {
+            this.drawCell(i % this.width, i / this.width, this.cells[i]);
+            this.cells[i] = null;
+        }
+        this.dirtyCells.clear();
+    }
+
+    @Override
+    public Node getRenderable() {
+        if (this.root == null) {
+            this.createChunks();
+        }
+        return this.root;
+    }
+
+    private void createChunks() {
+        if (!JFXManager.isInitialized()) {
+            this.root = new PlaceholderNode();
+            return;
+        }
+        Group group = new Group();
+        this.chunkColumns = (this.width + CHUNK_CELLS - 1) / CHUNK_CELLS;
+        int chunkRows = (this.height + CHUNK_CELLS - 1) / CHUNK_CELLS;
+        this.chunks = new WritableImage[this.chunkColumns * chunkRows];
+        for (int row = 0; row < chunkRows; row++) {
+            for (int column = 0; column < this.chunkColumns; column++) {
+                int cellsWide = Math.min(CHUNK_CELLS, this.width - column * CHUNK_CELLS);
+                int cellsHigh = Math.min(CHUNK_CELLS, this.height - row * CHUNK_CELLS);
+                WritableImage image = new WritableImage(cellsWide * this.cellSize, cellsHigh * this.cellSize);
+                ImageView view = new ImageView(image);
+                view.setSmooth(false);
+                view.setFitWidth(cellsWide * Configuration.SCALE_FACTOR);
+                view.setFitHeight(cellsHigh * Configuration.SCALE_FACTOR);
+                view.setX(column * CHUNK_CELLS * Configuration.SCALE_FACTOR);
+                view.setY(row * CHUNK_CELLS * Configuration.SCALE_FACTOR);
+                this.chunks[row * this.chunkColumns + column] = image;
+                group.getChildren().add(view);
+            }
+        }
+        this.root = group;
+    }
+
+    /**
+     * Redraws a single cell, layering the background, the bomb or number, and the
+     * cover tile in the same order they are drawn as individual sprites.
+     */
+    private void drawCell(int x, int y, Cell cell) {
+        String backgroundSheet = this.level.getBackground().getBackgroundImageFileNames().get(0);
+        this.fillSprite(backgroundSheet, this.level.getBackground().getGroundTileSpriteLocation(), false);
+
+        if (cell.contentSheet != null) {
+            this.fillSprite(cell.contentSheet, cell.content, true);
+        }
+        if (cell.coverSheet != null) {
+            this.fillSprite(cell.coverSheet, cell.cover, true);
+        }
+
+        WritableImage chunk = this.chunks[(y / CHUNK_CELLS) * this.chunkColumns + x / CHUNK_CELLS];
+        chunk.getPixelWriter().setPixels((x % CHUNK_CELLS) * this.cellSize, (y % CHUNK_CELLS) * this.cellSize,
+                this.cellSize, this.cellSize, PixelFormat.getIntArgbInstance(), this.cellPixels, 0, this.cellSize);
+    }
+
+    private void fillSprite(String filename, SpriteLocation location, boolean blend) {
+        Sheet sheet = this.sheets.computeIfAbsent(filename, Sheet::new);
+        int startX = location.getColumn() * this.cellSize;
+        int startY = location.getRow() * this.cellSize;
+        for (int j = 0; j < this.cellSize; j++) {
+            for (int i = 0; i < this.cellSize; i++) {
+                int color = sheet.get(startX + i, startY + j);
+                int index = j * this.cellSize + i;
+                int alpha = color >>> 24;
+                if (!blend || alpha == 0xFF) {
+                    this.cellPixels[index] = color;
+                } else if (alpha != 0) {
+                    this.cellPixels[index] = blend(color, this.cellPixels[index], alpha);
+                }
+            }
+        }
+    }
+
+    private static int blend(int src, int dst, int alpha) {
+        int inverse = 0xFF - alpha;
+        int r = (((src >> 16) & 0xFF) * alpha + ((dst >> 16) & 0xFF) * inverse) / 0xFF;
+        int g = (((src >> 8) & 0xFF) * alpha + ((dst >> 8) & 0xFF) * inverse) / 0xFF;
+        int b = ((src & 0xFF) * alpha + (dst & 0xFF) * inverse) / 0xFF;
+        return 0xFF000000 | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * How a single cell of the board looks, recorded when the level marks it as
+     * changed. This is the bomb or number under the cell, if any, and the cover
+     * tile over it, if it is still covered.
+     *
+     * @see MinesweeperLevel#markDirty(Vector2D)
+     */
+    public static class Cell {
+
+        private final String contentSheet;
+        private final SpriteLocation content;
+        private final String coverSheet;
+        private final SpriteLocation cover;
+
+        /**
+         * Records how the cell at the given location of a level currently looks.
+         * This must be called by the thread which updates the level.
+         *
+         * @param level    the level containing the cell
+         * @param location the location of the cell
+         */
+        public Cell(MinesweeperLevel level, Vector2D location) {
+            Bomb bomb = level.getBomb(location);
+            if (bomb != null) {
+                this.contentSheet = bomb.getSpriteSheetFilename();
+                this.content = copy(bomb.getCurrentSpriteLocation());
+            } else if (level.getCount(location) > 0) {
+                this.contentSheet = level.getBackground().getBackgroundImageFileNames().get(0);
+                this.content = new SpriteLocation(level.getCount(location), 0);
+            } else {
+                this.contentSheet = null;
+                this.content = null;
+            }
+            CoverTile tile = level.getHiddenTiles().get(location);
+            this.coverSheet = tile == null ? null : tile.getSpriteSheetFilename();
+            this.cover = tile == null ? null : copy(tile.getCurrentSpriteLocation());
+        }
+
+        private static SpriteLocation copy(SpriteLocation location) {
+            return new SpriteLocation(location.getColumn(), location.getRow());
+        }
+
+    }
+
+    /**
+     * Pixels of a sprite sheet, sampled at its original resolution.
+     */
+    private static class Sheet {
+
+        private final int[] pixels;
+        private final int width;
+        private final int height;
+        private final int scale;
+
+        private Sheet(String filename) {
+            Image image = AssetManager.getImage(filename);
+            // Sprite sheets are stored pre-scaled when integer scaling is enabled
+            this.scale = Configuration.INTEGER_SCALE ? (int) Configuration.ZOOM : 1;
+            this.width = (int) image.getWidth();
+            this.height = (int) image.getHeight();
+            this.pixels = new int[this.width * this.height];
+            image.getPixelReader().getPixels(0, 0, this.width, this.height, PixelFormat.getIntArgbInstance(),
+                    this.pixels, 0, this.width);
+        }
+
+        private int get(int x, int y) {
+            int scaledX = x * this.scale;
+            int scaledY = y * this.scale;
+            if (scaledX >= this.width || scaledY >= this.height) {
+                return 0;
+            }
+            return this.pixels[scaledY * this.width + scaledX];
+        }
+    }
+
+}
@@ -2,6 +2,8 @@ package app.display.minesweeper;
 
 import app.Configuration;
 import app.Settings;
+import app.display.common.JFXManager;
+import app.display.common.ui.UIState;
 import app.gameengine.Game;
 import app.gameengine.model.physics.Vector2D;
 import app.games.minesweeper.MinesweeperLevel;
@@ -55,11 +57,16 @@ public class MinesweeperGame extends Game {
     }
 
     @Override
-    public void update(double dt) {
-        super.update(dt);
-        this.menu.update(dt, getCurrentLevel());
-        this.background.setWidth(Configuration.SCALE_FACTOR * this.getCurrentLevel().getViewWidth());
-        this.background.setHeight(Configuration.SCALE_FACTOR * this.getCurrentLevel().getViewHeight());
+    public MinesweeperUIState createUIState() {
+        return new MinesweeperUIState();
+    }
+
+    @Override
+    public void updateUI(double dt, UIState state) {
+        super.updateUI(dt, state);
+        this.menu.update(dt, state);
+        this.background.setWidth(Configuration.SCALE_FACTOR * state.getViewWidth());
+        this.background.setHeight(Configuration.SCALE_FACTOR * state.getViewHeight());
     }
 
     @Override
@@ -90,15 +97,19 @@ public class MinesweeperGame extends Game {
     @Override
     public void pause() {
         Settings.setPaused(true);
-        this.menuGroup.getChildren().clear();
-        this.menuGroup.getChildren().add(this.menu.getRenderable());
+        JFXManager.runOnFXThread(() -> {
+            this.menuGroup.getChildren().clear();
+            this.menuGroup.getChildren().add(this.menu.getRenderable());
+        });
     }
 
     @Override
     public void unpause() {
         Settings.setPaused(false);
-        this.menuGroup.getChildren().clear();
-        this.menuGroup.getChildren().add(this.background);
+        JFXManager.runOnFXThread(() -> {
+            this.menuGroup.getChildren().clear();
+            this.menuGroup.getChildren().add(this.background);
+        });
     }
 
     @Override
@@ -5,8 +5,7 @@ import app.display.common.FontManager;
 import app.display.common.JFXManager;
 import app.display.common.PlaceholderNode;
 import app.display.common.ui.UIElement;
-import app.gameengine.Level;
-import app.gameengine.model.datastructures.LinkedListNode;
+import app.display.common.ui.UIState;
 import app.gameengine.statistics.GameStat;
 import app.gameengine.statistics.Scoreboard;
 import app.games.minesweeper.MinesweeperLevel;
@@ -76,13 +75,15 @@ public class MinesweeperMenu extends UIElement {
         title.setFill(Color.BLACK);
         title.setFont(FontManager.getFont("digital-7/digital-7.ttf", FONT_SIZE_LARGE));
 
-        BeveledButton beginner = new BeveledButton("Beginner", () -> game.changeLevel("beginner"), BUTTON_WIDTH,
-                BUTTON_HEIGHT, FONT_SIZE_MEDIUM);
-        BeveledButton intermediate = new BeveledButton("Intermediate", () -> game.changeLevel("intermediate"),
-                BUTTON_WIDTH, BUTTON_HEIGHT,
+        BeveledButton beginner = new BeveledButton("Beginner",
+                () -> game.runOnSimulation(() -> game.changeLevel("beginner")), BUTTON_WIDTH, BUTTON_HEIGHT,
+                FONT_SIZE_MEDIUM);
+        BeveledButton intermediate = new BeveledButton("Intermediate",
+                () -> game.runOnSimulation(() -> game.changeLevel("intermediate")), BUTTON_WIDTH, BUTTON_HEIGHT,
+                FONT_SIZE_MEDIUM);
+        BeveledButton expert = new BeveledButton("Expert",
+                () -> game.runOnSimulation(() -> game.changeLevel("expert")), BUTTON_WIDTH, BUTTON_HEIGHT,
                 FONT_SIZE_MEDIUM);
-        BeveledButton expert = new BeveledButton("Expert", () -> game.changeLevel("expert"), BUTTON_WIDTH,
-                BUTTON_HEIGHT, FONT_SIZE_MEDIUM);
         BeveledButton custom = new BeveledButton("Custom", () -> {
             this.pane.getChildren().removeIf(a -> a instanceof VBox);
             this.pane.getChildren().add(customSelect);
@@ -121,8 +122,7 @@ public class MinesweeperMenu extends UIElement {
             scoreboardExists = false;
         } else {
             this.game.getScoreboard().loadStats();
-            LinkedListNode<GameStat> node = this.game.getScoreboard().getScoreList();
-            if (node == null) {
+            if (this.game.getScoreboard().size() == 0) {
                 scoreboardExists = false;
             }
         }
@@ -136,11 +136,14 @@ public class MinesweeperMenu extends UIElement {
             double entryHeight = SCOREBOARD_HEIGHT + BUTTON_SPACING;
             int maxEntries = (int) (availableHeight / entryHeight);
 
-            this.game.getScoreboard().loadStats();
+            Scoreboard scoreboard = this.game.getScoreboard();
+            GameStat last = scoreboard.getLastScore();
+            if (last != null) {
+                maxEntries--;
+            }
             int count = 0;
-            LinkedListNode<GameStat> node = this.game.getScoreboard().getScoreList();
-            for (; count < maxEntries && node != null; count++, node = node.getNext()) {
-                GameStat stat = node.getValue();
+            for (GameStat stat : scoreboard.topK(maxEntries)) {
+                count++;
                 Text name = new Text(stat.getEntryName());
                 name.setFont(FontManager.getFont("digital-7/digital-7.ttf", FONT_SIZE_MEDIUM));
                 name.setFill(Color.LIMEGREEN);
@@ -184,6 +187,13 @@ public class MinesweeperMenu extends UIElement {
                 emptyPane.setPrefHeight(SCOREBOARD_HEIGHT);
                 menu.getChildren().add(emptyPane);
             }
+            if (last != null) {
+                Text placed = new Text(String.format("YOU PLACED #%,d OF %,d", scoreboard.rankOf(last),
+                        scoreboard.size()));
+                placed.setFont(FontManager.getFont("digital-7/digital-7.ttf", FONT_SIZE_MEDIUM));
+                placed.setFill(Color.WHITE.deriveColor(0, 1, 0.15, 1));
+                menu.getChildren().add(placed);
+            }
         }
 
         BeveledButton back = new BeveledButton("Back", () -> {
@@ -224,8 +234,10 @@ public class MinesweeperMenu extends UIElement {
                 if (width < 9 || height < 9 || bombs < 1 || bombs > width * height - 1) {
                     throw new NumberFormatException();
                 }
-                this.game.loadLevel(new MinesweeperLevel(game, width, height, bombs));
-                this.game.unpause();
+                this.game.runOnSimulation(() -> {
+                    this.game.loadLevel(new MinesweeperLevel(game, width, height, bombs));
+                    this.game.unpause();
+                });
             } catch (NumberFormatException ex) {
                 System.out.println("Invalid input");
             }
@@ -243,10 +255,10 @@ public class MinesweeperMenu extends UIElement {
     }
 
     @Override
-    public void update(double dt, Level level) {
+    public void update(double dt, UIState state) {
         if (this.background != null) {
-            this.background.setWidth(Configuration.SCALE_FACTOR * level.getViewWidth());
-            this.background.setHeight(Configuration.SCALE_FACTOR * level.getViewHeight());
+            this.background.setWidth(Configuration.SCALE_FACTOR * state.getViewWidth());
+            this.background.setHeight(Configuration.SCALE_FACTOR * state.getViewHeight());
         }
     }
 
@@ -0,0 +1,46 @@
+package app.display.minesweeper;
+
+import app.display.common.ui.UIState;
+import app.gameengine.Game;
+import app.games.minesweeper.MinesweeperLevel;
+import app.games.minesweeper.MinesweeperLevel.GameState;
+
+/**
+ * The values shown by the UI of a game of Minesweeper, which also include the
+ * number of flags remaining and the state of the game.
+ *
+ * @see MinesweeperGame
+ * @see MinesweeperUI
+ */
+public class MinesweeperUIState extends UIState {
+
+    private int flags;
+    private GameState gameState;
+
+    @Override
+    public void capture(Game game) {
+        super.capture(game);
+        MinesweeperLevel level = (MinesweeperLevel) game.getCurrentLevel();
+        this.flags = level.getFlags();
+        this.gameState = level.getState();
+    }
+
+    /**
+     * Returns the number of flags remaining in the level.
+     *
+     * @return the number of flags
+     */
+    public int getFlags() {
+        return this.flags;
+    }
+
+    /**
+     * Returns the state of the game.
+     *
+     * @return the game state
+     */
+    public GameState getGameState() {
+        return this.gameState;
+    }
+
+}
@@ -1,11 +1,11 @@
 package app.display.minesweeper;
 
 import app.Configuration;
-import app.gameengine.Level;
 import app.display.common.FontManager;
 import app.display.common.JFXManager;
 import app.display.common.PlaceholderNode;
 import app.display.common.ui.UIElement;
+import app.display.common.ui.UIState;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.layout.Region;
@@ -34,6 +34,7 @@ public class SegmentedCounter extends UIElement {
 	private MinesweeperGame game;
 	private Node root;
 	private StackPane pane;
+	private int displayedFlags = Integer.MIN_VALUE;
 
 	/**
 	 * Constructs a new flag counter for a game of Minesweeper.
@@ -73,10 +74,13 @@ public class SegmentedCounter extends UIElement {
 	}
 
 	@Override
-	public void update(double dt, Level level) {
+	public void update(double dt, UIState state) {
         if (this.label != null) {
-            int flags = this.game.getCurrentLevel().getFlags();
-            this.label.setText(String.format("%03d", flags));
+            int flags = ((MinesweeperUIState) state).getFlags();
+            if (flags != this.displayedFlags) {
+                this.displayedFlags = flags;
+                this.label.setText(String.format("%03d", flags));
+            }
         }
 	}
 
@@ -5,7 +5,7 @@ import app.display.common.FontManager;
 import app.display.common.JFXManager;
 import app.display.common.PlaceholderNode;
 import app.display.common.ui.UIElement;
-import app.gameengine.Level;
+import app.display.common.ui.UIState;
 import app.games.minesweeper.MinesweeperLevel.GameState;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
@@ -34,6 +34,7 @@ public class SegmentedTimer extends UIElement {
     private Label label;
     private StackPane pane;
     private Node root;
+    private int displayedSeconds = -1;
 
     /**
      * Constructs a new timer for a game of Minesweeper
@@ -73,13 +74,19 @@ public class SegmentedTimer extends UIElement {
     }
 
     @Override
-    public void update(double dt, Level level) {
+    public void update(double dt, UIState state) {
         if (this.label == null) {
             return;
-        } else if (this.game.getGameState() == GameState.WIN || this.game.getGameState() == GameState.LOSE) {
+        }
+        GameState gameState = ((MinesweeperUIState) state).getGameState();
+        if (gameState == GameState.WIN || gameState == GameState.LOSE) {
+            return;
+        }
+        int seconds = (int) state.getPlaytime();
+        if (seconds == this.displayedSeconds) {
             return;
         }
-        int seconds = (int) level.getPlaytime();
+        this.displayedSeconds = seconds;
         int minutes = seconds / 60;
         seconds %= 60;
         this.label.setText(String.format("%02d:%02d", minutes, seconds));
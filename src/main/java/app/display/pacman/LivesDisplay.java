@@ -5,7 +5,7 @@ import app.display.common.FontManager;
 import app.display.common.JFXManager;
 import app.display.common.PlaceholderNode;
 import app.display.common.ui.UIElement;
-import app.gameengine.Level;
+import app.display.common.ui.UIState;
 import app.games.pacman.Pacman;
 import app.games.pacman.PacmanGame;
 import javafx.scene.Node;
@@ -28,6 +28,7 @@ public class LivesDisplay extends UIElement {
     private Node root;
     private Label label;
     private PacmanGame game;
+    private int displayedLives = -1;
 
     /**
      * Creates a display for the number of lives in a game of Pacman.
@@ -54,12 +55,15 @@ public class LivesDisplay extends UIElement {
     }
 
     @Override
-    public void update(double dt, Level level) {
+    public void update(double dt, UIState state) {
         if (this.label == null) {
             return;
         }
-        int lives = this.game.getCurrentLevel().getPlayer().getLives();
-        this.label.setText(String.format("LIVES: %d", lives));
+        int lives = ((PacmanUIState) state).getLives();
+        if (lives != this.displayedLives) {
+            this.displayedLives = lives;
+            this.label.setText(String.format("LIVES: %d", lives));
+        }
     }
 
 }
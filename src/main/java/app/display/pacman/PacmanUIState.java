@@ -0,0 +1,34 @@
+package app.display.pacman;
+
+import app.display.common.ui.UIState;
+import app.gameengine.Game;
+import app.games.pacman.Pacman;
+import app.games.pacman.PacmanGame;
+
+/**
+ * The values shown by the UI of a game of Pacman, which also include the number
+ * of lives Pacman has left.
+ *
+ * @see PacmanGame
+ * @see PacmanUI
+ */
+public class PacmanUIState extends UIState {
+
+    private int lives;
+
+    @Override
+    public void capture(Game game) {
+        super.capture(game);
+        this.lives = ((Pacman) game.getCurrentLevel().getPlayer()).getLives();
+    }
+
+    /**
+     * Returns the number of lives Pacman has left.
+     *
+     * @return the number of lives
+     */
+    public int getLives() {
+        return this.lives;
+    }
+
+}
@@ -1,23 +1,23 @@
 package app.display.pacman;
 
 import app.Configuration;
-import app.display.common.FontManager;
+import app.display.common.GlyphAtlas;
 import app.display.common.JFXManager;
 import app.display.common.PlaceholderNode;
 import app.display.common.ui.UIElement;
-import app.gameengine.Level;
+import app.display.common.ui.UIState;
 import app.games.pacman.PacmanGame;
 import app.games.pacman.PacmanLevel;
 import javafx.scene.Node;
-import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
 import javafx.scene.paint.Color;
-import javafx.scene.text.TextAlignment;
 
 /**
  * Text display for Pacman that shows the current score.
  * <p>
  * Simple text element that uses a pixely font to display the current score in a
- * game of Pacman.
+ * game of Pacman. As the score changes often, it is drawn with a
+ * {@link GlyphAtlas} rather than a text node.
  * 
  * @see PacmanLevel
  * @see PacmanGame
@@ -26,8 +26,10 @@ import javafx.scene.text.TextAlignment;
 public class ScoreDisplay extends UIElement {
 
     private Node root;
-    private Label label;
+    private ImageView view;
+    private GlyphAtlas atlas;
     private PacmanGame game;
+    private double displayedScore = -1;
 
     /**
      * Creates a display for the score in a game of Pacman.
@@ -40,12 +42,10 @@ public class ScoreDisplay extends UIElement {
             this.root = new PlaceholderNode();
             return;
         }
-        this.label = new Label("SCORE: 000");
-        this.label.setFont(FontManager.getFont("Minecraft.ttf", 20 * Configuration.ZOOM));
-
-        this.label.setTextAlignment(TextAlignment.CENTER);
-        this.label.setTextFill(Color.WHITE);
-        this.root = this.label;
+        this.atlas = GlyphAtlas.getAtlas("Minecraft.ttf", 20 * Configuration.ZOOM, Color.WHITE);
+        this.view = new ImageView(this.atlas.render("SCORE: 000"));
+        this.view.setSmooth(false);
+        this.root = this.view;
     }
 
     @Override
@@ -54,12 +54,16 @@ public class ScoreDisplay extends UIElement {
     }
 
     @Override
-    public void update(double dt, Level level) {
-        if (this.label == null) {
+    public void update(double dt, UIState state) {
+        if (this.view == null) {
             return;
         }
-        double score = this.game.getCurrentLevel().getScore();
-        this.label.setText(String.format("SCORE: %03.0f", score));
+        double score = state.getScore();
+        // Only redraw the score when it changes, rather than every frame
+        if (score != this.displayedScore) {
+            this.displayedScore = score;
+            this.view.setImage(this.atlas.render(String.format("SCORE: %03.0f", score)));
+        }
     }
 
 }
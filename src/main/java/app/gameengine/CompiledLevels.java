@@ -0,0 +1,640 @@
+package app.gameengine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import app.Configuration;
+
+/**
+ * Compiles csv level files into a compact binary form, and reads them back.
+ * <p>
+ * A compiled level holds the same lines as its csv file, with each field
+ * stored by type. Names, such as the types of objects, are stored once in a
+ * table of strings at the start of the file, and referred to by their position
+ * in it. Integers and decimals are stored as binary numbers, so loading a
+ * compiled level never parses text, and only creates the strings in its table.
+ * Decimals are only stored as numbers if they convert back to exactly the same
+ * text, and any field that is not a plain number is kept as a string, so a
+ * compiled level reads exactly the same fields as its csv file. Blank lines
+ * are dropped, but the number of every other line is kept for error messages.
+ * <p>
+ * Compiled levels are read by memory mapping the file, and are built with
+ * {@link LevelParser#readLevel(Game, LevelSource)}, exactly as csv files are.
+ * <p>
+ * {@link LevelParser} stores the compiled form of each level it parses in
+ * {@link Configuration#COMPILED_LEVEL_DIRECTORY}, if
+ * {@link Configuration#COMPILED_LEVEL_CACHE} is enabled. Every compiled level
+ * records the length and modification time of its csv file, and a hash of it
+ * made up of its length and CRC-32C checksum. A cached level is used as it is
+ * while the length and modification time are unchanged. Otherwise the csv file
+ * is hashed, and the level is compiled again only if the hash has changed, so
+ * editing a level never loads a stale copy. Levels larger than
+ * {@link Configuration#COMPILED_LEVEL_MAX_BYTES} are not cached.
+ * Levels can also be compiled ahead of time by running this class, with the
+ * directory of csv files and the output directory as optional arguments.
+ *
+ * @see LevelParser
+ * @see LevelSource
+ */
+public class CompiledLevels {
+
+    /**
+     * Prevent instantiation, as this class is intended to be static.
+     */
+    private CompiledLevels() {
+    }
+
+    private static final int MAGIC = 0x4C564C43; // "LVLC"
+    private static final int VERSION = 3;
+    // Magic, version, and the length, modification time, and hash of the source
+    private static final int HEADER_LENGTH = 2 * Integer.BYTES + 3 * Long.BYTES;
+    private static final int STAMP_POSITION = 2 * Integer.BYTES;
+    private static final String EXTENSION = ".lvl";
+
+    // The type of each field, which is followed by its value
+    private static final byte STRING = 0;
+    private static final byte INT = 1;
+    private static final byte DOUBLE = 2;
+
+    private static volatile boolean enabled = Configuration.COMPILED_LEVEL_CACHE;
+
+    /**
+     * Opens the compiled form of the given csv file from the cache, compiling it
+     * first if it is missing or out of date. The csv file is only read if its
+     * length or modification time differ from those recorded in the cache.
+     *
+     * @param source the path of the csv file
+     * @param name   the name of the level, used in error messages
+     * @return the compiled level, or {@code null} if it could not be compiled or
+     *         the csv file is too large to be cached
+     * @throws IOException if the csv file cannot be read
+     */
+    public static LevelSource openCached(Path source, String name) throws IOException {
+        long length = Files.size(source);
+        if (length > Configuration.COMPILED_LEVEL_MAX_BYTES) {
+            return null;
+        }
+        long modified = Files.getLastModifiedTime(source).toMillis();
+        Path cached = getCachePath(source);
+        LevelSource level = open(cached, name, length, modified);
+        if (level != null) {
+            return level;
+        }
+
+        // The file has been touched, but is only compiled again if it has changed
+        byte[] bytes = Files.readAllBytes(source);
+        if (restamp(cached, hash(bytes), bytes.length, modified)) {
+            level = open(cached, name, bytes.length, modified);
+            if (level != null) {
+                return level;
+            }
+        }
+        Path temporary = null;
+        try {
+            Files.createDirectories(cached.getParent());
+            temporary = Files.createTempFile(cached.getParent(), cached.getFileName().toString(), ".tmp");
+            write(encode(bytes, source.toString(), modified), temporary);
+            Files.move(temporary, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("** Compiled level " + cached + " could not be written **");
+            if (temporary != null) {
+                Files.deleteIfExists(temporary);
+            }
+            return null;
+        }
+        return open(cached, name, bytes.length, modified);
+    }
+
+    /**
+     * Records a new length and modification time for the csv file of a compiled
+     * level, if the level was compiled from a csv file with the given hash.
+     *
+     * @return {@code true} if the compiled level was updated
+     */
+    private static boolean restamp(Path compiled, long hash, long length, long modified) {
+        if (!Files.isRegularFile(compiled)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(compiled, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+            }
+            header.flip();
+            if (header.remaining() < HEADER_LENGTH || header.getInt() != MAGIC || header.getInt() != VERSION
+                    || header.getLong(HEADER_LENGTH - Long.BYTES) != hash) {
+                return false;
+            }
+            ByteBuffer stamp = ByteBuffer.allocate(2 * Long.BYTES).putLong(length).putLong(modified).flip();
+            while (stamp.hasRemaining()) {
+                channel.write(stamp, STAMP_POSITION + stamp.position());
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Opens the given compiled level.
+     *
+     * @param compiled the path of the compiled level
+     * @return the compiled level
+     * @throws IOException if the file cannot be read, or is not a compiled level
+     */
+    public static LevelSource open(Path compiled) throws IOException {
+        LevelSource level = open(compiled, compiled.toString(), -1, -1);
+        if (level == null) {
+            throw new IOException(compiled + " is not a compiled level");
+        }
+        return level;
+    }
+
+    /**
+     * Opens the given compiled level, if it exists and was compiled from a csv
+     * file with the given length and modification time. A negative length matches
+     * any csv file.
+     */
+    private static LevelSource open(Path compiled, String name, long length, long modified) {
+        if (!Files.isRegularFile(compiled)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(compiled, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            String[] strings = readHeader(buffer, length, modified);
+            return strings == null ? null : newSource(buffer, strings, name);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the header and table of strings of a compiled level, leaving the
+     * buffer positioned at its first line. The level must have been compiled
+     * from a csv file with the given length and modification time, unless the
+     * length is negative.
+     *
+     * @return the table of strings, or {@code null} if the buffer does not hold a
+     *         matching compiled level
+     */
+    static String[] readHeader(ByteBuffer buffer, long length, long modified) {
+        try {
+            if (buffer.remaining() < HEADER_LENGTH || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            long storedLength = buffer.getLong();
+            long storedModified = buffer.getLong();
+            buffer.getLong();
+            if (length >= 0 && (storedLength != length || storedModified != modified)) {
+                return null;
+            }
+            String[] strings = new String[readVarInt(buffer)];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[readVarInt(buffer)];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return strings;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a source which reads the lines of a compiled level from the given
+     * buffer, starting at its current position.
+     */
+    static LevelSource newSource(ByteBuffer buffer, String[] strings, String name) {
+        return new CompiledLevelSource(buffer, strings, name);
+    }
+
+    /**
+     * Compiles the given csv file, writing the compiled level to the given path.
+     *
+     * @param source the path of the csv file
+     * @param target the path to write the compiled level to
+     * @throws IOException if the csv file cannot be read, or the compiled level
+     *                     cannot be written
+     */
+    public static void compile(Path source, Path target) throws IOException {
+        long modified = Files.getLastModifiedTime(source).toMillis();
+        write(encode(Files.readAllBytes(source), source.toString(), modified), target);
+    }
+
+    private static void write(byte[] compiled, Path target) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(compiled);
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Returns the hash of a csv file with the given contents, which is recorded in
+     * the compiled level. The hash is made up of the length of the file and its
+     * CRC-32C checksum, and is never negative.
+     *
+     * @param bytes the contents of the csv file
+     * @return the hash of the file
+     */
+    static long hash(byte[] bytes) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(bytes);
+        return (long) bytes.length << 32 | checksum.getValue();
+    }
+
+    /**
+     * Compiles a csv file with the given contents, and returns the contents of the
+     * compiled level.
+     *
+     * @param bytes    the contents of the csv file
+     * @param source   the path of the csv file, used in error messages
+     * @param modified the modification time of the csv file, in milliseconds
+     */
+    static byte[] encode(byte[] bytes, String source, long modified) throws IOException {
+        HashMap<String, Integer> indices = new HashMap<>();
+        ArrayList<String> strings = new ArrayList<>();
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        int previousLine = 0;
+
+        InputStreamReader reader = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+        try (LevelTokenizer fields = new LevelTokenizer(reader, source)) {
+            while (fields.nextLine()) {
+                if (fields.isBlank()) {
+                    continue;
+                }
+                writeVarInt(records, fields.getLineNumber() - previousLine);
+                previousLine = fields.getLineNumber();
+                writeVarInt(records, fields.getFieldCount());
+                for (int i = 0; i < fields.getFieldCount(); i++) {
+                    writeField(records, fields.getString(i), indices, strings);
+                }
+            }
+        } catch (LevelParseException e) {
+            // Only reading a field that does not exist can fail, which never happens
+            throw new IOException(e);
+        }
+
+        ByteArrayOutputStream table = new ByteArrayOutputStream();
+        writeVarInt(table, strings.size());
+        for (String string : strings) {
+            byte[] encoded = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(table, encoded.length);
+            table.write(encoded);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        header.putInt(MAGIC).putInt(VERSION).putLong(bytes.length).putLong(modified).putLong(hash(bytes));
+        ByteArrayOutputStream out = new ByteArrayOutputStream(HEADER_LENGTH + table.size() + records.size());
+        out.write(header.array());
+        table.writeTo(out);
+        records.writeTo(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes a field as an integer or decimal if it converts back to exactly the
+     * same text, and otherwise as a string.
+     */
+    private static void writeField(ByteArrayOutputStream out, String field, HashMap<String, Integer> indices,
+            ArrayList<String> strings) {
+        try {
+            int value = Integer.parseInt(field);
+            if (Integer.toString(value).equals(field)) {
+                out.write(INT);
+                writeLong(out, value, Integer.BYTES);
+                return;
+            }
+        } catch (NumberFormatException e) {
+        }
+        try {
+            double value = Double.parseDouble(field);
+            if (Double.toString(value).equals(field)) {
+                out.write(DOUBLE);
+                writeLong(out, Double.doubleToRawLongBits(value), Long.BYTES);
+                return;
+            }
+        } catch (NumberFormatException e) {
+        }
+        Integer index = indices.get(field);
+        if (index == null) {
+            index = strings.size();
+            indices.put(field, index);
+            strings.add(field);
+        }
+        out.write(STRING);
+        writeVarInt(out, index);
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value, int bytes) {
+        for (int shift = 8 * (bytes - 1); shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    /**
+     * Writes a non-negative integer in as few bytes as possible, seven bits at a
+     * time, with the high bit of each byte set if more bytes follow.
+     */
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Invalid variable length integer");
+    }
+
+    /**
+     * Returns the path of the cached compiled level for the given csv file. The
+     * path of the csv file is flattened into a single file name, so each level
+     * has exactly one compiled file.
+     *
+     * @param source the path of the csv file
+     * @return the path of the compiled level
+     */
+    public static Path getCachePath(Path source) {
+        String name = source.normalize().toString().replaceAll("[^A-Za-z0-9._-]", "_");
+        return Paths.get(Configuration.COMPILED_LEVEL_DIRECTORY, name + EXTENSION);
+    }
+
+    /**
+     * Deletes every compiled level in the cache.
+     */
+    public static void clear() {
+        Path directory = Paths.get(Configuration.COMPILED_LEVEL_DIRECTORY);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            System.out.println("** Compiled level cache " + directory + " could not be cleared **");
+        }
+    }
+
+    /**
+     * Returns whether levels are currently loaded from and saved to the cache.
+     *
+     * @return {@code true} if the cache is enabled, {@code false} otherwise
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether levels are loaded from and saved to the cache.
+     *
+     * @param enabled {@code true} to enable the cache, {@code false} to disable it
+     */
+    public static void setEnabled(boolean enabled) {
+        CompiledLevels.enabled = enabled;
+    }
+
+    /**
+     * Compiles every csv file within a directory, and its subdirectories.
+     * Arguments are, in order and both optional: the directory of csv files
+     * (defaults to {@code data/levels}), and the directory to write compiled
+     * levels to, keeping the same relative paths (defaults to the cache).
+     *
+     * @param args the command line arguments
+     * @throws IOException if the directory cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : "data/levels");
+        Path output = args.length > 1 ? Paths.get(args[1]) : null;
+        long sourceBytes = 0;
+        long compiledBytes = 0;
+        int count = 0;
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path source : (Iterable<Path>) files::iterator) {
+                String fileName = source.getFileName().toString();
+                if (!Files.isRegularFile(source) || !fileName.endsWith(".csv")) {
+                    continue;
+                }
+                Path target;
+                if (output != null) {
+                    String relative = directory.relativize(source).toString();
+                    target = output.resolve(relative.substring(0, relative.length() - 4) + EXTENSION);
+                } else {
+                    target = getCachePath(source);
+                }
+                Files.createDirectories(target.toAbsolutePath().getParent());
+                compile(source, target);
+                sourceBytes += Files.size(source);
+                compiledBytes += Files.size(target);
+                count++;
+                System.out.printf("%s -> %s (%,d -> %,d bytes)%n", source, target, Files.size(source),
+                        Files.size(target));
+            }
+        }
+        System.out.printf("Compiled %d levels, %,d -> %,d bytes%n", count, sourceBytes, compiledBytes);
+    }
+
+    /**
+     * Reads the lines of a compiled level from a buffer. Each line is decoded into
+     * arrays of field types and values, which are reused for every line.
+     */
+    private static class CompiledLevelSource implements LevelSource {
+
+        private final ByteBuffer buffer;
+        private final String[] strings;
+        private final String source;
+        private int lineNumber;
+        private int fieldCount;
+        private byte[] types = new byte[16];
+        private long[] values = new long[16];
+
+        private CompiledLevelSource(ByteBuffer buffer, String[] strings, String source) {
+            this.buffer = buffer;
+            this.strings = strings;
+            this.source = source;
+        }
+
+        @Override
+        public boolean nextLine() throws IOException {
+            if (!this.buffer.hasRemaining()) {
+                this.fieldCount = 0;
+                return false;
+            }
+            try {
+                this.lineNumber += readVarInt(this.buffer);
+                this.fieldCount = readVarInt(this.buffer);
+                if (this.fieldCount > this.types.length) {
+                    this.types = new byte[this.fieldCount];
+                    this.values = new long[this.fieldCount];
+                }
+                for (int i = 0; i < this.fieldCount; i++) {
+                    byte type = this.buffer.get();
+                    this.types[i] = type;
+                    this.values[i] = switch (type) {
+                        case STRING -> {
+                            int index = readVarInt(this.buffer);
+                            if (index >= this.strings.length) {
+                                throw new IOException(this.source + " refers to a missing string");
+                            }
+                            yield index;
+                        }
+                        case INT -> this.buffer.getInt();
+                        case DOUBLE -> this.buffer.getLong();
+                        default -> throw new IOException(this.source + " contains an unknown field type");
+                    };
+                }
+            } catch (BufferUnderflowException | IllegalStateException e) {
+                throw new IOException(this.source + " is truncated", e);
+            }
+            return true;
+        }
+
+        @Override
+        public String getSource() {
+            return this.source;
+        }
+
+        @Override
+        public int getLineNumber() {
+            return this.lineNumber;
+        }
+
+        @Override
+        public int getFieldCount() {
+            return this.fieldCount;
+        }
+
+        @Override
+        public boolean fieldEquals(int index, String value) {
+            if (index >= this.fieldCount) {
+                return false;
+            }
+            if (this.types[index] == STRING) {
+                return this.strings[(int) this.values[index]].equals(value);
+            }
+            return this.text(index).equals(value);
+        }
+
+        @Override
+        public int fieldHash(int index) {
+            if (index >= this.fieldCount) {
+                return 0;
+            }
+            if (this.types[index] == STRING) {
+                return this.strings[(int) this.values[index]].hashCode();
+            }
+            return this.text(index).hashCode();
+        }
+
+        @Override
+        public boolean isRange(int index) {
+            return index < this.fieldCount && this.types[index] == STRING
+                    && this.strings[(int) this.values[index]].contains("..");
+        }
+
+        @Override
+        public String getString(int index) throws LevelParseException {
+            this.checkField(index);
+            return this.text(index);
+        }
+
+        @Override
+        public int getInt(int index) throws LevelParseException {
+            this.checkField(index);
+            if (this.types[index] == INT) {
+                return (int) this.values[index];
+            }
+            if (this.types[index] == STRING) {
+                try {
+                    return Integer.parseInt(this.text(index));
+                } catch (NumberFormatException e) {
+                }
+            }
+            throw this.error("Expected an integer in field " + (index + 1) + ", but found \"" + this.text(index)
+                    + "\"");
+        }
+
+        @Override
+        public double getDouble(int index) throws LevelParseException {
+            this.checkField(index);
+            switch (this.types[index]) {
+                case INT:
+                    return (int) this.values[index];
+                case DOUBLE:
+                    return Double.longBitsToDouble(this.values[index]);
+                default:
+                    try {
+                        return Double.parseDouble(this.text(index));
+                    } catch (NumberFormatException e) {
+                        throw this.error("Expected a number in field " + (index + 1) + ", but found \""
+                                + this.text(index) + "\"");
+                    }
+            }
+        }
+
+        @Override
+        public String getLine() {
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < this.fieldCount; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                line.append(this.text(i));
+            }
+            return line.toString();
+        }
+
+        @Override
+        public LevelParseException error(String message) {
+            return new LevelParseException(this.source, this.lineNumber, message);
+        }
+
+        private String text(int index) {
+            return switch (this.types[index]) {
+                case INT -> Integer.toString((int) this.values[index]);
+                case DOUBLE -> Double.toString(Double.longBitsToDouble(this.values[index]));
+                default -> this.strings[(int) this.values[index]];
+            };
+        }
+
+        private void checkField(int index) throws LevelParseException {
+            if (index >= this.fieldCount) {
+                throw this.error("Expected at least " + (index + 1) + " fields, but found " + this.fieldCount);
+            }
+        }
+
+        @Override
+        public void close() {
+            // Mapped buffers are released when they are garbage collected
+        }
+
+    }
+
+}
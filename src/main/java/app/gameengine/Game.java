@@ -2,13 +2,23 @@ package app.gameengine;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import app.Configuration;
 import app.Settings;
+import app.display.common.AssetManager;
+import app.display.common.JFXManager;
 import app.display.common.ui.PauseMenu;
 import app.display.common.ui.UICollection;
 import app.display.common.ui.UIHealthBar;
 import app.display.common.ui.UILabel;
+import app.display.common.ui.UIState;
+import app.gameengine.model.datastructures.ScoreComparator;
 import app.gameengine.model.gameobjects.Player;
 import app.gameengine.model.physics.Vector2D;
 import app.gameengine.statistics.Scoreboard;
@@ -33,14 +43,27 @@ import javafx.scene.layout.StackPane;
  */
 public abstract class Game {
 
+    // Builds levels for asynchronous transitions, one at a time
+    private static final ExecutorService levelLoader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Level loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private String iconPath = "default.png";
     private Player player;
     protected Level currentLevel;
     protected UICollection UI;
-    protected Scoreboard scoreboard = new Scoreboard(this.getName());
+    private UIState uiState;
+    protected Scoreboard scoreboard = new Scoreboard(this.getName(), new ScoreComparator(),
+            Configuration.STATS_JOURNAL);
 
     private boolean advanceLevel;
     private String changeLevel = "";
+    private CompletableFuture<Level> pendingLevel;
+    private Consumer<Level> onPendingLevelReady;
+    private final ConcurrentLinkedQueue<Runnable> simulationActions = new ConcurrentLinkedQueue<>();
+    private final LevelTypeRegistry levelTypes = LevelTypeRegistry.createDefault();
 
     /**
      * Create a new game, with a {@link Player} as the player.
@@ -161,6 +184,17 @@ public abstract class Game {
         return this.getClass().getSimpleName();
     }
 
+    /**
+     * Returns the types of levels and objects which can appear in the level files
+     * of this game. Games with their own types should register them here before
+     * parsing any levels.
+     * 
+     * @return the level types of this game
+     */
+    public LevelTypeRegistry getLevelTypes() {
+        return this.levelTypes;
+    }
+
     /**
      * Returns a path within the icons directory to the icon for this game.
      * 
@@ -189,6 +223,18 @@ public abstract class Game {
         return this.UI;
     }
 
+    /**
+     * Creates an empty {@link UIState} to record the values shown by the UI of
+     * this game. Games whose UI shows values which are not recorded by a plain
+     * {@code UIState} should override this to return a subclass which records
+     * them.
+     * 
+     * @return a new UI state
+     */
+    public UIState createUIState() {
+        return new UIState();
+    }
+
     /**
      * Returns the level that is currently being played within the game.
      * 
@@ -212,11 +258,114 @@ public abstract class Game {
         this.currentLevel.load();
     }
 
+    /**
+     * Builds a level on a background thread, preloads its sprite sheets, and then
+     * passes it to the given action at the start of the next update after it is
+     * ready, which will typically load it with {@link #loadLevel(Level)}.
+     * <p>
+     * Until then, the current level is still drawn, but is not updated, and any
+     * level changes requested with {@link #markAdvanceLevel()} or
+     * {@link #markChangeLevel(String)} are deferred. Since the new level is only
+     * handed over between updates, the switch from one level to the next is never
+     * seen partway through.
+     * <p>
+     * The builder must not modify the current level or any other state of the
+     * game, as it runs alongside updates. If
+     * {@link Configuration#ASYNC_LEVEL_LOADING} is disabled, the level is instead
+     * built and passed to the action immediately. If the builder returns
+     * {@code null} or fails, the action is not called.
+     * 
+     * @param builder a function which creates the level
+     * @param onReady the action to perform with the level once it is ready
+     */
+    protected void loadLevelAsync(Supplier<? extends Level> builder, Consumer<Level> onReady) {
+        if (!Configuration.ASYNC_LEVEL_LOADING) {
+            Level level = builder.get();
+            if (level != null) {
+                onReady.accept(level);
+            }
+            return;
+        }
+        this.loadLevelAsync(buildInBackground(builder), onReady);
+    }
+
+    /**
+     * Waits for a level which is already being built, such as one prefetched by a
+     * {@link LevelPrefetcher}, in the same way as
+     * {@link #loadLevelAsync(Supplier, Consumer)}. If
+     * {@link Configuration#ASYNC_LEVEL_LOADING} is disabled, this blocks until the
+     * level is ready.
+     * 
+     * @param level   the level being built
+     * @param onReady the action to perform with the level once it is ready
+     */
+    protected void loadLevelAsync(CompletableFuture<Level> level, Consumer<Level> onReady) {
+        if (!Configuration.ASYNC_LEVEL_LOADING) {
+            Level ready = level.join();
+            if (ready != null) {
+                onReady.accept(ready);
+            }
+            return;
+        }
+        this.onPendingLevelReady = onReady;
+        this.pendingLevel = level;
+    }
+
+    /**
+     * Builds a level on the level loading thread and loads its sprite sheets,
+     * without pinning them, as the level is not yet being played. The returned
+     * future completes with {@code null} if the level could not be built.
+     */
+    static CompletableFuture<Level> buildInBackground(Supplier<? extends Level> builder) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                Level level = builder.get();
+                if (level != null) {
+                    AssetManager.preload(AssetManager.getSpriteSheets(level));
+                    if (Configuration.DEBUG_MODE) {
+                        System.out.printf("Built level %s in the background in %.1f ms\n", level.getName(),
+                                (System.nanoTime() - start) / 1e6);
+                    }
+                }
+                return level;
+            } catch (RuntimeException e) {
+                System.out.println("** Level could not be loaded: " + e + " **");
+                return null;
+            }
+        }, levelLoader);
+    }
+
+    /**
+     * Returns whether the game is waiting for a level being built in the
+     * background before changing to it.
+     * 
+     * @return {@code true} if a level transition is in progress, {@code false}
+     *         otherwise
+     */
+    public boolean isLoadingLevel() {
+        return this.pendingLevel != null;
+    }
+
+    /**
+     * Stops waiting for the level being built in the background, if any, so that
+     * the game does not change to it once it is ready.
+     */
+    private void cancelPendingLevel() {
+        if (this.pendingLevel != null) {
+            this.pendingLevel.cancel(false);
+        }
+        this.pendingLevel = null;
+        this.onPendingLevelReady = null;
+    }
+
     /**
      * Resets the currently loaded level to its initial state. Most of this behavior
-     * is deferred to the specific level class.
+     * is deferred to the specific level class. Any level being built in the
+     * background is abandoned.
      */
     public void resetCurrentLevel() {
+        this.cancelPendingLevel();
         this.currentLevel.reset();
     }
 
@@ -230,9 +379,43 @@ public abstract class Game {
      * @param dt the time elapsed since the last update, in seconds
      */
     public void update(double dt) {
+        this.updateSimulation(dt);
+        this.updateUI(dt);
+    }
+
+    /**
+     * Update the state of the game, without updating the UI. This includes
+     * changing levels if requested, updating the current level, and resetting the
+     * current level if the player is destroyed. While a level is being built in
+     * the background, nothing is updated until it is ready.
+     * <p>
+     * When the simulation is decoupled from rendering, this is called from the
+     * simulation thread, so it must not modify any JavaFX nodes that are part of
+     * the scene.
+     * 
+     * @param dt the time elapsed since the last update, in seconds
+     * @see Configuration#DECOUPLED_SIMULATION
+     */
+    public void updateSimulation(double dt) {
+        Runnable action;
+        while ((action = this.simulationActions.poll()) != null) {
+            action.run();
+        }
         if (Settings.paused()) {
             return;
         }
+        if (this.pendingLevel != null) {
+            if (!this.pendingLevel.isDone()) {
+                return;
+            }
+            Level level = this.pendingLevel.join();
+            Consumer<Level> onReady = this.onPendingLevelReady;
+            this.pendingLevel = null;
+            this.onPendingLevelReady = null;
+            if (level != null) {
+                onReady.accept(level);
+            }
+        }
         if (this.advanceLevel) {
             this.advanceLevel = false;
             this.advanceLevel();
@@ -240,19 +423,73 @@ public abstract class Game {
             this.changeLevel(this.changeLevel);
             this.changeLevel = "";
         }
+        LevelHotReloader.update(this);
         this.currentLevel.update(dt);
-        this.UI.update(dt, this.currentLevel);
         if (this.player.isDestroyed()) {
             this.resetCurrentLevel();
         }
     }
 
+    /**
+     * Performs the given action on the thread which updates the game. UI elements
+     * should use this for any action which changes the game, such as changing or
+     * resetting the level, as their event handlers run on the JavaFX application
+     * thread.
+     * <p>
+     * If {@link Configuration#DECOUPLED_SIMULATION} is enabled, the action is
+     * performed at the start of the next call to {@link #updateSimulation(double)},
+     * even if the game is paused. Otherwise, the game is updated on the JavaFX
+     * application thread, and the action is performed immediately.
+     * 
+     * @param action the action to perform
+     */
+    @SuppressWarnings("unused")
+    public void runOnSimulation(Runnable action) {
+        if (Configuration.DECOUPLED_SIMULATION) {
+            this.simulationActions.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Update the UI of the game from the current level. This is always called from
+     * the JavaFX application thread when the game is running, and is only used
+     * when the game is also updated on that thread.
+     * 
+     * @param dt the time elapsed since the last update, in seconds
+     */
+    public void updateUI(double dt) {
+        if (this.uiState == null) {
+            this.uiState = this.createUIState();
+        }
+        this.uiState.capture(this);
+        this.updateUI(dt, this.uiState);
+    }
+
+    /**
+     * Update the UI of the game from the given values, which were recorded from
+     * the current level by {@link UIState#capture(Game)}. This is always called
+     * from the JavaFX application thread when the game is running.
+     * 
+     * @param dt    the time elapsed since the last update, in seconds
+     * @param state the values shown by the UI
+     */
+    public void updateUI(double dt, UIState state) {
+        if (Settings.paused()) {
+            return;
+        }
+        this.UI.update(dt, state);
+    }
+
     /**
      * Reset the entire game, including all levels in the game. By default, this
-     * method does nothing, as there is no default storage for levels within the
-     * game.
+     * only abandons any level being built in the background, as there is no
+     * default storage for levels within the game. Subclasses which override this
+     * should call it before loading their first level.
      */
     public void resetGame() {
+        this.cancelPendingLevel();
     }
 
     /**
@@ -271,8 +508,10 @@ public abstract class Game {
     public void pause() {
         Settings.setPaused(true);
         if (this.UI != null) {
-            this.UI.removeElement("pause");
-            this.UI.addElement("pause", new PauseMenu(this));
+            JFXManager.runOnFXThread(() -> {
+                this.UI.removeElement("pause");
+                this.UI.addElement("pause", new PauseMenu(this));
+            });
         }
     }
 
@@ -283,7 +522,7 @@ public abstract class Game {
     public void unpause() {
         Settings.setPaused(false);
         if (this.UI != null) {
-            this.UI.removeElement("pause");
+            JFXManager.runOnFXThread(() -> this.UI.removeElement("pause"));
         }
     }
 
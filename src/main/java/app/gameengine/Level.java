@@ -1,12 +1,14 @@
 package app.gameengine;
 import java.util.ArrayList;
 import java.util.HashMap;
-import app.Settings;
 import app.display.common.controller.BasicMouseControls;
 import app.display.common.controller.KeyboardControls;
 import app.display.common.controller.MouseControls;
 import app.display.common.Background;
+import app.display.common.RenderLayer;
+import app.display.common.StaticLayer;
 import app.display.common.effects.Effect;
+import app.gameengine.model.datastructures.SpatialGrid;
 import app.gameengine.model.gameobjects.Collectible;
 import app.gameengine.model.gameobjects.DynamicGameObject;
 import app.gameengine.model.gameobjects.GameObject;
@@ -30,6 +32,8 @@ import app.gameengine.model.physics.Vector2D;
  */
 public abstract class Level {
 
+    private static final double STATIC_INDEX_CELL_SIZE = 4;
+
     protected KeyboardControls keyboardControls;
     protected MouseControls mouseControls;
     protected Game game;
@@ -37,10 +41,15 @@ public abstract class Level {
 
     protected int width;
     protected int height;
-    protected ArrayList<StaticGameObject> staticObjects = new ArrayList<>();
+    protected ArrayList<StaticGameObject> staticObjects = new TrackedList<>();
     protected ArrayList<DynamicGameObject> dynamicObjects = new ArrayList<>();
     private ArrayList<StaticGameObject> originalStaticObjects = new ArrayList<>();
     private ArrayList<DynamicGameObject> originalDynamicObjects = new ArrayList<>();
+    private final SpatialGrid<StaticGameObject> staticIndex = new SpatialGrid<>(STATIC_INDEX_CELL_SIZE);
+    private ArrayList<StaticGameObject> indexedStaticObjects;
+    private int indexedModCount;
+    private int indexedWidth;
+    private int indexedHeight;
 
     protected boolean isLoaded;
     protected Vector2D playerStartLocation = new Vector2D(1.0, 1.0);
@@ -48,6 +57,11 @@ public abstract class Level {
 
     protected Background background = new Background();
     private String levelName;
+    private String sourcePath;
+    private LevelChunks chunks;
+    // Where each object from the level file was placed, only recorded when level
+    // files are hot reloaded
+    private ArrayList<ObjectOrigin> origins = new ArrayList<>();
     private HashMap<Effect, Vector2D> activeEffects = new HashMap<>();
     protected double playtime;
     protected double score;
@@ -187,6 +201,9 @@ public abstract class Level {
         this.getPlayer().setLocation(playerLocation.getX(), playerLocation.getY());
         this.dynamicObjects.removeIf(GameObject::isPlayer);
         this.dynamicObjects.add(this.getPlayer());
+        if (this.chunks != null) {
+            this.chunks.update(false);
+        }
         // Effects
         this.activeEffects.clear();
         this.dynamicObjects.forEach(DynamicGameObject::onSpawn);
@@ -209,6 +226,9 @@ public abstract class Level {
         this.dynamicObjects.addAll(this.originalDynamicObjects);
         this.staticObjects.clear();
         this.staticObjects.addAll(this.originalStaticObjects);
+        if (this.chunks != null) {
+            this.chunks.reset();
+        }
         this.dynamicObjects.forEach(GameObject::reset);
         this.staticObjects.forEach(GameObject::reset);
         // Reset player
@@ -217,6 +237,9 @@ public abstract class Level {
         this.dynamicObjects.removeIf(GameObject::isPlayer);
         this.dynamicObjects.add(this.getPlayer());
         this.lastPlayerLocation = null;
+        if (this.chunks != null) {
+            this.chunks.update(false);
+        }
         // Reset controls
         this.keyboardControls.reset();
         this.mouseControls.reset();
@@ -263,6 +286,35 @@ public abstract class Level {
         this.background = background;
     }
 
+    /**
+     * Returns a layer which draws the background and all static objects of this
+     * level at once, or {@code null} if they should be drawn individually. By
+     * default, this returns {@code null}.
+     * <p>
+     * Levels with a very large number of static objects may override this to avoid
+     * drawing each object separately on every frame.
+     * 
+     * @return the static layer of this level, or {@code null} if there is none
+     */
+    public StaticLayer getStaticLayer() {
+        return null;
+    }
+
+    /**
+     * Returns whether objects in y-sorted render layers are drawn in order of their
+     * vertical position, so that objects lower on the screen are drawn in front of
+     * those above them. By default, this returns {@code false}.
+     * <p>
+     * This should be enabled for levels viewed from above, where objects further
+     * down the screen are closer to the viewer.
+     * 
+     * @return {@code true} if y-sorting is enabled, {@code false} otherwise
+     * @see RenderLayer
+     */
+    public boolean isYSorted() {
+        return false;
+    }
+
     /**
      * Returns all of the {@code StaticGameObject}s currently within the level.
      * 
@@ -272,6 +324,120 @@ public abstract class Level {
         return this.staticObjects;
     }
 
+    /**
+     * Returns a spatial index of the {@code StaticGameObject}s currently within the
+     * level, which can be used to find the objects within an area without checking
+     * every object in the level.
+     * <p>
+     * The index is rebuilt automatically when static objects are added or
+     * removed, or the size of the level changes. Static objects are not expected
+     * to move, so levels which move them must call
+     * {@link #invalidateStaticIndex()} afterwards.
+     * 
+     * @return the index of static objects
+     */
+    public SpatialGrid<StaticGameObject> getStaticIndex() {
+        int modCount = this.staticObjects instanceof TrackedList<?> list ? list.getModCount() : -1;
+        if (this.indexedStaticObjects != this.staticObjects || this.indexedModCount != modCount
+                || modCount == -1 || this.indexedWidth != this.width || this.indexedHeight != this.height) {
+            this.staticIndex.build(this.staticObjects, this.width, this.height);
+            this.indexedStaticObjects = this.staticObjects;
+            this.indexedModCount = modCount;
+            this.indexedWidth = this.width;
+            this.indexedHeight = this.height;
+        }
+        return this.staticIndex;
+    }
+
+    /**
+     * Marks the spatial index of static objects as out of date, so that it is
+     * rebuilt the next time it is used. This must be called after moving any
+     * static object.
+     */
+    public void invalidateStaticIndex() {
+        this.indexedStaticObjects = null;
+    }
+
+    /**
+     * Returns the path within the levels directory of the file this level was
+     * parsed from.
+     * 
+     * @return the path of the level file, or {@code null} if this level was not
+     *         parsed from a file
+     */
+    public String getSourcePath() {
+        return this.sourcePath;
+    }
+
+    /**
+     * Sets the path within the levels directory of the file this level was parsed
+     * from.
+     * 
+     * @param sourcePath the path of the level file
+     */
+    public void setSourcePath(String sourcePath) {
+        this.sourcePath = sourcePath;
+    }
+
+    /**
+     * Returns the chunks this level's objects are streamed in, if it is wide
+     * enough for its objects to be built only while they are near the view.
+     * 
+     * @return the chunks of this level, or {@code null} if all of its objects are
+     *         always present
+     */
+    public LevelChunks getChunks() {
+        return this.chunks;
+    }
+
+    void setChunks(LevelChunks chunks) {
+        this.chunks = chunks;
+    }
+
+    /**
+     * Returns where each object from the level file was placed, in the order they
+     * appear in the file.
+     */
+    ArrayList<ObjectOrigin> getOrigins() {
+        return this.origins;
+    }
+
+    void setOrigins(ArrayList<ObjectOrigin> origins) {
+        this.origins = origins;
+    }
+
+    /**
+     * Adds an object which was added to the level file while this level is being
+     * played, so that it is also present when the level is reset.
+     */
+    void addSourceObject(GameObject object) {
+        if (object instanceof StaticGameObject staticObject) {
+            this.staticObjects.add(staticObject);
+            if (this.isLoaded) {
+                this.originalStaticObjects.add(staticObject);
+            }
+        } else if (object instanceof DynamicGameObject dynamicObject) {
+            this.dynamicObjects.add(dynamicObject);
+            if (this.isLoaded) {
+                this.originalDynamicObjects.add(dynamicObject);
+            }
+        }
+        if (this.isLoaded) {
+            object.onSpawn();
+        }
+    }
+
+    /**
+     * Removes an object which was removed from the level file while this level is
+     * being played, so that it is also absent when the level is reset.
+     */
+    void removeSourceObject(GameObject object) {
+        this.staticObjects.removeIf(o -> o == object);
+        this.originalStaticObjects.removeIf(o -> o == object);
+        this.dynamicObjects.removeIf(o -> o == object);
+        this.originalDynamicObjects.removeIf(o -> o == object);
+    }
+
     /**
      * Returns all of the {@code DynamicGameObject}s currently within the level.
      * 
@@ -418,6 +584,9 @@ public abstract class Level {
     @SuppressWarnings("unused")
     public void update(double dt) {
         this.playtime += dt;
+        if (this.chunks != null) {
+            this.chunks.update(true);
+        }
         this.dynamicObjects.removeIf(GameObject::isDestroyed);
         this.staticObjects.removeIf(GameObject::isDestroyed);
         this.physicsEngine.updateLevel(dt, this);
@@ -433,10 +602,6 @@ public abstract class Level {
         }
         this.dynamicObjects.removeIf(GameObject::isDestroyed);
         this.staticObjects.removeIf(GameObject::isDestroyed);
-        if (Settings.showHitboxes()) {
-            this.dynamicObjects.forEach(a -> a.showHitbox());
-            this.staticObjects.forEach(a -> a.showHitbox());
-        }
         this.activeEffects.forEach((k, v) -> k.update(dt));
         this.activeEffects.entrySet().removeIf(e -> e.getKey().isFinished());
     }
@@ -470,4 +635,18 @@ public abstract class Level {
         this.score = score;
     }
 
+    /**
+     * A list which exposes how many times it has been structurally modified, so
+     * that the static index can tell when it is out of date.
+     */
+    private static class TrackedList<E> extends ArrayList<E> {
+
+        private static final long serialVersionUID = 1L;
+
+        private int getModCount() {
+            return this.modCount;
+        }
+
+    }
+
 }
@@ -0,0 +1,466 @@
+package app.gameengine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import app.Configuration;
+import app.display.common.Viewport;
+import app.gameengine.model.gameobjects.DynamicGameObject;
+import app.gameengine.model.gameobjects.GameObject;
+import app.gameengine.model.gameobjects.Persistent;
+import app.gameengine.model.gameobjects.StaticGameObject;
+import javafx.geometry.Rectangle2D;
+
+/**
+ * The objects of a very wide level, split into chunks of columns which are only
+ * built while they are near the view.
+ * <p>
+ * When a level at least {@link #getStreamedWidth()} tiles wide is parsed, its
+ * object lines are not built, but are kept as text for the chunk each object
+ * is in, with ranges split at the edges of chunks. Each update, the chunks
+ * within one chunk of the {@link Viewport#getView(Level) view} are activated,
+ * which parses their lines and adds their objects to the level, and so to its
+ * physics and rendering. Chunks more than two chunks from the view are
+ * deactivated, which saves their state and releases their objects.
+ * <p>
+ * The saved state of a chunk records which of its static objects have been
+ * destroyed, and every dynamic object within it, with its location, so that
+ * destroyed objects stay destroyed when the chunk is built again. Dynamic
+ * objects belong to the chunk they are in when it is deactivated, not the one
+ * they started in, so they are never released while they are in view. Objects
+ * which change in other ways implement {@link Persistent} to save their state
+ * with the chunk. Dynamic objects are built again at their saved location, but
+ * otherwise as their line describes them, so their velocity is not kept.
+ * <p>
+ * Objects that were not read from the level file, such as the player, are
+ * never released.
+ *
+ * @see Level#getChunks()
+ * @see Persistent
+ */
+public class LevelChunks {
+
+    private static volatile int streamedWidth = Configuration.STREAMED_LEVEL_WIDTH;
+
+    private final Game game;
+    private final Level level;
+    private final String source;
+    private final int chunkWidth;
+    private final Chunk[] chunks;
+    // The line that each dynamic object from an active chunk was built from
+    private final IdentityHashMap<DynamicGameObject, String> dynamicLines = new IdentityHashMap<>();
+
+    /**
+     * Creates the chunks of a level, with no lines.
+     */
+    LevelChunks(Game game, Level level, String source) {
+        this.game = game;
+        this.level = level;
+        this.source = source;
+        this.chunkWidth = Configuration.LEVEL_CHUNK_WIDTH;
+        int count = Math.max(1, (level.getWidth() + this.chunkWidth - 1) / this.chunkWidth);
+        this.chunks = new Chunk[count];
+        for (int i = 0; i < count; i++) {
+            this.chunks[i] = new Chunk();
+        }
+    }
+
+    /**
+     * Returns whether the objects of the given level should be streamed in chunks
+     * rather than all built when it is parsed.
+     *
+     * @param level the level being parsed
+     * @return {@code true} if the level is wide enough to be streamed
+     */
+    public static boolean isStreamed(Level level) {
+        int width = streamedWidth;
+        return width > 0 && level.getWidth() >= width;
+    }
+
+    /**
+     * Returns the width, in tiles, from which levels are streamed in chunks.
+     *
+     * @return the smallest width of streamed levels, or 0 if levels are never
+     *         streamed
+     */
+    public static int getStreamedWidth() {
+        return streamedWidth;
+    }
+
+    /**
+     * Sets the width, in tiles, from which levels are streamed in chunks. This
+     * only affects levels parsed afterwards.
+     *
+     * @param width the smallest width of streamed levels, or 0 to never stream
+     *              levels
+     */
+    public static void setStreamedWidth(int width) {
+        streamedWidth = width;
+    }
+
+    /**
+     * Adds the current line, which describes one or more objects, to the chunks
+     * those objects are in.
+     */
+    void addLine(LevelFields fields) throws LevelParseException {
+        boolean isStatic = fields.fieldEquals(0, "StaticGameObject");
+        LevelTypeRegistry types = this.game.getLevelTypes();
+        if (isStatic ? types.getStaticObjectFactory(fields, 1) == null
+                : types.getDynamicObjectFactory(fields, 1) == null) {
+            System.out.println("** " + (isStatic ? "Static" : "Dynamic") + " object for line "
+                    + fields.getLineNumber() + " \"" + fields.getLine() + "\" could not be read **");
+            return;
+        }
+        double[] range = LevelParser.readRange(fields, 2);
+        int first = this.chunkOf(range[0]);
+        int last = this.chunkOf(range[1]);
+        if (first == last) {
+            this.chunks[first].lines.append(fields.getLine()).append('\n');
+            return;
+        }
+        // Split the range of x locations at the edge of each chunk
+        double steps = Math.floor(range[1] - range[0]);
+        for (int i = first; i <= last; i++) {
+            double start = i == first ? 0 : Math.max(0, Math.ceil(i * this.chunkWidth - range[0]));
+            double end = i == last ? steps : Math.min(steps, Math.ceil((i + 1) * this.chunkWidth - range[0]) - 1);
+            if (start > end) {
+                continue;
+            }
+            StringBuilder line = this.chunks[i].lines;
+            line.append(fields.getString(0)).append(',').append(fields.getString(1)).append(',')
+                    .append(format(range[0] + start));
+            if (end > start) {
+                line.append(LevelParser.RANGE_SEPARATOR).append(format(range[0] + end));
+            }
+            for (int field = 3; field < fields.getFieldCount(); field++) {
+                line.append(',').append(fields.getString(field));
+            }
+            line.append('\n');
+        }
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long) value)
+                : Double.toString(value);
+    }
+
+    private int chunkOf(double x) {
+        return Math.clamp((long) Math.floor(x / this.chunkWidth), 0, this.chunks.length - 1);
+    }
+
+    /**
+     * Activates the chunks near the view, and deactivates those far from it.
+     *
+     * @param spawn whether to call {@link GameObject#onSpawn()} on the objects of
+     *              newly activated chunks
+     */
+    void update(boolean spawn) {
+        Rectangle2D view = Viewport.getView(this.level);
+        int first = this.chunkOf(view.getMinX() - this.chunkWidth);
+        int last = this.chunkOf(view.getMaxX() + this.chunkWidth);
+        int keepFirst = this.chunkOf(view.getMinX() - 2 * this.chunkWidth);
+        int keepLast = this.chunkOf(view.getMaxX() + 2 * this.chunkWidth);
+
+        Set<GameObject> released = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < this.chunks.length; i++) {
+            if (this.chunks[i].isActive() && (i < keepFirst || i > keepLast)) {
+                this.deactivate(i, released);
+            }
+        }
+        // Dynamic objects that have left the active chunks are released with the chunk they are in
+        Iterator<Map.Entry<DynamicGameObject, String>> iterator = this.dynamicLines.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<DynamicGameObject, String> entry = iterator.next();
+            DynamicGameObject object = entry.getKey();
+            if (object.isDestroyed()) {
+                iterator.remove();
+                continue;
+            }
+            Chunk chunk = this.chunks[this.chunkOf(object.getLocation().getX())];
+            if (!chunk.isActive()) {
+                chunk.savedDynamics.add(save(object, entry.getValue()));
+                released.add(object);
+                iterator.remove();
+            }
+        }
+        if (!released.isEmpty()) {
+            this.level.getStaticObjects().removeIf(released::contains);
+            this.level.getDynamicObjects().removeIf(released::contains);
+        }
+
+        for (int i = first; i <= last; i++) {
+            if (!this.chunks[i].isActive()) {
+                this.activate(i, spawn);
+            }
+        }
+    }
+
+    private void activate(int index, boolean spawn) {
+        Chunk chunk = this.chunks[index];
+        chunk.objects = new ArrayList<>();
+        ArrayList<GameObject> added = new ArrayList<>();
+        String name = this.source + " (chunk " + index + ")";
+        DataInputStream saved = chunk.savedStatics == null ? null
+                : new DataInputStream(new ByteArrayInputStream(chunk.savedStatics));
+        try (LevelTokenizer fields = new LevelTokenizer(new StringReader(chunk.lines.toString()), name)) {
+            while (fields.nextLine()) {
+                try {
+                    if (fields.fieldEquals(0, "StaticGameObject")) {
+                        this.buildStatic(fields, chunk, saved, added);
+                    } else if (!chunk.dynamicsBuilt) {
+                        this.buildDynamic(fields, added);
+                    }
+                } catch (LevelParseException e) {
+                    System.out.println("** Level could not be parsed: " + e.getMessage() + " **");
+                }
+            }
+            chunk.dynamicsBuilt = true;
+            for (byte[] record : chunk.savedDynamics) {
+                this.load(record, name, added);
+            }
+        } catch (IOException e) {
+            // The lines and saved state are held in memory, so can always be read
+            throw new IllegalStateException(e);
+        }
+        chunk.savedStatics = null;
+        chunk.savedDynamics.clear();
+        if (spawn) {
+            added.forEach(GameObject::onSpawn);
+        }
+    }
+
+    /**
+     * Builds every static object described by the current line, skipping those
+     * that had been destroyed when the chunk was last deactivated.
+     */
+    private void buildStatic(LevelTokenizer fields, Chunk chunk, DataInputStream saved, ArrayList<GameObject> added)
+            throws IOException, LevelParseException {
+        LevelTypeRegistry.ObjectFactory<? extends StaticGameObject> factory = this.game.getLevelTypes()
+                .getStaticObjectFactory(fields, 1);
+        double[] xRange = LevelParser.readRange(fields, 2);
+        double[] yRange = LevelParser.readRange(fields, 3);
+        for (double y = yRange[0]; y <= yRange[1]; y++) {
+            for (double x = xRange[0]; x <= xRange[1]; x++) {
+                // Every location has a slot, so saved states always line up with their objects
+                if (saved != null && !saved.readBoolean()) {
+                    chunk.objects.add(null);
+                    continue;
+                }
+                StaticGameObject object = factory.create(this.game, this.level, x, y, fields);
+                chunk.objects.add(object);
+                if (object != null) {
+                    if (saved != null && object instanceof Persistent persistent) {
+                        persistent.loadState(saved);
+                    }
+                    this.level.getStaticObjects().add(object);
+                    added.add(object);
+                }
+            }
+        }
+    }
+
+    private void buildDynamic(LevelTokenizer fields, ArrayList<GameObject> added) throws LevelParseException {
+        LevelTypeRegistry.ObjectFactory<? extends DynamicGameObject> factory = this.game.getLevelTypes()
+                .getDynamicObjectFactory(fields, 1);
+        double[] xRange = LevelParser.readRange(fields, 2);
+        double[] yRange = LevelParser.readRange(fields, 3);
+        for (double y = yRange[0]; y <= yRange[1]; y++) {
+            for (double x = xRange[0]; x <= xRange[1]; x++) {
+                DynamicGameObject object = factory.create(this.game, this.level, x, y, fields);
+                if (object != null) {
+                    this.level.getDynamicObjects().add(object);
+                    this.dynamicLines.put(object, fields.getLine());
+                    added.add(object);
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves the state of an active chunk, and collects the objects to be removed
+     * from the level.
+     */
+    private void deactivate(int index, Set<GameObject> released) {
+        Chunk chunk = this.chunks[index];
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (StaticGameObject object : chunk.objects) {
+                boolean present = object != null && !object.isDestroyed();
+                out.writeBoolean(present);
+                if (present) {
+                    if (object instanceof Persistent persistent) {
+                        persistent.saveState(out);
+                    }
+                    released.add(object);
+                }
+            }
+        } catch (IOException e) {
+            // The state is written to memory, so can always be written
+            throw new IllegalStateException(e);
+        }
+        chunk.savedStatics = bytes.toByteArray();
+        chunk.objects = null;
+
+        Iterator<Map.Entry<DynamicGameObject, String>> iterator = this.dynamicLines.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<DynamicGameObject, String> entry = iterator.next();
+            DynamicGameObject object = entry.getKey();
+            if (object.isDestroyed()) {
+                iterator.remove();
+            } else if (this.chunkOf(object.getLocation().getX()) == index) {
+                chunk.savedDynamics.add(save(object, entry.getValue()));
+                released.add(object);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Saves a dynamic object as the line it was built from, its location, and its
+     * own state.
+     */
+    private static byte[] save(DynamicGameObject object, String line) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(line);
+            out.writeDouble(object.getLocation().getX());
+            out.writeDouble(object.getLocation().getY());
+            if (object instanceof Persistent persistent) {
+                persistent.saveState(out);
+            }
+        } catch (IOException e) {
+            // The state is written to memory, so can always be written
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Builds a dynamic object again from its saved state.
+     */
+    private void load(byte[] record, String name, ArrayList<GameObject> added) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        String line = in.readUTF();
+        double x = in.readDouble();
+        double y = in.readDouble();
+        try (LevelTokenizer fields = new LevelTokenizer(new StringReader(line), name)) {
+            fields.nextLine();
+            DynamicGameObject object = this.game.getLevelTypes().getDynamicObjectFactory(fields, 1)
+                    .create(this.game, this.level, x, y, fields);
+            if (object == null) {
+                return;
+            }
+            if (object instanceof Persistent persistent) {
+                persistent.loadState(in);
+            }
+            this.level.getDynamicObjects().add(object);
+            this.dynamicLines.put(object, line);
+            added.add(object);
+        } catch (LevelParseException e) {
+            System.out.println("** Level could not be parsed: " + e.getMessage() + " **");
+        }
+    }
+
+    /**
+     * Forgets the state of every chunk, so that they are all built from the level
+     * file again. The objects of the level must be removed separately.
+     */
+    void reset() {
+        for (Chunk chunk : this.chunks) {
+            chunk.objects = null;
+            chunk.savedStatics = null;
+            chunk.savedDynamics.clear();
+            chunk.dynamicsBuilt = false;
+        }
+        this.dynamicLines.clear();
+    }
+
+    /**
+     * Returns the width of each chunk, in tiles.
+     *
+     * @return the width of each chunk
+     */
+    public int getChunkWidth() {
+        return this.chunkWidth;
+    }
+
+    /**
+     * Returns the number of chunks the level is split into.
+     *
+     * @return the number of chunks
+     */
+    public int getChunkCount() {
+        return this.chunks.length;
+    }
+
+    /**
+     * Returns whether the objects of the given chunk are currently in the level.
+     *
+     * @param index the index of the chunk, from the left of the level
+     * @return {@code true} if the chunk is active
+     */
+    public boolean isActive(int index) {
+        return this.chunks[index].isActive();
+    }
+
+    /**
+     * Returns the number of chunks whose objects are currently in the level.
+     *
+     * @return the number of active chunks
+     */
+    public int getActiveCount() {
+        int count = 0;
+        for (Chunk chunk : this.chunks) {
+            if (chunk.isActive()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of bytes of state saved for inactive chunks.
+     *
+     * @return the size of the saved state, in bytes
+     */
+    public int getSavedSize() {
+        int size = 0;
+        for (Chunk chunk : this.chunks) {
+            size += chunk.savedStatics == null ? 0 : chunk.savedStatics.length;
+            for (byte[] record : chunk.savedDynamics) {
+                size += record.length;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * The lines and state of a single chunk.
+     */
+    private static class Chunk {
+
+        private final StringBuilder lines = new StringBuilder();
+        // The static object built at each location while active, or null if it
+        // was destroyed
+        private ArrayList<StaticGameObject> objects;
+        private byte[] savedStatics;
+        private final ArrayList<byte[]> savedDynamics = new ArrayList<>();
+        private boolean dynamicsBuilt;
+
+        private boolean isActive() {
+            return this.objects != null;
+        }
+
+    }
+
+}
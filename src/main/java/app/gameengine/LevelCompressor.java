@@ -0,0 +1,196 @@
+package app.gameengine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Rewrites level files so that runs of identical objects are written as a
+ * single line with a range of locations, such as
+ * {@code StaticGameObject,Ground,0..68,13}.
+ * <p>
+ * Lines are only combined when they are next to each other in the file, and
+ * describe the same type of object with the same additional parameters at
+ * whole number locations. Consecutive objects along a row become a range of x
+ * locations, and consecutive rows with the same range of x locations then
+ * become a rectangle. As {@link LevelParser} expands ranges row by row, a
+ * compressed file builds exactly the same objects, in exactly the same order,
+ * as the original. Every other line is copied unchanged.
+ * <p>
+ * Running this class compresses every csv file within a directory, or a
+ * single file, in place. The first argument is the file or directory, and
+ * defaults to {@code data/levels}.
+ *
+ * @see LevelParser
+ */
+public class LevelCompressor {
+
+    /**
+     * Prevent instantiation, as this class is intended to be static.
+     */
+    private LevelCompressor() {
+    }
+
+    /**
+     * Returns the given lines of a level file, with runs of identical objects
+     * combined into ranges.
+     *
+     * @param lines the lines of the level file
+     * @return the compressed lines
+     */
+    public static List<String> compress(List<String> lines) {
+        // Combine objects along each row, then combine rows with matching columns
+        ArrayList<Run> rows = new ArrayList<>();
+        for (String line : lines) {
+            Run run = Run.parse(line);
+            Run last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+            if (run != null && last != null && last.sameObject(run) && last.startY == run.startY
+                    && last.endY == run.endY && last.endX + 1 == run.startX) {
+                last.endX = run.endX;
+            } else {
+                rows.add(run != null ? run : new Run(line));
+            }
+        }
+        ArrayList<Run> rectangles = new ArrayList<>();
+        for (Run run : rows) {
+            Run last = rectangles.isEmpty() ? null : rectangles.get(rectangles.size() - 1);
+            if (run.prefix != null && last != null && last.sameObject(run) && last.startX == run.startX
+                    && last.endX == run.endX && last.endY + 1 == run.startY) {
+                last.endY = run.endY;
+            } else {
+                rectangles.add(run);
+            }
+        }
+        ArrayList<String> compressed = new ArrayList<>(rectangles.size());
+        for (Run run : rectangles) {
+            compressed.add(run.toString());
+        }
+        return compressed;
+    }
+
+    /**
+     * Compresses the given level file in place.
+     *
+     * @param file the path of the level file
+     * @return the number of lines removed
+     * @throws IOException if the file cannot be read or written
+     */
+    public static int compress(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        List<String> compressed = compress(lines);
+        if (compressed.size() < lines.size()) {
+            Files.write(file, compressed, StandardCharsets.UTF_8);
+        }
+        return lines.size() - compressed.size();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path root = Paths.get(args.length > 0 ? args[0] : "data/levels");
+        long before = 0;
+        long after = 0;
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!Files.isRegularFile(file) || !file.toString().endsWith(".csv")) {
+                    continue;
+                }
+                long size = Files.size(file);
+                int removed = compress(file);
+                before += size;
+                after += Files.size(file);
+                System.out.printf("%s: %d lines removed, %,d -> %,d bytes%n", file, removed, size, Files.size(file));
+            }
+        }
+        System.out.printf("Total: %,d -> %,d bytes%n", before, after);
+    }
+
+    /**
+     * A line of a level file, which is either an object over a rectangle of
+     * locations, or any other line to be copied unchanged.
+     */
+    private static class Run {
+
+        // The fields before the location, and after it
+        private final String prefix;
+        private final String suffix;
+        private final String line;
+        private int startX;
+        private int endX;
+        private int startY;
+        private int endY;
+
+        private Run(String line) {
+            this.line = line;
+            this.prefix = null;
+            this.suffix = null;
+        }
+
+        private Run(String prefix, String suffix, int x, int y) {
+            this.line = null;
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.startX = x;
+            this.endX = x;
+            this.startY = y;
+            this.endY = y;
+        }
+
+        /**
+         * Returns the object described by the given line, or {@code null} if it is
+         * not an object at a whole number location.
+         */
+        private static Run parse(String line) {
+            String[] fields = line.split(",");
+            if (fields.length < 4
+                    || !(fields[0].equals("StaticGameObject") || fields[0].equals("DynamicGameObject"))) {
+                return null;
+            }
+            Integer x = parseInt(fields[2]);
+            Integer y = parseInt(fields[3]);
+            if (x == null || y == null) {
+                return null;
+            }
+            StringBuilder suffix = new StringBuilder();
+            for (int i = 4; i < fields.length; i++) {
+                suffix.append(',').append(fields[i]);
+            }
+            return new Run(fields[0] + "," + fields[1], suffix.toString(), x, y);
+        }
+
+        /**
+         * Parses a whole number, only if writing it back gives the same text.
+         */
+        private static Integer parseInt(String field) {
+            try {
+                int value = Integer.parseInt(field);
+                return Integer.toString(value).equals(field) ? value : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private boolean sameObject(Run other) {
+            return this.prefix != null && other.prefix != null && this.prefix.equals(other.prefix)
+                    && this.suffix.equals(other.suffix);
+        }
+
+        private static String range(int start, int end) {
+            return start == end ? Integer.toString(start) : start + ".." + end;
+        }
+
+        @Override
+        public String toString() {
+            if (this.prefix == null) {
+                return this.line;
+            }
+            return this.prefix + "," + range(this.startX, this.endX) + "," + range(this.startY, this.endY)
+                    + this.suffix;
+        }
+
+    }
+
+}
@@ -0,0 +1,169 @@
+package app.gameengine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import app.gameengine.model.physics.Vector2D;
+
+/**
+ * The differences between the objects of a level being played and those of a
+ * newer version of its level file, which can be applied to the level without
+ * rebuilding it.
+ * <p>
+ * Each object is matched to the line of the level file it was created from,
+ * and to where that line placed it. Objects whose line and location are
+ * unchanged are kept exactly as they are, including any state they have
+ * gained while being played. Of the remaining objects, those whose line is
+ * unchanged but whose location has changed are moved, and any others are
+ * removed or added. Objects that were not created from the level file, such as
+ * the player, are never changed.
+ * <p>
+ * Lines are only recorded while {@link LevelHotReloader#isEnabled() hot
+ * reloading} is enabled, so levels parsed without it have no differences.
+ *
+ * @see LevelHotReloader
+ */
+public class LevelDiff {
+
+    private final Level level;
+    private final Level source;
+    private final ArrayList<ObjectOrigin> kept = new ArrayList<>();
+    private final ArrayList<ObjectOrigin> removed = new ArrayList<>();
+    private final ArrayList<ObjectOrigin> added = new ArrayList<>();
+    // Pairs of the current origin of an object and its new origin
+    private final ArrayList<ObjectOrigin> movedFrom = new ArrayList<>();
+    private final ArrayList<ObjectOrigin> movedTo = new ArrayList<>();
+
+    private LevelDiff(Level level, Level source) {
+        this.level = level;
+        this.source = source;
+    }
+
+    /**
+     * Finds the differences between a level and a newly parsed version of the
+     * same level file.
+     *
+     * @param level  the level being played
+     * @param source the newly parsed level
+     * @return the differences between them
+     */
+    public static LevelDiff compute(Level level, Level source) {
+        LevelDiff diff = new LevelDiff(level, source);
+        ArrayList<ObjectOrigin> newOrigins = source.getOrigins();
+
+        // Keep every object whose line and location have not changed
+        HashMap<String, ArrayDeque<ObjectOrigin>> unchanged = new HashMap<>();
+        for (ObjectOrigin origin : newOrigins) {
+            unchanged.computeIfAbsent(origin.key(), key -> new ArrayDeque<>()).add(origin);
+        }
+        ArrayList<ObjectOrigin> unmatched = new ArrayList<>();
+        for (ObjectOrigin origin : level.getOrigins()) {
+            ArrayDeque<ObjectOrigin> matches = unchanged.get(origin.key());
+            if (matches != null && !matches.isEmpty()) {
+                matches.poll();
+                diff.kept.add(origin);
+            } else {
+                unmatched.add(origin);
+            }
+        }
+
+        // Of the rest, objects from identical lines are moved, in file order
+        HashMap<String, ArrayDeque<ObjectOrigin>> movable = new HashMap<>();
+        for (ObjectOrigin origin : unmatched) {
+            movable.computeIfAbsent(origin.description, key -> new ArrayDeque<>()).add(origin);
+        }
+        for (ObjectOrigin origin : newOrigins) {
+            // Origins still waiting in the queue were not matched to a kept object
+            ArrayDeque<ObjectOrigin> matches = unchanged.get(origin.key());
+            if (!matches.remove(origin)) {
+                continue;
+            }
+            ArrayDeque<ObjectOrigin> candidates = movable.get(origin.description);
+            if (candidates != null && !candidates.isEmpty()) {
+                diff.movedFrom.add(candidates.poll());
+                diff.movedTo.add(origin);
+            } else {
+                diff.added.add(origin);
+            }
+        }
+        for (ArrayDeque<ObjectOrigin> remaining : movable.values()) {
+            diff.removed.addAll(remaining);
+        }
+        return diff;
+    }
+
+    /**
+     * Applies these differences to the level being played. The player start
+     * location and background are also replaced with those from the level file.
+     */
+    public void apply() {
+        for (ObjectOrigin origin : this.removed) {
+            this.level.removeSourceObject(origin.object);
+        }
+        ArrayList<ObjectOrigin> origins = new ArrayList<>(this.kept);
+        for (int i = 0; i < this.movedFrom.size(); i++) {
+            ObjectOrigin from = this.movedFrom.get(i);
+            ObjectOrigin to = this.movedTo.get(i);
+            // Place the object exactly where a newly created object would be
+            double x = to.object.getLocation().getX();
+            double y = to.object.getLocation().getY();
+            from.object.setLocation(x, y);
+            from.object.setStartingLocation(x, y);
+            origins.add(new ObjectOrigin(from.object, to.description, to.x, to.y));
+        }
+        for (ObjectOrigin origin : this.added) {
+            this.level.addSourceObject(origin.object);
+            origins.add(origin);
+        }
+        this.level.setOrigins(origins);
+        this.level.invalidateStaticIndex();
+
+        Vector2D start = this.source.getPlayerStartLocation();
+        this.level.setPlayerStartLocation(start.getX(), start.getY());
+        this.level.setBackground(this.source.getBackground());
+    }
+
+    /**
+     * Returns whether the level file changed any objects.
+     *
+     * @return {@code true} if no objects were added, removed, or moved
+     */
+    public boolean isEmpty() {
+        return this.added.isEmpty() && this.removed.isEmpty() && this.movedFrom.isEmpty();
+    }
+
+    /**
+     * Returns the number of objects added to the level file.
+     *
+     * @return the number of added objects
+     */
+    public int getAddedCount() {
+        return this.added.size();
+    }
+
+    /**
+     * Returns the number of objects removed from the level file.
+     *
+     * @return the number of removed objects
+     */
+    public int getRemovedCount() {
+        return this.removed.size();
+    }
+
+    /**
+     * Returns the number of objects moved within the level file.
+     *
+     * @return the number of moved objects
+     */
+    public int getMovedCount() {
+        return this.movedFrom.size();
+    }
+
+    @Override
+    public String toString() {
+        return this.added.size() + " added, " + this.removed.size() + " removed, " + this.movedFrom.size()
+                + " moved";
+    }
+
+}
@@ -0,0 +1,105 @@
+package app.gameengine;
+
+/**
+ * The fields of a single line of a level file, as read by a
+ * {@link LevelSource}.
+ * <p>
+ * Fields are numbered from 0, where field 0 is the kind of line, such as
+ * <i>StaticGameObject</i>. Fields can be read as strings or numbers, and
+ * compared or hashed without creating a string, so that types can be looked up
+ * in a {@link LevelTypeRegistry} cheaply.
+ *
+ * @see LevelTokenizer
+ * @see LevelTypeRegistry
+ */
+public interface LevelFields {
+
+    /**
+     * Returns the number of the current line, starting from 1.
+     *
+     * @return the line number
+     */
+    int getLineNumber();
+
+    /**
+     * Returns the number of fields on the current line. An empty line has a
+     * single empty field.
+     *
+     * @return the number of fields
+     */
+    int getFieldCount();
+
+    /**
+     * Returns whether the given field is equal to the given string.
+     *
+     * @param index the index of the field
+     * @param value the string to compare to
+     * @return {@code true} if the field exists and is equal, {@code false}
+     *         otherwise
+     */
+    boolean fieldEquals(int index, String value);
+
+    /**
+     * Returns the hash code that {@link String#hashCode()} would return for the
+     * given field.
+     *
+     * @param index the index of the field
+     * @return the hash code of the field, or 0 if it does not exist
+     */
+    int fieldHash(int index);
+
+    /**
+     * Returns whether the given field is a range of numbers, such as
+     * {@code 3..10}, rather than a single value.
+     *
+     * @param index the index of the field
+     * @return {@code true} if the field exists and contains {@code ..},
+     *         {@code false} otherwise
+     */
+    boolean isRange(int index);
+
+    /**
+     * Returns the given field as a string.
+     *
+     * @param index the index of the field
+     * @return the contents of the field
+     * @throws LevelParseException if the line does not have that many fields
+     */
+    String getString(int index) throws LevelParseException;
+
+    /**
+     * Returns the given field as an integer.
+     *
+     * @param index the index of the field
+     * @return the value of the field
+     * @throws LevelParseException if the field does not exist or is not an
+     *                             integer
+     */
+    int getInt(int index) throws LevelParseException;
+
+    /**
+     * Returns the given field as a double, exactly as
+     * {@link Double#parseDouble(String)} would parse it.
+     *
+     * @param index the index of the field
+     * @return the value of the field
+     * @throws LevelParseException if the field does not exist or is not a number
+     */
+    double getDouble(int index) throws LevelParseException;
+
+    /**
+     * Returns the current line, as it appears in the level file.
+     *
+     * @return the current line
+     */
+    String getLine();
+
+    /**
+     * Returns an exception describing a problem with the current line.
+     *
+     * @param message a description of the problem
+     * @return an exception with the source and line number of the current line
+     */
+    LevelParseException error(String message);
+
+}
@@ -0,0 +1,185 @@
+package app.gameengine;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import app.Configuration;
+
+/**
+ * Applies changes to level files to the level being played, without restarting
+ * the game.
+ * <p>
+ * Once started, a background thread watches every directory within
+ * {@code data/levels} with a {@link WatchService}, and records each level file
+ * that changes. When the game next updates, and the file has not changed for a
+ * short time, so that it has been completely saved, the file of the current
+ * level is parsed again and the {@link LevelDiff} between it and the current
+ * level is applied. Only objects which were added, removed, or moved in the
+ * file are changed, so the player, every other object, and all loaded assets
+ * are kept as they are. Any cached {@link LevelTemplate} of a changed file is
+ * dropped, so levels built from it later use the new version.
+ * <p>
+ * Hot reloading is enabled by {@link Configuration#HOT_RELOAD_LEVELS}, and can
+ * also be enabled at runtime with {@link #setEnabled(boolean)}. Levels only
+ * record which line each object was created from while it is enabled, so it
+ * must be enabled before levels are parsed.
+ *
+ * @see LevelDiff
+ * @see Game#updateSimulation(double)
+ */
+public class LevelHotReloader {
+
+    private static final String LEVELS_DIRECTORY = "data/levels/";
+    // Editors may save a file in several writes, so wait for them to finish
+    private static final long SETTLE_NANOS = 50_000_000L;
+
+    private static volatile boolean enabled = Configuration.HOT_RELOAD_LEVELS;
+    private static Thread watcher;
+    // The time each changed level file was last written
+    private static final ConcurrentHashMap<String, Long> changes = new ConcurrentHashMap<>();
+
+    /**
+     * Prevent instantiation, as this class is intended to be static.
+     */
+    private LevelHotReloader() {
+    }
+
+    /**
+     * Applies any changes to the file of the current level of the given game to
+     * that level, starting to watch level files if this has not already been
+     * done. This does nothing unless hot reloading is enabled, and is called on
+     * every update of the game.
+     *
+     * @param game the game being played
+     */
+    public static void update(Game game) {
+        if (!enabled) {
+            return;
+        }
+        start();
+        if (changes.isEmpty()) {
+            return;
+        }
+        Level level = game.getCurrentLevel();
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, Long>> iterator = changes.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> change = iterator.next();
+            if (now - change.getValue() < SETTLE_NANOS) {
+                continue;
+            }
+            iterator.remove();
+            if (level != null && change.getKey().equals(level.getSourcePath())) {
+                reload(game, level, change.getValue());
+            }
+        }
+    }
+
+    private static void reload(Game game, Level level, long changed) {
+        long start = System.nanoTime();
+        Level source = LevelParser.parseLevel(game, level.getSourcePath());
+        if (source == null) {
+            System.out.println("** Level " + level.getSourcePath() + " could not be reloaded **");
+            return;
+        }
+        LevelDiff diff = LevelDiff.compute(level, source);
+        diff.apply();
+        long end = System.nanoTime();
+        System.out.printf("Reloaded level %s in %.1f ms (%s), %.1f ms after it was saved\n",
+                level.getSourcePath(), (end - start) / 1e6, diff, (end - changed) / 1e6);
+    }
+
+    /**
+     * Starts watching level files for changes, if this has not already been done.
+     */
+    public static synchronized void start() {
+        if (watcher != null) {
+            return;
+        }
+        watcher = new Thread(LevelHotReloader::watch, "Level watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static void watch() {
+        Path root = Paths.get(LEVELS_DIRECTORY);
+        try (WatchService service = FileSystems.getDefault().newWatchService()) {
+            HashMap<WatchKey, Path> directories = new HashMap<>();
+            register(service, root, directories);
+            while (true) {
+                WatchKey key = service.take();
+                Path directory = directories.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (directory == null || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        continue;
+                    }
+                    Path file = directory.resolve((Path) event.context());
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(file)) {
+                        register(service, file, directories);
+                    } else if (file.toString().endsWith(".csv")) {
+                        String path = root.relativize(file).toString().replace(File.separatorChar, '/');
+                        changes.put(path, System.nanoTime());
+                        LevelTemplateCache.invalidate(path);
+                    }
+                }
+                if (!key.reset()) {
+                    directories.remove(key);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("** Level files could not be watched: " + e.getMessage() + " **");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Watches the given directory and every directory within it.
+     */
+    private static void register(WatchService service, Path directory, Map<WatchKey, Path> directories)
+            throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (Files.isDirectory(path)) {
+                    WatchKey key = path.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY);
+                    directories.put(key, path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether level files are hot reloaded.
+     *
+     * @return {@code true} if hot reloading is enabled, {@code false} otherwise
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether level files are hot reloaded. Only levels parsed while it is
+     * enabled can be reloaded.
+     *
+     * @param enabled {@code true} to enable hot reloading, {@code false} to
+     *                disable it
+     */
+    public static void setEnabled(boolean enabled) {
+        LevelHotReloader.enabled = enabled;
+    }
+
+}
@@ -0,0 +1,48 @@
+package app.gameengine;
+
+/**
+ * Thrown when a level file cannot be parsed, recording where the problem was
+ * found.
+ *
+ * @see LevelParser
+ * @see LevelTokenizer
+ */
+public class LevelParseException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String source;
+    private final int lineNumber;
+
+    /**
+     * Constructs an exception for a problem on the given line of the given file.
+     *
+     * @param source     the name of the file being parsed
+     * @param lineNumber the line number of the problem, starting from 1
+     * @param message    a description of the problem
+     */
+    public LevelParseException(String source, int lineNumber, String message) {
+        super(source + ":" + lineNumber + ": " + message);
+        this.source = source;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Returns the name of the file being parsed.
+     *
+     * @return the name of the file
+     */
+    public String getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the line number of the problem, starting from 1.
+     *
+     * @return the line number
+     */
+    public int getLineNumber() {
+        return this.lineNumber;
+    }
+
+}
@@ -1,125 +1,303 @@
 package app.gameengine;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import app.display.common.Background;
-import app.display.minesweeper.MinesweeperGame;
 import app.gameengine.model.gameobjects.DynamicGameObject;
+import app.gameengine.model.gameobjects.GameObject;
 import app.gameengine.model.gameobjects.StaticGameObject;
-import app.games.commonobjects.AxePickup;
-import app.games.commonobjects.Goal;
-import app.games.commonobjects.InfoNode;
-import app.games.commonobjects.MagicPickup;
-import app.games.commonobjects.PotionPickup;
-import app.games.commonobjects.Wall;
-import app.games.mario.*;
-import app.games.topdownobjects.Demon;
-import app.games.topdownobjects.TopDownLevel;
-import app.games.topdownobjects.Tower;
 
 /**
  * Static class for creating levels from formatted csv files.
+ * <p>
+ * Files are read one line at a time with a {@link LevelTokenizer}, so parsing
+ * uses a constant amount of memory no matter how large the file is. The first
+ * field of each line gives its type. A line naming a level type begins the
+ * level, and is followed by lines describing its player start location,
+ * background, and objects. The types of levels and objects are looked up in the
+ * game's {@link LevelTypeRegistry}, so games can add their own types without
+ * changing this class.
+ * <p>
+ * The x and y locations of an object may also be inclusive ranges, such as
+ * {@code StaticGameObject,Ground,0..68,13..14}, which places an object at every
+ * location in the rectangle, row by row. This lets long runs of identical
+ * tiles be written as a single line, and {@link LevelCompressor} rewrites
+ * existing files to use them.
+ * <p>
+ * The compiled form of each file is cached by {@link CompiledLevels}, and read
+ * in place of the csv file while it is up to date, which builds exactly the
+ * same level without parsing any text.
+ * <p>
+ * Objects of an unknown type are skipped with a message, while any other
+ * problem stops parsing with a {@link LevelParseException} giving the line
+ * number it was found on.
+ *
+ * @see LevelTypeRegistry
+ * @see LevelTokenizer
+ * @see CompiledLevels
  */
 public class LevelParser {
+
+    private static final String LEVELS_DIRECTORY = "data/levels/";
+    static final String RANGE_SEPARATOR = "..";
+
+    /**
+     * Prevent instantiation, as this class is intended to be static.
+     */
+    private LevelParser() {
+    }
+
     /**
      * Parse the csv file at the given location within the levels directory, and
      * return the level which that file represents.
      *
      * @param game the game the level will be part of
      * @param path the path within the levels directory to the level
-     * @return the parsed level
+     * @return the parsed level, or {@code null} if the file could not be read or
+     *         parsed
      */
     public static Level parseLevel(Game game, String path) {
-        // construct the complete file path
-        String fullPath = "data/levels/" + path;
         try {
-            List<String> lines = Files.readAllLines(Paths.get(fullPath));
-
-            // initialize the level variable
-            Level level = null;
-
-            // loop through each line from the file
-            for (String line : lines) {
-                String[] parts = line.split(",");
-                String type = parts[0]; // the first part of the line determines the action
-
-                // use a switch statement to handle different types of lines
-                switch (type) {
-                    case "TopDownLevel":
-                        // "LevelType=TopDownLevel,LevelName,Width,Height"
-                        String levelName = parts[1];
-                        int width = Integer.parseInt(parts[2]);
-                        int height = Integer.parseInt(parts[3]);
-                        // create the level object
-                        level = new TopDownLevel(game, width, height, levelName);
-                        break;
-
-                    case "MarioLevel":
-                        // "MarioLevel,LevelName,Width,Height"
-                        String marioLevelName = parts[1];
-                        int marioWidth = Integer.parseInt(parts[2]);
-                        int marioHeight = Integer.parseInt(parts[3]);
-                        // create the MarioLevel object using the new constructor
-                        level = new MarioLevel(game, marioWidth, marioHeight, marioLevelName);
-                        break;
-
-                    case "PlayerStartLocation":
-                        // PlayerStartLocation,XLocation,YLocation
-                        if (level != null) {
-                            double x = Double.parseDouble(parts[1]);
-                            double y = Double.parseDouble(parts[2]);
-                            level.setPlayerStartLocation(x, y);
-                        }
-                        break;
-
-                    case "BackgroundImage":
-                    case "BackgroundTile":
-                        if (level != null) {
-                            // The readBackground method takes an ArrayList of Strings, and will return a Background object
-                            // Use the Level.setBackground method to set the background of that level
-                            ArrayList<String> partsList = new ArrayList<>(Arrays.asList(parts));
-                            Background background = readBackground(partsList);
-                            level.setBackground(background);
-                        }
-                        break;
-
-                    case "StaticGameObject":
-                        if (level != null) {
-                            ArrayList<String> partsList = new ArrayList<>(Arrays.asList(parts));
-                            StaticGameObject staticObject = readStaticObject(game, level, partsList);
-                            // Note that if readDynamicObject or readStaticObject cannot parse the line correctly, they will return null.
-                            // In this case, you should not add it to the level.
-                            if (staticObject != null) {
-                                level.getStaticObjects().add(staticObject);
-                            }
-                        }
-                        break;
-
-                    case "DynamicGameObject":
-                        if (level != null) {
-                            ArrayList<String> partsList = new ArrayList<>(Arrays.asList(parts));
-                            DynamicGameObject dynamicObj = readDynamicObject(game, level, partsList);
-                            // Note that if readDynamicObject or readStaticObject cannot parse the line correctly, they will return null.
-                            // In this case, you should not add it to the level.
-                            if (dynamicObj != null) {
-                                level.getDynamicObjects().add(dynamicObj);
-                            }
-                        }
-                        break;
+            return readLevel(game, path);
+        } catch (IOException e) {
+            return null;
+        } catch (LevelParseException e) {
+            System.out.println("** Level could not be parsed: " + e.getMessage() + " **");
+            return null;
+        }
+    }
+
+    /**
+     * Parse the csv file at the given location within the levels directory, and
+     * return the level which that file represents. If
+     * {@link CompiledLevels#isEnabled() compiled levels} are enabled, the compiled
+     * form of the file is read instead, compiling it first if needed.
+     *
+     * @param game the game the level will be part of
+     * @param path the path within the levels directory to the level
+     * @return the parsed level, or {@code null} if the file does not contain a
+     *         level of a known type
+     * @throws IOException         if the file cannot be read
+     * @throws LevelParseException if a line of the file is invalid
+     */
+    public static Level readLevel(Game game, String path) throws IOException, LevelParseException {
+        Path source = Paths.get(LEVELS_DIRECTORY + path);
+        if (CompiledLevels.isEnabled()) {
+            LevelSource compiled = CompiledLevels.openCached(source, path);
+            if (compiled != null) {
+                try (compiled) {
+                    Level level = readLevel(game, compiled);
+                    if (level != null) {
+                        level.setSourcePath(path);
+                    }
+                    return level;
+                } catch (IOException e) {
+                    // The compiled level is damaged, so fall back to the csv file
+                    System.out.println("** " + e.getMessage() + " **");
                 }
             }
+        }
+        Level level;
+        Reader reader = new InputStreamReader(Files.newInputStream(source), StandardCharsets.UTF_8);
+        try (LevelTokenizer fields = new LevelTokenizer(reader, path)) {
+            level = readLevel(game, fields);
+        }
+        if (level != null) {
+            level.setSourcePath(path);
+        }
+        return level;
+    }
 
-            // return the configured level
-            return level;
+    /**
+     * Reads a level from the remaining lines of the given source, which may be a
+     * csv file or a compiled level. If the level is wide enough to be
+     * {@link LevelChunks#isStreamed(Level) streamed}, its objects are split into
+     * chunks rather than built.
+     *
+     * @param game   the game the level will be part of
+     * @param fields the source to read from
+     * @return the parsed level, or {@code null} if the input does not contain a
+     *         level of a known type
+     * @throws IOException         if the input cannot be read
+     * @throws LevelParseException if a line of the input is invalid
+     */
+    public static Level readLevel(Game game, LevelSource fields) throws IOException, LevelParseException {
+        LevelTypeRegistry types = game.getLevelTypes();
+        Level level = null;
+        LevelChunks chunks = null;
+        while (fields.nextLine()) {
+            LevelTypeRegistry.LevelFactory levelFactory = types.getLevelFactory(fields, 0);
+            if (levelFactory != null) {
+                // "LevelType,LevelName,Width,Height"
+                level = levelFactory.create(game, fields.getInt(2), fields.getInt(3), fields.getString(1));
+                chunks = LevelChunks.isStreamed(level) ? new LevelChunks(game, level, fields.getSource()) : null;
+                level.setChunks(chunks);
+            } else if (level == null) {
+                continue;
+            } else if (fields.fieldEquals(0, "PlayerStartLocation")) {
+                // "PlayerStartLocation,XLocation,YLocation"
+                level.setPlayerStartLocation(fields.getDouble(1), fields.getDouble(2));
+            } else if (fields.fieldEquals(0, "BackgroundImage") || fields.fieldEquals(0, "BackgroundTile")) {
+                level.setBackground(readBackground(fields));
+            } else if (chunks != null
+                    && (fields.fieldEquals(0, "StaticGameObject") || fields.fieldEquals(0, "DynamicGameObject"))) {
+                chunks.addLine(fields);
+            } else if (fields.fieldEquals(0, "StaticGameObject") && (fields.isRange(2) || fields.isRange(3))) {
+                addObjects(game, level, fields, types.getStaticObjectFactory(fields, 1), level.getStaticObjects());
+            } else if (fields.fieldEquals(0, "DynamicGameObject") && (fields.isRange(2) || fields.isRange(3))) {
+                addObjects(game, level, fields, types.getDynamicObjectFactory(fields, 1), level.getDynamicObjects());
+            } else if (fields.fieldEquals(0, "StaticGameObject")) {
+                StaticGameObject object = readStaticObject(game, level, fields);
+                if (object != null) {
+                    level.getStaticObjects().add(object);
+                    recordOrigin(level, fields, object);
+                }
+            } else if (fields.fieldEquals(0, "DynamicGameObject")) {
+                DynamicGameObject object = readDynamicObject(game, level, fields);
+                if (object != null) {
+                    level.getDynamicObjects().add(object);
+                    recordOrigin(level, fields, object);
+                }
+            }
+        }
+        return level;
+    }
 
-        } catch (IOException e) {
+    /**
+     * Adds an object of the type given by the current line at every location
+     * within its ranges of x and y locations, row by row from the top left.
+     */
+    private static <T extends GameObject> void addObjects(Game game, Level level, LevelFields fields,
+            LevelTypeRegistry.ObjectFactory<? extends T> factory, List<? super T> objects)
+            throws LevelParseException {
+        if (factory == null) {
+            System.out.println("** Objects for line " + fields.getLineNumber() + " \"" + fields.getLine()
+                    + "\" could not be read **");
+            return;
+        }
+        double[] xRange = readRange(fields, 2);
+        double[] yRange = readRange(fields, 3);
+        String description = LevelHotReloader.isEnabled() ? describe(fields) : null;
+        for (double y = yRange[0]; y <= yRange[1]; y++) {
+            for (double x = xRange[0]; x <= xRange[1]; x++) {
+                T object = factory.create(game, level, x, y, fields);
+                if (object != null) {
+                    objects.add(object);
+                    if (description != null) {
+                        level.getOrigins().add(new ObjectOrigin(object, description, x, y));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Records which line the given object was created from, if level files are
+     * being hot reloaded.
+     */
+    private static void recordOrigin(Level level, LevelFields fields, GameObject object)
+            throws LevelParseException {
+        if (LevelHotReloader.isEnabled()) {
+            level.getOrigins()
+                    .add(new ObjectOrigin(object, describe(fields), fields.getDouble(2), fields.getDouble(3)));
+        }
+    }
+
+    /**
+     * Returns the current line without the location of its object.
+     */
+    private static String describe(LevelFields fields) throws LevelParseException {
+        StringBuilder description = new StringBuilder(fields.getString(0)).append(',').append(fields.getString(1));
+        for (int i = 4; i < fields.getFieldCount(); i++) {
+            description.append(',').append(fields.getString(i));
+        }
+        return description.toString();
+    }
+
+    /**
+     * Reads a field which is either a single number, or an inclusive range such
+     * as {@code 3..10}, and returns its first and last values.
+     */
+    static double[] readRange(LevelFields fields, int index) throws LevelParseException {
+        if (!fields.isRange(index)) {
+            double value = fields.getDouble(index);
+            return new double[] { value, value };
+        }
+        String range = fields.getString(index);
+        int separator = range.indexOf(RANGE_SEPARATOR);
+        try {
+            double start = Double.parseDouble(range.substring(0, separator));
+            double end = Double.parseDouble(range.substring(separator + RANGE_SEPARATOR.length()));
+            if (start <= end) {
+                return new double[] { start, end };
+            }
+        } catch (NumberFormatException e) {
+        }
+        throw fields.error("Expected a range such as \"1..5\" in field " + (index + 1) + ", but found \"" + range
+                + "\"");
+    }
+
+    private static Background readBackground(LevelFields fields) throws LevelParseException {
+        if (fields.fieldEquals(0, "BackgroundImage")) {
+            ArrayList<String> images = new ArrayList<>();
+            for (int i = 1; i < fields.getFieldCount(); i++) {
+                images.add(fields.getString(i));
+            }
+            return new Background(images);
+        }
+        return new Background(fields.getString(1), fields.getInt(2), fields.getInt(3));
+    }
+
+    /**
+     * Creates the static object described by the given line, or prints a message
+     * and returns {@code null} if its type is not registered.
+     *
+     * @param game   the game this object will be a member of
+     * @param level  the level this object will be a member of
+     * @param fields the line describing the object
+     * @return the object, or {@code null} if its type is unknown
+     * @throws LevelParseException if the line is invalid
+     */
+    public static StaticGameObject readStaticObject(Game game, Level level, LevelFields fields)
+            throws LevelParseException {
+        LevelTypeRegistry.ObjectFactory<? extends StaticGameObject> factory = game.getLevelTypes()
+                .getStaticObjectFactory(fields, 1);
+        if (factory == null) {
+            System.out.println("** Static object for line " + fields.getLineNumber() + " \"" + fields.getLine()
+                    + "\" could not be read **");
+            return null;
+        }
+        return factory.create(game, level, fields.getDouble(2), fields.getDouble(3), fields);
+    }
+
+    /**
+     * Creates the dynamic object described by the given line, or prints a message
+     * and returns {@code null} if its type is not registered.
+     *
+     * @param game   the game this object will be a member of
+     * @param level  the level this object will be a member of
+     * @param fields the line describing the object
+     * @return the object, or {@code null} if its type is unknown
+     * @throws LevelParseException if the line is invalid
+     */
+    public static DynamicGameObject readDynamicObject(Game game, Level level, LevelFields fields)
+            throws LevelParseException {
+        LevelTypeRegistry.ObjectFactory<? extends DynamicGameObject> factory = game.getLevelTypes()
+                .getDynamicObjectFactory(fields, 1);
+        if (factory == null) {
+            System.out.println("** Dynamic object for line " + fields.getLineNumber() + " \"" + fields.getLine()
+                    + "\" could not be read **");
             return null;
         }
+        return factory.create(game, level, fields.getDouble(2), fields.getDouble(3), fields);
     }
 
     /**
@@ -167,21 +345,12 @@ public class LevelParser {
      * @return the object that is described by {@code split}
      */
     public static DynamicGameObject readDynamicObject(Game game, Level level, ArrayList<String> split) {
-        double x = Double.parseDouble(split.get(2));
-        double y = Double.parseDouble(split.get(3));
-        switch (split.get(1)) {
-            case "Demon":
-                return new Demon(x, y, Integer.parseInt(split.get(4)), Integer.parseInt(split.get(5)));
-            case "Tower":
-                return new Tower(x, y);
-            case "Goomba":
-                return new Goomba(x,y);
-            case "Koopa":
-                return new Koopa(x,y);
-            default:
-                String line = String.join(",", split);
-                System.out.println("** Dynamic object for line \"" + line + "\" could not be read **");
-                return null;
+        try {
+            LevelTokenizer fields = tokenize(split);
+            return readDynamicObject(game, level, fields);
+        } catch (LevelParseException e) {
+            System.out.println("** Dynamic object could not be read: " + e.getMessage() + " **");
+            return null;
         }
     }
 
@@ -200,42 +369,23 @@ public class LevelParser {
      * @return the object that is described by {@code split}
      */
     public static StaticGameObject readStaticObject(Game game, Level level, ArrayList<String> split) {
-        String type = split.get(1);
-        double x = Double.parseDouble(split.get(2));
-        double y = Double.parseDouble(split.get(3));
-        switch (split.get(1)) {
-            case "Wall":
-                return new Wall(x, y);
-            case "Goal":
-                return new Goal(x, y, game);
-            case "InfoNode":
-                return new InfoNode(x, y, split.get(4));
-            case "Block":
-            case "Bricks":
-            case "Ground":
-                return new Block(x, y, type);
-            case "QuestionBlock":
-                return new QuestionBlock(x,y);
-            case "HiddenBlock":
-                return new HiddenBlock(x,y);
-            case "PipeEnd":
-                return new PipeEnd(x,y);
-            case "PipeStem":
-                return new PipeStem(x,y);
-            case "Flag":
-                return new Flag(x, y, game);
-            case "AxePickup":
-                return new AxePickup(x, y, game);
-            case "MagicPickup":
-                return new MagicPickup(x, y, game);
-            case "PotionPickup":
-                int heal = Integer.parseInt(split.get(4));
-                return new PotionPickup(x, y, heal, game);
-            default:
-                String line = String.join(",", split);
-                System.out.println("** Static object for line \"" + line + "\" could not be read **");
-                return null;
+        try {
+            LevelTokenizer fields = tokenize(split);
+            return readStaticObject(game, level, fields);
+        } catch (LevelParseException e) {
+            System.out.println("** Static object could not be read: " + e.getMessage() + " **");
+            return null;
+        }
+    }
+
+    private static LevelTokenizer tokenize(ArrayList<String> split) {
+        LevelTokenizer fields = LevelTokenizer.of(String.join(",", split));
+        try {
+            fields.nextLine();
+        } catch (IOException e) {
+            // Strings can always be read
         }
+        return fields;
     }
 
 }
@@ -0,0 +1,141 @@
+package app.gameengine;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import app.Configuration;
+import app.display.common.AssetManager;
+
+/**
+ * Builds the levels a player is likely to enter next in the background, while
+ * the current level is being played.
+ * <p>
+ * Each prefetched level is parsed and constructed on the same thread used by
+ * {@link Game#loadLevelAsync(Supplier, Consumer)}, and its sprite sheets are
+ * loaded into the {@link AssetManager}. When the player does enter one of those
+ * levels, {@link #take(String, Supplier)} hands over the level that has already
+ * been built, or is still being built, instead of starting again.
+ * <p>
+ * At most {@link Configuration#PREFETCH_LEVEL_LIMIT} levels are held at once,
+ * with the oldest being evicted first. Games should also call
+ * {@link #retainOnly(Collection)} whenever the level changes, so that levels
+ * which are no longer adjacent, and so will not be entered soon, are evicted.
+ * Evicted levels that are still being built are cancelled if they have not yet
+ * started.
+ * <p>
+ * A prefetcher should only be used from the thread that updates its game.
+ *
+ * @see Game
+ * @see LinearGame
+ */
+public class LevelPrefetcher {
+
+    private final int limit;
+    private final LinkedHashMap<String, CompletableFuture<Level>> levels = new LinkedHashMap<>();
+
+    /**
+     * Constructs a prefetcher which holds at most
+     * {@link Configuration#PREFETCH_LEVEL_LIMIT} levels.
+     */
+    public LevelPrefetcher() {
+        this(Configuration.PREFETCH_LEVEL_LIMIT);
+    }
+
+    /**
+     * Constructs a prefetcher which holds at most the given number of levels. A
+     * limit of zero disables prefetching.
+     *
+     * @param limit the maximum number of prefetched levels
+     */
+    public LevelPrefetcher(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Starts building the level with the given name in the background, unless it
+     * is already prefetched. If this exceeds the limit, the oldest prefetched
+     * level is evicted.
+     *
+     * @param name    the name of the level
+     * @param builder a function which creates the level, which must not modify
+     *                the current state of the game
+     */
+    public void prefetch(String name, Supplier<? extends Level> builder) {
+        if (this.limit <= 0 || this.levels.containsKey(name)) {
+            return;
+        }
+        this.levels.put(name, Game.buildInBackground(builder));
+        Iterator<CompletableFuture<Level>> iterator = this.levels.values().iterator();
+        while (this.levels.size() > this.limit) {
+            iterator.next().cancel(false);
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes and returns the prefetched level with the given name, which may
+     * still be being built. If the level was not prefetched, it is built now in
+     * the background with the given builder instead.
+     *
+     * @param name    the name of the level
+     * @param builder a function which creates the level, if it was not prefetched
+     * @return the level, which completes with {@code null} if it could not be
+     *         built
+     */
+    public CompletableFuture<Level> take(String name, Supplier<? extends Level> builder) {
+        CompletableFuture<Level> level = this.levels.remove(name);
+        if (level == null || level.isCancelled()) {
+            return Game.buildInBackground(builder);
+        }
+        return level;
+    }
+
+    /**
+     * Returns whether the level with the given name has been prefetched.
+     *
+     * @param name the name of the level
+     * @return {@code true} if the level is prefetched, {@code false} otherwise
+     */
+    public boolean contains(String name) {
+        return this.levels.containsKey(name);
+    }
+
+    /**
+     * Evicts every prefetched level whose name is not in the given collection.
+     *
+     * @param names the names of the levels to keep
+     */
+    public void retainOnly(Collection<String> names) {
+        Iterator<Map.Entry<String, CompletableFuture<Level>>> iterator = this.levels.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, CompletableFuture<Level>> entry = iterator.next();
+            if (!names.contains(entry.getKey())) {
+                entry.getValue().cancel(false);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Evicts every prefetched level.
+     */
+    public void clear() {
+        this.levels.values().forEach(level -> level.cancel(false));
+        this.levels.clear();
+    }
+
+    /**
+     * Returns the number of prefetched levels.
+     *
+     * @return the number of levels
+     */
+    public int size() {
+        return this.levels.size();
+    }
+
+}
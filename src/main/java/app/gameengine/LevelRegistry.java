@@ -0,0 +1,198 @@
+package app.gameengine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+import app.gameengine.model.datastructures.LinkedListNode;
+
+/**
+ * An ordered collection of levels, indexed by name, with a cursor marking the
+ * level currently being played.
+ * <p>
+ * Levels are stored in an array in the order they were added, alongside a hash
+ * map from each name to the first level with that name, and a map from each
+ * level to its position. Adding a level, finding a level by name, and finding
+ * the level after the current one all take constant time, no matter how many
+ * levels there are. Removing a level takes linear time, as the levels after it
+ * are shifted down, but is expected to be rare.
+ * <p>
+ * Several levels may share a name, in which case lookups by name find the
+ * first of them, matching the behavior of searching a linked list from its
+ * head.
+ *
+ * @see LinearGame
+ */
+public class LevelRegistry {
+
+    private final ArrayList<Level> levels = new ArrayList<>();
+    private final HashMap<String, Integer> firstByName = new HashMap<>();
+    private final IdentityHashMap<Level, Integer> positions = new IdentityHashMap<>();
+    private int cursor = -1;
+
+    /**
+     * Constructs an empty registry.
+     */
+    public LevelRegistry() {
+    }
+
+    /**
+     * Adds the given level after every other level.
+     *
+     * @param level the level to add
+     */
+    public void add(Level level) {
+        int index = this.levels.size();
+        this.levels.add(level);
+        this.firstByName.putIfAbsent(level.getName(), index);
+        this.positions.putIfAbsent(level, index);
+    }
+
+    /**
+     * Removes the first level with the given name, if there is one.
+     *
+     * @param name the name of the level to remove
+     * @return {@code true} if a level was removed, {@code false} otherwise
+     */
+    public boolean removeFirst(String name) {
+        Integer index = this.firstByName.get(name);
+        if (index == null) {
+            return false;
+        }
+        this.levels.remove((int) index);
+        if (this.cursor == index) {
+            this.cursor = -1;
+        } else if (this.cursor > index) {
+            this.cursor--;
+        }
+        this.reindex();
+        return true;
+    }
+
+    /**
+     * Removes every level.
+     */
+    public void clear() {
+        this.levels.clear();
+        this.cursor = -1;
+        this.reindex();
+    }
+
+    /**
+     * Returns the level at the given position.
+     *
+     * @param index the position of the level
+     * @return the level at that position
+     */
+    public Level get(int index) {
+        return this.levels.get(index);
+    }
+
+    /**
+     * Returns the first level with the given name.
+     *
+     * @param name the name of the level
+     * @return the level, or {@code null} if there is no level with that name
+     */
+    public Level get(String name) {
+        Integer index = this.firstByName.get(name);
+        return index == null ? null : this.levels.get(index);
+    }
+
+    /**
+     * Returns the position of the first level with the given name.
+     *
+     * @param name the name of the level
+     * @return the position of the level, or -1 if there is no level with that
+     *         name
+     */
+    public int indexOf(String name) {
+        return this.firstByName.getOrDefault(name, -1);
+    }
+
+    /**
+     * Returns the number of levels.
+     *
+     * @return the number of levels
+     */
+    public int size() {
+        return this.levels.size();
+    }
+
+    /**
+     * Moves the cursor to the given level. If the level itself is not in the
+     * registry, the cursor is moved to the first level with the same name, if
+     * there is one.
+     *
+     * @param level the level being played
+     */
+    public void setCurrent(Level level) {
+        Integer index = this.positions.get(level);
+        this.cursor = index != null ? index : this.indexOf(level.getName());
+    }
+
+    /**
+     * Returns the position of the level being played.
+     *
+     * @return the position of the cursor, or -1 if it is not on any level
+     */
+    public int getCursor() {
+        return this.cursor;
+    }
+
+    /**
+     * Returns the level after the one being played.
+     *
+     * @return the next level, or {@code null} if the cursor is on the last level
+     *         or not on any level
+     */
+    public Level getNext() {
+        if (this.cursor < 0 || this.cursor + 1 >= this.levels.size()) {
+            return null;
+        }
+        return this.levels.get(this.cursor + 1);
+    }
+
+    /**
+     * Returns the levels as a new linked list, in order. Changes made to the list
+     * are not reflected in the registry, and the list is not changed by later
+     * changes to the registry.
+     *
+     * @return the head of the list, or {@code null} if there are no levels
+     */
+    public LinkedListNode<Level> toLinkedList() {
+        LinkedListNode<Level> head = null;
+        for (int i = this.levels.size() - 1; i >= 0; i--) {
+            head = new LinkedListNode<>(this.levels.get(i), head);
+        }
+        return head;
+    }
+
+    /**
+     * Replaces every level with the levels of the given linked list, in order. The
+     * cursor is moved to the same level as before if it is still present.
+     *
+     * @param head the head of the list, or {@code null} to remove every level
+     */
+    public void setFromLinkedList(LinkedListNode<Level> head) {
+        Level current = this.cursor < 0 ? null : this.levels.get(this.cursor);
+        this.levels.clear();
+        for (LinkedListNode<Level> node = head; node != null; node = node.getNext()) {
+            this.levels.add(node.getValue());
+        }
+        this.reindex();
+        Integer index = current == null ? null : this.positions.get(current);
+        this.cursor = index == null ? -1 : index;
+    }
+
+    private void reindex() {
+        this.firstByName.clear();
+        this.positions.clear();
+        for (int i = 0; i < this.levels.size(); i++) {
+            Level level = this.levels.get(i);
+            this.firstByName.putIfAbsent(level.getName(), i);
+            this.positions.putIfAbsent(level, i);
+        }
+    }
+
+}
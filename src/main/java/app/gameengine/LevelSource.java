@@ -0,0 +1,36 @@
+package app.gameengine;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads the lines of a level, one at a time. After each call to
+ * {@link #nextLine()}, the fields of the new line can be read through the
+ * methods of {@link LevelFields}.
+ * <p>
+ * Levels can be read from csv files with a {@link LevelTokenizer}, or from
+ * compiled levels with {@link CompiledLevels#open(java.nio.file.Path)}, and
+ * either can be passed to {@link LevelParser#readLevel(Game, LevelSource)} to
+ * build the level.
+ *
+ * @see LevelParser
+ */
+public interface LevelSource extends LevelFields, Closeable {
+
+    /**
+     * Advances to the next line.
+     *
+     * @return {@code true} if there was another line, {@code false} at the end
+     *         of the input
+     * @throws IOException if the input cannot be read
+     */
+    boolean nextLine() throws IOException;
+
+    /**
+     * Returns the name of the file being read.
+     *
+     * @return the name of the file
+     */
+    String getSource();
+
+}
@@ -0,0 +1,120 @@
+package app.gameengine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A level file which has been read once and kept in memory, so that any number
+ * of fresh levels can be built from it without reading or parsing the file
+ * again.
+ * <p>
+ * A template holds the lines of the file in the same form as a compiled level,
+ * with the fields of each object already converted to numbers and names.
+ * Building a level from it creates new objects from these descriptions, so the
+ * levels built from a template share nothing and can each be changed freely.
+ * Templates themselves never change, so they can be shared between games and
+ * threads.
+ *
+ * @see LevelTemplateCache
+ * @see CompiledLevels
+ */
+public final class LevelTemplate {
+
+    private final String name;
+    private final Path source;
+    private final long length;
+    private final long modified;
+    private final long hash;
+    private final ByteBuffer lines;
+    private final String[] strings;
+
+    private LevelTemplate(String name, Path source, long length, long modified, long hash, ByteBuffer lines,
+            String[] strings) {
+        this.name = name;
+        this.source = source;
+        this.length = length;
+        this.modified = modified;
+        this.hash = hash;
+        this.lines = lines;
+        this.strings = strings;
+    }
+
+    /**
+     * Reads the given csv file into a template.
+     *
+     * @param source the path of the csv file
+     * @param name   the name of the level, used in error messages
+     * @return the template
+     * @throws IOException if the file cannot be read
+     */
+    public static LevelTemplate load(Path source, String name) throws IOException {
+        long modified = Files.getLastModifiedTime(source).toMillis();
+        byte[] bytes = Files.readAllBytes(source);
+        ByteBuffer buffer = ByteBuffer.wrap(CompiledLevels.encode(bytes, source.toString(), modified));
+        String[] strings = CompiledLevels.readHeader(buffer, -1, -1);
+        if (strings == null) {
+            throw new IOException(source + " could not be compiled");
+        }
+        return new LevelTemplate(name, source, bytes.length, modified, CompiledLevels.hash(bytes),
+                buffer.slice().asReadOnlyBuffer(), strings);
+    }
+
+    /**
+     * Builds a new level from this template.
+     *
+     * @param game the game the level will be part of
+     * @return the new level, or {@code null} if the template does not contain a
+     *         level of a type known to the game
+     * @throws LevelParseException if a line of the template is invalid
+     */
+    public Level instantiate(Game game) throws LevelParseException {
+        try (LevelSource lines = CompiledLevels.newSource(this.lines.duplicate(), this.strings, this.name)) {
+            return LevelParser.readLevel(game, lines);
+        } catch (IOException e) {
+            // The lines were compiled in memory, so can always be read
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns whether the file this template was read from is unchanged. The file
+     * is only read again if its length or modification time have changed, in
+     * which case its length and CRC-32C checksum are compared with those it had
+     * when the template was read.
+     *
+     * @return {@code true} if the file is unchanged, {@code false} if it has
+     *         changed or can no longer be read
+     */
+    public boolean isUpToDate() {
+        try {
+            if (Files.size(this.source) == this.length
+                    && Files.getLastModifiedTime(this.source).toMillis() == this.modified) {
+                return true;
+            }
+            return CompiledLevels.hash(Files.readAllBytes(this.source)) == this.hash;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the name of the level file.
+     *
+     * @return the name of the level file
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the number of bytes used to hold the lines of this template.
+     *
+     * @return the size of the template, in bytes
+     */
+    public int getSize() {
+        return this.lines.capacity();
+    }
+
+}
@@ -0,0 +1,117 @@
+package app.gameengine;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a {@link LevelTemplate} for each level file that has been loaded
+ * through it, so that games which build many levels from the same few files,
+ * such as the rooms of the roguelike, only read each file once.
+ * <p>
+ * Looking up a template never touches the file system once it is cached, so
+ * building a level from a cached template does not read, parse, or even check
+ * its file. Instead, {@link #revalidate()} checks every cached file at once and
+ * drops the templates of any that have changed, and should be called at points
+ * where picking up edits is useful, such as when a game is restarted.
+ * <p>
+ * Templates are shared between every game, and may be loaded from any thread.
+ *
+ * @see LevelTemplate
+ * @see LevelParser
+ */
+public class LevelTemplateCache {
+
+    private static final String LEVELS_DIRECTORY = "data/levels/";
+
+    private static final ConcurrentHashMap<String, LevelTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Prevent instantiation, as this class is intended to be static.
+     */
+    private LevelTemplateCache() {
+    }
+
+    /**
+     * Builds a new level from the template for the given level file, reading the
+     * file into a template first if it is not yet cached.
+     *
+     * @param game the game the level will be part of
+     * @param path the path within the levels directory to the level
+     * @return the new level, or {@code null} if the file could not be read or
+     *         parsed
+     */
+    public static Level instantiate(Game game, String path) {
+        try {
+            LevelTemplate template = get(path);
+            return template.instantiate(game);
+        } catch (IOException e) {
+            return null;
+        } catch (LevelParseException e) {
+            System.out.println("** Level could not be parsed: " + e.getMessage() + " **");
+            return null;
+        }
+    }
+
+    /**
+     * Returns the template for the given level file, reading the file into a
+     * template first if it is not yet cached.
+     *
+     * @param path the path within the levels directory to the level
+     * @return the template
+     * @throws IOException if the file cannot be read
+     */
+    public static LevelTemplate get(String path) throws IOException {
+        LevelTemplate template = templates.get(path);
+        if (template == null) {
+            template = LevelTemplate.load(Paths.get(LEVELS_DIRECTORY + path), path);
+            LevelTemplate existing = templates.putIfAbsent(path, template);
+            if (existing != null) {
+                template = existing;
+            }
+        }
+        return template;
+    }
+
+    /**
+     * Drops the template of every level file which has changed since it was
+     * read, so that it is read again when next used.
+     *
+     * @return the number of templates dropped
+     */
+    public static int revalidate() {
+        int dropped = 0;
+        for (LevelTemplate template : templates.values()) {
+            if (!template.isUpToDate() && templates.remove(template.getName(), template)) {
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Drops the template of the given level file, if it is cached.
+     *
+     * @param path the path within the levels directory to the level
+     */
+    public static void invalidate(String path) {
+        templates.remove(path);
+    }
+
+    /**
+     * Drops every template.
+     */
+    public static void clear() {
+        templates.clear();
+    }
+
+    /**
+     * Returns the number of cached templates.
+     *
+     * @return the number of templates
+     */
+    public static int size() {
+        return templates.size();
+    }
+
+}
@@ -0,0 +1,302 @@
+package app.gameengine;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+
+/**
+ * Splits a level file into lines of comma separated fields, one line at a time.
+ * <p>
+ * Unlike reading every line and splitting it with {@link String#split(String)},
+ * a tokenizer keeps only the current line in memory, in a reused character
+ * buffer, and records where each field starts and ends. Numbers are parsed
+ * directly from the buffer, and type names can be compared and looked up
+ * without creating a string, so fields are only copied into strings when
+ * {@link #getString(int)} is called. Parsing a file of any size therefore uses
+ * a constant amount of memory, aside from the objects it creates.
+ * <p>
+ * Fields are split exactly as {@code line.split(",")} would split them: commas
+ * are not escaped, whitespace is kept, and empty fields at the end of a line
+ * are dropped. Lines may end with {@code \n} or {@code \r\n}.
+ *
+ * @see LevelParser
+ * @see CompiledLevels
+ */
+public class LevelTokenizer implements LevelSource {
+
+    // Exact powers of ten, for converting decimals without rounding twice
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+    // Decimals with more digits than this may not fit exactly in a double
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    private final Reader reader;
+    private final String source;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+
+    private char[] line = new char[256];
+    private int lineLength;
+    private int lineNumber;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int fieldCount;
+
+    /**
+     * Constructs a tokenizer which reads from the given reader. The reader is
+     * closed when the tokenizer is closed.
+     *
+     * @param reader the reader to tokenize
+     * @param source the name of the file being read, used in error messages
+     */
+    public LevelTokenizer(Reader reader, String source) {
+        this.reader = reader;
+        this.source = source;
+    }
+
+    /**
+     * Returns a tokenizer for the given text.
+     *
+     * @param text the text to tokenize
+     * @return a tokenizer over the text
+     */
+    public static LevelTokenizer of(String text) {
+        return new LevelTokenizer(new StringReader(text), "<string>");
+    }
+
+    @Override
+    public boolean nextLine() throws IOException {
+        this.lineLength = 0;
+        this.fieldCount = 0;
+        boolean read = false;
+        while (true) {
+            if (this.position == this.limit) {
+                this.limit = this.reader.read(this.buffer);
+                this.position = 0;
+                if (this.limit <= 0) {
+                    this.limit = 0;
+                    if (!read) {
+                        return false;
+                    }
+                    break;
+                }
+            }
+            read = true;
+            // Copy up to the end of the line, or the end of the buffer
+            int start = this.position;
+            int end = start;
+            while (end < this.limit && this.buffer[end] != '\n') {
+                end++;
+            }
+            this.append(start, end);
+            if (end < this.limit) {
+                this.position = end + 1;
+                break;
+            }
+            this.position = end;
+        }
+        if (this.lineLength > 0 && this.line[this.lineLength - 1] == '\r') {
+            this.lineLength--;
+        }
+        this.lineNumber++;
+        this.split();
+        return true;
+    }
+
+    private void append(int start, int end) {
+        int length = end - start;
+        if (this.lineLength + length > this.line.length) {
+            this.line = Arrays.copyOf(this.line, Math.max(this.lineLength + length, this.line.length * 2));
+        }
+        System.arraycopy(this.buffer, start, this.line, this.lineLength, length);
+        this.lineLength += length;
+    }
+
+    private void split() {
+        int start = 0;
+        for (int i = 0; i <= this.lineLength; i++) {
+            if (i == this.lineLength || this.line[i] == ',') {
+                if (this.fieldCount == this.starts.length) {
+                    this.starts = Arrays.copyOf(this.starts, this.fieldCount * 2);
+                    this.ends = Arrays.copyOf(this.ends, this.fieldCount * 2);
+                }
+                this.starts[this.fieldCount] = start;
+                this.ends[this.fieldCount] = i;
+                this.fieldCount++;
+                start = i + 1;
+            }
+        }
+        // Drop trailing empty fields, as String.split does, unless the line is empty
+        while (this.fieldCount > 1 && this.starts[this.fieldCount - 1] == this.ends[this.fieldCount - 1]) {
+            this.fieldCount--;
+        }
+    }
+
+    @Override
+    public int getLineNumber() {
+        return this.lineNumber;
+    }
+
+    @Override
+    public String getSource() {
+        return this.source;
+    }
+
+    @Override
+    public int getFieldCount() {
+        return this.fieldCount;
+    }
+
+    /**
+     * Returns whether the current line is empty.
+     *
+     * @return {@code true} if the line has no characters, {@code false} otherwise
+     */
+    public boolean isBlank() {
+        return this.lineLength == 0;
+    }
+
+    @Override
+    public boolean fieldEquals(int index, String value) {
+        if (index >= this.fieldCount) {
+            return false;
+        }
+        int start = this.starts[index];
+        int length = this.ends[index] - start;
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (this.line[start + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int fieldHash(int index) {
+        if (index >= this.fieldCount) {
+            return 0;
+        }
+        int hash = 0;
+        for (int i = this.starts[index]; i < this.ends[index]; i++) {
+            hash = 31 * hash + this.line[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean isRange(int index) {
+        if (index >= this.fieldCount) {
+            return false;
+        }
+        for (int i = this.starts[index] + 1; i < this.ends[index]; i++) {
+            if (this.line[i] == '.' && this.line[i - 1] == '.') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getString(int index) throws LevelParseException {
+        this.checkField(index);
+        return new String(this.line, this.starts[index], this.ends[index] - this.starts[index]);
+    }
+
+    @Override
+    public int getInt(int index) throws LevelParseException {
+        this.checkField(index);
+        int i = this.starts[index];
+        int end = this.ends[index];
+        boolean negative = i < end && this.line[i] == '-';
+        if (i < end && (this.line[i] == '-' || this.line[i] == '+')) {
+            i++;
+        }
+        // Values of up to nine digits cannot overflow
+        if (i < end && end - i <= 9) {
+            int value = 0;
+            for (; i < end; i++) {
+                char c = this.line[i];
+                if (c < '0' || c > '9') {
+                    throw this.error("Expected an integer in field " + (index + 1) + ", but found \""
+                            + this.getString(index) + "\"");
+                }
+                value = value * 10 + (c - '0');
+            }
+            return negative ? -value : value;
+        }
+        try {
+            return Integer.parseInt(this.getString(index));
+        } catch (NumberFormatException e) {
+            throw this.error("Expected an integer in field " + (index + 1) + ", but found \""
+                    + this.getString(index) + "\"");
+        }
+    }
+
+    @Override
+    public double getDouble(int index) throws LevelParseException {
+        this.checkField(index);
+        int i = this.starts[index];
+        int end = this.ends[index];
+        boolean negative = i < end && this.line[i] == '-';
+        if (i < end && (this.line[i] == '-' || this.line[i] == '+')) {
+            i++;
+        }
+        // Plain decimals with few enough digits are exact, so dividing by an
+        // exact power of ten rounds correctly
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        boolean simple = i < end;
+        for (; i < end && simple; i++) {
+            char c = this.line[i];
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                simple = false;
+            }
+        }
+        if (simple && digits > 0 && digits <= MAX_EXACT_DIGITS) {
+            double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+            return negative ? -value : value;
+        }
+        try {
+            return Double.parseDouble(this.getString(index));
+        } catch (NumberFormatException e) {
+            throw this.error("Expected a number in field " + (index + 1) + ", but found \""
+                    + this.getString(index) + "\"");
+        }
+    }
+
+    @Override
+    public String getLine() {
+        return new String(this.line, 0, this.lineLength);
+    }
+
+    @Override
+    public LevelParseException error(String message) {
+        return new LevelParseException(this.source, this.lineNumber, message);
+    }
+
+    private void checkField(int index) throws LevelParseException {
+        if (index >= this.fieldCount) {
+            throw this.error("Expected at least " + (index + 1) + " fields, but found " + this.fieldCount);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+}
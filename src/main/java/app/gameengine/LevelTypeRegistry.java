@@ -0,0 +1,247 @@
+package app.gameengine;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import app.gameengine.model.gameobjects.DynamicGameObject;
+import app.gameengine.model.gameobjects.GameObject;
+import app.gameengine.model.gameobjects.StaticGameObject;
+import app.games.commonobjects.AxePickup;
+import app.games.commonobjects.Goal;
+import app.games.commonobjects.InfoNode;
+import app.games.commonobjects.MagicPickup;
+import app.games.commonobjects.PotionPickup;
+import app.games.commonobjects.Wall;
+import app.games.mario.Block;
+import app.games.mario.Flag;
+import app.games.mario.Goomba;
+import app.games.mario.HiddenBlock;
+import app.games.mario.Koopa;
+import app.games.mario.MarioLevel;
+import app.games.mario.PipeEnd;
+import app.games.mario.PipeStem;
+import app.games.mario.QuestionBlock;
+import app.games.topdownobjects.Demon;
+import app.games.topdownobjects.TopDownLevel;
+import app.games.topdownobjects.Tower;
+
+/**
+ * The types of levels and objects that can appear in a level file, and how to
+ * construct each of them.
+ * <p>
+ * Every {@link Game} has its own registry, returned by
+ * {@link Game#getLevelTypes()}, which starts with the types used by the
+ * built-in games. Games with their own types of levels or objects register them
+ * before parsing their levels, so the parser never needs to know about them.
+ * <p>
+ * Types are looked up directly from the fields of a {@link LevelFields},
+ * without creating a string for the type name. Registering a type rebuilds the
+ * lookup tables, which is expected to be rare, and lookups may safely happen
+ * on another thread at the same time, such as when levels are built in the
+ * background.
+ *
+ * @see LevelParser
+ */
+public class LevelTypeRegistry {
+
+    /**
+     * Creates a level from the header line of a level file.
+     */
+    @FunctionalInterface
+    public interface LevelFactory {
+
+        /**
+         * Creates an empty level.
+         *
+         * @param game   the game the level is a part of
+         * @param width  the width of the level, in tiles
+         * @param height the height of the level, in tiles
+         * @param name   the name of the level
+         * @return the new level
+         */
+        Level create(Game game, int width, int height, String name);
+
+    }
+
+    /**
+     * Creates an object from a line of a level file.
+     *
+     * @param <T> the type of object created
+     */
+    @FunctionalInterface
+    public interface ObjectFactory<T extends GameObject> {
+
+        /**
+         * Creates an object at the given location. Any additional constructor
+         * parameters can be read from the fields of the line, starting at index 4.
+         *
+         * @param game   the game the object is a part of
+         * @param level  the level the object is a part of
+         * @param x      the x location of the object
+         * @param y      the y location of the object
+         * @param fields the line describing the object
+         * @return the new object
+         * @throws LevelParseException if an additional parameter is missing or
+         *                             invalid
+         */
+        T create(Game game, Level level, double x, double y, LevelFields fields) throws LevelParseException;
+
+    }
+
+    private final Table<LevelFactory> levels = new Table<>();
+    private final Table<ObjectFactory<? extends StaticGameObject>> staticObjects = new Table<>();
+    private final Table<ObjectFactory<? extends DynamicGameObject>> dynamicObjects = new Table<>();
+
+    /**
+     * Constructs an empty registry.
+     */
+    public LevelTypeRegistry() {
+    }
+
+    /**
+     * Returns a registry containing the types of levels and objects used by the
+     * built-in games.
+     *
+     * @return a new registry of the built-in types
+     */
+    public static LevelTypeRegistry createDefault() {
+        LevelTypeRegistry types = new LevelTypeRegistry();
+        types.registerLevel("TopDownLevel", TopDownLevel::new);
+        types.registerLevel("MarioLevel", MarioLevel::new);
+
+        types.registerStaticObject("Wall", (game, level, x, y, fields) -> new Wall(x, y));
+        types.registerStaticObject("Goal", (game, level, x, y, fields) -> new Goal(x, y, game));
+        types.registerStaticObject("InfoNode", (game, level, x, y, fields) -> new InfoNode(x, y, fields.getString(4)));
+        for (String block : new String[] { "Block", "Bricks", "Ground" }) {
+            types.registerStaticObject(block, (game, level, x, y, fields) -> new Block(x, y, block));
+        }
+        types.registerStaticObject("QuestionBlock", (game, level, x, y, fields) -> new QuestionBlock(x, y));
+        types.registerStaticObject("HiddenBlock", (game, level, x, y, fields) -> new HiddenBlock(x, y));
+        types.registerStaticObject("PipeEnd", (game, level, x, y, fields) -> new PipeEnd(x, y));
+        types.registerStaticObject("PipeStem", (game, level, x, y, fields) -> new PipeStem(x, y));
+        types.registerStaticObject("Flag", (game, level, x, y, fields) -> new Flag(x, y, game));
+        types.registerStaticObject("AxePickup", (game, level, x, y, fields) -> new AxePickup(x, y, game));
+        types.registerStaticObject("MagicPickup", (game, level, x, y, fields) -> new MagicPickup(x, y, game));
+        types.registerStaticObject("PotionPickup",
+                (game, level, x, y, fields) -> new PotionPickup(x, y, fields.getInt(4), game));
+
+        types.registerDynamicObject("Demon",
+                (game, level, x, y, fields) -> new Demon(x, y, fields.getInt(4), fields.getInt(5)));
+        types.registerDynamicObject("Tower", (game, level, x, y, fields) -> new Tower(x, y));
+        types.registerDynamicObject("Goomba", (game, level, x, y, fields) -> new Goomba(x, y));
+        types.registerDynamicObject("Koopa", (game, level, x, y, fields) -> new Koopa(x, y));
+        return types;
+    }
+
+    /**
+     * Registers a type of level, which is used when the first field of a line
+     * matches the given name. Any existing level type with the same name is
+     * replaced.
+     *
+     * @param name    the name of the level type
+     * @param factory a function which creates levels of this type
+     */
+    public void registerLevel(String name, LevelFactory factory) {
+        this.levels.put(name, factory);
+    }
+
+    /**
+     * Registers a type of static object, which is used for
+     * <i>StaticGameObject</i> lines whose second field matches the given name. Any
+     * existing static object type with the same name is replaced.
+     *
+     * @param name    the name of the object type
+     * @param factory a function which creates objects of this type
+     */
+    public void registerStaticObject(String name, ObjectFactory<? extends StaticGameObject> factory) {
+        this.staticObjects.put(name, factory);
+    }
+
+    /**
+     * Registers a type of dynamic object, which is used for
+     * <i>DynamicGameObject</i> lines whose second field matches the given name.
+     * Any existing dynamic object type with the same name is replaced.
+     *
+     * @param name    the name of the object type
+     * @param factory a function which creates objects of this type
+     */
+    public void registerDynamicObject(String name, ObjectFactory<? extends DynamicGameObject> factory) {
+        this.dynamicObjects.put(name, factory);
+    }
+
+    /**
+     * Returns the level type named by the given field.
+     *
+     * @param fields the current line
+     * @param index  the index of the field containing the name
+     * @return the level factory, or {@code null} if there is no such type
+     */
+    public LevelFactory getLevelFactory(LevelFields fields, int index) {
+        return this.levels.get(fields, index);
+    }
+
+    /**
+     * Returns the static object type named by the given field.
+     *
+     * @param fields the current line
+     * @param index  the index of the field containing the name
+     * @return the object factory, or {@code null} if there is no such type
+     */
+    public ObjectFactory<? extends StaticGameObject> getStaticObjectFactory(LevelFields fields, int index) {
+        return this.staticObjects.get(fields, index);
+    }
+
+    /**
+     * Returns the dynamic object type named by the given field.
+     *
+     * @param fields the current line
+     * @param index  the index of the field containing the name
+     * @return the object factory, or {@code null} if there is no such type
+     */
+    public ObjectFactory<? extends DynamicGameObject> getDynamicObjectFactory(LevelFields fields, int index) {
+        return this.dynamicObjects.get(fields, index);
+    }
+
+    /**
+     * An open addressing hash table from names to values, which can be searched
+     * with a field of a line. The arrays are replaced as a whole whenever a
+     * name is added, so readers always see a consistent table.
+     */
+    private static class Table<V> {
+
+        private final Map<String, V> entries = new HashMap<>();
+        private volatile Object[] slots = new Object[2];
+
+        private synchronized void put(String name, V value) {
+            this.entries.put(name, value);
+            int capacity = Integer.highestOneBit(Math.max(2, this.entries.size() * 4) - 1) << 1;
+            // Names and values are stored in adjacent slots
+            Object[] slots = new Object[2 * capacity];
+            for (Map.Entry<String, V> entry : this.entries.entrySet()) {
+                int slot = entry.getKey().hashCode() & (capacity - 1);
+                while (slots[2 * slot] != null) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                slots[2 * slot] = entry.getKey();
+                slots[2 * slot + 1] = entry.getValue();
+            }
+            this.slots = slots;
+        }
+
+        @SuppressWarnings("unchecked")
+        private V get(LevelFields fields, int index) {
+            Object[] slots = this.slots;
+            int mask = slots.length / 2 - 1;
+            int slot = fields.fieldHash(index) & mask;
+            while (slots[2 * slot] != null) {
+                if (fields.fieldEquals(index, (String) slots[2 * slot])) {
+                    return (V) slots[2 * slot + 1];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+    }
+
+}
@@ -1,84 +1,107 @@
 package app.gameengine;
 
+import java.util.List;
+
 import app.gameengine.model.datastructures.LinkedListNode;
 import app.gameengine.model.gameobjects.Player;
 
 /**
  * A {@code Game} subclass that organizes levels linearly, such that each level
- * has a single "next" level. This is implemented using the
- * {@link LinkedListNode} class.
+ * has a single "next" level. This is implemented using a
+ * {@link LevelRegistry}, and the levels can also be accessed as a
+ * {@link LinkedListNode} list.
  * <p>
  * This class implements the functionality to advance to the next level, as well
- * as additional functionality to replace or remove levels by name.
+ * as additional functionality to replace or remove levels by name. While a
+ * level is being played, the sprite sheets of the next level are loaded in the
+ * background by a {@link LevelPrefetcher}.
  *
+ * @see LevelRegistry
  * @see LinkedListNode
  * @see Game
  * @see Level
  */
 public class LinearGame extends Game {
 
-    private LinkedListNode<Level> levelList;
+    private LevelRegistry levels = new LevelRegistry();
+    private LevelPrefetcher prefetcher = new LevelPrefetcher();
 
     public LinearGame() {
         super();
-        this.levelList = null;
     }
 
+    /**
+     * Returns the levels of this game as a linked list, in the order they are
+     * played. The list holds the current levels of the game each time this is
+     * called. To change the levels, pass a modified list to
+     * {@link #setLevelList(LinkedListNode)}.
+     * 
+     * @return the head of the list of levels, or {@code null} if there are none
+     */
     public LinkedListNode<Level> getLevelList() {
-        return this.levelList;
+        return this.levels.toLinkedList();
     }
 
+    /**
+     * Replaces the levels of this game with those in the given linked list.
+     * 
+     * @param levelList the head of the list of levels
+     */
     public void setLevelList(LinkedListNode<Level> levelList) {
-        this.levelList = levelList;
+        this.levels.setFromLinkedList(levelList);
+    }
+
+    /**
+     * Returns the registry holding the levels of this game.
+     * 
+     * @return the level registry
+     */
+    public LevelRegistry getLevelRegistry() {
+        return this.levels;
     }
 
     public void addLevel(Level level) {
-        LinkedListNode<Level> newNode = new LinkedListNode<>(level, null);
+        this.levels.add(level);
+    }
 
-        if (this.levelList == null) {
-            this.levelList = newNode;
-        } else {
-            LinkedListNode<Level> current = this.levelList;
-            while (current.getNext() != null) {
-                current = current.getNext();
-            }
-            current.setNext(newNode);
-        }
+    @Override
+    public void loadLevel(Level level) {
+        super.loadLevel(level);
+        this.levels.setCurrent(level);
+        this.prefetchNextLevel();
     }
 
-    public void advanceLevel() {
-        if (this.getCurrentLevel() == null || this.levelList == null) {
+    /**
+     * Loads the sprite sheets of the level after the current one in the
+     * background, so that advancing to it does not need to load them. Levels in a
+     * linear game are built up front, so there is nothing to parse.
+     */
+    private void prefetchNextLevel() {
+        Level next = this.levels.getNext();
+        if (next == null) {
+            this.prefetcher.clear();
             return;
         }
-        LinkedListNode<Level> current = this.levelList;
-        while (current != null) {
-            if (current.getValue().getName().equals(this.getCurrentLevel().getName())) {
-                if (current.getNext() != null) {
-                    this.loadLevel(current.getNext().getValue());
-                }
-                return;
-            }
-            current = current.getNext();
-        }
+        this.prefetcher.retainOnly(List.of(next.getName()));
+        this.prefetcher.prefetch(next.getName(), () -> next);
     }
 
-    public void removeLevelByName(String name) {
-        if (this.levelList == null) {
+    public void advanceLevel() {
+        if (this.getCurrentLevel() == null || this.levels.size() == 0) {
             return;
         }
-
-        if (this.levelList.getValue().getName().equals(name)) {
-            this.levelList = this.levelList.getNext();
-            return;
+        // Levels may have been added or removed since the current level was loaded
+        int cursor = this.levels.getCursor();
+        if (cursor < 0 || this.levels.get(cursor) != this.getCurrentLevel()) {
+            this.levels.setCurrent(this.getCurrentLevel());
         }
-
-        LinkedListNode<Level> current = this.levelList;
-        while (current.getNext() != null) {
-            if (current.getNext().getValue().getName().equals(name)) {
-                current.setNext(current.getNext().getNext());
-                return;
-            }
-            current = current.getNext();
+        Level next = this.levels.getNext();
+        if (next != null) {
+            this.loadLevel(next);
         }
     }
+
+    public void removeLevelByName(String name) {
+        this.levels.removeFirst(name);
+    }
 }
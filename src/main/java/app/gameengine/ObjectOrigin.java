@@ -0,0 +1,35 @@
+package app.gameengine;
+
+import app.gameengine.model.gameobjects.GameObject;
+
+/**
+ * Records which line of a level file an object was created from, and where it
+ * was placed, so that the object can be matched with the same line when the
+ * file is parsed again.
+ *
+ * @see LevelDiff
+ */
+class ObjectOrigin {
+
+    final GameObject object;
+    // The line without its location, such as "DynamicGameObject,Demon,,10,5"
+    final String description;
+    final double x;
+    final double y;
+
+    ObjectOrigin(GameObject object, String description, double x, double y) {
+        this.object = object;
+        this.description = description;
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Returns a key which is equal for objects created from identical lines at the
+     * same location.
+     */
+    String key() {
+        return this.description + "@" + this.x + "," + this.y;
+    }
+
+}
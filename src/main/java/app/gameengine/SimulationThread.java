@@ -0,0 +1,136 @@
+package app.gameengine;
+
+import app.Configuration;
+import app.StartGame;
+import app.display.common.AssetManager;
+import app.display.common.RenderQueue;
+import app.display.common.RenderSnapshot;
+import app.display.common.controller.InputQueue;
+import app.gameengine.model.datastructures.TripleBuffer;
+
+/**
+ * Updates a {@link Game} on its own thread, separately from rendering.
+ * <p>
+ * Each tick, this thread passes any queued input to the current level, updates
+ * the game, and then captures a {@link RenderSnapshot} of the result into a
+ * {@link TripleBuffer}. The JavaFX application thread only ever draws the most
+ * recently published snapshot, so a slow update never delays a frame, and a
+ * slow frame never delays an update.
+ * <p>
+ * Ticks happen at the rate given by {@link Configuration#SIMULATION_RATE}. As
+ * in {@link StartGame}, the time passed to each update is the real time elapsed
+ * since the previous one, limited to 0.1 seconds, and the first tick after a
+ * level is loaded preloads its sprite sheets and marks it as loaded rather than
+ * updating it.
+ *
+ * @see StartGame
+ * @see RenderSnapshot
+ * @see InputQueue
+ */
+public class SimulationThread extends Thread {
+
+    private static final double MAX_DELAY = 0.1;
+
+    private final Game game;
+    private final InputQueue inputQueue;
+    // Snapshots are only captured by this thread, so they can share one queue
+    private final RenderQueue renderQueue = new RenderQueue();
+    private final TripleBuffer<RenderSnapshot> snapshots = new TripleBuffer<>(() -> new RenderSnapshot(renderQueue));
+    private volatile boolean running = true;
+
+    // Performance
+    private volatile double lastUpdateMillis;
+    private volatile long ticks;
+
+    /**
+     * Constructs a simulation thread for the given game. The thread is not started
+     * until {@link #start()} is called.
+     *
+     * @param game       the game to update
+     * @param inputQueue the queue of input events to pass to the game
+     */
+    public SimulationThread(Game game, InputQueue inputQueue) {
+        super("Simulation");
+        this.game = game;
+        this.inputQueue = inputQueue;
+        this.setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+        long tickNanos = (long) (1_000_000_000 / Configuration.SIMULATION_RATE);
+        long lastUpdate = System.nanoTime();
+        // Publish an initial snapshot so there is always something to draw
+        this.publish();
+
+        while (this.running) {
+            long now = System.nanoTime();
+            double dt = (now - lastUpdate) / 1_000_000_000.0;
+            lastUpdate = now;
+
+            Level currentLevel = this.game.getCurrentLevel();
+            this.inputQueue.dispatch(currentLevel);
+            if (currentLevel.isLoaded()) {
+                this.game.updateSimulation(Math.min(dt, MAX_DELAY));
+            } else {
+                AssetManager.preload(currentLevel);
+                currentLevel.setLoaded();
+            }
+            this.publish();
+            this.lastUpdateMillis = (System.nanoTime() - now) / 1e6;
+            this.ticks++;
+
+            long sleepNanos = now + tickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    Thread.sleep(sleepNanos / 1_000_000, (int) (sleepNanos % 1_000_000));
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void publish() {
+        this.snapshots.getWriteBuffer().capture(this.game);
+        this.snapshots.publish();
+    }
+
+    /**
+     * Returns the most recent snapshot of the game. This should only be called
+     * from the JavaFX application thread.
+     *
+     * @return the latest snapshot, or {@code null} if none has been captured yet
+     */
+    public RenderSnapshot getLatestSnapshot() {
+        return this.snapshots.getLatest();
+    }
+
+    /**
+     * Stops the thread after its current tick.
+     */
+    public void shutdown() {
+        this.running = false;
+        this.interrupt();
+    }
+
+    /**
+     * Returns the time taken by the most recent tick, including capturing its
+     * snapshot, in milliseconds.
+     *
+     * @return the duration of the last tick
+     */
+    public double getLastUpdateMillis() {
+        return this.lastUpdateMillis;
+    }
+
+    /**
+     * Returns the number of ticks performed so far.
+     *
+     * @return the number of ticks
+     */
+    public long getTicks() {
+        return this.ticks;
+    }
+
+}
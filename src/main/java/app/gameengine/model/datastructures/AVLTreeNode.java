@@ -0,0 +1,282 @@
+package app.gameengine.model.datastructures;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Represents a node in a self-balancing binary search tree (an AVL tree).
+ * <p>
+ * Each node stores the height of the subtree rooted at it, and values are
+ * added with {@link #insert(AVLTreeNode, Object, Comparator)}, which rotates
+ * nodes so that the heights of the two children of any node never differ by
+ * more than one. This keeps the height of a tree of n values below
+ * 1.45 log2(n), so adding a value takes O(log n) time whatever order the
+ * values are added in.
+ * <p>
+ * Values which are equal according to the comparator are kept in the order
+ * they were added, in the same way as a plain binary search tree which places
+ * equal values to the right.
+ * <p>
+ * Each node also stores the number of values in its subtree, so the position
+ * of a value in the order, and the value at a position, can be found in
+ * O(log n) time without visiting the values before it.
+ *
+ * @param <A> the type of value stored in the node
+ */
+public class AVLTreeNode<A> extends BinaryTreeNode<A> {
+
+    private int height;
+    private int size;
+
+    /**
+     * Constructs a new AVLTreeNode with the specified value and child nodes,
+     * which must already be balanced.
+     *
+     * @param value the value to store in this node
+     * @param left  the left child node
+     * @param right the right child node
+     */
+    public AVLTreeNode(A value, AVLTreeNode<A> left, AVLTreeNode<A> right) {
+        super(value, left, right);
+        this.updateSubtree();
+    }
+
+    /**
+     * Returns the height of the subtree rooted at this node, where a node
+     * without children has a height of 1.
+     *
+     * @return the height of this node
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Returns the number of values in the subtree rooted at this node.
+     *
+     * @return the size of this node
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of values in the given tree.
+     *
+     * @param node the root of the tree
+     * @return the size of the tree
+     */
+    public static int size(BinaryTreeNode<?> node) {
+        if (node == null) {
+            return 0;
+        }
+        return ((AVLTreeNode<?>) node).size;
+    }
+
+    /**
+     * Returns the height of the given tree, which is 0 if the tree is empty.
+     *
+     * @param node the root of the tree
+     * @return the height of the tree
+     */
+    public static int height(BinaryTreeNode<?> node) {
+        if (node == null) {
+            return 0;
+        }
+        return ((AVLTreeNode<?>) node).height;
+    }
+
+    /**
+     * Adds a value to the given tree, keeping it balanced.
+     *
+     * @param <A>        the type of value stored in the tree
+     * @param root       the root of the tree, or {@code null} if it is empty
+     * @param value      the value to add
+     * @param comparator the comparator used to order the tree
+     * @return the new root of the tree
+     */
+    public static <A> AVLTreeNode<A> insert(AVLTreeNode<A> root, A value, Comparator<A> comparator) {
+        if (root == null) {
+            return new AVLTreeNode<>(value, null, null);
+        }
+        if (comparator.compare(value, root.getValue())) {
+            root.setLeft(insert(root.left(), value, comparator));
+        } else {
+            root.setRight(insert(root.right(), value, comparator));
+        }
+        return root.rebalance();
+    }
+
+    /**
+     * Adds a value to the given tree, keeping it balanced, without changing any
+     * node of the given tree. The O(log n) nodes on the path to the new value are
+     * copied, and the rest are shared with the given tree, so the given root
+     * still holds the tree as it was before the value was added.
+     *
+     * @param <A>        the type of value stored in the tree
+     * @param root       the root of the tree, or {@code null} if it is empty
+     * @param value      the value to add
+     * @param comparator the comparator used to order the tree
+     * @return the root of the new tree
+     */
+    public static <A> AVLTreeNode<A> insertCopy(AVLTreeNode<A> root, A value, Comparator<A> comparator) {
+        if (root == null) {
+            return new AVLTreeNode<>(value, null, null);
+        }
+        // Rotations after an insertion only move nodes on the path to the new
+        // value, all of which are copies
+        AVLTreeNode<A> copy = new AVLTreeNode<>(root.getValue(), root.left(), root.right());
+        if (comparator.compare(value, root.getValue())) {
+            copy.setLeft(insertCopy(root.left(), value, comparator));
+        } else {
+            copy.setRight(insertCopy(root.right(), value, comparator));
+        }
+        return copy.rebalance();
+    }
+
+    /**
+     * Builds a perfectly balanced tree from values which are already in order,
+     * in O(n) time. The values must be sorted as the given tree would order
+     * them, which is the order they are read from the tree in.
+     *
+     * @param <A>    the type of value stored in the tree
+     * @param values the values in order
+     * @return the root of the tree, or {@code null} if there are no values
+     */
+    public static <A> AVLTreeNode<A> fromSorted(List<A> values) {
+        return fromSorted(values, 0, values.size());
+    }
+
+    /**
+     * Recursive helper method to build a balanced tree from the values between
+     * the two indices.
+     *
+     * @param values the values in order
+     * @param start  the index of the first value, inclusive
+     * @param end    the index of the last value, exclusive
+     * @return the root of the tree, or {@code null} if there are no values
+     */
+    private static <A> AVLTreeNode<A> fromSorted(List<A> values, int start, int end) {
+        if (start >= end) {
+            return null;
+        }
+        int middle = (start + end) >>> 1;
+        AVLTreeNode<A> left = fromSorted(values, start, middle);
+        AVLTreeNode<A> right = fromSorted(values, middle + 1, end);
+        return new AVLTreeNode<>(values.get(middle), left, right);
+    }
+
+    /**
+     * Returns the number of values in the given tree which come before the given
+     * value. If inclusive, values equal to the given value according to the
+     * comparator are also counted.
+     *
+     * @param <A>        the type of value stored in the tree
+     * @param root       the root of the tree
+     * @param value      the value to count up to
+     * @param comparator the comparator used to order the tree
+     * @param inclusive  whether to count values equal to the given value
+     * @return the number of values before the given value
+     */
+    public static <A> int countBefore(AVLTreeNode<A> root, A value, Comparator<A> comparator, boolean inclusive) {
+        int count = 0;
+        AVLTreeNode<A> node = root;
+        while (node != null) {
+            boolean before = inclusive ? !comparator.compare(value, node.getValue())
+                    : comparator.compare(node.getValue(), value);
+            if (before) {
+                count += size(node.getLeft()) + 1;
+                node = node.right();
+            } else {
+                node = node.left();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns an iterator over the values of the given tree in order, starting
+     * from the value at the given position. Finding the first value takes
+     * O(log n) time.
+     *
+     * @param <A>    the type of value stored in the tree
+     * @param root   the root of the tree
+     * @param offset the position of the first value, where 0 is the first value
+     *               in the tree
+     * @return an iterator over the values from the given position onwards
+     */
+    public static <A> Iterator<A> iterator(AVLTreeNode<A> root, int offset) {
+        BinaryTreeIterator<A> iterator = new BinaryTreeIterator<>(null);
+        AVLTreeNode<A> node = root;
+        while (node != null) {
+            int before = size(node.getLeft());
+            if (offset <= before) {
+                iterator.push(node);
+                if (offset == before) {
+                    break;
+                }
+                node = node.left();
+            } else {
+                offset -= before + 1;
+                node = node.right();
+            }
+        }
+        return iterator;
+    }
+
+    private AVLTreeNode<A> left() {
+        return (AVLTreeNode<A>) this.getLeft();
+    }
+
+    private AVLTreeNode<A> right() {
+        return (AVLTreeNode<A>) this.getRight();
+    }
+
+    private void updateSubtree() {
+        this.height = 1 + Math.max(height(this.getLeft()), height(this.getRight()));
+        this.size = 1 + size(this.getLeft()) + size(this.getRight());
+    }
+
+    /**
+     * Restores the balance of this node after one of its children has changed
+     * height by at most one.
+     *
+     * @return the node which replaces this one as the root of its subtree
+     */
+    private AVLTreeNode<A> rebalance() {
+        int balance = height(this.getLeft()) - height(this.getRight());
+        if (balance > 1) {
+            if (height(this.left().getLeft()) < height(this.left().getRight())) {
+                this.setLeft(this.left().rotateLeft());
+            }
+            return this.rotateRight();
+        }
+        if (balance < -1) {
+            if (height(this.right().getRight()) < height(this.right().getLeft())) {
+                this.setRight(this.right().rotateRight());
+            }
+            return this.rotateLeft();
+        }
+        this.updateSubtree();
+        return this;
+    }
+
+    private AVLTreeNode<A> rotateLeft() {
+        AVLTreeNode<A> root = this.right();
+        this.setRight(root.getLeft());
+        root.setLeft(this);
+        this.updateSubtree();
+        root.updateSubtree();
+        return root;
+    }
+
+    private AVLTreeNode<A> rotateRight() {
+        AVLTreeNode<A> root = this.left();
+        this.setLeft(root.getRight());
+        root.setRight(this);
+        this.updateSubtree();
+        root.updateSubtree();
+        return root;
+    }
+
+}
@@ -0,0 +1,65 @@
+package app.gameengine.model.datastructures;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the values of a binary tree in order, from the leftmost value
+ * to the rightmost.
+ * <p>
+ * The iterator keeps a stack of the nodes whose values are still to come, so
+ * it uses no recursion and visits every value in O(n) time in total, whatever
+ * the shape of the tree. Only the nodes on the path to the next value are held,
+ * so reading the first few values of a balanced tree takes O(log n) time. The
+ * tree must not be changed while it is being iterated over.
+ *
+ * @param <A> the type of value stored in the tree
+ */
+public class BinaryTreeIterator<A> implements Iterator<A> {
+
+    private final Deque<BinaryTreeNode<A>> stack = new ArrayDeque<>();
+
+    /**
+     * Constructs a new iterator over the given tree.
+     *
+     * @param root the root of the tree, or {@code null} if it is empty
+     */
+    public BinaryTreeIterator(BinaryTreeNode<A> root) {
+        this.pushLeft(root);
+    }
+
+    /**
+     * Adds a node to the top of the stack, so its value is returned next, followed
+     * by the values of its right subtree, before those of the nodes already on
+     * the stack.
+     *
+     * @param node the node to add
+     */
+    void push(BinaryTreeNode<A> node) {
+        this.stack.push(node);
+    }
+
+    private void pushLeft(BinaryTreeNode<A> node) {
+        for (; node != null; node = node.getLeft()) {
+            this.stack.push(node);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !this.stack.isEmpty();
+    }
+
+    @Override
+    public A next() {
+        if (this.stack.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        BinaryTreeNode<A> node = this.stack.pop();
+        this.pushLeft(node.getRight());
+        return node.getValue();
+    }
+
+}
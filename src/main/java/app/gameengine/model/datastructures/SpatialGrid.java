@@ -0,0 +1,185 @@
+package app.gameengine.model.datastructures;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import app.gameengine.model.gameobjects.GameObject;
+
+/**
+ * A uniform grid of game objects, for quickly finding the objects whose sprites
+ * overlap a rectangle.
+ * <p>
+ * The grid covers the bounds of a level, divided into square cells. Each object
+ * is stored in the cell containing its location, which is the top left corner
+ * of its sprite, and queries are widened by the size of the largest sprite so
+ * that objects which extend into the queried area from a neighbouring cell are
+ * still found. Objects outside the bounds of the grid are stored in the nearest
+ * edge cell.
+ * <p>
+ * The grid is a snapshot of the objects and their locations when it was built,
+ * and must be rebuilt with {@link #build(List, double, double)} whenever
+ * objects are added, removed, or moved. It is intended for objects which rarely
+ * change, such as the static objects of a level, where a query only needs to
+ * look at the cells around the queried area instead of every object.
+ * <p>
+ * Objects are stored as indices into a single array, grouped by cell, so
+ * building the grid does not allocate anything once its arrays are large
+ * enough.
+ *
+ * @param <T> the type of object stored in the grid
+ */
+public class SpatialGrid<T extends GameObject> {
+
+    private final double cellSize;
+    private int columns;
+    private int rows;
+
+    private Object[] objects = new Object[16];
+    private int size;
+    // Indices of objects grouped by cell, with cell i at cellStarts[i] up to but
+    // not including cellStarts[i + 1]
+    private int[] cellStarts = new int[1];
+    private int[] cellItems = new int[16];
+    private int[] objectCells = new int[16];
+    private double maxWidth;
+    private double maxHeight;
+    private int[] candidates = new int[16];
+
+    /**
+     * Constructs an empty grid with cells of the given size.
+     *
+     * @param cellSize the width and height of each cell, in game units
+     */
+    public SpatialGrid(double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Replaces the contents of this grid with the given objects, at their current
+     * locations.
+     *
+     * @param objects the objects to store
+     * @param width   the width of the area covered by the grid, in game units
+     * @param height  the height of the area covered by the grid, in game units
+     */
+    public void build(List<? extends T> objects, double width, double height) {
+        this.columns = Math.max(1, (int) Math.ceil(width / this.cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / this.cellSize));
+        int cellCount = this.columns * this.rows;
+        if (this.cellStarts.length < cellCount + 1) {
+            this.cellStarts = new int[cellCount + 1];
+        } else {
+            Arrays.fill(this.cellStarts, 0, cellCount + 1, 0);
+        }
+        this.size = objects.size();
+        if (this.objects.length < this.size) {
+            int capacity = Math.max(this.size, this.objects.length * 2);
+            this.objects = new Object[capacity];
+            this.cellItems = new int[capacity];
+            this.objectCells = new int[capacity];
+        }
+
+        // Count the objects in each cell, then turn the counts into start offsets
+        this.maxWidth = 0;
+        this.maxHeight = 0;
+        for (int i = 0; i < this.size; i++) {
+            T object = objects.get(i);
+            this.objects[i] = object;
+            int cell = this.row(object.getLocation().getY()) * this.columns
+                    + this.column(object.getLocation().getX());
+            this.objectCells[i] = cell;
+            this.cellStarts[cell + 1]++;
+            this.maxWidth = Math.max(this.maxWidth, object.getSpriteDimensions().getX());
+            this.maxHeight = Math.max(this.maxHeight, object.getSpriteDimensions().getY());
+        }
+        for (int i = 0; i < cellCount; i++) {
+            this.cellStarts[i + 1] += this.cellStarts[i];
+        }
+        for (int i = 0; i < this.size; i++) {
+            this.cellItems[this.cellStarts[this.objectCells[i]]++] = i;
+        }
+        // Filling the cells moved each start to the start of the next cell
+        for (int i = cellCount; i > 0; i--) {
+            this.cellStarts[i] = this.cellStarts[i - 1];
+        }
+        this.cellStarts[0] = 0;
+        Arrays.fill(this.objects, this.size, this.objects.length, null);
+    }
+
+    /**
+     * Passes every object whose sprite overlaps the given rectangle to the given
+     * action, in the order the objects were given to
+     * {@link #build(List, double, double)}. An object is considered to overlap the
+     * rectangle if their edges touch, matching the culling done by the renderer.
+     *
+     * @param x      the x coordinate of the rectangle, in game units
+     * @param y      the y coordinate of the rectangle, in game units
+     * @param width  the width of the rectangle, in game units
+     * @param height the height of the rectangle, in game units
+     * @param action the action to perform on each overlapping object
+     * @return the number of objects that were checked against the rectangle,
+     *         which is at least the number passed to the action
+     */
+    @SuppressWarnings("unchecked")
+    public int query(double x, double y, double width, double height, Consumer<? super T> action) {
+        int minColumn = this.column(x - this.maxWidth);
+        int maxColumn = this.column(x + width);
+        int minRow = this.row(y - this.maxHeight);
+        int maxRow = this.row(y + height);
+
+        int count = 0;
+        if (minColumn == 0 && minRow == 0 && maxColumn == this.columns - 1 && maxRow == this.rows - 1) {
+            // Every cell is covered, so every object is a candidate
+            count = this.size;
+            for (int i = 0; i < count; i++) {
+                this.accept((T) this.objects[i], x, y, width, height, action);
+            }
+            return count;
+        }
+
+        for (int row = minRow; row <= maxRow; row++) {
+            int start = this.cellStarts[row * this.columns + minColumn];
+            int end = this.cellStarts[row * this.columns + maxColumn + 1];
+            if (this.candidates.length < count + end - start) {
+                this.candidates = Arrays.copyOf(this.candidates,
+                        Math.max(count + end - start, this.candidates.length * 2));
+            }
+            System.arraycopy(this.cellItems, start, this.candidates, count, end - start);
+            count += end - start;
+        }
+        // Indices are only in order within each row of cells
+        Arrays.sort(this.candidates, 0, count);
+        for (int i = 0; i < count; i++) {
+            this.accept((T) this.objects[this.candidates[i]], x, y, width, height, action);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of objects in this grid.
+     *
+     * @return the number of objects
+     */
+    public int size() {
+        return this.size;
+    }
+
+    private void accept(T object, double x, double y, double width, double height, Consumer<? super T> action) {
+        if (object.getLocation().getX() <= x + width
+                && object.getLocation().getX() + object.getSpriteDimensions().getX() >= x
+                && object.getLocation().getY() <= y + height
+                && object.getLocation().getY() + object.getSpriteDimensions().getY() >= y) {
+            action.accept(object);
+        }
+    }
+
+    private int column(double x) {
+        return Math.clamp((long) Math.floor(x / this.cellSize), 0, this.columns - 1);
+    }
+
+    private int row(double y) {
+        return Math.clamp((long) Math.floor(y / this.cellSize), 0, this.rows - 1);
+    }
+
+}
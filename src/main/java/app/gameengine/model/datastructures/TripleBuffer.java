@@ -0,0 +1,94 @@
+package app.gameengine.model.datastructures;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A lock-free triple buffer, for passing values from a single writer thread to
+ * a single reader thread.
+ * <p>
+ * The writer fills in the buffer returned by {@link #getWriteBuffer()} and then
+ * calls {@link #publish()}. The reader calls {@link #getLatest()} to receive
+ * the most recently published buffer. Neither thread ever waits for the other,
+ * and the writer never modifies a buffer the reader is currently using. If the
+ * writer publishes several times between reads, the reader only sees the
+ * latest, and the older values are overwritten.
+ * <p>
+ * All three buffers are created once up front, so they can be reused rather
+ * than allocated for every value.
+ *
+ * @param <T> the type of value stored in the buffers
+ */
+public class TripleBuffer<T> {
+
+    // Low two bits of the shared index, the third marks it as not yet read
+    private static final int INDEX_MASK = 0b011;
+    private static final int FRESH = 0b100;
+
+    private final Object[] buffers = new Object[3];
+    private final AtomicInteger shared = new AtomicInteger(2);
+    private int writeIndex = 0;
+    private int readIndex = 1;
+    private volatile boolean published = false;
+
+    /**
+     * Constructs a new triple buffer, using the given supplier to create each of
+     * the three buffers.
+     *
+     * @param supplier a function which creates an empty buffer
+     */
+    public TripleBuffer(Supplier<T> supplier) {
+        for (int i = 0; i < this.buffers.length; i++) {
+            this.buffers[i] = supplier.get();
+        }
+    }
+
+    /**
+     * Returns the buffer that the writer may currently modify. This should only be
+     * called by the writer thread.
+     *
+     * @return the current write buffer
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) this.buffers[this.writeIndex];
+    }
+
+    /**
+     * Makes the current write buffer available to the reader, and gives the writer
+     * a new buffer to write to. This should only be called by the writer thread.
+     */
+    public void publish() {
+        this.writeIndex = this.shared.getAndSet(this.writeIndex | FRESH) & INDEX_MASK;
+        this.published = true;
+    }
+
+    /**
+     * Returns the most recently published buffer. If nothing has been published
+     * since the last call, the same buffer is returned again. This should only be
+     * called by the reader thread.
+     *
+     * @return the latest buffer, or {@code null} if nothing has been published yet
+     */
+    @SuppressWarnings("unchecked")
+    public T getLatest() {
+        if (!this.published) {
+            return null;
+        }
+        if (this.hasUpdate()) {
+            this.readIndex = this.shared.getAndSet(this.readIndex) & INDEX_MASK;
+        }
+        return (T) this.buffers[this.readIndex];
+    }
+
+    /**
+     * Returns whether a buffer has been published that the reader has not yet
+     * received.
+     *
+     * @return {@code true} if there is a new buffer, {@code false} otherwise
+     */
+    public boolean hasUpdate() {
+        return (this.shared.get() & FRESH) != 0;
+    }
+
+}
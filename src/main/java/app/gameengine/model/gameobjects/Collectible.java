@@ -1,4 +1,5 @@
 package app.gameengine.model.gameobjects;
+import app.display.common.RenderLayer;
 import app.gameengine.Game;
 import app.gameengine.Level;
 
@@ -11,6 +12,7 @@ public abstract class Collectible extends StaticGameObject {
         super(x, y);
         this.game = game;
         this.itemID = itemID;
+        this.renderLayer = RenderLayer.ITEMS;
     }
 
     public Game getGame() {
@@ -1,5 +1,6 @@
 package app.gameengine.model.gameobjects;
 
+import app.display.common.RenderLayer;
 import app.display.common.sound.AudioManager;
 import app.gameengine.Game;
 import app.gameengine.Level;
@@ -23,6 +24,7 @@ public abstract class DynamicGameObject extends GameObject {
     protected int maxHP;
     protected int hp;
     private boolean isOnGround = false;
+    private boolean showHealthBar = false;
     private final Vector2D velocity = new Vector2D(0.0, 0.0);
     private final Vector2D orientation = new Vector2D(0.0, 1.0);
 
@@ -37,6 +39,7 @@ public abstract class DynamicGameObject extends GameObject {
         super(x, y);
         this.maxHP = maxHP;
         this.hp = this.maxHP;
+        this.renderLayer = RenderLayer.ACTORS;
     }
 
     /**
@@ -122,6 +125,26 @@ public abstract class DynamicGameObject extends GameObject {
         return maxHP;
     }
 
+    /**
+     * Returns whether a health bar is drawn above this object, showing its current
+     * health compared to its maximum health.
+     * 
+     * @return {@code true} if the health bar is shown, {@code false} otherwise
+     */
+    public boolean showsHealthBar() {
+        return this.showHealthBar;
+    }
+
+    /**
+     * Sets whether a health bar is drawn above this object, showing its current
+     * health compared to its maximum health.
+     * 
+     * @param shown {@code true} to show the health bar, {@code false} to hide it
+     */
+    public void setShowHealthBar(boolean shown) {
+        this.showHealthBar = shown;
+    }
+
     /**
      * Decrease this object's health by the given amount, as long as that amount is
      * greater than 0.
@@ -5,14 +5,15 @@ import java.util.Arrays;
 import java.util.HashMap;
 
 import app.Configuration;
+import app.display.common.RenderLayer;
 import app.display.common.RenderableAsSprite;
 import app.display.common.SpriteLocation;
 import app.display.common.effects.Effect;
-import app.display.common.effects.HitboxOutline;
 import app.gameengine.Level;
 import app.gameengine.model.physics.Collidable;
 import app.gameengine.model.physics.Hitbox;
 import app.gameengine.model.physics.Vector2D;
+import javafx.scene.paint.Color;
 
 /**
  * Represents an abstract game object in the game engine.
@@ -51,9 +52,11 @@ public abstract class GameObject implements RenderableAsSprite, Collidable {
     protected boolean freezeAnimations = false;
     protected double animationDuration = Configuration.ANIMATION_TIME;
     private double rotation;
+    protected RenderLayer renderLayer = RenderLayer.TERRAIN;
+    protected int zIndex = 0;
 
     private ArrayList<Effect> effects = new ArrayList<>();
-    protected HitboxOutline outlineEffect;
+    protected Color hitboxColor;
 
     /**
      * Create a new {@code GameObject} object at the location specified by the
@@ -66,7 +69,6 @@ public abstract class GameObject implements RenderableAsSprite, Collidable {
         this.location = new Vector2D(x, y);
         this.startingLocation = new Vector2D(x, y);
         this.hitbox = new Hitbox(this.location, new Vector2D(1, 1));
-        this.outlineEffect = new HitboxOutline(this);
         this.initAnimations();
     }
 
@@ -100,6 +102,18 @@ public abstract class GameObject implements RenderableAsSprite, Collidable {
         this.location.setY(y);
     }
 
+    /**
+     * Sets the location this object returns to when it is reset, such as when the
+     * level it is in is restarted.
+     * 
+     * @param x the x location to be set
+     * @param y the y location to be set
+     */
+    public void setStartingLocation(double x, double y) {
+        this.startingLocation.setX(x);
+        this.startingLocation.setY(y);
+    }
+
     /**
      * Returns a {@code Vector2D} object representing the dimensions of this
      * {@code GameObject}'s graphical sprite in world units (ie, not pixels).
@@ -237,14 +251,58 @@ public abstract class GameObject implements RenderableAsSprite, Collidable {
     }
 
     /**
-     * Adds a {@link HitboxOutline} effect to the object, with the location and
-     * dimensions of the object's hitbox. This can be useful for debugging to view
-     * the exact positions and sizes of various objects.
+     * Returns whether the hitbox of this object is outlined when hitboxes are
+     * shown. This is {@code true} unless overridden by a subclass.
+     * 
+     * @return {@code true} if the hitbox can be outlined, {@code false} otherwise
      */
-    public void showHitbox() {
-        if (!this.getEffects().contains(this.outlineEffect)) {
-            this.getEffects().add(this.outlineEffect);
+    public boolean showsHitbox() {
+        return true;
+    }
+
+    /**
+     * Returns the color used to outline the hitbox of this object when hitboxes
+     * are shown. This can be useful for debugging to view the exact positions and
+     * sizes of various objects. Unless set by a subclass, the outline is red if
+     * the object is solid, and blue otherwise.
+     * 
+     * @return the color of the hitbox outline
+     */
+    public Color getHitboxColor() {
+        if (this.hitboxColor != null) {
+            return this.hitboxColor;
         }
+        return this.isSolid() ? Color.RED : Color.BLUE;
+    }
+
+    @Override
+    public RenderLayer getRenderLayer() {
+        return this.renderLayer;
+    }
+
+    /**
+     * Sets the layer this object is drawn in. By default, static objects are drawn
+     * in {@link RenderLayer#TERRAIN} and dynamic objects in
+     * {@link RenderLayer#ACTORS}.
+     * 
+     * @param renderLayer the new render layer
+     */
+    public void setRenderLayer(RenderLayer renderLayer) {
+        this.renderLayer = renderLayer;
+    }
+
+    @Override
+    public int getZIndex() {
+        return this.zIndex;
+    }
+
+    /**
+     * Sets the z-index of this object within its layer.
+     * 
+     * @param zIndex the new z-index
+     */
+    public void setZIndex(int zIndex) {
+        this.zIndex = zIndex;
     }
 
     /**
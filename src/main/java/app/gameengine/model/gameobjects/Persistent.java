@@ -0,0 +1,40 @@
+package app.gameengine.model.gameobjects;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import app.gameengine.LevelChunks;
+
+/**
+ * Represents an object with state that must be kept when the object is released
+ * from a streamed level, and built again later.
+ * <p>
+ * Whether an object has been destroyed, and where a dynamic object is, are
+ * always kept. Objects which can change in other ways, such as a block which
+ * can only be used once, implement this interface to save and restore that
+ * state. An object must always read exactly what it wrote.
+ *
+ * @see LevelChunks
+ */
+public interface Persistent {
+
+    /**
+     * Writes the state of this object.
+     *
+     * @param out the output to write to
+     * @throws IOException if the state cannot be written
+     */
+    void saveState(DataOutput out) throws IOException;
+
+    /**
+     * Restores the state of this object, as written by
+     * {@link #saveState(DataOutput)}. This is called on a newly built object,
+     * before it is added to the level.
+     *
+     * @param in the input to read from
+     * @throws IOException if the state cannot be read
+     */
+    void loadState(DataInput in) throws IOException;
+
+}
@@ -33,6 +33,8 @@ public class Player extends DynamicGameObject {
      */
     public Player(double x, double y, int maxHP) {
         super(x, y, maxHP);
+        // Draw the player in front of other objects at the same height
+        this.zIndex = 1;
         this.getHitbox().setDimensions(0.8, 0.8);
         this.getHitbox().setOffset(0.1, 0.1);
         this.spriteSheetFilename = "MiniWorldSprites/Characters/Soldiers/Melee/CyanMelee/AxemanCyan.png";
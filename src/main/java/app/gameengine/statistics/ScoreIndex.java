@@ -0,0 +1,223 @@
+package app.gameengine.statistics;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import app.gameengine.model.datastructures.AVLTreeNode;
+import app.gameengine.model.datastructures.BinaryTreeIterator;
+import app.gameengine.model.datastructures.BinaryTreeNode;
+import app.gameengine.model.datastructures.Comparator;
+
+/**
+ * The scores of a {@link Scoreboard}, kept in a balanced tree in the order
+ * given by one comparator.
+ * <p>
+ * A scoreboard keeps an index for each comparator it is viewed with, all
+ * holding the same {@link GameStat} objects. Each score added to the
+ * scoreboard is inserted into every index, so any of its orders can be
+ * queried at any time without sorting the scores again.
+ *
+ * @see Scoreboard#getIndex(Comparator)
+ */
+public class ScoreIndex implements Iterable<GameStat> {
+
+    private final Comparator<GameStat> comparator;
+    private BinaryTreeNode<GameStat> tree;
+    private boolean shared;
+
+    /**
+     * Constructs an empty index.
+     *
+     * @param comparator the comparator used to order the scores
+     */
+    ScoreIndex(Comparator<GameStat> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Gets the comparator this index is ordered by.
+     *
+     * @return the comparator
+     */
+    public Comparator<GameStat> getComparator() {
+        return comparator;
+    }
+
+    /**
+     * Gets the root of the tree holding the scores of this index.
+     *
+     * @return the root of the tree, or null if it is empty
+     */
+    public BinaryTreeNode<GameStat> getTree() {
+        return tree;
+    }
+
+    /**
+     * Replaces the tree holding the scores of this index. The tree must be
+     * ordered by the comparator of this index, but need not be balanced.
+     *
+     * @param tree the root of the new tree
+     */
+    void setTree(BinaryTreeNode<GameStat> tree) {
+        this.tree = tree;
+    }
+
+    /**
+     * Adds a score to this index in O(log n) time.
+     *
+     * @param score the score to add
+     */
+    void add(GameStat score) {
+        if (shared) {
+            tree = AVLTreeNode.insertCopy(getBalancedTree(), score, comparator);
+        } else {
+            tree = AVLTreeNode.insert(getBalancedTree(), score, comparator);
+        }
+    }
+
+    /**
+     * Returns the root of the tree as it is now, which is not changed by scores
+     * added to this index afterwards, so it can be read by another thread. Once
+     * a snapshot has been taken, each score added copies the nodes on its path
+     * rather than changing them, which still takes O(log n) time.
+     *
+     * @return the root of the tree, or null if it is empty
+     */
+    BinaryTreeNode<GameStat> snapshot() {
+        AVLTreeNode<GameStat> root = getBalancedTree();
+        shared = true;
+        return root;
+    }
+
+    /**
+     * Adds every given score to this index. If the index is empty, it is built
+     * directly from the scores in O(n) time when they are already in order, and
+     * after sorting a copy of them otherwise. Equal scores keep the order they are
+     * given in, as if they were added one at a time.
+     *
+     * @param scores the scores to add
+     */
+    void addAll(List<GameStat> scores) {
+        if (tree != null) {
+            for (GameStat score : scores) {
+                add(score);
+            }
+            return;
+        }
+        boolean sorted = true;
+        for (int i = 1; i < scores.size() && sorted; i++) {
+            sorted = !comparator.compare(scores.get(i), scores.get(i - 1));
+        }
+        if (!sorted) {
+            scores = new ArrayList<>(scores);
+            scores.sort((a, b) -> comparator.compare(a, b) ? -1 : comparator.compare(b, a) ? 1 : 0);
+        }
+        tree = AVLTreeNode.fromSorted(scores);
+    }
+
+    /**
+     * Returns the tree as a balanced tree. A tree given to
+     * {@link #setTree(BinaryTreeNode)} which is not balanced is rebuilt from its
+     * scores in order.
+     *
+     * @return the root of the balanced tree, or null if it is empty
+     */
+    private AVLTreeNode<GameStat> getBalancedTree() {
+        if (tree == null || tree instanceof AVLTreeNode) {
+            return (AVLTreeNode<GameStat>) tree;
+        }
+        List<GameStat> scores = new ArrayList<>();
+        this.forEachInOrder(scores::add);
+        tree = AVLTreeNode.fromSorted(scores);
+        return (AVLTreeNode<GameStat>) tree;
+    }
+
+    /**
+     * Returns an iterator over the scores in this index, in order.
+     *
+     * @return an iterator over the scores
+     */
+    @Override
+    public Iterator<GameStat> iterator() {
+        return new BinaryTreeIterator<>(tree);
+    }
+
+    /**
+     * Performs the given action for each score in this index, in order.
+     *
+     * @param action the action to perform on each score
+     */
+    public void forEachInOrder(Consumer<? super GameStat> action) {
+        for (Iterator<GameStat> scores = this.iterator(); scores.hasNext();) {
+            action.accept(scores.next());
+        }
+    }
+
+    /**
+     * Returns the number of scores in this index.
+     *
+     * @return the number of scores
+     */
+    public int size() {
+        return AVLTreeNode.size(getBalancedTree());
+    }
+
+    /**
+     * Returns the position the given score has in this index, where the first
+     * score is 1. Scores which are equal according to the comparator share the
+     * same position. This takes O(log n) time.
+     *
+     * @param score the score to find the position of
+     * @return the position of the score
+     */
+    public int rankOf(GameStat score) {
+        return AVLTreeNode.countBefore(getBalancedTree(), score, comparator, false) + 1;
+    }
+
+    /**
+     * Returns the first scores in this index, in order. This takes O(log n + k)
+     * time.
+     *
+     * @param k the maximum number of scores to return
+     * @return the first k scores, or every score if there are fewer
+     */
+    public List<GameStat> topK(int k) {
+        return page(0, k);
+    }
+
+    /**
+     * Returns the scores at the given positions, in order. This takes
+     * O(log n + limit) time.
+     *
+     * @param offset the number of scores to skip, where 0 starts from the first
+     *               score
+     * @param limit  the maximum number of scores to return
+     * @return the scores from the given offset
+     */
+    public List<GameStat> page(int offset, int limit) {
+        List<GameStat> page = new ArrayList<>();
+        Iterator<GameStat> scores = AVLTreeNode.iterator(getBalancedTree(), Math.max(offset, 0));
+        while (page.size() < limit && scores.hasNext()) {
+            page.add(scores.next());
+        }
+        return page;
+    }
+
+    /**
+     * Returns the number of scores which are ordered between the two given
+     * scores, including scores equal to either one. This takes O(log n) time.
+     *
+     * @param lo the first score in the range
+     * @param hi the last score in the range
+     * @return the number of scores in the range
+     */
+    public int countBetween(GameStat lo, GameStat hi) {
+        AVLTreeNode<GameStat> tree = getBalancedTree();
+        int count = AVLTreeNode.countBefore(tree, hi, comparator, true)
+                - AVLTreeNode.countBefore(tree, lo, comparator, false);
+        return Math.max(count, 0);
+    }
+
+}
@@ -1,30 +1,86 @@
 package app.gameengine.statistics;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import app.gameengine.model.datastructures.BinaryTreeIterator;
 import app.gameengine.model.datastructures.BinaryTreeNode;
 import app.gameengine.model.datastructures.Comparator;
+import app.gameengine.model.datastructures.LevelNameComparator;
 import app.gameengine.model.datastructures.LinkedListNode;
+import app.gameengine.model.datastructures.PlaytimeComparator;
 import app.gameengine.model.datastructures.ScoreComparator;
 
-public class Scoreboard {
+public class Scoreboard implements Iterable<GameStat> {
     private static String STATS_DIRECTORY = "data/stats/";
     private static String STATS_POSTFIX = "_stats.csv";
-    private String statsPath;
-    private Comparator<GameStat> comparator;
-    private BinaryTreeNode<GameStat> scoreTree;
+    private Path statsPath;
+    private final List<ScoreIndex> indexes = new ArrayList<>();
+    private ScoreIndex primary;
     private boolean statsLoaded = false;
+    private StatsJournal journal;
+    private GameStat lastScore;
 
     public Scoreboard(String gameName) {
         this(gameName, new ScoreComparator());
     }
 
     public Scoreboard(String gameName, Comparator<GameStat> comparator) {
-        this.statsPath = STATS_DIRECTORY + gameName.toLowerCase() + STATS_POSTFIX;
-        this.comparator = comparator;
-        this.scoreTree = null;
+        this(gameName, comparator, false);
+    }
+
+    /**
+     * Creates a scoreboard for the given game. If it is journaled, each score added
+     * is appended to a {@link StatsJournal} as soon as it is added, rather than
+     * only being written when the stats are saved.
+     * <p>
+     * The scores are indexed by the given comparator, which orders the scoreboard,
+     * and also by score, playtime, and level name, so each of those leaderboards
+     * can be read at any time with {@link #getIndex(Comparator)}.
+     *
+     * @param gameName   the name of the game
+     * @param comparator the comparator used to order scores
+     * @param journaled  whether scores are journaled
+     */
+    public Scoreboard(String gameName, Comparator<GameStat> comparator, boolean journaled) {
+        this(Paths.get(STATS_DIRECTORY + gameName.toLowerCase() + STATS_POSTFIX), comparator, journaled);
+    }
+
+    /**
+     * Creates a scoreboard which saves its scores to the given stats file, rather
+     * than to the file for a game in the stats directory. Any journal files are
+     * kept alongside the stats file.
+     *
+     * @param statsPath  the path to the stats file
+     * @param comparator the comparator used to order scores
+     * @param journaled  whether scores are journaled
+     * @see #Scoreboard(String, Comparator, boolean)
+     */
+    public Scoreboard(Path statsPath, Comparator<GameStat> comparator, boolean journaled) {
+        this.statsPath = statsPath;
+        this.primary = this.getIndex(comparator);
+        this.getIndex(new ScoreComparator());
+        this.getIndex(new PlaytimeComparator());
+        this.getIndex(new LevelNameComparator());
+        if (journaled) {
+            this.journal = new StatsJournal(this.statsPath);
+        }
+    }
+
+    /**
+     * Returns the journal scores are appended to, if this scoreboard is journaled.
+     *
+     * @return the journal, or null if scores are only saved by
+     *         {@link #saveStats()}
+     */
+    public StatsJournal getJournal() {
+        return journal;
     }
 
     /**
@@ -33,16 +89,43 @@ public class Scoreboard {
      * @return the comparator
      */
     public Comparator<GameStat> getComparator() {
-        return comparator;
+        return primary.getComparator();
     }
 
     /**
-     * Sets the comparator for this scoreboard.
+     * Sets the comparator for this scoreboard. If the scores are already indexed
+     * by a comparator of the same class, that index is used. Otherwise a new
+     * index is built from the scores, and kept up to date from then on.
      *
      * @param comparator the new comparator
      */
     public void setComparator(Comparator<GameStat> comparator) {
-        this.comparator = comparator;
+        this.primary = this.getIndex(comparator);
+    }
+
+    /**
+     * Returns the index of the scores ordered by the given comparator. Indexes are
+     * matched by the class of their comparator. If there is no such index, one is
+     * built from the scores, which takes O(n log n) time once, and is then updated
+     * whenever a score is added.
+     *
+     * @param comparator the comparator the index is ordered by
+     * @return the index ordered by the comparator
+     */
+    public ScoreIndex getIndex(Comparator<GameStat> comparator) {
+        for (ScoreIndex index : indexes) {
+            if (index.getComparator().getClass() == comparator.getClass()) {
+                return index;
+            }
+        }
+        ScoreIndex index = new ScoreIndex(comparator);
+        if (primary != null) {
+            List<GameStat> scores = new ArrayList<>();
+            primary.forEachInOrder(scores::add);
+            index.addAll(scores);
+        }
+        indexes.add(index);
+        return index;
     }
 
     /**
@@ -51,51 +134,139 @@ public class Scoreboard {
      * @return the root of the score tree
      */
     public BinaryTreeNode<GameStat> getScoreTree() {
-        return scoreTree;
+        return primary.getTree();
     }
 
     /**
-     * Sets the score tree for this scoreboard.
+     * Sets the score tree for this scoreboard. The other indexes are rebuilt from
+     * the scores in the tree.
      *
      * @param scoreTree the new score tree root
      */
     public void setScoreTree(BinaryTreeNode<GameStat> scoreTree) {
-        this.scoreTree = scoreTree;
+        primary.setTree(scoreTree);
+        List<GameStat> scores = new ArrayList<>();
+        primary.forEachInOrder(scores::add);
+        for (ScoreIndex index : indexes) {
+            if (index != primary) {
+                index.setTree(null);
+                index.addAll(scores);
+            }
+        }
     }
 
     /**
-     * Adds a score to the scoreboard tree.
+     * Adds a score to the scoreboard tree, and to every other index. The trees
+     * are kept balanced, so this takes O(log n) time for each index even when
+     * scores are added in order.
+     * <p>
+     * If this scoreboard is journaled, the saved stats are loaded first, and the
+     * score is appended to the journal. Once enough scores have been journaled,
+     * the stats file is compacted in the background from a snapshot of the score
+     * tree, so the scores are not copied here.
      *
      * @param score the GameStat to add
      */
     public void addScore(GameStat score) {
-        scoreTree = addScoreRecursive(scoreTree, score);
+        lastScore = score;
+        if (journal == null) {
+            insertScore(score);
+            return;
+        }
+        loadStats();
+        insertScore(score);
+        journal.append(score);
+        if (journal.needsCompaction()) {
+            BinaryTreeNode<GameStat> scores = primary.snapshot();
+            journal.compact(() -> new BinaryTreeIterator<>(scores));
+        }
+    }
+
+    private void insertScore(GameStat score) {
+        for (ScoreIndex index : indexes) {
+            index.add(score);
+        }
     }
 
     /**
-     * Recursive helper method to add a score to the BST.
+     * Returns the score most recently added with {@link #addScore(GameStat)}.
      *
-     * @param node  the current node
-     * @param score the GameStat to add
-     * @return the updated node
+     * @return the last score added, or null if none has been added
      */
-    private BinaryTreeNode<GameStat> addScoreRecursive(BinaryTreeNode<GameStat> node, GameStat score) {
-        if (node == null) {
-            return new BinaryTreeNode<>(score, null, null);
-        }
+    public GameStat getLastScore() {
+        return lastScore;
+    }
 
-        if (comparator.compare(score, node.getValue())) {
-            node.setLeft(addScoreRecursive(node.getLeft(), score));
-        } else {
-            node.setRight(addScoreRecursive(node.getRight(), score));
-        }
+    /**
+     * Returns the number of scores in the score tree.
+     *
+     * @return the number of scores
+     */
+    public int size() {
+        return primary.size();
+    }
+
+    /**
+     * Returns the position the given score has on the scoreboard, where the best
+     * score is 1. Scores which are equal according to the comparator share the
+     * same position. This takes O(log n) time.
+     *
+     * @param score the score to find the position of
+     * @return the position of the score
+     * @see ScoreIndex#rankOf(GameStat)
+     */
+    public int rankOf(GameStat score) {
+        return primary.rankOf(score);
+    }
 
-        return node;
+    /**
+     * Returns the best scores, in order. This takes O(log n + k) time.
+     *
+     * @param k the maximum number of scores to return
+     * @return the best k scores, or every score if there are fewer
+     * @see ScoreIndex#topK(int)
+     */
+    public List<GameStat> topK(int k) {
+        return primary.topK(k);
+    }
+
+    /**
+     * Returns the scores at the given positions, in order. This takes
+     * O(log n + limit) time.
+     *
+     * @param offset the number of scores to skip, where 0 starts from the best
+     *               score
+     * @param limit  the maximum number of scores to return
+     * @return the scores from the given offset
+     * @see ScoreIndex#page(int, int)
+     */
+    public List<GameStat> page(int offset, int limit) {
+        return primary.page(offset, limit);
+    }
+
+    /**
+     * Returns the number of scores which are ordered between the two given
+     * scores, including scores equal to either one. This takes O(log n) time.
+     *
+     * @param lo the first score in the range
+     * @param hi the last score in the range
+     * @return the number of scores in the range
+     * @see ScoreIndex#countBetween(GameStat, GameStat)
+     */
+    public int countBetween(GameStat lo, GameStat hi) {
+        return primary.countBetween(lo, hi);
     }
 
     /**
      * Loads statistics from the CSV file and populates the BST.
      * Only executes once per scoreboard instance.
+     * <p>
+     * Saved files are written in order, so when the scores read are already
+     * sorted and the tree is empty, the tree is built directly from them in O(n)
+     * time. Otherwise each score is added in turn. The other indexes are each
+     * built from a sorted copy of the scores. If this scoreboard is
+     * journaled, the scores in the journal which are not yet in the CSV file are
+     * then added.
      */
     public void loadStats() {
         if (statsLoaded) {
@@ -103,22 +274,27 @@ public class Scoreboard {
         }
         statsLoaded = true;
 
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get(this.statsPath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length == 3) {
-                    String name = parts[0];
-                    double playtime = Double.parseDouble(parts[1]);
-                    double score = Double.parseDouble(parts[2]);
-                    GameStat stat = new GameStat(name, playtime, score);
-                    addScore(stat);
-                }
-            }
+        List<GameStat> stats = new ArrayList<>();
+        long sequence = 0;
+        try {
+            sequence = StatsJournal.readStats(this.statsPath, stats);
         } catch (IOException e) {
         } catch (NumberFormatException e) {
             System.out.println("Error parsing stats file: " + e.getMessage());
         }
+
+        for (ScoreIndex index : indexes) {
+            index.addAll(stats);
+        }
+
+        if (journal != null) {
+            try {
+                journal.open(sequence, this::insertScore);
+            } catch (IOException e) {
+                System.out.println("** Could not read the stats journal for " + this.statsPath + ": " + e.getMessage()
+                        + " **");
+            }
+        }
     }
 
     /**
@@ -128,7 +304,7 @@ public class Scoreboard {
      * @return the head of the linked list, or null if tree is empty
      */
     public LinkedListNode<GameStat> getScoreList() {
-        return getScoreList(scoreTree);
+        return getScoreList(primary.getTree());
     }
 
     /**
@@ -139,41 +315,72 @@ public class Scoreboard {
      * @return the head of the linked list, or null if tree is empty
      */
     public LinkedListNode<GameStat> getScoreList(BinaryTreeNode<GameStat> tree) {
-        if (tree == null) {
-            return null;
+        // Visit the tree in reverse order, so each node is added to the front of
+        // the list, without recursing to the depth of a tree which may not be
+        // balanced
+        LinkedListNode<GameStat> list = null;
+        Deque<BinaryTreeNode<GameStat>> stack = new ArrayDeque<>();
+        BinaryTreeNode<GameStat> node = tree;
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.push(node);
+                node = node.getRight();
+            }
+            node = stack.pop();
+            list = new LinkedListNode<>(node.getValue(), list);
+            node = node.getLeft();
         }
+        return list;
+    }
 
-        LinkedListNode<GameStat> leftList = getScoreList(tree.getLeft());
-        LinkedListNode<GameStat> rightList = getScoreList(tree.getRight());
-
-        LinkedListNode<GameStat> current = new LinkedListNode<>(tree.getValue(), rightList);
-
-        if (leftList == null) {
-            return current;
-        }
+    /**
+     * Returns an iterator over the scores in the score tree, in order. Scores
+     * are visited as they are needed, so reading the first few scores does not
+     * visit the rest of the tree.
+     *
+     * @return an iterator over the scores
+     */
+    @Override
+    public Iterator<GameStat> iterator() {
+        return primary.iterator();
+    }
 
-        LinkedListNode<GameStat> temp = leftList;
-        while (temp.getNext() != null) {
-            temp = temp.getNext();
+    /**
+     * Performs the given action for each score in the score tree, in order,
+     * without building a list of the scores.
+     *
+     * @param action the action to perform on each score
+     */
+    public void forEachInOrder(Consumer<? super GameStat> action) {
+        for (Iterator<GameStat> scores = this.iterator(); scores.hasNext();) {
+            action.accept(scores.next());
         }
-        temp.setNext(current);
-
-        return leftList;
     }
 
+    /**
+     * Saves the scores. If this scoreboard is journaled, only the scores which
+     * have not yet been written to the journal are written. Otherwise the CSV file
+     * is replaced with every score.
+     */
     public void saveStats() {
         this.loadStats();
-        if (this.scoreTree == null) {
+        if (this.journal != null) {
+            try {
+                this.journal.sync();
+            } catch (IOException e) {
+                System.out.println("** Could not write the stats journal for " + this.statsPath + ": " + e.getMessage()
+                        + " **");
+            }
+            return;
+        }
+        if (this.primary.getTree() == null) {
             return;
         }
         System.out.println("** Saving statistics to " + this.statsPath + " **");
-        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(this.statsPath))) {
-            for (LinkedListNode<GameStat> stats = this.getScoreList(); stats != null; stats = stats.getNext()) {
-                writer.write(stats.getValue().toString() + "\n");
-            }
+        try {
+            StatsJournal.writeStats(this.statsPath, this, 0);
         } catch (IOException e) {
-            System.out.println("** Could not save statistics to " + this.statsPath + " **");
-            e.printStackTrace();
+            System.out.println("** Could not save statistics to " + this.statsPath + ": " + e.getMessage() + " **");
         }
     }
 
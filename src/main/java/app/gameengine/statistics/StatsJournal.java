@@ -0,0 +1,391 @@
+package app.gameengine.statistics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import app.Configuration;
+
+/**
+ * An append-only record of the scores added to a {@link Scoreboard} since its
+ * stats file was last written.
+ * <p>
+ * Each score is given the next sequence number and added to a buffer, which a
+ * background thread writes to the end of the current journal file and forces to
+ * the disk every {@link Configuration#STATS_SYNC_MILLIS} milliseconds. Scores
+ * added together are therefore written with a single sync, and at most that
+ * much time is lost if the game stops without closing the journal. Each record
+ * is a line of the form {@code sequence,name,playtime,score,checksum}, so a
+ * record which was only partly written is detected and dropped when the journal
+ * is read.
+ * <p>
+ * Once {@link Configuration#STATS_COMPACT_RECORDS} records have been journaled,
+ * the stats file is compacted: every score is written to a new stats file, which
+ * replaces the old one, and the journal files it includes are deleted. A new
+ * journal file is started with the next sequence number, and the stats file
+ * records the last sequence number it includes on its first line. Journal files
+ * left behind by a compaction which did not finish are read again, and their
+ * records which are already in the stats file are skipped.
+ *
+ * @see Scoreboard
+ */
+public class StatsJournal implements Closeable {
+
+    private static final String JOURNAL_POSTFIX = ".journal";
+    static final String SEQUENCE_HEADER = "#sequence";
+
+    private final Path statsPath;
+    private final String journalPrefix;
+    private final ScheduledExecutorService executor;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final TreeMap<Long, Path> journals = new TreeMap<>();
+    private FileChannel channel;
+    private long nextSequence = 1;
+    private long bufferStart;
+    private long records;
+    private boolean compacting;
+    private boolean closed;
+
+    /**
+     * Constructs a journal for the given stats file. Nothing is read or written
+     * until the journal is opened.
+     *
+     * @param statsPath the path to the stats file
+     */
+    public StatsJournal(Path statsPath) {
+        this.statsPath = statsPath;
+        String name = statsPath.getFileName().toString();
+        this.journalPrefix = name.substring(0, name.lastIndexOf('.') < 0 ? name.length() : name.lastIndexOf('.')) + ".";
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Stats journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Reads every journal file for the stats file, passing each score which is
+     * not already in the stats file to the given action in the order the scores
+     * were added. The end of the last journal file is cut off after its last
+     * complete record, and new scores are appended to it.
+     *
+     * @param statsSequence the last sequence number included in the stats file
+     * @param action        the action to perform on each score read
+     * @return the number of scores read
+     * @throws IOException if a journal file cannot be read
+     */
+    public synchronized long open(long statsSequence, Consumer<GameStat> action) throws IOException {
+        Path directory = this.statsPath.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                this.journalPrefix + "*" + JOURNAL_POSTFIX)) {
+            for (Path file : files) {
+                try {
+                    this.journals.put(this.sequenceOf(file), file);
+                } catch (NumberFormatException e) {
+                }
+            }
+        }
+
+        this.nextSequence = statsSequence + 1;
+        long read = 0;
+        int valid = 0;
+        for (Path file : this.journals.values()) {
+            byte[] bytes = Files.readAllBytes(file);
+            valid = 0;
+            for (int end = indexOf(bytes, 0); end >= 0; end = indexOf(bytes, valid)) {
+                String line = new String(bytes, valid, end - valid, StandardCharsets.UTF_8);
+                long sequence = parseSequence(line);
+                if (sequence < 0) {
+                    break;
+                }
+                valid = end + 1;
+                this.records++;
+                if (sequence >= this.nextSequence) {
+                    String[] parts = line.split(",");
+                    action.accept(new GameStat(parts[1], Double.parseDouble(parts[2]), Double.parseDouble(parts[3])));
+                    this.nextSequence = sequence + 1;
+                    read++;
+                }
+            }
+            if (valid < bytes.length) {
+                System.out.println("** Ignoring " + (bytes.length - valid) + " damaged bytes at the end of " + file + " **");
+            }
+        }
+        if (!this.journals.isEmpty()) {
+            this.channel = FileChannel.open(this.journals.lastEntry().getValue(), StandardOpenOption.WRITE);
+            this.channel.truncate(valid);
+            this.channel.position(valid);
+        }
+
+        long interval = Configuration.STATS_SYNC_MILLIS;
+        this.executor.scheduleWithFixedDelay(this::syncQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        return read;
+    }
+
+    /**
+     * Adds a score to the end of the journal. The score is written by the next
+     * sync.
+     *
+     * @param stat the score to add
+     */
+    public synchronized void append(GameStat stat) {
+        if (this.closed) {
+            return;
+        }
+        if (this.buffer.size() == 0) {
+            this.bufferStart = this.nextSequence;
+        }
+        String record = this.nextSequence++ + "," + stat.toString();
+        byte[] line = (record + "," + checksum(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        this.buffer.write(line, 0, line.length);
+        this.records++;
+    }
+
+    /**
+     * Writes the scores added since the last sync to the current journal file, and
+     * forces them to the disk.
+     *
+     * @throws IOException if the journal cannot be written
+     */
+    public synchronized void sync() throws IOException {
+        if (this.buffer.size() == 0) {
+            return;
+        }
+        this.write();
+        this.channel.force(false);
+    }
+
+    /**
+     * Writes the scores added since the last sync to the current journal file,
+     * starting a new file if there is none, without forcing them to the disk.
+     */
+    private void write() throws IOException {
+        if (this.buffer.size() == 0) {
+            return;
+        }
+        if (this.channel == null) {
+            Path file = this.statsPath.resolveSibling(this.journalPrefix + this.bufferStart + JOURNAL_POSTFIX);
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            this.journals.put(this.bufferStart, file);
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(this.buffer.toByteArray());
+        while (bytes.hasRemaining()) {
+            this.channel.write(bytes);
+        }
+        this.buffer.reset();
+    }
+
+    private void syncQuietly() {
+        try {
+            this.sync();
+        } catch (IOException e) {
+            System.out.println("** Could not write the stats journal: " + e.getMessage() + " **");
+        }
+    }
+
+    /**
+     * Returns whether enough records have been journaled since the stats file was
+     * last written that it should be compacted.
+     *
+     * @return true if the stats file should be compacted
+     */
+    public synchronized boolean needsCompaction() {
+        return !this.compacting && !this.closed && this.records >= Configuration.STATS_COMPACT_RECORDS;
+    }
+
+    /**
+     * Replaces the stats file with one containing the given scores, which must be
+     * every score journaled so far, in order, and must not change afterwards. The
+     * scores not yet synced are written to the current journal file, and new
+     * scores are journaled to a new file. The old journal file is then forced to
+     * the disk and the stats file written in the background, after which the
+     * journal files it includes are deleted.
+     *
+     * @param scores every score, in order
+     */
+    public synchronized void compact(Iterable<GameStat> scores) {
+        if (this.compacting || this.closed) {
+            return;
+        }
+        long sequence = this.nextSequence - 1;
+        try {
+            this.write();
+        } catch (IOException e) {
+            System.out.println("** Could not write the stats journal: " + e.getMessage() + " **");
+            return;
+        }
+        FileChannel journal = this.channel;
+        this.channel = null;
+        List<Path> included = new ArrayList<>(this.journals.values());
+        this.journals.clear();
+        this.records = 0;
+        this.compacting = true;
+        this.executor.execute(() -> {
+            try {
+                try (FileChannel file = journal) {
+                    if (file != null) {
+                        file.force(false);
+                    }
+                }
+                writeStats(this.statsPath, scores, sequence);
+                for (Path file : included) {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException e) {
+                System.out.println("** Could not compact statistics to " + this.statsPath + ": " + e.getMessage() + " **");
+                synchronized (this) {
+                    for (Path file : included) {
+                        this.journals.put(sequenceOf(file), file);
+                    }
+                }
+            }
+            synchronized (this) {
+                this.compacting = false;
+            }
+        });
+    }
+
+    private long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(this.journalPrefix.length(), name.length() - JOURNAL_POSTFIX.length()));
+    }
+
+    /**
+     * Writes any scores which have not been synced, waits for a compaction in
+     * progress to finish, and closes the journal. Scores appended afterwards are
+     * ignored.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.syncQuietly();
+            this.closed = true;
+        }
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            try {
+                if (this.channel != null) {
+                    this.channel.close();
+                    this.channel = null;
+                }
+            } catch (IOException e) {
+            }
+        }
+    }
+
+    /**
+     * Writes the given scores to a stats file, replacing it only once the new file
+     * is complete.
+     *
+     * @param statsPath the path to the stats file
+     * @param scores    the scores, in order
+     * @param sequence  the last journal sequence number included in the scores, or
+     *                  0 if the scores are not journaled
+     * @throws IOException if the file cannot be written
+     */
+    static void writeStats(Path statsPath, Iterable<GameStat> scores, long sequence) throws IOException {
+        Path temporary = statsPath.resolveSibling(statsPath.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporary)) {
+            if (sequence > 0) {
+                writer.write(SEQUENCE_HEADER + "," + sequence + "\n");
+            }
+            for (GameStat stat : scores) {
+                writer.write(stat.toString() + "\n");
+            }
+        }
+        try (FileChannel file = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            file.force(true);
+        }
+        Files.move(temporary, statsPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the scores from a stats file.
+     *
+     * @param statsPath the path to the stats file
+     * @param scores    the list to add the scores to, in the order they are read
+     * @return the last journal sequence number included in the file, or 0 if none
+     * @throws IOException if the file cannot be read
+     */
+    static long readStats(Path statsPath, List<GameStat> scores) throws IOException {
+        long sequence = 0;
+        try (BufferedReader reader = Files.newBufferedReader(statsPath)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                if (parts.length == 3) {
+                    String name = parts[0];
+                    double playtime = Double.parseDouble(parts[1]);
+                    double score = Double.parseDouble(parts[2]);
+                    scores.add(new GameStat(name, playtime, score));
+                } else if (parts.length == 2 && parts[0].equals(SEQUENCE_HEADER)) {
+                    sequence = Long.parseLong(parts[1]);
+                }
+            }
+        }
+        return sequence;
+    }
+
+    private static int indexOf(byte[] bytes, int start) {
+        for (int i = start; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the sequence number of a journal record, or -1 if the record is
+     * damaged.
+     */
+    private static long parseSequence(String line) {
+        int split = line.lastIndexOf(',');
+        String[] parts = line.split(",");
+        if (split < 0 || parts.length != 5 || !line.substring(split + 1).equals(checksum(line.substring(0, split)))) {
+            return -1;
+        }
+        try {
+            Double.parseDouble(parts[2]);
+            Double.parseDouble(parts[3]);
+            return Long.parseLong(parts[0]);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String checksum(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+}
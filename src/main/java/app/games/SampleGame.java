@@ -30,7 +30,8 @@ public class SampleGame extends Game {
 
     @Override
     public void advanceLevel() {
-        this.loadLevel(LevelParser.parseLevel(this, "sample/sample" + level + ".csv"));
+        String path = "sample/sample" + level + ".csv";
+        this.loadLevelAsync(() -> LevelParser.parseLevel(this, path), this::loadLevel);
         level++;
     }
 
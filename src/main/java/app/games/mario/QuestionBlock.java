@@ -1,13 +1,21 @@
 package app.games.mario;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 
 import app.display.common.SpriteLocation;
+import app.gameengine.model.gameobjects.DynamicGameObject;
+import app.gameengine.model.gameobjects.Persistent;
 import app.games.platformerobjects.PlatformerWall;
 
-public class QuestionBlock extends PlatformerWall {
+public class QuestionBlock extends PlatformerWall implements Persistent {
+
+    private final ArrayList<SpriteLocation> usedAnimation = new ArrayList<>(Arrays.asList(new SpriteLocation(8, 7)));
+    private boolean used;
 
     public QuestionBlock(double x, double y) {
         super(x, y);
@@ -28,4 +36,55 @@ public class QuestionBlock extends PlatformerWall {
                 new SpriteLocation(7, 7))));
     }
 
+    /**
+     * Returns whether this block has been hit from below by the player.
+     * 
+     * @return {@code true} if this block has been used
+     */
+    public boolean isUsed() {
+        return this.used;
+    }
+
+    /**
+     * Sets whether this block has been used, which changes it to an empty block.
+     * 
+     * @param used whether this block has been used
+     */
+    public void setUsed(boolean used) {
+        this.used = used;
+    }
+
+    @Override
+    public ArrayList<SpriteLocation> getAnimations() {
+        return this.used ? this.usedAnimation : super.getAnimations();
+    }
+
+    @Override
+    public void collideWithDynamicObject(DynamicGameObject other) {
+        double center = other.getHitbox().getLocation().getX() + other.getHitbox().getDimensions().getX() / 2;
+        boolean hitFromBelow = other.isPlayer() && other.getVelocity().getY() < 0
+                && other.getHitbox().getLocation().getY() > this.getHitbox().getLocation().getY()
+                && center > this.getLocation().getX() && center < this.getLocation().getX() + 1;
+        super.collideWithDynamicObject(other);
+        if (hitFromBelow) {
+            this.used = true;
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.used = false;
+    }
+
+    @Override
+    public void saveState(DataOutput out) throws IOException {
+        out.writeBoolean(this.used);
+    }
+
+    @Override
+    public void loadState(DataInput in) throws IOException {
+        this.used = in.readBoolean();
+    }
+
 }
@@ -6,6 +6,7 @@ import app.gameengine.model.gameobjects.StaticGameObject;
 public class CoverTile extends StaticGameObject {
 
     private TileState state = TileState.COVER;
+    private MinesweeperLevel level;
 
     public enum TileState {
         COVER, INVISIBLE, FLAGGED, FLAGGEDWRONG, QUESTION
@@ -17,6 +18,11 @@ public class CoverTile extends StaticGameObject {
         this.defaultSpriteLocation = new SpriteLocation(0, 1);
     }
 
+    public CoverTile(double x, double y, MinesweeperLevel level) {
+        this(x, y);
+        this.level = level;
+    }
+
     public TileState getTileState() {
         return this.state;
     }
@@ -49,6 +55,9 @@ public class CoverTile extends StaticGameObject {
                 this.defaultSpriteLocation.setRow(1);
                 break;
         }
+        if (this.level != null) {
+            this.level.markDirty(this.getLocation());
+        }
     }
 
 }
@@ -1,10 +1,14 @@
 package app.games.minesweeper;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 
 import app.display.common.Background;
+import app.display.common.StaticLayer;
 import app.display.common.controller.KeyboardControls;
+import app.display.minesweeper.MinesweeperBoard;
 import app.display.minesweeper.MinesweeperGame;
 import app.gameengine.Level;
 import app.gameengine.model.gameobjects.StaticGameObject;
@@ -20,6 +24,11 @@ public class MinesweeperLevel extends Level {
     private HashMap<Vector2D, CoverTile> hiddenTiles = new HashMap<>();
     private HashMap<Vector2D, Bomb> bombs = new HashMap<>();
     private HashMap<Vector2D, Integer> counts = new HashMap<>();
+    private ArrayList<StaticGameObject> allStaticObjects = new ArrayList<>();
+    private boolean staticObjectsChanged = true;
+    private BitSet dirtyCells = new BitSet();
+    private MinesweeperBoard.Cell[] changedCells;
+    private MinesweeperBoard board;
     private int numBombs;
     private int flags;
     private GameState gameState = GameState.PLAYING;
@@ -122,6 +131,14 @@ public class MinesweeperLevel extends Level {
         return this.hiddenTiles;
     }
 
+    public Bomb getBomb(Vector2D location) {
+        return this.bombs.get(location);
+    }
+
+    public int getCount(Vector2D location) {
+        return this.counts.getOrDefault(location, 0);
+    }
+
     public GameState getState() {
         return this.gameState;
     }
@@ -157,9 +174,18 @@ public class MinesweeperLevel extends Level {
 
         for (int i = 0; i < this.getWidth(); i++) {
             for (int j = 0; j < this.getHeight(); j++) {
-                this.hiddenTiles.put(new Vector2D(i, j), new CoverTile(i, j));
+                this.hiddenTiles.put(new Vector2D(i, j), new CoverTile(i, j, this));
             }
         }
+        this.staticObjectsChanged = true;
+        MinesweeperBoard.Cell[] cells = new MinesweeperBoard.Cell[this.getWidth() * this.getHeight()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new MinesweeperBoard.Cell(this, new Vector2D(i % this.getWidth(), i / this.getWidth()));
+        }
+        synchronized (this.dirtyCells) {
+            this.changedCells = cells;
+            this.dirtyCells.set(0, cells.length);
+        }
     }
 
     @Override
@@ -180,22 +206,99 @@ public class MinesweeperLevel extends Level {
         this.init();
     }
 
+    /**
+     * Returns all static objects in the level, including the tiles which are still
+     * covered. The list is only rebuilt when tiles are uncovered or the level is
+     * reset, so it should not be modified.
+     *
+     * @return a list of static objects
+     */
     @Override
     public ArrayList<StaticGameObject> getStaticObjects() {
-        ArrayList<StaticGameObject> objs = new ArrayList<>(super.getStaticObjects());
-        objs.addAll(this.hiddenTiles.values());
-        return objs;
+        if (this.staticObjectsChanged) {
+            this.allStaticObjects = new ArrayList<>(super.getStaticObjects());
+            this.allStaticObjects.addAll(this.hiddenTiles.values());
+            this.staticObjectsChanged = false;
+        }
+        return this.allStaticObjects;
     }
 
-    private void uncoverTiles(Vector2D location) {
-        if (this.hiddenTiles.get(location).isFlagged()) {
-            this.flags++;
+    /**
+     * Draws the board as a single image, which is only redrawn where cells have
+     * changed.
+     */
+    @Override
+    public StaticLayer getStaticLayer() {
+        if (this.board == null) {
+            this.board = new MinesweeperBoard(this);
         }
+        return this.board;
+    }
+
+    /**
+     * Marks the cell at the given location as changed, so that it will be redrawn,
+     * and records how it now looks. This must be called after the cell is changed.
+     *
+     * @param location the location of the cell
+     */
+    public void markDirty(Vector2D location) {
+        int x = (int) location.getX();
+        int y = (int) location.getY();
+        if (x >= 0 && y >= 0 && x < this.getWidth() && y < this.getHeight()) {
+            MinesweeperBoard.Cell cell = new MinesweeperBoard.Cell(this, location);
+            synchronized (this.dirtyCells) {
+                this.dirtyCells.set(y * this.getWidth() + x);
+                this.changedCells[y * this.getWidth() + x] = cell;
+            }
+        }
+    }
+
+    /**
+     * Adds the indices of all cells which have changed since the last call to the
+     * given set, copies how each of those cells looked when it last changed into
+     * the given array, and then marks every cell as unchanged. The index of the
+     * cell at {@code (x, y)} is {@code y * getWidth() + x}.
+     *
+     * @param cells  the set to add the changed cells to
+     * @param states the array to copy the changed cells to, with one entry for each
+     *               cell of the board
+     */
+    public void takeDirtyCells(BitSet cells, MinesweeperBoard.Cell[] states) {
+        synchronized (this.dirtyCells) {
+            for (int i = this.dirtyCells.nextSetBit(0); i >= 0; i = this.dirtyCells.nextSetBit(i + 1)) {
+                states[i] = this.changedCells[i];
+                this.changedCells[i] = null;
+            }
+            cells.or(this.dirtyCells);
+            this.dirtyCells.clear();
+        }
+    }
+
+    private void removeHiddenTile(Vector2D location) {
         this.hiddenTiles.remove(location);
-        if (!counts.containsKey(location)) {
-            for (Vector2D neighbor : getAdjacentVectors(location)) {
-                if (this.hiddenTiles.containsKey(neighbor)) {
-                    this.uncoverTiles(neighbor);
+        this.staticObjectsChanged = true;
+        this.markDirty(location);
+    }
+
+    private void uncoverTiles(Vector2D start) {
+        // Iterative, as large empty regions would overflow the stack if recursive
+        ArrayDeque<Vector2D> toUncover = new ArrayDeque<>();
+        toUncover.push(start);
+        while (!toUncover.isEmpty()) {
+            Vector2D location = toUncover.pop();
+            CoverTile tile = this.hiddenTiles.get(location);
+            if (tile == null) {
+                continue;
+            }
+            if (tile.isFlagged()) {
+                this.flags++;
+            }
+            this.removeHiddenTile(location);
+            if (!counts.containsKey(location)) {
+                for (Vector2D neighbor : getAdjacentVectors(location)) {
+                    if (this.hiddenTiles.containsKey(neighbor)) {
+                        toUncover.push(neighbor);
+                    }
                 }
             }
         }
@@ -209,10 +312,11 @@ public class MinesweeperLevel extends Level {
         // Lose
         if (bombs.containsKey(location)) {
             bombs.get(location).detonate();
+            this.markDirty(location);
             this.setState(GameState.LOSE);
             for (Vector2D bombLoc : this.bombs.keySet()) {
                 if (this.hiddenTiles.containsKey(bombLoc) && !this.hiddenTiles.get(bombLoc).isFlagged()) {
-                    this.hiddenTiles.remove(bombLoc);
+                    this.removeHiddenTile(bombLoc);
                 }
             }
             for (Vector2D tileLoc : this.hiddenTiles.keySet()) {
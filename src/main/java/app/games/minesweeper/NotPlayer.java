@@ -13,8 +13,8 @@ public class NotPlayer extends Player {
     }
 
     @Override
-    public void showHitbox() {
-
+    public boolean showsHitbox() {
+        return false;
     }
 
 }
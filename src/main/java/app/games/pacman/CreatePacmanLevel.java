@@ -1,15 +1,25 @@
 package app.games.pacman;
 
+import java.io.IOException;
+
+import app.gameengine.LevelParseException;
+
 /**
- * Static class used to create the default pacman level.
+ * Static class used to create pacman levels from their mazes.
  * <p>
  * This is done in order to avoid complicated behavior that would come with
  * using the level parser to create pacman levels. Also, pacman levels have
  * strict criteria for what is "correct", so many levels read by the parser
- * wouldn't work correctly anyway.
+ * wouldn't work correctly anyway. Instead, each level is drawn as a
+ * {@link PacmanMaze}.
  */
 public class CreatePacmanLevel {
 
+    /**
+     * The path within the levels directory to the default pacman maze.
+     */
+    public static final String DEFAULT_MAZE = "pacman/Pacman.txt";
+
     /**
      * Prevent instantiation, as this class is intended to be static.
      */
@@ -18,819 +28,31 @@ public class CreatePacmanLevel {
 
     /**
      * Create the default pacman level.
-     * 
+     *
      * @param game the game this level is part of
-     * @return the pacman level
+     * @return the pacman level, or {@code null} if its maze cannot be read
      */
     public static PacmanLevel createLevel(PacmanGame game) {
-        PacmanLevel level = new PacmanLevel(game, 28, 31, "Pacman");
-        level.setPlayerStartLocation(13.5, 23);
-        GhostHouse ghostHouse = new GhostHouse(13.5, 14, game);
-        level.setGhostHouse(ghostHouse);
-        level.getStaticObjects().add(ghostHouse);
-
-        level.getStaticObjects().add(new PacmanWall(0, 0, "UpperLeftOuter"));
-        level.getStaticObjects().add(new PacmanWall(1, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(2, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(3, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(4, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(5, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(6, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(7, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(8, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(9, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(10, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(11, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(12, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(13, 0, "UpperLeftFork"));
-        level.getStaticObjects().add(new PacmanWall(14, 0, "UpperRightFork"));
-        level.getStaticObjects().add(new PacmanWall(15, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(16, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(17, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(18, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(19, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(20, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(21, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(22, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(23, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(24, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(25, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(26, 0, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(27, 0, "UpperRightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 1, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(1, 1, game));
-        level.getStaticObjects().add(new Pellet(2, 1, game));
-        level.getStaticObjects().add(new Pellet(3, 1, game));
-        level.getStaticObjects().add(new Pellet(4, 1, game));
-        level.getStaticObjects().add(new Pellet(5, 1, game));
-        level.getStaticObjects().add(new Pellet(6, 1, game));
-        level.getStaticObjects().add(new Pellet(7, 1, game));
-        level.getStaticObjects().add(new Pellet(8, 1, game));
-        level.getStaticObjects().add(new Pellet(9, 1, game));
-        level.getStaticObjects().add(new Pellet(10, 1, game));
-        level.getStaticObjects().add(new Pellet(11, 1, game));
-        level.getStaticObjects().add(new Pellet(12, 1, game));
-        level.getStaticObjects().add(new PacmanWall(13, 1, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(14, 1, "RightInner"));
-        level.getStaticObjects().add(new Pellet(15, 1, game));
-        level.getStaticObjects().add(new Pellet(16, 1, game));
-        level.getStaticObjects().add(new Pellet(17, 1, game));
-        level.getStaticObjects().add(new Pellet(18, 1, game));
-        level.getStaticObjects().add(new Pellet(19, 1, game));
-        level.getStaticObjects().add(new Pellet(20, 1, game));
-        level.getStaticObjects().add(new Pellet(21, 1, game));
-        level.getStaticObjects().add(new Pellet(22, 1, game));
-        level.getStaticObjects().add(new Pellet(23, 1, game));
-        level.getStaticObjects().add(new Pellet(24, 1, game));
-        level.getStaticObjects().add(new Pellet(25, 1, game));
-        level.getStaticObjects().add(new Pellet(26, 1, game));
-        level.getStaticObjects().add(new PacmanWall(27, 1, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 2, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(1, 2, game));
-        level.getStaticObjects().add(new PacmanWall(2, 2, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(3, 2, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(4, 2, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(5, 2, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(6, 2, game));
-        level.getStaticObjects().add(new PacmanWall(7, 2, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 2, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(9, 2, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(10, 2, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(11, 2, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(12, 2, game));
-        level.getStaticObjects().add(new PacmanWall(13, 2, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(14, 2, "RightInner"));
-        level.getStaticObjects().add(new Pellet(15, 2, game));
-        level.getStaticObjects().add(new PacmanWall(16, 2, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(17, 2, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(18, 2, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(19, 2, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 2, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(21, 2, game));
-        level.getStaticObjects().add(new PacmanWall(22, 2, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(23, 2, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(24, 2, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(25, 2, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(26, 2, game));
-        level.getStaticObjects().add(new PacmanWall(27, 2, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 3, "LeftOuter"));
-        level.getStaticObjects().add(new PowerPellet(1, 3, game));
-        level.getStaticObjects().add(new PacmanWall(2, 3, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(3, 3, "Inner"));
-        level.getStaticObjects().add(new PacmanWall(4, 3, "Inner"));
-        level.getStaticObjects().add(new PacmanWall(5, 3, "RightInner"));
-        level.getStaticObjects().add(new Pellet(6, 3, game));
-        level.getStaticObjects().add(new PacmanWall(7, 3, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 3, "Inner"));
-        level.getStaticObjects().add(new PacmanWall(9, 3, "Inner"));
-        level.getStaticObjects().add(new PacmanWall(10, 3, "Inner"));
-        level.getStaticObjects().add(new PacmanWall(11, 3, "RightInner"));
-        level.getStaticObjects().add(new Pellet(12, 3, game));
-        level.getStaticObjects().add(new PacmanWall(13, 3, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(14, 3, "RightInner"));
-        level.getStaticObjects().add(new Pellet(15, 3, game));
-        level.getStaticObjects().add(new PacmanWall(16, 3, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(17, 3, "Inner"));
-        level.getStaticObjects().add(new PacmanWall(18, 3, "Inner"));
-        level.getStaticObjects().add(new PacmanWall(19, 3, "Inner"));
-        level.getStaticObjects().add(new PacmanWall(20, 3, "RightInner"));
-        level.getStaticObjects().add(new Pellet(21, 3, game));
-        level.getStaticObjects().add(new PacmanWall(22, 3, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(23, 3, "Inner"));
-        level.getStaticObjects().add(new PacmanWall(24, 3, "Inner"));
-        level.getStaticObjects().add(new PacmanWall(25, 3, "RightInner"));
-        level.getStaticObjects().add(new PowerPellet(26, 3, game));
-        level.getStaticObjects().add(new PacmanWall(27, 3, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 4, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(1, 4, game));
-        level.getStaticObjects().add(new PacmanWall(2, 4, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(3, 4, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(4, 4, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(5, 4, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(6, 4, game));
-        level.getStaticObjects().add(new PacmanWall(7, 4, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 4, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(9, 4, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(10, 4, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(11, 4, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(12, 4, game));
-        level.getStaticObjects().add(new PacmanWall(13, 4, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(14, 4, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(15, 4, game));
-        level.getStaticObjects().add(new PacmanWall(16, 4, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(17, 4, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(18, 4, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(19, 4, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 4, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(21, 4, game));
-        level.getStaticObjects().add(new PacmanWall(22, 4, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(23, 4, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(24, 4, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(25, 4, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(26, 4, game));
-        level.getStaticObjects().add(new PacmanWall(27, 4, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 5, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(1, 5, game));
-        level.getStaticObjects().add(new Pellet(2, 5, game));
-        level.getStaticObjects().add(new Pellet(3, 5, game));
-        level.getStaticObjects().add(new Pellet(4, 5, game));
-        level.getStaticObjects().add(new Pellet(5, 5, game));
-        level.getStaticObjects().add(new Pellet(6, 5, game));
-        level.getStaticObjects().add(new Pellet(7, 5, game));
-        level.getStaticObjects().add(new Pellet(8, 5, game));
-        level.getStaticObjects().add(new Pellet(9, 5, game));
-        level.getStaticObjects().add(new Pellet(10, 5, game));
-        level.getStaticObjects().add(new Pellet(11, 5, game));
-        level.getStaticObjects().add(new Pellet(12, 5, game));
-        level.getStaticObjects().add(new Pellet(13, 5, game));
-        level.getStaticObjects().add(new Pellet(14, 5, game));
-        level.getStaticObjects().add(new Pellet(15, 5, game));
-        level.getStaticObjects().add(new Pellet(16, 5, game));
-        level.getStaticObjects().add(new Pellet(17, 5, game));
-        level.getStaticObjects().add(new Pellet(18, 5, game));
-        level.getStaticObjects().add(new Pellet(19, 5, game));
-        level.getStaticObjects().add(new Pellet(20, 5, game));
-        level.getStaticObjects().add(new Pellet(21, 5, game));
-        level.getStaticObjects().add(new Pellet(22, 5, game));
-        level.getStaticObjects().add(new Pellet(23, 5, game));
-        level.getStaticObjects().add(new Pellet(24, 5, game));
-        level.getStaticObjects().add(new Pellet(25, 5, game));
-        level.getStaticObjects().add(new Pellet(26, 5, game));
-        level.getStaticObjects().add(new PacmanWall(27, 5, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 6, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(1, 6, game));
-        level.getStaticObjects().add(new PacmanWall(2, 6, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(3, 6, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(4, 6, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(5, 6, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(6, 6, game));
-        level.getStaticObjects().add(new PacmanWall(7, 6, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 6, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(9, 6, game));
-        level.getStaticObjects().add(new PacmanWall(10, 6, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(11, 6, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(12, 6, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(13, 6, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(14, 6, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(15, 6, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(16, 6, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(17, 6, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(18, 6, game));
-        level.getStaticObjects().add(new PacmanWall(19, 6, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 6, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(21, 6, game));
-        level.getStaticObjects().add(new PacmanWall(22, 6, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(23, 6, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(24, 6, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(25, 6, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(26, 6, game));
-        level.getStaticObjects().add(new PacmanWall(27, 6, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 7, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(1, 7, game));
-        level.getStaticObjects().add(new PacmanWall(2, 7, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(3, 7, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(4, 7, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(5, 7, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(6, 7, game));
-        level.getStaticObjects().add(new PacmanWall(7, 7, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 7, "RightInner"));
-        level.getStaticObjects().add(new Pellet(9, 7, game));
-        level.getStaticObjects().add(new PacmanWall(10, 7, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(11, 7, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(12, 7, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(13, 7, "UpperRightCorner"));
-        level.getStaticObjects().add(new PacmanWall(14, 7, "UpperLeftCorner"));
-        level.getStaticObjects().add(new PacmanWall(15, 7, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(16, 7, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(17, 7, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(18, 7, game));
-        level.getStaticObjects().add(new PacmanWall(19, 7, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 7, "RightInner"));
-        level.getStaticObjects().add(new Pellet(21, 7, game));
-        level.getStaticObjects().add(new PacmanWall(22, 7, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(23, 7, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(24, 7, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(25, 7, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(26, 7, game));
-        level.getStaticObjects().add(new PacmanWall(27, 7, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 8, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(1, 8, game));
-        level.getStaticObjects().add(new Pellet(2, 8, game));
-        level.getStaticObjects().add(new Pellet(3, 8, game));
-        level.getStaticObjects().add(new Pellet(4, 8, game));
-        level.getStaticObjects().add(new Pellet(5, 8, game));
-        level.getStaticObjects().add(new Pellet(6, 8, game));
-        level.getStaticObjects().add(new PacmanWall(7, 8, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 8, "RightInner"));
-        level.getStaticObjects().add(new Pellet(9, 8, game));
-        level.getStaticObjects().add(new Pellet(10, 8, game));
-        level.getStaticObjects().add(new Pellet(11, 8, game));
-        level.getStaticObjects().add(new Pellet(12, 8, game));
-        level.getStaticObjects().add(new PacmanWall(13, 8, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(14, 8, "RightInner"));
-        level.getStaticObjects().add(new Pellet(15, 8, game));
-        level.getStaticObjects().add(new Pellet(16, 8, game));
-        level.getStaticObjects().add(new Pellet(17, 8, game));
-        level.getStaticObjects().add(new Pellet(18, 8, game));
-        level.getStaticObjects().add(new PacmanWall(19, 8, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 8, "RightInner"));
-        level.getStaticObjects().add(new Pellet(21, 8, game));
-        level.getStaticObjects().add(new Pellet(22, 8, game));
-        level.getStaticObjects().add(new Pellet(23, 8, game));
-        level.getStaticObjects().add(new Pellet(24, 8, game));
-        level.getStaticObjects().add(new Pellet(25, 8, game));
-        level.getStaticObjects().add(new Pellet(26, 8, game));
-        level.getStaticObjects().add(new PacmanWall(27, 8, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 9, "LowerLeftOuter"));
-        level.getStaticObjects().add(new PacmanWall(1, 9, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(2, 9, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(3, 9, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(4, 9, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(5, 9, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(6, 9, game));
-        level.getStaticObjects().add(new PacmanWall(7, 9, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 9, "LowerLeftCorner"));
-        level.getStaticObjects().add(new PacmanWall(9, 9, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(10, 9, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(11, 9, "UpperRightInner"));
-        level.getStaticObjects().add(new PacmanWall(13, 9, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(14, 9, "RightInner"));
-        level.getStaticObjects().add(new PacmanWall(16, 9, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(17, 9, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(18, 9, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(19, 9, "LowerRightCorner"));
-        level.getStaticObjects().add(new PacmanWall(20, 9, "RightInner"));
-        level.getStaticObjects().add(new Pellet(21, 9, game));
-        level.getStaticObjects().add(new PacmanWall(22, 9, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(23, 9, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(24, 9, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(25, 9, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(26, 9, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(27, 9, "LowerRightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 10, "Inner"));
-        level.getStaticObjects().add(new PacmanWall(1, 10, "Inner"));
-        level.getStaticObjects().add(new PacmanWall(2, 10, "Inner"));
-        level.getStaticObjects().add(new PacmanWall(3, 10, "Inner"));
-        level.getStaticObjects().add(new PacmanWall(4, 10, "Inner"));
-        level.getStaticObjects().add(new PacmanWall(5, 10, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(6, 10, game));
-        level.getStaticObjects().add(new PacmanWall(7, 10, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 10, "UpperLeftCorner"));
-        level.getStaticObjects().add(new PacmanWall(9, 10, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(10, 10, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(11, 10, "LowerRightInner"));
-        level.getStaticObjects().add(new PacmanWall(13, 10, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(14, 10, "LowerRightInner"));
-        level.getStaticObjects().add(new PacmanWall(16, 10, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(17, 10, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(18, 10, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(19, 10, "UpperRightCorner"));
-        level.getStaticObjects().add(new PacmanWall(20, 10, "RightInner"));
-        level.getStaticObjects().add(new Pellet(21, 10, game));
-        level.getStaticObjects().add(new PacmanWall(22, 10, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(23, 10, "I"));
-        level.getStaticObjects().add(new PacmanWall(24, 10, "I"));
-        level.getStaticObjects().add(new PacmanWall(25, 10, "I"));
-        level.getStaticObjects().add(new PacmanWall(26, 10, "I"));
-        level.getStaticObjects().add(new PacmanWall(27, 10, "I"));
-        level.getStaticObjects().add(new PacmanWall(0, 11, "I"));
-        level.getStaticObjects().add(new PacmanWall(1, 11, "I"));
-        level.getStaticObjects().add(new PacmanWall(2, 11, "I"));
-        level.getStaticObjects().add(new PacmanWall(3, 11, "I"));
-        level.getStaticObjects().add(new PacmanWall(4, 11, "I"));
-        level.getStaticObjects().add(new PacmanWall(5, 11, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(6, 11, game));
-        level.getStaticObjects().add(new PacmanWall(7, 11, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 11, "RightInner"));
-        level.getStaticObjects().add(new PacmanWall(19, 11, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 11, "RightInner"));
-        level.getStaticObjects().add(new Pellet(21, 11, game));
-        level.getStaticObjects().add(new PacmanWall(22, 11, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(23, 11, "I"));
-        level.getStaticObjects().add(new PacmanWall(24, 11, "I"));
-        level.getStaticObjects().add(new PacmanWall(25, 11, "I"));
-        level.getStaticObjects().add(new PacmanWall(26, 11, "I"));
-        level.getStaticObjects().add(new PacmanWall(27, 11, "I"));
-        level.getStaticObjects().add(new PacmanWall(0, 12, "I"));
-        level.getStaticObjects().add(new PacmanWall(1, 12, "I"));
-        level.getStaticObjects().add(new PacmanWall(2, 12, "I"));
-        level.getStaticObjects().add(new PacmanWall(3, 12, "I"));
-        level.getStaticObjects().add(new PacmanWall(4, 12, "I"));
-        level.getStaticObjects().add(new PacmanWall(5, 12, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(6, 12, game));
-        level.getStaticObjects().add(new PacmanWall(7, 12, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 12, "RightInner"));
-        level.getStaticObjects().add(new PacmanWall(10, 12, "UpperLeftSharp"));
-        level.getStaticObjects().add(new PacmanWall(11, 12, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(12, 12, "LowerOuter"));
-        level.getStaticObjects().add(new GhostGate(13, 12));
-        level.getStaticObjects().add(new GhostGate(14, 12));
-        level.getStaticObjects().add(new PacmanWall(15, 12, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(16, 12, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(17, 12, "UpperRightSharp"));
-        level.getStaticObjects().add(new PacmanWall(19, 12, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 12, "RightInner"));
-        level.getStaticObjects().add(new Pellet(21, 12, game));
-        level.getStaticObjects().add(new PacmanWall(22, 12, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(23, 12, "I"));
-        level.getStaticObjects().add(new PacmanWall(24, 12, "I"));
-        level.getStaticObjects().add(new PacmanWall(25, 12, "I"));
-        level.getStaticObjects().add(new PacmanWall(26, 12, "I"));
-        level.getStaticObjects().add(new PacmanWall(27, 12, "I"));
-        level.getStaticObjects().add(new PacmanWall(0, 13, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(1, 13, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(2, 13, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(3, 13, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(4, 13, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(5, 13, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(6, 13, game));
-        level.getStaticObjects().add(new PacmanWall(7, 13, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 13, "LowerRightInner"));
-        level.getStaticObjects().add(new PacmanWall(10, 13, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(17, 13, "LeftOuter"));
-        level.getStaticObjects().add(new PacmanWall(19, 13, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 13, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(21, 13, game));
-        level.getStaticObjects().add(new PacmanWall(22, 13, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(23, 13, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(24, 13, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(25, 13, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(26, 13, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(27, 13, "UpperOuter"));
-        level.getStaticObjects().add(new Pellet(6, 14, game));
-        level.getStaticObjects().add(new PacmanWall(10, 14, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(17, 14, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(21, 14, game));
-        level.getStaticObjects().add(new PacmanWall(0, 15, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(1, 15, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(2, 15, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(3, 15, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(4, 15, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(5, 15, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(6, 15, game));
-        level.getStaticObjects().add(new PacmanWall(7, 15, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 15, "UpperRightInner"));
-        level.getStaticObjects().add(new PacmanWall(10, 15, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(17, 15, "LeftOuter"));
-        level.getStaticObjects().add(new PacmanWall(19, 15, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 15, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(21, 15, game));
-        level.getStaticObjects().add(new PacmanWall(22, 15, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(23, 15, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(24, 15, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(25, 15, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(26, 15, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(27, 15, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 16, "I"));
-        level.getStaticObjects().add(new PacmanWall(1, 16, "I"));
-        level.getStaticObjects().add(new PacmanWall(2, 16, "I"));
-        level.getStaticObjects().add(new PacmanWall(3, 16, "I"));
-        level.getStaticObjects().add(new PacmanWall(4, 16, "I"));
-        level.getStaticObjects().add(new PacmanWall(5, 16, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(6, 16, game));
-        level.getStaticObjects().add(new PacmanWall(7, 16, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 16, "RightInner"));
-        level.getStaticObjects().add(new PacmanWall(10, 16, "LowerLeftSharp"));
-        level.getStaticObjects().add(new PacmanWall(11, 16, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(12, 16, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(13, 16, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(14, 16, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(15, 16, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(16, 16, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(17, 16, "LowerRightSharp"));
-        level.getStaticObjects().add(new PacmanWall(19, 16, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 16, "RightInner"));
-        level.getStaticObjects().add(new Pellet(21, 16, game));
-        level.getStaticObjects().add(new PacmanWall(22, 16, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(23, 16, "I"));
-        level.getStaticObjects().add(new PacmanWall(24, 16, "I"));
-        level.getStaticObjects().add(new PacmanWall(25, 16, "I"));
-        level.getStaticObjects().add(new PacmanWall(26, 16, "I"));
-        level.getStaticObjects().add(new PacmanWall(27, 16, "I"));
-        level.getStaticObjects().add(new PacmanWall(0, 17, "I"));
-        level.getStaticObjects().add(new PacmanWall(1, 17, "I"));
-        level.getStaticObjects().add(new PacmanWall(2, 17, "I"));
-        level.getStaticObjects().add(new PacmanWall(3, 17, "I"));
-        level.getStaticObjects().add(new PacmanWall(4, 17, "I"));
-        level.getStaticObjects().add(new PacmanWall(5, 17, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(6, 17, game));
-        level.getStaticObjects().add(new PacmanWall(7, 17, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 17, "RightInner"));
-        level.getStaticObjects().add(new PacmanWall(19, 17, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 17, "RightInner"));
-        level.getStaticObjects().add(new Pellet(21, 17, game));
-        level.getStaticObjects().add(new PacmanWall(22, 17, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(23, 17, "I"));
-        level.getStaticObjects().add(new PacmanWall(24, 17, "I"));
-        level.getStaticObjects().add(new PacmanWall(25, 17, "I"));
-        level.getStaticObjects().add(new PacmanWall(26, 17, "I"));
-        level.getStaticObjects().add(new PacmanWall(27, 17, "I"));
-        level.getStaticObjects().add(new PacmanWall(0, 18, "I"));
-        level.getStaticObjects().add(new PacmanWall(1, 18, "I"));
-        level.getStaticObjects().add(new PacmanWall(2, 18, "I"));
-        level.getStaticObjects().add(new PacmanWall(3, 18, "I"));
-        level.getStaticObjects().add(new PacmanWall(4, 18, "I"));
-        level.getStaticObjects().add(new PacmanWall(5, 18, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(6, 18, game));
-        level.getStaticObjects().add(new PacmanWall(7, 18, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 18, "RightInner"));
-        level.getStaticObjects().add(new PacmanWall(10, 18, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(11, 18, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(12, 18, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(13, 18, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(14, 18, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(15, 18, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(16, 18, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(17, 18, "UpperRightInner"));
-        level.getStaticObjects().add(new PacmanWall(19, 18, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 18, "RightInner"));
-        level.getStaticObjects().add(new Pellet(21, 18, game));
-        level.getStaticObjects().add(new PacmanWall(22, 18, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(23, 18, "I"));
-        level.getStaticObjects().add(new PacmanWall(24, 18, "I"));
-        level.getStaticObjects().add(new PacmanWall(25, 18, "I"));
-        level.getStaticObjects().add(new PacmanWall(26, 18, "I"));
-        level.getStaticObjects().add(new PacmanWall(27, 18, "I"));
-        level.getStaticObjects().add(new PacmanWall(0, 19, "UpperLeftOuter"));
-        level.getStaticObjects().add(new PacmanWall(1, 19, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(2, 19, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(3, 19, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(4, 19, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(5, 19, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(6, 19, game));
-        level.getStaticObjects().add(new PacmanWall(7, 19, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 19, "LowerRightInner"));
-        level.getStaticObjects().add(new PacmanWall(10, 19, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(11, 19, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(12, 19, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(13, 19, "UpperRightCorner"));
-        level.getStaticObjects().add(new PacmanWall(14, 19, "UpperLeftCorner"));
-        level.getStaticObjects().add(new PacmanWall(15, 19, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(16, 19, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(17, 19, "LowerRightInner"));
-        level.getStaticObjects().add(new PacmanWall(19, 19, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 19, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(21, 19, game));
-        level.getStaticObjects().add(new PacmanWall(22, 19, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(23, 19, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(24, 19, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(25, 19, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(26, 19, "UpperOuter"));
-        level.getStaticObjects().add(new PacmanWall(27, 19, "UpperRightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 20, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(1, 20, game));
-        level.getStaticObjects().add(new Pellet(2, 20, game));
-        level.getStaticObjects().add(new Pellet(3, 20, game));
-        level.getStaticObjects().add(new Pellet(4, 20, game));
-        level.getStaticObjects().add(new Pellet(5, 20, game));
-        level.getStaticObjects().add(new Pellet(6, 20, game));
-        level.getStaticObjects().add(new Pellet(7, 20, game));
-        level.getStaticObjects().add(new Pellet(8, 20, game));
-        level.getStaticObjects().add(new Pellet(9, 20, game));
-        level.getStaticObjects().add(new Pellet(10, 20, game));
-        level.getStaticObjects().add(new Pellet(11, 20, game));
-        level.getStaticObjects().add(new Pellet(12, 20, game));
-        level.getStaticObjects().add(new PacmanWall(13, 20, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(14, 20, "RightInner"));
-        level.getStaticObjects().add(new Pellet(15, 20, game));
-        level.getStaticObjects().add(new Pellet(16, 20, game));
-        level.getStaticObjects().add(new Pellet(17, 20, game));
-        level.getStaticObjects().add(new Pellet(18, 20, game));
-        level.getStaticObjects().add(new Pellet(19, 20, game));
-        level.getStaticObjects().add(new Pellet(20, 20, game));
-        level.getStaticObjects().add(new Pellet(21, 20, game));
-        level.getStaticObjects().add(new Pellet(22, 20, game));
-        level.getStaticObjects().add(new Pellet(23, 20, game));
-        level.getStaticObjects().add(new Pellet(24, 20, game));
-        level.getStaticObjects().add(new Pellet(25, 20, game));
-        level.getStaticObjects().add(new Pellet(26, 20, game));
-        level.getStaticObjects().add(new PacmanWall(27, 20, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 21, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(1, 21, game));
-        level.getStaticObjects().add(new PacmanWall(2, 21, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(3, 21, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(4, 21, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(5, 21, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(6, 21, game));
-        level.getStaticObjects().add(new PacmanWall(7, 21, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 21, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(9, 21, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(10, 21, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(11, 21, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(12, 21, game));
-        level.getStaticObjects().add(new PacmanWall(13, 21, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(14, 21, "RightInner"));
-        level.getStaticObjects().add(new Pellet(15, 21, game));
-        level.getStaticObjects().add(new PacmanWall(16, 21, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(17, 21, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(18, 21, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(19, 21, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 21, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(21, 21, game));
-        level.getStaticObjects().add(new PacmanWall(22, 21, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(23, 21, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(24, 21, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(25, 21, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(26, 21, game));
-        level.getStaticObjects().add(new PacmanWall(27, 21, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 22, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(1, 22, game));
-        level.getStaticObjects().add(new PacmanWall(2, 22, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(3, 22, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(4, 22, "UpperRightCorner"));
-        level.getStaticObjects().add(new PacmanWall(5, 22, "RightInner"));
-        level.getStaticObjects().add(new Pellet(6, 22, game));
-        level.getStaticObjects().add(new PacmanWall(7, 22, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 22, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(9, 22, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(10, 22, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(11, 22, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(12, 22, game));
-        level.getStaticObjects().add(new PacmanWall(13, 22, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(14, 22, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(15, 22, game));
-        level.getStaticObjects().add(new PacmanWall(16, 22, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(17, 22, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(18, 22, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(19, 22, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 22, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(21, 22, game));
-        level.getStaticObjects().add(new PacmanWall(22, 22, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(23, 22, "UpperLeftCorner"));
-        level.getStaticObjects().add(new PacmanWall(24, 22, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(25, 22, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(26, 22, game));
-        level.getStaticObjects().add(new PacmanWall(27, 22, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 23, "LeftOuter"));
-        level.getStaticObjects().add(new PowerPellet(1, 23, game));
-        level.getStaticObjects().add(new Pellet(2, 23, game));
-        level.getStaticObjects().add(new Pellet(3, 23, game));
-        level.getStaticObjects().add(new PacmanWall(4, 23, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(5, 23, "RightInner"));
-        level.getStaticObjects().add(new Pellet(6, 23, game));
-        level.getStaticObjects().add(new Pellet(7, 23, game));
-        level.getStaticObjects().add(new Pellet(8, 23, game));
-        level.getStaticObjects().add(new Pellet(9, 23, game));
-        level.getStaticObjects().add(new Pellet(10, 23, game));
-        level.getStaticObjects().add(new Pellet(11, 23, game));
-        level.getStaticObjects().add(new Pellet(12, 23, game));
-        level.getStaticObjects().add(new Pellet(15, 23, game));
-        level.getStaticObjects().add(new Pellet(16, 23, game));
-        level.getStaticObjects().add(new Pellet(17, 23, game));
-        level.getStaticObjects().add(new Pellet(18, 23, game));
-        level.getStaticObjects().add(new Pellet(19, 23, game));
-        level.getStaticObjects().add(new Pellet(20, 23, game));
-        level.getStaticObjects().add(new Pellet(21, 23, game));
-        level.getStaticObjects().add(new PacmanWall(22, 23, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(23, 23, "RightInner"));
-        level.getStaticObjects().add(new Pellet(24, 23, game));
-        level.getStaticObjects().add(new Pellet(25, 23, game));
-        level.getStaticObjects().add(new PowerPellet(26, 23, game));
-        level.getStaticObjects().add(new PacmanWall(27, 23, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 24, "LeftUpperFork"));
-        level.getStaticObjects().add(new PacmanWall(1, 24, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(2, 24, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(3, 24, game));
-        level.getStaticObjects().add(new PacmanWall(4, 24, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(5, 24, "RightInner"));
-        level.getStaticObjects().add(new Pellet(6, 24, game));
-        level.getStaticObjects().add(new PacmanWall(7, 24, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 24, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(9, 24, game));
-        level.getStaticObjects().add(new PacmanWall(10, 24, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(11, 24, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(12, 24, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(13, 24, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(14, 24, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(15, 24, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(16, 24, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(17, 24, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(18, 24, game));
-        level.getStaticObjects().add(new PacmanWall(19, 24, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 24, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(21, 24, game));
-        level.getStaticObjects().add(new PacmanWall(22, 24, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(23, 24, "RightInner"));
-        level.getStaticObjects().add(new Pellet(24, 24, game));
-        level.getStaticObjects().add(new PacmanWall(25, 24, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(26, 24, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(27, 24, "RightUpperFork"));
-        level.getStaticObjects().add(new PacmanWall(0, 25, "LeftLowerFork"));
-        level.getStaticObjects().add(new PacmanWall(1, 25, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(2, 25, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(3, 25, game));
-        level.getStaticObjects().add(new PacmanWall(4, 25, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(5, 25, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(6, 25, game));
-        level.getStaticObjects().add(new PacmanWall(7, 25, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 25, "RightInner"));
-        level.getStaticObjects().add(new Pellet(9, 25, game));
-        level.getStaticObjects().add(new PacmanWall(10, 25, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(11, 25, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(12, 25, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(13, 25, "UpperRightCorner"));
-        level.getStaticObjects().add(new PacmanWall(14, 25, "UpperLeftCorner"));
-        level.getStaticObjects().add(new PacmanWall(15, 25, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(16, 25, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(17, 25, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(18, 25, game));
-        level.getStaticObjects().add(new PacmanWall(19, 25, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 25, "RightInner"));
-        level.getStaticObjects().add(new Pellet(21, 25, game));
-        level.getStaticObjects().add(new PacmanWall(22, 25, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(23, 25, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(24, 25, game));
-        level.getStaticObjects().add(new PacmanWall(25, 25, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(26, 25, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(27, 25, "RightLowerFork"));
-        level.getStaticObjects().add(new PacmanWall(0, 26, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(1, 26, game));
-        level.getStaticObjects().add(new Pellet(2, 26, game));
-        level.getStaticObjects().add(new Pellet(3, 26, game));
-        level.getStaticObjects().add(new Pellet(4, 26, game));
-        level.getStaticObjects().add(new Pellet(5, 26, game));
-        level.getStaticObjects().add(new Pellet(6, 26, game));
-        level.getStaticObjects().add(new PacmanWall(7, 26, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 26, "RightInner"));
-        level.getStaticObjects().add(new Pellet(9, 26, game));
-        level.getStaticObjects().add(new Pellet(10, 26, game));
-        level.getStaticObjects().add(new Pellet(11, 26, game));
-        level.getStaticObjects().add(new Pellet(12, 26, game));
-        level.getStaticObjects().add(new PacmanWall(13, 26, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(14, 26, "RightInner"));
-        level.getStaticObjects().add(new Pellet(15, 26, game));
-        level.getStaticObjects().add(new Pellet(16, 26, game));
-        level.getStaticObjects().add(new Pellet(17, 26, game));
-        level.getStaticObjects().add(new Pellet(18, 26, game));
-        level.getStaticObjects().add(new PacmanWall(19, 26, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 26, "RightInner"));
-        level.getStaticObjects().add(new Pellet(21, 26, game));
-        level.getStaticObjects().add(new Pellet(22, 26, game));
-        level.getStaticObjects().add(new Pellet(23, 26, game));
-        level.getStaticObjects().add(new Pellet(24, 26, game));
-        level.getStaticObjects().add(new Pellet(25, 26, game));
-        level.getStaticObjects().add(new Pellet(26, 26, game));
-        level.getStaticObjects().add(new PacmanWall(27, 26, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 27, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(1, 27, game));
-        level.getStaticObjects().add(new PacmanWall(2, 27, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(3, 27, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(4, 27, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(5, 27, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(6, 27, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(7, 27, "LowerRightCorner"));
-        level.getStaticObjects().add(new PacmanWall(8, 27, "LowerLeftCorner"));
-        level.getStaticObjects().add(new PacmanWall(9, 27, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(10, 27, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(11, 27, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(12, 27, game));
-        level.getStaticObjects().add(new PacmanWall(13, 27, "LeftInner"));
-        level.getStaticObjects().add(new PacmanWall(14, 27, "RightInner"));
-        level.getStaticObjects().add(new Pellet(15, 27, game));
-        level.getStaticObjects().add(new PacmanWall(16, 27, "UpperLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(17, 27, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(18, 27, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(19, 27, "LowerRightCorner"));
-        level.getStaticObjects().add(new PacmanWall(20, 27, "LowerLeftCorner"));
-        level.getStaticObjects().add(new PacmanWall(21, 27, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(22, 27, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(23, 27, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(24, 27, "UpperInner"));
-        level.getStaticObjects().add(new PacmanWall(25, 27, "UpperRightInner"));
-        level.getStaticObjects().add(new Pellet(26, 27, game));
-        level.getStaticObjects().add(new PacmanWall(27, 27, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 28, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(1, 28, game));
-        level.getStaticObjects().add(new PacmanWall(2, 28, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(3, 28, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(4, 28, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(5, 28, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(6, 28, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(7, 28, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(8, 28, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(9, 28, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(10, 28, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(11, 28, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(12, 28, game));
-        level.getStaticObjects().add(new PacmanWall(13, 28, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(14, 28, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(15, 28, game));
-        level.getStaticObjects().add(new PacmanWall(16, 28, "LowerLeftInner"));
-        level.getStaticObjects().add(new PacmanWall(17, 28, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(18, 28, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(19, 28, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(20, 28, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(21, 28, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(22, 28, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(23, 28, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(24, 28, "LowerInner"));
-        level.getStaticObjects().add(new PacmanWall(25, 28, "LowerRightInner"));
-        level.getStaticObjects().add(new Pellet(26, 28, game));
-        level.getStaticObjects().add(new PacmanWall(27, 28, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 29, "LeftOuter"));
-        level.getStaticObjects().add(new Pellet(1, 29, game));
-        level.getStaticObjects().add(new Pellet(2, 29, game));
-        level.getStaticObjects().add(new Pellet(3, 29, game));
-        level.getStaticObjects().add(new Pellet(4, 29, game));
-        level.getStaticObjects().add(new Pellet(5, 29, game));
-        level.getStaticObjects().add(new Pellet(6, 29, game));
-        level.getStaticObjects().add(new Pellet(7, 29, game));
-        level.getStaticObjects().add(new Pellet(8, 29, game));
-        level.getStaticObjects().add(new Pellet(9, 29, game));
-        level.getStaticObjects().add(new Pellet(10, 29, game));
-        level.getStaticObjects().add(new Pellet(11, 29, game));
-        level.getStaticObjects().add(new Pellet(12, 29, game));
-        level.getStaticObjects().add(new Pellet(13, 29, game));
-        level.getStaticObjects().add(new Pellet(14, 29, game));
-        level.getStaticObjects().add(new Pellet(15, 29, game));
-        level.getStaticObjects().add(new Pellet(16, 29, game));
-        level.getStaticObjects().add(new Pellet(17, 29, game));
-        level.getStaticObjects().add(new Pellet(18, 29, game));
-        level.getStaticObjects().add(new Pellet(19, 29, game));
-        level.getStaticObjects().add(new Pellet(20, 29, game));
-        level.getStaticObjects().add(new Pellet(21, 29, game));
-        level.getStaticObjects().add(new Pellet(22, 29, game));
-        level.getStaticObjects().add(new Pellet(23, 29, game));
-        level.getStaticObjects().add(new Pellet(24, 29, game));
-        level.getStaticObjects().add(new Pellet(25, 29, game));
-        level.getStaticObjects().add(new Pellet(26, 29, game));
-        level.getStaticObjects().add(new PacmanWall(27, 29, "RightOuter"));
-        level.getStaticObjects().add(new PacmanWall(0, 30, "LowerLeftOuter"));
-        level.getStaticObjects().add(new PacmanWall(1, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(2, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(3, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(4, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(5, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(6, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(7, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(8, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(9, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(10, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(11, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(12, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(13, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(14, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(15, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(16, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(17, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(18, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(19, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(20, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(21, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(22, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(23, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(24, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(25, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(26, 30, "LowerOuter"));
-        level.getStaticObjects().add(new PacmanWall(27, 30, "LowerRightOuter"));
+        return createLevel(game, DEFAULT_MAZE);
+    }
 
-        level.getStaticObjects().forEach(a -> {
-            if (a instanceof PacmanWall) {
-                level.getWalls().put(a.getLocation(), a);
-            }
-        });
-        level.setPelletsLeft(244);
-        return level;
+    /**
+     * Create a pacman level from the maze at the given location within the levels
+     * directory.
+     *
+     * @param game the game this level is part of
+     * @param path the path within the levels directory to the maze
+     * @return the pacman level, or {@code null} if the maze cannot be read
+     */
+    public static PacmanLevel createLevel(PacmanGame game, String path) {
+        try {
+            return PacmanMaze.load(path).createLevel(game);
+        } catch (IOException e) {
+            System.out.println("** Maze " + path + " could not be read: " + e.getMessage() + " **");
+        } catch (LevelParseException e) {
+            System.out.println("** Maze could not be parsed: " + e.getMessage() + " **");
+        }
+        return null;
     }
 
 }
@@ -2,8 +2,10 @@ package app.games.pacman;
 
 import app.Configuration;
 import app.Settings;
+import app.display.common.JFXManager;
 import app.display.common.ui.PauseMenu;
 import app.display.pacman.PacmanUI;
+import app.display.pacman.PacmanUIState;
 import app.gameengine.Game;
 import app.gameengine.model.physics.Vector2D;
 import javafx.scene.Group;
@@ -36,6 +38,11 @@ public class PacmanGame extends Game {
         return (PacmanLevel) super.getCurrentLevel();
     }
 
+    @Override
+    public PacmanUIState createUIState() {
+        return new PacmanUIState();
+    }
+
     @Override
     public void init() {
         super.init();
@@ -59,8 +66,10 @@ public class PacmanGame extends Game {
     public void pause() {
         Settings.setPaused(true);
         if (this.fgUI != null) {
-            this.fgUI.getChildren().clear();
-            this.fgUI.getChildren().add(new PauseMenu(this).getRenderable());
+            JFXManager.runOnFXThread(() -> {
+                this.fgUI.getChildren().clear();
+                this.fgUI.getChildren().add(new PauseMenu(this).getRenderable());
+            });
         }
     }
 
@@ -68,7 +77,7 @@ public class PacmanGame extends Game {
     public void unpause() {
         Settings.setPaused(false);
         if (this.fgUI != null) {
-            this.fgUI.getChildren().clear();
+            JFXManager.runOnFXThread(() -> this.fgUI.getChildren().clear());
         }
     }
 
@@ -5,8 +5,7 @@ import java.util.HashMap;
 
 import app.Configuration;
 import app.display.common.Background;
-import app.display.common.FontManager;
-import app.display.common.effects.SimpleTextEffect;
+import app.display.common.effects.GlyphTextEffect;
 import app.display.common.sound.AudioManager;
 import app.gameengine.model.gameobjects.StaticGameObject;
 import app.gameengine.model.physics.Vector2D;
@@ -81,9 +80,8 @@ public class PacmanLevel extends TopDownLevel {
     public void eatGhost(Ghost ghost) {
         double scoreIncrease = 200 * scoreMultiplier;
         this.getActiveEffects()
-                .put(new SimpleTextEffect(String.format("%.0f", scoreIncrease), 2,
-                        FontManager.getFont("Minecraft.ttf", Configuration.ZOOM * 15), Color.CYAN),
-                        ghost.getLocation().copy());
+                .put(new GlyphTextEffect(String.format("%.0f", scoreIncrease), 2, "Minecraft.ttf",
+                        Configuration.ZOOM * 15, Color.CYAN), ghost.getLocation().copy());
 
         this.score += scoreIncrease;
         this.scoreMultiplier *= 2;
@@ -0,0 +1,352 @@
+package app.games.pacman;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import app.gameengine.LevelParseException;
+
+/**
+ * A pacman maze read from a text file, in which each character is one tile of
+ * the maze, from which any number of new pacman levels can be built.
+ * <p>
+ * The characters of a maze are:
+ * <ul>
+ * <li>{@code #}: a wall within the maze, drawn with a single line
+ * <li>{@code =}: a wall on the border of the maze, or of the ghost house,
+ * drawn with a double line
+ * <li>{@code -}: a gate of the ghost house, which only ghosts can pass through
+ * <li>{@code .}: a pellet
+ * <li>{@code o}: a power pellet
+ * <li>{@code P}: where the player starts
+ * <li>{@code G}: where the ghost house is
+ * <li>{@code _}: an empty tile outside of the maze, such as within the ghost
+ * house
+ * <li>a space: an empty tile within the maze
+ * </ul>
+ * The player and ghost house are placed at the center of all of their tiles, so
+ * two tiles next to each other place them between the two. Shorter lines are
+ * treated as if they end with spaces.
+ * <p>
+ * The sprite of each wall is chosen from which of its neighbouring tiles are
+ * open, meaning part of the maze that can be walked through, and whether the
+ * wall is on the border of the maze. This chooses straight edges, corners, and
+ * the forks where a wall joins the border, so mazes never list the sprites of
+ * their walls.
+ * <p>
+ * Mazes are read once and cached by {@link #load(String)}, so building a level
+ * only creates its objects.
+ *
+ * @see CreatePacmanLevel
+ * @see PacmanWall
+ */
+public final class PacmanMaze {
+
+    private static final String LEVELS_DIRECTORY = "data/levels/";
+
+    private static final char WALL = '#';
+    private static final char BORDER = '=';
+    private static final char GATE = '-';
+    private static final char PELLET = '.';
+    private static final char POWER_PELLET = 'o';
+    private static final char PLAYER = 'P';
+    private static final char GHOST_HOUSE = 'G';
+    private static final char OUTSIDE = '_';
+    private static final char EMPTY = ' ';
+
+    private static final ConcurrentHashMap<String, PacmanMaze> cache = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final int width;
+    private final int height;
+    private final long length;
+    private final long modified;
+    private double playerX;
+    private double playerY;
+    private double ghostHouseX;
+    private double ghostHouseY;
+    private int pellets;
+    // The objects of the maze in order, and the sprite of each wall
+    private int objectCount;
+    private final int[] objectX;
+    private final int[] objectY;
+    private final char[] objectTypes;
+    private final String[] wallTypes;
+
+    private PacmanMaze(String name, int width, int height, long length, long modified) {
+        this.name = name;
+        this.width = width;
+        this.height = height;
+        this.length = length;
+        this.modified = modified;
+        this.objectX = new int[width * height];
+        this.objectY = new int[width * height];
+        this.objectTypes = new char[width * height];
+        this.wallTypes = new String[width * height];
+    }
+
+    /**
+     * Returns the maze in the given file within the levels directory, reading it
+     * only if it has not been read before, or if the file has changed since.
+     *
+     * @param path the path within the levels directory to the maze
+     * @return the maze
+     * @throws IOException         if the file cannot be read
+     * @throws LevelParseException if the file is not a valid maze
+     */
+    public static PacmanMaze load(String path) throws IOException, LevelParseException {
+        Path source = Paths.get(LEVELS_DIRECTORY + path);
+        long length = Files.size(source);
+        long modified = Files.getLastModifiedTime(source).toMillis();
+        PacmanMaze maze = cache.get(path);
+        if (maze != null && maze.length == length && maze.modified == modified) {
+            return maze;
+        }
+        String name = source.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        if (extension > 0) {
+            name = name.substring(0, extension);
+        }
+        maze = parse(name, Files.readAllLines(source, StandardCharsets.UTF_8), length, modified);
+        cache.put(path, maze);
+        return maze;
+    }
+
+    /**
+     * Reads a maze from the given lines.
+     *
+     * @param name  the name of the maze, which is also the name of its levels
+     * @param lines the lines of the maze
+     * @return the maze
+     * @throws LevelParseException if the lines are not a valid maze
+     */
+    public static PacmanMaze parse(String name, List<String> lines) throws LevelParseException {
+        return parse(name, lines, -1, -1);
+    }
+
+    private static PacmanMaze parse(String name, List<String> lines, long length, long modified)
+            throws LevelParseException {
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, line.length());
+        }
+        int height = lines.size();
+        if (width == 0) {
+            throw new LevelParseException(name, 1, "The maze is empty");
+        }
+        char[][] tiles = new char[height][width];
+        for (int y = 0; y < height; y++) {
+            String line = lines.get(y);
+            for (int x = 0; x < width; x++) {
+                char tile = x < line.length() ? line.charAt(x) : EMPTY;
+                switch (tile) {
+                    case WALL, BORDER, GATE, PELLET, POWER_PELLET, PLAYER, GHOST_HOUSE, OUTSIDE, EMPTY -> {
+                    }
+                    default -> throw new LevelParseException(name, y + 1, "Unknown tile '" + tile + "'");
+                }
+                tiles[y][x] = tile;
+            }
+        }
+
+        PacmanMaze maze = new PacmanMaze(name, width, height, length, modified);
+        int playerTiles = 0;
+        int ghostHouseTiles = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                char tile = tiles[y][x];
+                if (tile == PLAYER) {
+                    maze.playerX += x;
+                    maze.playerY += y;
+                    playerTiles++;
+                } else if (tile == GHOST_HOUSE) {
+                    maze.ghostHouseX += x;
+                    maze.ghostHouseY += y;
+                    ghostHouseTiles++;
+                } else if (tile != EMPTY && tile != OUTSIDE) {
+                    int i = maze.objectCount++;
+                    maze.objectX[i] = x;
+                    maze.objectY[i] = y;
+                    maze.objectTypes[i] = tile;
+                    if (tile == WALL || tile == BORDER) {
+                        maze.wallTypes[i] = wallType(tiles, x, y);
+                    } else if (tile == PELLET || tile == POWER_PELLET) {
+                        maze.pellets++;
+                    }
+                }
+            }
+        }
+        if (playerTiles == 0) {
+            throw new LevelParseException(name, 1, "The maze has no player start '" + PLAYER + "'");
+        }
+        if (ghostHouseTiles == 0) {
+            throw new LevelParseException(name, 1, "The maze has no ghost house '" + GHOST_HOUSE + "'");
+        }
+        maze.playerX /= playerTiles;
+        maze.playerY /= playerTiles;
+        maze.ghostHouseX /= ghostHouseTiles;
+        maze.ghostHouseY /= ghostHouseTiles;
+        return maze;
+    }
+
+    /**
+     * Returns the name of the {@link PacmanWall} sprite for the wall at the given
+     * location, from which of its neighbours are open.
+     */
+    private static String wallType(char[][] tiles, int x, int y) {
+        boolean border = tiles[y][x] == BORDER;
+        boolean up = isOpen(tiles, x, y - 1);
+        boolean down = isOpen(tiles, x, y + 1);
+        boolean left = isOpen(tiles, x - 1, y);
+        boolean right = isOpen(tiles, x + 1, y);
+
+        if (!up && !down && !left && !right) {
+            // A border wall joined by a wall within the maze forks towards it
+            if (border && tileAt(tiles, x, y + 1) == WALL) {
+                return isOpen(tiles, x - 1, y + 1) ? "UpperLeftFork" : "UpperRightFork";
+            } else if (border && tileAt(tiles, x, y - 1) == WALL) {
+                return isOpen(tiles, x - 1, y - 1) ? "LowerLeftFork" : "LowerRightFork";
+            } else if (border && tileAt(tiles, x + 1, y) == WALL) {
+                return isOpen(tiles, x + 1, y - 1) ? "LeftUpperFork" : "LeftLowerFork";
+            } else if (border && tileAt(tiles, x - 1, y) == WALL) {
+                return isOpen(tiles, x - 1, y - 1) ? "RightUpperFork" : "RightLowerFork";
+            }
+            // Otherwise, an open diagonal is an inside corner
+            String corner = border ? "Outer" : "Corner";
+            if (isOpen(tiles, x + 1, y + 1)) {
+                return "UpperLeft" + corner;
+            } else if (isOpen(tiles, x - 1, y + 1)) {
+                return "UpperRight" + corner;
+            } else if (isOpen(tiles, x + 1, y - 1)) {
+                return "LowerLeft" + corner;
+            } else if (isOpen(tiles, x - 1, y - 1)) {
+                return "LowerRight" + corner;
+            }
+            return "Inner";
+        }
+
+        String vertical = up && !down ? "Upper" : down && !up ? "Lower" : "";
+        String horizontal = left && !right ? "Left" : right && !left ? "Right" : "";
+        if (vertical.isEmpty() != horizontal.isEmpty()) {
+            // A straight edge, where the border is named for the side of the maze it is on
+            if (!border) {
+                return vertical + horizontal + "Inner";
+            }
+            return up ? "LowerOuter" : down ? "UpperOuter" : left ? "RightOuter" : "LeftOuter";
+        } else if (vertical.isEmpty()) {
+            return "Inner";
+        }
+        // An outside corner, which is sharp if the wall is only one tile thick
+        int insideX = left ? x + 1 : x - 1;
+        int insideY = up ? y + 1 : y - 1;
+        char inside = tileAt(tiles, insideX, insideY);
+        if (border && (inside == OUTSIDE || inside == GHOST_HOUSE)) {
+            return vertical + horizontal + "Sharp";
+        }
+        return vertical + horizontal + "Inner";
+    }
+
+    /**
+     * Returns the tile at the given location, or {@code 0} if it is outside of
+     * the maze.
+     */
+    private static char tileAt(char[][] tiles, int x, int y) {
+        if (y < 0 || y >= tiles.length || x < 0 || x >= tiles[y].length) {
+            return 0;
+        }
+        return tiles[y][x];
+    }
+
+    private static boolean isOpen(char[][] tiles, int x, int y) {
+        char tile = tileAt(tiles, x, y);
+        return tile == EMPTY || tile == PELLET || tile == POWER_PELLET || tile == PLAYER;
+    }
+
+    /**
+     * Builds a new level from this maze.
+     *
+     * @param game the game the level will be part of
+     * @return the new level
+     */
+    public PacmanLevel createLevel(PacmanGame game) {
+        PacmanLevel level = new PacmanLevel(game, this.width, this.height, this.name);
+        level.setPlayerStartLocation(this.playerX, this.playerY);
+        GhostHouse ghostHouse = new GhostHouse(this.ghostHouseX, this.ghostHouseY, game);
+        level.setGhostHouse(ghostHouse);
+        level.getStaticObjects().add(ghostHouse);
+
+        for (int i = 0; i < this.objectCount; i++) {
+            int x = this.objectX[i];
+            int y = this.objectY[i];
+            switch (this.objectTypes[i]) {
+                case WALL, BORDER -> addWall(level, new PacmanWall(x, y, this.wallTypes[i]));
+                case GATE -> addWall(level, new GhostGate(x, y));
+                case PELLET -> level.getStaticObjects().add(new Pellet(x, y, game));
+                case POWER_PELLET -> level.getStaticObjects().add(new PowerPellet(x, y, game));
+            }
+        }
+        level.setPelletsLeft(this.pellets);
+        return level;
+    }
+
+    private static void addWall(PacmanLevel level, PacmanWall wall) {
+        level.getStaticObjects().add(wall);
+        level.getWalls().put(wall.getLocation(), wall);
+    }
+
+    /**
+     * Returns the name of the sprite used for the wall at the given location.
+     *
+     * @param x the x location of the wall
+     * @param y the y location of the wall
+     * @return the name of the sprite, or {@code null} if there is no wall there
+     */
+    public String getWallType(int x, int y) {
+        for (int i = 0; i < this.objectCount; i++) {
+            if (this.objectX[i] == x && this.objectY[i] == y) {
+                return this.objectTypes[i] == GATE ? "Gate" : this.wallTypes[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name of this maze.
+     *
+     * @return the name of this maze
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the width of this maze, in tiles.
+     *
+     * @return the width of this maze
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Returns the height of this maze, in tiles.
+     *
+     * @return the height of this maze
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Returns the number of pellets and power pellets in this maze.
+     *
+     * @return the number of pellets
+     */
+    public int getPelletCount() {
+        return this.pellets;
+    }
+
+}
@@ -1,7 +1,6 @@
 package app.games.pacman;
 
 import app.display.common.SpriteLocation;
-import app.display.common.effects.HitboxOutline;
 import app.games.commonobjects.Wall;
 import javafx.scene.paint.Color;
 
@@ -10,7 +9,7 @@ public class PacmanWall extends Wall {
     public PacmanWall(double x, double y, String type) {
         super(x, y);
         this.spriteSheetFilename = "pacman/pacmanWalls.png";
-        this.outlineEffect = new HitboxOutline(this, Color.RED);
+        this.hitboxColor = Color.RED;
         this.defaultSpriteLocation = switch (type) {
             case "UpperLeftOuter":
                 yield new SpriteLocation(0, 0);
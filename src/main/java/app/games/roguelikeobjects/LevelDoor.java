@@ -75,6 +75,10 @@ public class LevelDoor extends DirectionalWall {
         this.nextLevelName = Vector2D.add(previousLevelPos, doorDirection).toString();
     }
 
+    public String getNextLevelName() {
+        return this.nextLevelName;
+    }
+
     public void setNextLevelName(String nextLevelName) {
         this.nextLevelName = nextLevelName;
     }
@@ -3,12 +3,18 @@ package app.games.roguelikeobjects;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 
 import app.gameengine.Game;
 import app.gameengine.Level;
 import app.gameengine.LevelParser;
+import app.gameengine.LevelPrefetcher;
+import app.gameengine.LevelTemplateCache;
+import app.gameengine.LevelTypeRegistry;
 import app.gameengine.model.physics.Vector2D;
 import app.gameengine.utils.Randomizer;
+import app.games.commonobjects.Potion;
+import app.games.commonobjects.Spike;
 
 /**
  * Top-down game that is randomly generated from presets each time.
@@ -37,6 +43,16 @@ public class RoguelikeGame extends Game {
     private HashMap<String, RoguelikeLevel> levelMap = new HashMap<>();
     private int roomsGenerated;
     private RoguelikeLevel previousLevel;
+    private LevelPrefetcher prefetcher = new LevelPrefetcher();
+
+    public RoguelikeGame() {
+        LevelTypeRegistry types = this.getLevelTypes();
+        types.registerLevel("RoguelikeLevel", RoguelikeLevel::new);
+        types.registerStaticObject("DirectionalWall", (game, level, x, y, fields) -> new DirectionalWall(x, y, level));
+        types.registerStaticObject("Marker", (game, level, x, y, fields) -> new Marker(x, y, fields.getString(4)));
+        types.registerStaticObject("Spike", (game, level, x, y, fields) -> new Spike(x, y));
+        types.registerStaticObject("Potion", (game, level, x, y, fields) -> new Potion(x, y, fields.getInt(4)));
+    }
 
     public HashMap<String, RoguelikeLevel> getLevelMap() {
         return this.levelMap;
@@ -68,22 +84,27 @@ public class RoguelikeGame extends Game {
 
     @Override
     public void changeLevel(String name) {
-        Level level = null;
         if (this.levelMap.containsKey(name)) {
-            level = this.levelMap.get(name);
+            this.enterLevel(this.levelMap.get(name));
         } else {
-            level = LevelParser.parseLevel(this, "roguelike/" + name + ".csv");
-            if (level != null) {
+            // Parsing a new room is slow, so do it without stalling the game, and use
+            // the prefetched room if there is one
+            this.loadLevelAsync(this.prefetcher.take(name, () -> this.parseRoom(name)), level -> {
                 this.addLevel(level);
-            }
+                this.enterLevel(level);
+            });
         }
+    }
 
-        if (level != null) {
-            // Transfer controls for smooth transition
-            level.setKeyboardControls(this.currentLevel.getKeyboardControls());
-            level.setMouseControls(this.currentLevel.getMouseControls());
-            this.loadLevel(level);
-        }
+    private void enterLevel(Level level) {
+        // Transfer controls for smooth transition
+        level.setKeyboardControls(this.currentLevel.getKeyboardControls());
+        level.setMouseControls(this.currentLevel.getMouseControls());
+        this.loadLevel(level);
+    }
+
+    private Level parseRoom(String name) {
+        return LevelParser.parseLevel(this, "roguelike/" + name + ".csv");
     }
 
     @Override
@@ -91,16 +112,41 @@ public class RoguelikeGame extends Game {
         super.loadLevel(level);
         if (level instanceof RoguelikeLevel roguelikeLevel) {
             this.previousLevel = roguelikeLevel;
+            this.prefetchAdjacentRooms(roguelikeLevel);
+        }
+    }
+
+    /**
+     * Loads the sprite sheets of every room that can be reached through an open
+     * door of the given room in the background, and evicts any other prefetched
+     * rooms. Rooms are built when they are linked by a door, so there is nothing
+     * to parse.
+     */
+    private void prefetchAdjacentRooms(RoguelikeLevel level) {
+        LinkedHashMap<String, RoguelikeLevel> adjacent = new LinkedHashMap<>();
+        for (LevelDoor door : level.getLevelDoors()) {
+            RoguelikeLevel room = this.levelMap.get(door.getNextLevelName());
+            if (door.isActive() && room != null) {
+                adjacent.put(room.getName(), room);
+            }
+        }
+        this.prefetcher.retainOnly(adjacent.keySet());
+        for (RoguelikeLevel room : adjacent.values()) {
+            this.prefetcher.prefetch(room.getName(), () -> room);
         }
     }
 
     @Override
     public void resetGame() {
+        // Drop any room still being built, so it is not changed to after the reset
+        super.resetGame();
         this.levelMap.clear();
+        this.prefetcher.clear();
+        // Pick up any edits to the room files
+        LevelTemplateCache.revalidate();
         this.roomsGenerated = 0;
         this.previousLevel = null;
 
-        super.resetGame();
         this.getPlayer().reset();
         this.generateMap();
     }
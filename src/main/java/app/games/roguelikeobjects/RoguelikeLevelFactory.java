@@ -1,7 +1,7 @@
 package app.games.roguelikeobjects;
 
 import app.gameengine.Game;
-import app.gameengine.LevelParser;
+import app.gameengine.LevelTemplateCache;
 import app.gameengine.utils.Randomizer;
 
 /**
@@ -19,7 +19,8 @@ public class RoguelikeLevelFactory {
     private static String[] bossLevelNames = { "LargeDanger" };
 
     private static RoguelikeLevel getLevel(Game game, String directory) {
-        if (LevelParser.parseLevel(game, directory) instanceof RoguelikeLevel level)
+        // Rooms are built from the same few files many times, so keep them in memory
+        if (LevelTemplateCache.instantiate(game, directory) instanceof RoguelikeLevel level)
             return level;
         System.out.println("** Level file " + directory + " could not be found or was not a RoguelikeLevel **");
         return null;
@@ -197,6 +197,7 @@ public class SnakeLevel extends Level {
                         this.getPlayer().getLocation().getX(),
                         this.getPlayer().getLocation().getY()
                 );
+                this.invalidateStaticIndex();
             }
 
             Player player = this.getPlayer();
@@ -5,7 +5,6 @@ import java.util.Arrays;
 
 import app.display.common.SpriteLocation;
 import app.display.common.effects.DeathEffect;
-import app.display.common.effects.HealthBarEffect;
 import app.gameengine.model.gameobjects.Agent;
 import app.gameengine.model.gameobjects.DynamicGameObject;
 import app.gameengine.model.physics.Vector2D;
@@ -27,7 +26,7 @@ public abstract class Enemy extends Agent {
     public Enemy(double x, double y, int maxHP, int strength) {
         super(x, y, maxHP);
         this.strength = strength;
-        this.getEffects().add(new HealthBarEffect(this));
+        this.setShowHealthBar(true);
     }
 
     @Override
@@ -10,7 +10,8 @@ import app.gameengine.model.physics.PhysicsEngine;
  * A level played from a top-down perspective.
  * <p>
  * The simplest kind of level, with the basic physics and standard top-down
- * controls. Also some music.
+ * controls. Also some music. Characters are y-sorted, so those lower on the
+ * screen are drawn in front.
  * 
  * @see Level
  * @see PhysicsEngine
@@ -29,6 +30,11 @@ public class TopDownLevel extends Level {
         super.update(dt);
     }
 
+    @Override
+    public boolean isYSorted() {
+        return true;
+    }
+
     @Override
     public void onStart() {
         AudioManager.playMusic("DungeonMusic.wav");
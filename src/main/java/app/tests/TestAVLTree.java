@@ -0,0 +1,227 @@
+package app.tests;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import app.gameengine.model.datastructures.AVLTreeNode;
+import app.gameengine.model.datastructures.BinaryTreeIterator;
+import app.gameengine.model.datastructures.BinaryTreeNode;
+import app.gameengine.model.datastructures.LevelNameComparator;
+import app.gameengine.model.datastructures.LinkedListNode;
+import app.gameengine.model.datastructures.PlaytimeComparator;
+import app.gameengine.statistics.GameStat;
+import app.gameengine.statistics.ScoreIndex;
+import app.gameengine.statistics.Scoreboard;
+import static org.junit.Assert.*;
+
+public class TestAVLTree {
+
+    private static void assertInOrder(List<Integer> expected, BinaryTreeNode<Integer> tree) {
+        List<Integer> actual = new ArrayList<>();
+        addInOrder(tree, actual);
+        assertEquals(expected, actual);
+    }
+
+    private static void addInOrder(BinaryTreeNode<Integer> node, List<Integer> values) {
+        if (node != null) {
+            addInOrder(node.getLeft(), values);
+            values.add(node.getValue());
+            addInOrder(node.getRight(), values);
+        }
+    }
+
+    @Test
+    public void testInsertSorted() {
+        AVLTreeNode<Integer> ascending = null;
+        AVLTreeNode<Integer> descending = null;
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ascending = AVLTreeNode.insert(ascending, i, (a, b) -> a < b);
+            descending = AVLTreeNode.insert(descending, 999 - i, (a, b) -> a < b);
+            expected.add(i);
+        }
+        // A balanced tree of 1000 values is at most 1.45 log2(1001) = 14 high
+        assertTrue(ascending.getHeight() <= 14);
+        assertTrue(descending.getHeight() <= 14);
+        assertInOrder(expected, ascending);
+        assertInOrder(expected, descending);
+    }
+
+    @Test
+    public void testInsertCopy() {
+        Random random = new Random(3);
+        AVLTreeNode<Integer> tree = null;
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int value = random.nextInt(1000);
+            tree = AVLTreeNode.insertCopy(tree, value, (a, b) -> a < b);
+            expected.add(value);
+        }
+        expected.sort(null);
+        assertTrue(tree.getHeight() <= 13);
+
+        // Values added to the copy leave the snapshot as it was
+        AVLTreeNode<Integer> snapshot = tree;
+        for (int i = 0; i < 500; i++) {
+            tree = AVLTreeNode.insertCopy(tree, i, (a, b) -> a < b);
+        }
+        assertInOrder(expected, snapshot);
+        assertEquals(1000, tree.getSize());
+    }
+
+    @Test
+    public void testFromSorted() {
+        assertNull(AVLTreeNode.fromSorted(new ArrayList<Integer>()));
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1023; i++) {
+            values.add(i);
+        }
+        AVLTreeNode<Integer> tree = AVLTreeNode.fromSorted(values);
+        assertEquals(10, tree.getHeight());
+        assertInOrder(values, tree);
+
+        values.add(1023);
+        tree = AVLTreeNode.insert(AVLTreeNode.fromSorted(values.subList(0, 1023)), 1023, (a, b) -> a < b);
+        assertEquals(11, tree.getHeight());
+        assertInOrder(values, tree);
+    }
+
+    @Test
+    public void testScoreboard() {
+        Scoreboard scoreboard = new Scoreboard("test");
+        BinaryTreeNode<GameStat> chain = null;
+        for (int i = 0; i < 100; i++) {
+            chain = new BinaryTreeNode<>(new GameStat("" + i, 0, i), null, chain);
+        }
+        scoreboard.setScoreTree(chain);
+        scoreboard.addScore(new GameStat("best", 0, 1000));
+        scoreboard.addScore(new GameStat("tie", 0, 50));
+        assertTrue(AVLTreeNode.height(scoreboard.getScoreTree()) <= 8);
+
+        LinkedListNode<GameStat> list = scoreboard.getScoreList();
+        assertEquals("best", list.getValue().getEntryName());
+        for (int i = 99; i >= 0; i--) {
+            list = list.getNext();
+            assertEquals("" + i, list.getValue().getEntryName());
+            if (i == 50) {
+                list = list.getNext();
+                assertEquals("tie", list.getValue().getEntryName());
+            }
+        }
+        assertNull(list.getNext());
+    }
+
+    @Test
+    public void testIterator() {
+        assertFalse(new BinaryTreeIterator<Integer>(null).hasNext());
+        BinaryTreeNode<Integer> tree = new BinaryTreeNode<>(3, new BinaryTreeNode<>(1, null,
+                new BinaryTreeNode<>(2, null, null)), new BinaryTreeNode<>(5, new BinaryTreeNode<>(4, null, null), null));
+        List<Integer> values = new ArrayList<>();
+        Iterator<Integer> iterator = new BinaryTreeIterator<>(tree);
+        while (iterator.hasNext()) {
+            values.add(iterator.next());
+        }
+        assertEquals(List.of(1, 2, 3, 4, 5), values);
+        assertThrows(NoSuchElementException.class, iterator::next);
+
+        Scoreboard scoreboard = new Scoreboard("test");
+        BinaryTreeNode<GameStat> chain = null;
+        for (int i = 0; i < 100_000; i++) {
+            chain = new BinaryTreeNode<>(new GameStat("" + i, 0, i), null, chain);
+        }
+        scoreboard.setScoreTree(chain);
+        List<String> names = new ArrayList<>();
+        scoreboard.forEachInOrder(stat -> names.add(stat.getEntryName()));
+        assertEquals(100_000, names.size());
+        assertEquals("99999", names.get(0));
+        assertEquals("0", names.get(99_999));
+        assertEquals(100_000, countList(scoreboard.getScoreList()));
+    }
+
+    @Test
+    public void testOrderStatistics() {
+        Scoreboard scoreboard = new Scoreboard("test");
+        List<GameStat> scores = new ArrayList<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 500; i++) {
+            GameStat stat = new GameStat("" + i, 0, random.nextInt(100));
+            scoreboard.addScore(stat);
+            scores.add(stat);
+        }
+        List<GameStat> ordered = new ArrayList<>();
+        scoreboard.forEachInOrder(ordered::add);
+        assertEquals(500, scoreboard.size());
+        assertSame(scores.get(499), scoreboard.getLastScore());
+
+        for (GameStat stat : scores) {
+            int better = 0;
+            for (GameStat other : scores) {
+                if (other.getScore() > stat.getScore()) {
+                    better++;
+                }
+            }
+            assertEquals(better + 1, scoreboard.rankOf(stat));
+        }
+        assertEquals(ordered.subList(0, 10), scoreboard.topK(10));
+        assertEquals(ordered.subList(490, 500), scoreboard.page(490, 20));
+        for (int offset = 0; offset <= 500; offset += 7) {
+            assertEquals(ordered.subList(offset, Math.min(offset + 3, 500)), scoreboard.page(offset, 3));
+        }
+        assertTrue(scoreboard.page(500, 10).isEmpty());
+
+        GameStat high = new GameStat("", 0, 80);
+        GameStat low = new GameStat("", 0, 20);
+        int between = 0;
+        for (GameStat stat : scores) {
+            if (stat.getScore() >= 20 && stat.getScore() <= 80) {
+                between++;
+            }
+        }
+        assertEquals(between, scoreboard.countBetween(high, low));
+        assertEquals(0, scoreboard.countBetween(low, high));
+    }
+
+    @Test
+    public void testIndexes() {
+        Scoreboard scoreboard = new Scoreboard("test");
+        scoreboard.addScore(new GameStat("b", 30, 100));
+        scoreboard.addScore(new GameStat("c", 10, 300));
+        scoreboard.addScore(new GameStat("a", 20, 200));
+
+        ScoreIndex playtime = scoreboard.getIndex(new PlaytimeComparator());
+        ScoreIndex names = scoreboard.getIndex(new LevelNameComparator());
+        assertSame(playtime, scoreboard.getIndex(new PlaytimeComparator()));
+        assertEquals("c", scoreboard.topK(1).get(0).getEntryName());
+        assertEquals("c", playtime.topK(1).get(0).getEntryName());
+        assertEquals("a", names.topK(1).get(0).getEntryName());
+
+        // Indexes are updated as scores are added, and any index can order the
+        // scoreboard
+        scoreboard.addScore(new GameStat("d", 5, 50));
+        assertEquals(4, names.size());
+        assertEquals(1, playtime.rankOf(scoreboard.getLastScore()));
+        assertEquals(4, scoreboard.rankOf(scoreboard.getLastScore()));
+        scoreboard.setComparator(new LevelNameComparator());
+        assertSame(names.getTree(), scoreboard.getScoreTree());
+        assertEquals("a", scoreboard.getScoreList().getValue().getEntryName());
+
+        // An index which is not kept is built from the scores when first asked for
+        ScoreIndex reversed = scoreboard.getIndex((a, b) -> a.getScore() < b.getScore());
+        assertEquals("d", reversed.topK(1).get(0).getEntryName());
+        assertEquals(4, reversed.size());
+    }
+
+    private static int countList(LinkedListNode<GameStat> list) {
+        int count = 0;
+        for (; list != null; list = list.getNext()) {
+            count++;
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,79 @@
+package app.tests;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import app.display.common.ImageCache;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import static org.junit.Assert.*;
+
+public class TestImageCache {
+
+    // 10x10 images are 400 bytes each
+    private static Image image() {
+        return new WritableImage(10, 10);
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        ImageCache cache = new ImageCache("Test", 10_000);
+        Image a = image();
+        assertNull(cache.get("a"));
+        assertNull(cache.putIfAbsent("a", a));
+        assertSame(a, cache.get("a"));
+        assertSame(a, cache.putIfAbsent("a", image()));
+        assertSame(a, cache.get("a"));
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(400, cache.getSize());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        ImageCache cache = new ImageCache("Test", 1000);
+        cache.putIfAbsent("a", image());
+        cache.putIfAbsent("b", image());
+        cache.get("a");
+        cache.putIfAbsent("c", image());
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertEquals(1, cache.getEvictions());
+        assertEquals(800, cache.getSize());
+    }
+
+    @Test
+    public void testPinnedImagesAreNotEvicted() {
+        ImageCache cache = new ImageCache("Test", 1000);
+        cache.setPinned(List.of("a", "b"));
+        cache.putIfAbsent("a", image());
+        cache.putIfAbsent("b", image());
+        cache.putIfAbsent("c", image());
+        cache.putIfAbsent("d", image());
+        assertTrue(cache.contains("a"));
+        assertTrue(cache.contains("b"));
+        assertFalse(cache.contains("c"));
+        assertTrue(cache.contains("d"));
+
+        // Still over budget, so unpinning evicts immediately
+        cache.unpin("a");
+        assertFalse(cache.contains("a"));
+        assertTrue(cache.contains("b"));
+        assertTrue(cache.contains("d"));
+        assertEquals(800, cache.getSize());
+    }
+
+    @Test
+    public void testImageLargerThanBudget() {
+        ImageCache cache = new ImageCache("Test", 100);
+        Image large = image();
+        assertNull(cache.putIfAbsent("large", large));
+        assertSame(large, cache.get("large"));
+        cache.putIfAbsent("other", image());
+        assertFalse(cache.contains("large"));
+        assertTrue(cache.contains("other"));
+    }
+
+}
@@ -0,0 +1,107 @@
+package app.tests;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import app.gameengine.Level;
+import app.gameengine.LevelChunks;
+import app.gameengine.LevelParser;
+import app.gameengine.LevelTokenizer;
+import app.gameengine.model.gameobjects.GameObject;
+import app.games.mario.Goomba;
+import app.games.mario.MarioGame;
+import app.games.mario.QuestionBlock;
+import static org.junit.Assert.*;
+
+public class TestLevelChunks {
+
+    private static final String LEVEL = "MarioLevel,long,400,15\n"
+            + "PlayerStartLocation,2,12\n"
+            + "StaticGameObject,Ground,0..399,13..14\n"
+            + "StaticGameObject,QuestionBlock,5,9\n"
+            + "DynamicGameObject,Goomba,10,12\n"
+            + "StaticGameObject,QuestionBlock,300,9\n";
+
+    private int streamedWidth;
+    private MarioGame game;
+    private Level level;
+
+    @Before
+    public void setUp() throws Exception {
+        this.streamedWidth = LevelChunks.getStreamedWidth();
+        LevelChunks.setStreamedWidth(100);
+        this.game = new MarioGame();
+        try (LevelTokenizer fields = LevelTokenizer.of(LEVEL)) {
+            this.level = LevelParser.readLevel(this.game, fields);
+        }
+        this.game.loadLevel(this.level);
+        this.level.setLoaded();
+    }
+
+    @After
+    public void tearDown() {
+        LevelChunks.setStreamedWidth(this.streamedWidth);
+    }
+
+    private <T extends GameObject> T find(Class<T> type, double x) {
+        for (GameObject object : this.level.getStaticObjects()) {
+            if (type.isInstance(object) && object.getLocation().getX() == x) {
+                return type.cast(object);
+            }
+        }
+        for (GameObject object : this.level.getDynamicObjects()) {
+            if (type.isInstance(object) && Math.abs(object.getLocation().getX() - x) < 1) {
+                return type.cast(object);
+            }
+        }
+        return null;
+    }
+
+    private void moveTo(double x) {
+        this.game.getPlayer().setLocation(x, 12);
+        this.level.update(0);
+    }
+
+    @Test
+    public void testOnlyNearbyChunksAreBuilt() {
+        LevelChunks chunks = this.level.getChunks();
+        assertNotNull(chunks);
+        assertEquals(25, chunks.getChunkCount());
+        assertEquals(2, chunks.getActiveCount());
+        // Two rows of ground in each active chunk, split from a single range
+        assertEquals(2 * 16 * 2 + 1, this.level.getStaticObjects().size());
+        assertNotNull(find(Goomba.class, 10));
+        assertNull(find(QuestionBlock.class, 300));
+
+        moveTo(300);
+        assertFalse(chunks.isActive(0));
+        assertTrue(chunks.isActive(18));
+        assertNotNull(find(QuestionBlock.class, 300));
+        assertNull(find(QuestionBlock.class, 5));
+        assertNull(find(Goomba.class, 10));
+        assertTrue(chunks.getSavedSize() > 0);
+    }
+
+    @Test
+    public void testStateIsKeptWhenReleased() {
+        find(QuestionBlock.class, 5).setUsed(true);
+        find(Goomba.class, 10).destroy();
+        moveTo(300);
+        moveTo(2);
+        assertTrue(this.level.getChunks().isActive(0));
+        assertTrue(find(QuestionBlock.class, 5).isUsed());
+        assertNull(find(Goomba.class, 10));
+        assertEquals(2 * 16 * 2 + 1, this.level.getStaticObjects().size());
+
+        this.level.reset();
+        assertFalse(find(QuestionBlock.class, 5).isUsed());
+        assertNotNull(find(Goomba.class, 10));
+    }
+
+    @Test
+    public void testNarrowLevelsAreNotStreamed() throws Exception {
+        assertNull(LevelParser.parseLevel(this.game, "mario/mario1.csv").getChunks());
+    }
+
+}
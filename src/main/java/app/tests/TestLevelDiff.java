@@ -0,0 +1,100 @@
+package app.tests;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import app.gameengine.Level;
+import app.gameengine.LevelDiff;
+import app.gameengine.LevelHotReloader;
+import app.gameengine.LevelParser;
+import app.gameengine.LevelTokenizer;
+import app.gameengine.model.gameobjects.DynamicGameObject;
+import app.gameengine.model.gameobjects.StaticGameObject;
+import app.games.SampleGame;
+import static org.junit.Assert.*;
+
+public class TestLevelDiff {
+
+    private static final String HEADER = "TopDownLevel,diff,20,20\nPlayerStartLocation,1,1\n";
+
+    private boolean wasEnabled;
+    private SampleGame game;
+
+    @Before
+    public void setUp() {
+        this.wasEnabled = LevelHotReloader.isEnabled();
+        LevelHotReloader.setEnabled(true);
+        this.game = new SampleGame();
+    }
+
+    @After
+    public void tearDown() {
+        LevelHotReloader.setEnabled(this.wasEnabled);
+    }
+
+    private Level parse(String lines) throws Exception {
+        try (LevelTokenizer fields = LevelTokenizer.of(HEADER + lines)) {
+            return LevelParser.readLevel(this.game, fields);
+        }
+    }
+
+    @Test
+    public void testUnchangedFileHasNoDifferences() throws Exception {
+        String lines = "StaticGameObject,Wall,0..4,0\nDynamicGameObject,Demon,5,5,10,2\n";
+        Level level = parse(lines);
+        LevelDiff diff = LevelDiff.compute(level, parse(lines));
+        assertTrue(diff.isEmpty());
+        StaticGameObject wall = level.getStaticObjects().get(2);
+        diff.apply();
+        assertEquals(5, level.getStaticObjects().size());
+        assertSame(wall, level.getStaticObjects().get(2));
+    }
+
+    @Test
+    public void testAddRemoveAndMove() throws Exception {
+        Level level = parse("StaticGameObject,Wall,0,0\n"
+                + "StaticGameObject,Wall,1,0\n"
+                + "DynamicGameObject,Demon,5,5,10,2\n"
+                + "DynamicGameObject,Demon,8,8,10,2\n");
+        StaticGameObject kept = level.getStaticObjects().get(0);
+        DynamicGameObject moved = level.getDynamicObjects().get(1);
+        // Objects keep their state while the level is played
+        moved.setLocation(9.5, 9.5);
+
+        LevelDiff diff = LevelDiff.compute(level, parse("StaticGameObject,Wall,0,0\n"
+                + "StaticGameObject,Wall,3,3\n"
+                + "StaticGameObject,Wall,4,3\n"
+                + "DynamicGameObject,Demon,5,5,10,2\n"
+                + "DynamicGameObject,Demon,2,8,10,2\n"));
+        assertEquals(1, diff.getAddedCount());
+        assertEquals(0, diff.getRemovedCount());
+        assertEquals(2, diff.getMovedCount());
+        diff.apply();
+
+        assertEquals(3, level.getStaticObjects().size());
+        assertSame(kept, level.getStaticObjects().get(0));
+        assertEquals(2, level.getDynamicObjects().size());
+        assertSame(moved, level.getDynamicObjects().get(1));
+        assertEquals(2.0, moved.getLocation().getX(), 0.0001);
+        assertEquals(8.0, moved.getLocation().getY(), 0.0001);
+    }
+
+    @Test
+    public void testChangesSurviveReset() throws Exception {
+        Level level = parse("StaticGameObject,Wall,0,0\nStaticGameObject,Wall,1,0\n");
+        level.load();
+        level.setLoaded();
+        LevelDiff diff = LevelDiff.compute(level,
+                parse("PlayerStartLocation,3,4\nStaticGameObject,Wall,1,0\nStaticGameObject,InfoNode,2,2,Hi\n"));
+        assertEquals(1, diff.getAddedCount());
+        assertEquals(1, diff.getRemovedCount());
+        diff.apply();
+        level.reset();
+        assertEquals(2, level.getStaticObjects().size());
+        assertEquals(1.0, level.getStaticObjects().get(0).getLocation().getX(), 0.0001);
+        assertEquals(3.0, level.getPlayerStartLocation().getX(), 0.0001);
+        assertEquals(3.0, level.getPlayer().getLocation().getX(), 0.0001);
+    }
+
+}
@@ -0,0 +1,59 @@
+package app.tests;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import app.gameengine.Level;
+import app.gameengine.LevelPrefetcher;
+import app.gameengine.LinearGame;
+import app.games.topdownobjects.TopDownLevel;
+import static org.junit.Assert.*;
+
+public class TestLevelPrefetcher {
+
+    private static final LinearGame GAME = new LinearGame();
+
+    private static Level level(String name) {
+        return new TopDownLevel(GAME, 10, 10, name);
+    }
+
+    @Test
+    public void testTakeReturnsPrefetchedLevel() {
+        LevelPrefetcher prefetcher = new LevelPrefetcher(2);
+        AtomicInteger built = new AtomicInteger();
+        Level a = level("a");
+        prefetcher.prefetch("a", () -> {
+            built.incrementAndGet();
+            return a;
+        });
+        assertTrue(prefetcher.contains("a"));
+        assertSame(a, prefetcher.take("a", () -> level("a")).join());
+        assertEquals(1, built.get());
+        assertFalse(prefetcher.contains("a"));
+
+        // A level which was not prefetched is built with the given builder
+        Level b = level("b");
+        assertSame(b, prefetcher.take("b", () -> b).join());
+    }
+
+    @Test
+    public void testEviction() {
+        LevelPrefetcher prefetcher = new LevelPrefetcher(2);
+        prefetcher.prefetch("a", () -> level("a"));
+        prefetcher.prefetch("b", () -> level("b"));
+        prefetcher.prefetch("c", () -> level("c"));
+        assertEquals(2, prefetcher.size());
+        assertFalse(prefetcher.contains("a"));
+        assertTrue(prefetcher.contains("b"));
+        assertTrue(prefetcher.contains("c"));
+
+        // Levels which are no longer adjacent are evicted
+        prefetcher.retainOnly(List.of("c", "d"));
+        assertEquals(1, prefetcher.size());
+        assertFalse(prefetcher.contains("b"));
+        assertTrue(prefetcher.contains("c"));
+    }
+
+}
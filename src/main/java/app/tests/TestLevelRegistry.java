@@ -0,0 +1,90 @@
+package app.tests;
+
+import org.junit.Test;
+
+import app.gameengine.LevelRegistry;
+import app.gameengine.LinearGame;
+import app.gameengine.Level;
+import app.gameengine.model.datastructures.LinkedListNode;
+import app.games.topdownobjects.TopDownLevel;
+import static org.junit.Assert.*;
+
+public class TestLevelRegistry {
+
+    private static final LinearGame GAME = new LinearGame();
+
+    private static Level level(String name) {
+        return new TopDownLevel(GAME, 10, 10, name);
+    }
+
+    @Test
+    public void testLookupByName() {
+        LevelRegistry registry = new LevelRegistry();
+        Level a = level("a");
+        Level b = level("b");
+        Level duplicate = level("a");
+        registry.add(a);
+        registry.add(b);
+        registry.add(duplicate);
+        assertEquals(3, registry.size());
+        assertSame(a, registry.get("a"));
+        assertSame(b, registry.get("b"));
+        assertEquals(1, registry.indexOf("b"));
+        assertNull(registry.get("c"));
+        assertEquals(-1, registry.indexOf("c"));
+    }
+
+    @Test
+    public void testRemoveFirstShiftsLaterLevels() {
+        LevelRegistry registry = new LevelRegistry();
+        Level a = level("a");
+        Level b = level("b");
+        Level duplicate = level("a");
+        registry.add(a);
+        registry.add(b);
+        registry.add(duplicate);
+        assertTrue(registry.removeFirst("a"));
+        assertSame(duplicate, registry.get("a"));
+        assertEquals(0, registry.indexOf("b"));
+        assertFalse(registry.removeFirst("c"));
+    }
+
+    @Test
+    public void testCursor() {
+        LevelRegistry registry = new LevelRegistry();
+        Level a = level("a");
+        Level b = level("b");
+        Level c = level("c");
+        registry.add(a);
+        registry.add(b);
+        registry.add(c);
+        assertNull(registry.getNext());
+        registry.setCurrent(b);
+        assertSame(c, registry.getNext());
+        registry.removeFirst("a");
+        assertEquals(0, registry.getCursor());
+        assertSame(c, registry.getNext());
+        registry.setCurrent(c);
+        assertNull(registry.getNext());
+    }
+
+    @Test
+    public void testLinkedList() {
+        LevelRegistry registry = new LevelRegistry();
+        Level a = level("a");
+        Level b = level("b");
+        registry.add(a);
+        registry.add(b);
+        registry.setCurrent(b);
+        LinkedListNode<Level> expected = new LinkedListNode<>(a, new LinkedListNode<>(b, null));
+        TestUtils.compareListsOfLevels(expected, registry.toLinkedList());
+
+        registry.setFromLinkedList(new LinkedListNode<>(b, new LinkedListNode<>(a, null)));
+        assertEquals(0, registry.getCursor());
+        assertSame(a, registry.getNext());
+        registry.setFromLinkedList(null);
+        assertEquals(0, registry.size());
+        assertNull(registry.toLinkedList());
+    }
+
+}
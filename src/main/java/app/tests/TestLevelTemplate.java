@@ -0,0 +1,84 @@
+package app.tests;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import app.gameengine.Level;
+import app.gameengine.LevelParser;
+import app.gameengine.LevelTemplate;
+import app.games.SampleGame;
+import static org.junit.Assert.*;
+
+public class TestLevelTemplate {
+
+    private static final String LEVEL = "TopDownLevel,template,10,8\n"
+            + "PlayerStartLocation,1.5,2\n"
+            + "StaticGameObject,Wall,0,0\n"
+            + "\n"
+            + "StaticGameObject,InfoNode,3,4,Hello there\n"
+            + "DynamicGameObject,Demon,5,6,10,2\n";
+
+    @Test
+    public void testInstancesMatchParsedLevel() throws Exception {
+        SampleGame game = new SampleGame();
+        LevelTemplate template = LevelTemplate.load(Path.of("data/levels/testing/small.csv"), "testing/small.csv");
+        Level parsed = LevelParser.parseLevel(game, "testing/small.csv");
+        Level instance = template.instantiate(game);
+        assertEquals(parsed.getName(), instance.getName());
+        assertEquals(parsed.getWidth(), instance.getWidth());
+        assertEquals(parsed.getHeight(), instance.getHeight());
+        assertEquals(parsed.getStaticObjects().size(), instance.getStaticObjects().size());
+        assertEquals(parsed.getDynamicObjects().size(), instance.getDynamicObjects().size());
+        for (int i = 0; i < parsed.getStaticObjects().size(); i++) {
+            assertEquals(parsed.getStaticObjects().get(i).getLocation(), instance.getStaticObjects().get(i).getLocation());
+        }
+    }
+
+    @Test
+    public void testInstancesAreIndependent() throws Exception {
+        Path file = Files.createTempFile("template", ".csv");
+        try {
+            Files.writeString(file, LEVEL);
+            SampleGame game = new SampleGame();
+            LevelTemplate template = LevelTemplate.load(file, "template");
+            Level first = template.instantiate(game);
+            Level second = template.instantiate(game);
+            assertNotSame(first, second);
+            assertEquals(2, first.getStaticObjects().size());
+            assertEquals(1, first.getDynamicObjects().size());
+            assertNotSame(first.getStaticObjects().get(0), second.getStaticObjects().get(0));
+            assertEquals(1.5, first.getPlayerStartLocation().getX(), 0.0001);
+            assertEquals(2.0, first.getPlayerStartLocation().getY(), 0.0001);
+
+            first.getStaticObjects().clear();
+            first.getDynamicObjects().get(0).getLocation().setX(9);
+            Level third = template.instantiate(game);
+            assertEquals(2, third.getStaticObjects().size());
+            assertEquals(5.0, third.getDynamicObjects().get(0).getLocation().getX(), 0.0001);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testModifiedFileIsOutOfDate() throws IOException {
+        Path file = Files.createTempFile("template", ".csv");
+        try {
+            Files.writeString(file, LEVEL);
+            LevelTemplate template = LevelTemplate.load(file, "template");
+            assertTrue(template.isUpToDate());
+            Files.writeString(file, LEVEL + "StaticGameObject,Wall,1,1\n");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+            assertFalse(template.isUpToDate());
+            Files.delete(file);
+            assertFalse(template.isUpToDate());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
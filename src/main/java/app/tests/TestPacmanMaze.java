@@ -0,0 +1,68 @@
+package app.tests;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import app.gameengine.LevelParseException;
+import app.games.pacman.CreatePacmanLevel;
+import app.games.pacman.PacmanGame;
+import app.games.pacman.PacmanLevel;
+import app.games.pacman.PacmanMaze;
+import static org.junit.Assert.*;
+
+public class TestPacmanMaze {
+
+    @Test
+    public void testDefaultMaze() throws Exception {
+        PacmanMaze maze = PacmanMaze.load(CreatePacmanLevel.DEFAULT_MAZE);
+        assertEquals(28, maze.getWidth());
+        assertEquals(31, maze.getHeight());
+        assertEquals(244, maze.getPelletCount());
+        assertEquals("UpperLeftOuter", maze.getWallType(0, 0));
+        assertEquals("UpperLeftFork", maze.getWallType(13, 0));
+        assertEquals("RightLowerFork", maze.getWallType(27, 25));
+        assertEquals("UpperRightCorner", maze.getWallType(13, 7));
+        assertEquals("UpperRightInner", maze.getWallType(5, 9));
+        assertEquals("UpperLeftSharp", maze.getWallType(10, 12));
+        assertEquals("Gate", maze.getWallType(13, 12));
+        assertNull(maze.getWallType(1, 1));
+        assertSame(maze, PacmanMaze.load(CreatePacmanLevel.DEFAULT_MAZE));
+
+        PacmanLevel level = maze.createLevel(new PacmanGame());
+        assertEquals("Pacman", level.getName());
+        assertEquals(795, level.getStaticObjects().size());
+        assertEquals(550, level.getWalls().size());
+        assertEquals(244, level.getPelletsLeft());
+        assertEquals(13.5, level.getPlayerStartLocation().getX(), 0.0001);
+        assertEquals(23, level.getPlayerStartLocation().getY(), 0.0001);
+        assertEquals(13.5, level.getGhostHouse().getLocation().getX(), 0.0001);
+        assertEquals(14, level.getGhostHouse().getLocation().getY(), 0.0001);
+    }
+
+    @Test
+    public void testWallTypes() throws Exception {
+        PacmanMaze maze = PacmanMaze.parse("custom", List.of(
+                "======",
+                "=P.o.=",
+                "=.##.=",
+                "=.##G=",
+                "======"));
+        assertEquals("UpperLeftOuter", maze.getWallType(0, 0));
+        assertEquals("UpperOuter", maze.getWallType(2, 0));
+        assertEquals("LeftOuter", maze.getWallType(0, 2));
+        assertEquals("LowerOuter", maze.getWallType(1, 4));
+        assertEquals("UpperLeftInner", maze.getWallType(2, 2));
+        assertEquals("UpperRightInner", maze.getWallType(3, 2));
+        assertEquals("LeftInner", maze.getWallType(2, 3));
+        assertEquals(6, maze.getPelletCount());
+    }
+
+    @Test
+    public void testInvalidMazes() {
+        assertThrows(LevelParseException.class, () -> PacmanMaze.parse("bad", List.of("=P=", "=x=", "=G=")));
+        assertThrows(LevelParseException.class, () -> PacmanMaze.parse("bad", List.of("===", "=.=", "=G=")));
+        assertThrows(LevelParseException.class, () -> PacmanMaze.parse("bad", List.of()));
+    }
+
+}
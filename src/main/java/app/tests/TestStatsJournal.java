@@ -0,0 +1,110 @@
+package app.tests;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import app.Configuration;
+import app.gameengine.model.datastructures.ScoreComparator;
+import app.gameengine.statistics.GameStat;
+import app.gameengine.statistics.Scoreboard;
+import static org.junit.Assert.*;
+
+public class TestStatsJournal {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory() {
+        return folder.getRoot().toPath();
+    }
+
+    private List<Path> files() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory(), "journaltest_stats*")) {
+            stream.forEach(files::add);
+        }
+        return files;
+    }
+
+    private static List<String> names(Scoreboard scoreboard) {
+        List<String> names = new ArrayList<>();
+        scoreboard.forEachInOrder(stat -> names.add(stat.getEntryName()));
+        return names;
+    }
+
+    private Scoreboard open() {
+        Scoreboard scoreboard = new Scoreboard(directory().resolve("journaltest_stats.csv"), new ScoreComparator(),
+                true);
+        scoreboard.loadStats();
+        return scoreboard;
+    }
+
+    @Test
+    public void testReplay() throws IOException {
+        Scoreboard scoreboard = open();
+        scoreboard.addScore(new GameStat("a", 1, 10));
+        scoreboard.addScore(new GameStat("b", 2, 30));
+        scoreboard.addScore(new GameStat("c", 3, 20));
+        scoreboard.getJournal().close();
+        assertEquals(List.of("b", "c", "a"), names(open()));
+
+        // A record which was only partly written is dropped, and cut off before the
+        // next record is written
+        Path journal = files().get(0);
+        Files.write(journal, "4,d,4.00,4".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        scoreboard = open();
+        assertEquals(List.of("b", "c", "a"), names(scoreboard));
+        scoreboard.addScore(new GameStat("e", 5, 25));
+        scoreboard.getJournal().close();
+        assertEquals(List.of("b", "e", "c", "a"), names(open()));
+        assertEquals(1, files().size());
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        Scoreboard scoreboard = open();
+        int count = Configuration.STATS_COMPACT_RECORDS + 10;
+        for (int i = 0; i < count; i++) {
+            scoreboard.addScore(new GameStat("" + i, i, i));
+        }
+        scoreboard.getJournal().close();
+
+        // Only the stats file and the journal started after it remain
+        List<Path> files = files();
+        assertEquals(2, files.size());
+        List<String> lines = Files.readAllLines(directory().resolve("journaltest_stats.csv"));
+        assertEquals("#sequence," + Configuration.STATS_COMPACT_RECORDS, lines.get(0));
+        assertEquals(Configuration.STATS_COMPACT_RECORDS + 1, lines.size());
+
+        List<String> names = names(open());
+        assertEquals(count, names.size());
+        assertEquals("" + (count - 1), names.get(0));
+        assertEquals("0", names.get(count - 1));
+
+        // Journals left by a compaction which did not finish are read again, but
+        // scores already in the stats file are not added twice
+        List<String> records = new ArrayList<>();
+        for (int i = 0; i < Configuration.STATS_COMPACT_RECORDS; i++) {
+            String record = (i + 1) + "," + new GameStat("" + i, i, i);
+            CRC32 crc = new CRC32();
+            crc.update(record.getBytes(StandardCharsets.UTF_8));
+            records.add(record + "," + Long.toHexString(crc.getValue()));
+        }
+        Files.write(directory().resolve("journaltest_stats.1.journal"), records);
+        assertEquals(count, names(open()).size());
+        Files.delete(directory().resolve("journaltest_stats.csv"));
+        assertEquals(count, names(open()).size());
+    }
+
+}
@@ -13,6 +13,7 @@ module app {
     requires transitive javafx.graphics;
     requires junit;
     requires java.desktop;
+    requires jdk.management;
 
     exports app.tests to junit;
     exports app;